@@ -302,6 +302,49 @@ public class AFreeChart implements Drawable, TitleChangeListener,
      */
     private boolean notify;
 
+    /** The number of updates in progress (see {@link #beginUpdate()}). */
+    private transient int updateDepth;
+
+    /** The change event held back until the current update ends. */
+    private transient ChartChangeEvent pendingEvent;
+
+    /**
+     * The layer holding the chart background, border and titles (including
+     * the legend), or <code>null</code> if the layer cache is disabled.
+     */
+    private transient ChartLayer backgroundLayer;
+
+    /**
+     * The layer holding the plot, or <code>null</code> if the layer cache is
+     * disabled.
+     */
+    private transient ChartLayer plotLayer;
+
+    /** The area left for the plot when the background layer was drawn. */
+    private transient RectShape backgroundLayerPlotArea;
+
+    /**
+     * The legend items (flattened into a list of their attributes) when the
+     * background layer was drawn.
+     */
+    private transient List backgroundLayerLegend;
+
+    /**
+     * A flag that indicates that the plot has changed since the background
+     * layer was drawn, so the legend must be checked before the layer is
+     * reused.
+     */
+    private transient boolean backgroundLayerLegendCheck;
+
+    /** The plot area when the plot layer was drawn. */
+    private transient RectShape plotLayerArea;
+
+    /** The anchor point when the plot layer was drawn. */
+    private transient PointF plotLayerAnchor;
+
+    /** The plot rendering info recorded when the plot layer was drawn. */
+    private transient PlotRenderingInfo plotLayerInfo;
+
     /**
      * Creates a new chart with the given title and plot. The
      * <code>createLegend</code> argument specifies whether or not a legend
@@ -1046,6 +1089,57 @@ public class AFreeChart implements Drawable, TitleChangeListener,
 //
 //    }
     
+    /**
+     * Returns a flag that indicates whether the layer cache is enabled.
+     * 
+     * @return A boolean.
+     * 
+     * @see #setLayerCacheEnabled(boolean)
+     */
+    public boolean isLayerCacheEnabled() {
+        return this.backgroundLayer != null;
+    }
+
+    /**
+     * Enables or disables the layer cache.  When the cache is enabled, the
+     * chart background, border and titles (including the legend) are kept
+     * in one bitmap and the plot in another, and each bitmap is only drawn
+     * again when a change event shows that it is out of date (or the chart
+     * area, the plot area or the anchor point changes).  For example, a
+     * {@link PlotChangeEvent} caused by an axis or dataset change redraws
+     * the plot but not the titles, unless the legend items have changed.
+     * <P>
+     * The cache uses memory for two bitmaps the size of the chart, so it is
+     * disabled by default.  Disabling the cache releases the bitmaps.  No
+     * change event is sent, since the appearance of the chart is not
+     * affected.
+     * 
+     * @param enabled
+     *            the new flag value.
+     * 
+     * @see #isLayerCacheEnabled()
+     */
+    public void setLayerCacheEnabled(boolean enabled) {
+        if (enabled == isLayerCacheEnabled()) {
+            return;
+        }
+        if (enabled) {
+            this.backgroundLayer = new ChartLayer();
+            this.plotLayer = new ChartLayer();
+        }
+        else {
+            this.backgroundLayer.release();
+            this.plotLayer.release();
+            this.backgroundLayer = null;
+            this.plotLayer = null;
+            this.backgroundLayerPlotArea = null;
+            this.backgroundLayerLegend = null;
+            this.plotLayerArea = null;
+            this.plotLayerAnchor = null;
+            this.plotLayerInfo = null;
+        }
+    }
+
     /**
      * Draws the chart on a graphics device (such as the screen or a
      * printer).
@@ -1098,7 +1192,7 @@ public class AFreeChart implements Drawable, TitleChangeListener,
         
         notifyListeners(new ChartProgressEvent(this, this,
                 ChartProgressEvent.DRAWING_STARTED, 0));
-        
+
         // record the chart area, if info is requested...
         if (info != null) {
             info.clear();
@@ -1114,6 +1208,51 @@ public class AFreeChart implements Drawable, TitleChangeListener,
         canvas.clipRect((float) chartArea.getMinX(), (float) chartArea.getMinY(),
                 (float) chartArea.getMaxX() , (float) chartArea.getMaxY());
 
+        RectShape plotArea;
+        if (this.backgroundLayer == null) {
+            plotArea = drawBackgroundAndTitles(canvas, chartArea, entities);
+        }
+        else {
+            plotArea = drawBackgroundLayer(canvas, chartArea, entities);
+        }
+
+        // draw the plot (axes and data visualisation)
+        if (this.plotLayer == null) {
+            PlotRenderingInfo plotInfo = null;
+            if (info != null) {
+                plotInfo = info.getPlotInfo();
+            }
+            this.plot.draw(canvas, plotArea, anchor, null, plotInfo);
+        }
+        else {
+            drawPlotLayer(canvas, chartArea, plotArea, anchor, info);
+        }
+
+        canvas.clipRect(savedClip, Op.REPLACE);
+
+        notifyListeners(new ChartProgressEvent(this, this,
+                ChartProgressEvent.DRAWING_FINISHED, 100));
+
+        // handle changes to datasets that are updated on other threads once
+        // the frame is finished, so that the chart is redrawn for them...
+        this.plot.firePendingDatasetChanges();
+    }
+
+    /**
+     * Draws the chart background, the border and the titles.
+     * 
+     * @param canvas
+     *            the graphics device.
+     * @param chartArea
+     *            the area within which the chart should be drawn.
+     * @param entities
+     *            the entity collection (<code>null</code> permitted).
+     * 
+     * @return The area remaining for the plot.
+     */
+    private RectShape drawBackgroundAndTitles(Canvas canvas,
+            RectShape chartArea, EntityCollection entities) {
+
         // draw the chart background...
         if (this.backgroundPaintType != null) {
             Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, this.backgroundPaintType);
@@ -1157,19 +1296,159 @@ public class AFreeChart implements Drawable, TitleChangeListener,
             }
         }
         
-        RectShape plotArea = nonTitleArea;
+        return nonTitleArea;
+    }
 
-        // draw the plot (axes and data visualisation)
+    /**
+     * Draws the background layer, redrawing the bitmap first if it is out of
+     * date.
+     * 
+     * @param canvas
+     *            the graphics device.
+     * @param chartArea
+     *            the area within which the chart should be drawn.
+     * @param entities
+     *            the entity collection (<code>null</code> permitted).
+     * 
+     * @return The area remaining for the plot.
+     */
+    private RectShape drawBackgroundLayer(Canvas canvas, RectShape chartArea,
+            EntityCollection entities) {
+        if (this.backgroundLayerLegendCheck) {
+            if (!getLegendAttributes().equals(this.backgroundLayerLegend)) {
+                this.backgroundLayer.invalidate();
+            }
+            this.backgroundLayerLegendCheck = false;
+        }
+        if (this.backgroundLayer.isValid(chartArea, entities != null)) {
+            this.backgroundLayer.draw(canvas, entities);
+        }
+        else {
+            int start = (entities != null ? entities.getEntityCount() : 0);
+            Canvas layerCanvas = this.backgroundLayer.beginDrawing(chartArea);
+            this.backgroundLayerPlotArea = drawBackgroundAndTitles(
+                    layerCanvas, chartArea, entities);
+            this.backgroundLayer.recordEntities(entities, start);
+            this.backgroundLayer.endDrawing();
+            this.backgroundLayerLegend = getLegendAttributes();
+            this.backgroundLayer.draw(canvas, null);
+        }
+        return (RectShape) this.backgroundLayerPlotArea.clone();
+    }
+
+    /**
+     * Draws the plot layer, redrawing the bitmap first if it is out of date.
+     * The layer is reused only if it was drawn for the same chart area, plot
+     * area and anchor point and (if rendering info is requested) the plot
+     * rendering info recorded at that time belongs to <code>info</code>.
+     * 
+     * @param canvas
+     *            the graphics device.
+     * @param chartArea
+     *            the area within which the chart should be drawn.
+     * @param plotArea
+     *            the area within which the plot should be drawn.
+     * @param anchor
+     *            the anchor point (<code>null</code> permitted).
+     * @param info
+     *            records info about the drawing (<code>null</code>
+     *            permitted).
+     */
+    private void drawPlotLayer(Canvas canvas, RectShape chartArea,
+            RectShape plotArea, PointF anchor, ChartRenderingInfo info) {
+        EntityCollection entities = null;
+        if (info != null) {
+            entities = info.getEntityCollection();
+        }
+        boolean sameAnchor = (anchor == null ? this.plotLayerAnchor == null
+                : this.plotLayerAnchor != null
+                        && anchor.x == this.plotLayerAnchor.x
+                        && anchor.y == this.plotLayerAnchor.y);
+        if (this.plotLayer.isValid(chartArea, entities != null)
+                && plotArea.equals(this.plotLayerArea) && sameAnchor
+                && (info == null || (this.plotLayerInfo != null
+                        && this.plotLayerInfo.getOwner() == info))) {
+            if (info != null) {
+                info.setPlotInfo(this.plotLayerInfo);
+            }
+            this.plotLayer.draw(canvas, entities);
+            return;
+        }
+
+        int start = (entities != null ? entities.getEntityCount() : 0);
+        this.plotLayerArea = (RectShape) plotArea.clone();
+        this.plotLayerAnchor = (anchor != null ? new PointF(anchor.x,
+                anchor.y) : null);
         PlotRenderingInfo plotInfo = null;
         if (info != null) {
             plotInfo = info.getPlotInfo();
         }
-        this.plot.draw(canvas, plotArea, anchor, null, plotInfo);
+        Canvas layerCanvas = this.plotLayer.beginDrawing(chartArea);
+        this.plot.draw(layerCanvas, plotArea, anchor, null, plotInfo);
+        this.plotLayer.recordEntities(entities, start);
+        this.plotLayer.endDrawing();
+        this.plotLayerInfo = plotInfo;
+        this.plotLayer.draw(canvas, null);
+    }
 
-        canvas.clipRect(savedClip, Op.REPLACE);
+    /**
+     * Returns the attributes of the plot's legend items that affect the
+     * appearance of a legend, in a list that can be compared with an earlier
+     * one to find out whether the legend has changed.
+     * 
+     * @return A list.
+     */
+    private List getLegendAttributes() {
+        List result = new ArrayList();
+        LegendItemCollection items = this.plot.getLegendItems();
+        if (items == null) {
+            return result;
+        }
+        for (int i = 0; i < items.getItemCount(); i++) {
+            LegendItem item = items.get(i);
+            result.add(item.getLabel());
+            result.add(item.getLabelFont());
+            result.add(item.getLabelPaintType());
+            result.add(Boolean.valueOf(item.isShapeVisible()));
+            result.add(item.getShape());
+            result.add(Boolean.valueOf(item.isShapeFilled()));
+            result.add(item.getFillPaintType());
+            result.add(Boolean.valueOf(item.isShapeOutlineVisible()));
+            result.add(item.getOutlinePaintType());
+            result.add(new Float(item.getOutlineStroke()));
+            result.add(Boolean.valueOf(item.isLineVisible()));
+            result.add(item.getLine());
+            result.add(item.getLinePaintType());
+            result.add(new Float(item.getLineStroke()));
+        }
+        return result;
+    }
 
-        notifyListeners(new ChartProgressEvent(this, this,
-                ChartProgressEvent.DRAWING_FINISHED, 100));
+    /**
+     * Marks the cached layers that may be affected by a change event as out
+     * of date.  Title changes affect the background layer, and plot changes
+     * (including axis, dataset and renderer changes passed on by the plot)
+     * affect the plot layer and, if the legend items change, the background
+     * layer.  Any other change affects both layers.
+     * 
+     * @param event
+     *            the event.
+     */
+    private void invalidateLayers(ChartChangeEvent event) {
+        if (this.backgroundLayer == null) {
+            return;
+        }
+        if (event instanceof TitleChangeEvent) {
+            this.backgroundLayer.invalidate();
+        }
+        else if (event instanceof PlotChangeEvent) {
+            this.plotLayer.invalidate();
+            this.backgroundLayerLegendCheck = true;
+        }
+        else {
+            this.backgroundLayer.invalidate();
+            this.plotLayer.invalidate();
+        }
     }
 
     /**
@@ -1362,6 +1641,29 @@ public class AFreeChart implements Drawable, TitleChangeListener,
      *               notification.
      */
     protected void notifyListeners(ChartChangeEvent event) {
+        invalidateLayers(event);
+        if (this.updateDepth > 0) {
+            if (this.pendingEvent == null) {
+                this.pendingEvent = event;
+            }
+            else if (this.pendingEvent.getType() == event.getType()) {
+                this.pendingEvent = event;
+            }
+            else {
+                this.pendingEvent = new ChartChangeEvent(this, this);
+            }
+            return;
+        }
+        dispatch(event);
+    }
+
+    /**
+     * Sends a {@link ChartChangeEvent} to all registered listeners, if
+     * notification is enabled.
+     *
+     * @param event  the event.
+     */
+    private void dispatch(ChartChangeEvent event) {
         if(changeListeners.size() == 0) {
             return;
         }
@@ -1469,6 +1771,13 @@ public class AFreeChart implements Drawable, TitleChangeListener,
 
         chart.progressListeners = new CopyOnWriteArrayList<ChartProgressListener>();
         chart.changeListeners = new CopyOnWriteArrayList<ChartChangeListener>();
+        chart.updateDepth = 0;
+        chart.pendingEvent = null;
+        if (this.backgroundLayer != null) {
+            chart.backgroundLayer = new ChartLayer();
+            chart.plotLayer = new ChartLayer();
+            chart.plotLayerInfo = null;
+        }
         return chart;
     }
 
@@ -1488,6 +1797,58 @@ public class AFreeChart implements Drawable, TitleChangeListener,
             notifyListeners(new ChartChangeEvent(this));
         }
     }
+
+    /**
+     * Starts an update.  Until the matching call to {@link #endUpdate()},
+     * chart change events are held back, so that a batch of changes to the
+     * chart, its plot and datasets reaches the registered listeners as a
+     * single event (and so a single redraw).  Updates can be nested, and each
+     * call to this method should be paired with a call to
+     * {@link #endUpdate()} in a <code>finally</code> block.
+     * <P>
+     * Changes made during an update are still passed on from the datasets to
+     * the plot, so it can be worth batching the dataset changes as well (see
+     * {@link org.afree.data.general.AbstractDataset#beginUpdate()} and
+     * {@link org.afree.data.general.Series#beginUpdate()}).
+     *
+     * @see #endUpdate()
+     */
+    public void beginUpdate() {
+        this.updateDepth++;
+    }
+
+    /**
+     * Ends an update started with {@link #beginUpdate()}.  When the
+     * outermost update ends, the registered listeners receive one
+     * {@link ChartChangeEvent} if anything changed during the update.
+     *
+     * @throws IllegalStateException if no update is in progress.
+     *
+     * @see #beginUpdate()
+     */
+    public void endUpdate() {
+        if (this.updateDepth == 0) {
+            throw new IllegalStateException("No update in progress.");
+        }
+        this.updateDepth--;
+        if (this.updateDepth == 0 && this.pendingEvent != null) {
+            ChartChangeEvent event = this.pendingEvent;
+            this.pendingEvent = null;
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if an update is in progress, and
+     * <code>false</code> otherwise.
+     *
+     * @return A boolean.
+     *
+     * @see #beginUpdate()
+     */
+    public boolean isUpdating() {
+        return this.updateDepth > 0;
+    }
     
     /**
      * Tests this chart for equality with another object.
@@ -0,0 +1,208 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ---------------
+ * ChartLayer.java
+ * ---------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.afree.chart.entity.ChartEntity;
+import org.afree.chart.entity.EntityCollection;
+import org.afree.graphics.geom.RectShape;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+/**
+ * A retained bitmap holding part of a chart (for example, the background
+ * and titles) so that it can be copied to the screen instead of being drawn
+ * again.  The layer also keeps the entities that were created while it was
+ * drawn, so that they can be added to the entity collection each time the
+ * layer is reused.
+ * <P>
+ * This class is used by {@link AFreeChart} when the layer cache is enabled.
+ *
+ * @see AFreeChart#setLayerCacheEnabled(boolean)
+ */
+public class ChartLayer {
+
+    /** The bitmap (<code>null</code> until the layer is first drawn). */
+    private Bitmap bitmap;
+
+    /** The chart area covered by the bitmap. */
+    private RectShape area;
+
+    /** A flag that indicates whether the bitmap is up to date. */
+    private boolean valid;
+
+    /** The entities created when the layer was drawn. */
+    private List entities;
+
+    /** A flag that indicates whether the entities were recorded. */
+    private boolean entitiesRecorded;
+
+    /**
+     * Creates a new layer that is not yet valid.
+     */
+    public ChartLayer() {
+        this.area = new RectShape();
+        this.valid = false;
+        this.entities = new ArrayList();
+    }
+
+    /**
+     * Returns <code>true</code> if the layer is up to date and covers the
+     * specified area, so that it can be reused.
+     *
+     * @param area  the chart area (<code>null</code> not permitted).
+     * @param needEntities  a flag indicating whether the caller is
+     *                      collecting entities (in which case the layer is
+     *                      only valid if its entities were recorded).
+     *
+     * @return A boolean.
+     */
+    public boolean isValid(RectShape area, boolean needEntities) {
+        return this.valid && this.bitmap != null && this.area.equals(area)
+                && (this.entitiesRecorded || !needEntities);
+    }
+
+    /**
+     * Marks the layer as out of date, so that it is drawn again the next time
+     * it is needed.
+     */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Prepares the layer to be drawn and returns a canvas for drawing on it.
+     * The canvas uses the same coordinates as the chart, so that drawing
+     * code (and the entities it creates) need no adjustment.  Call
+     * {@link #endDrawing()} when drawing is complete.
+     *
+     * @param area  the chart area to cover (<code>null</code> not
+     *              permitted).
+     *
+     * @return A canvas for the layer.
+     */
+    public Canvas beginDrawing(RectShape area) {
+        if (area == null) {
+            throw new IllegalArgumentException("Null 'area' argument.");
+        }
+        int width = Math.max((int) Math.ceil(area.getWidth()), 1);
+        int height = Math.max((int) Math.ceil(area.getHeight()), 1);
+        if (this.bitmap == null || this.bitmap.getWidth() != width
+                || this.bitmap.getHeight() != height) {
+            release();
+            this.bitmap = Bitmap.createBitmap(width, height,
+                    Bitmap.Config.ARGB_8888);
+        }
+        else {
+            this.bitmap.eraseColor(Color.TRANSPARENT);
+        }
+        this.area.setRect(area);
+        this.valid = false;
+        this.entities.clear();
+        this.entitiesRecorded = false;
+        Canvas canvas = new Canvas(this.bitmap);
+        canvas.translate(-(float) area.getX(), -(float) area.getY());
+        return canvas;
+    }
+
+    /**
+     * Marks the layer as up to date, after drawing on the canvas returned by
+     * {@link #beginDrawing(RectShape)}.
+     */
+    public void endDrawing() {
+        this.valid = true;
+    }
+
+    /**
+     * Records the entities at the end of a collection (from index
+     * <code>start</code>) as belonging to this layer.
+     *
+     * @param collection  the entity collection (<code>null</code> permitted).
+     * @param start  the index of the first entity created by this layer.
+     */
+    public void recordEntities(EntityCollection collection, int start) {
+        if (collection == null) {
+            return;
+        }
+        int count = collection.getEntityCount();
+        for (int i = start; i < count; i++) {
+            this.entities.add(collection.getEntity(i));
+        }
+        this.entitiesRecorded = true;
+    }
+
+    /**
+     * Draws the layer on a canvas and adds the layer's entities to a
+     * collection.
+     *
+     * @param canvas  the graphics device (<code>null</code> not permitted).
+     * @param collection  the entity collection (<code>null</code>
+     *                    permitted).
+     */
+    public void draw(Canvas canvas, EntityCollection collection) {
+        canvas.drawBitmap(this.bitmap, (float) this.area.getX(),
+                (float) this.area.getY(), null);
+        if (collection != null) {
+            for (int i = 0; i < this.entities.size(); i++) {
+                collection.add((ChartEntity) this.entities.get(i));
+            }
+        }
+    }
+
+    /**
+     * Releases the bitmap held by this layer.  The layer is redrawn the next
+     * time it is needed.
+     */
+    public void release() {
+        if (this.bitmap != null) {
+            this.bitmap.recycle();
+            this.bitmap = null;
+        }
+        this.valid = false;
+    }
+
+}
@@ -0,0 +1,548 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------
+ * ChartRenderService.java
+ * -----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.afree.chart.event.ChartChangeEvent;
+import org.afree.chart.event.ChartChangeListener;
+import org.afree.chart.event.ChartProgressEvent;
+import org.afree.chart.event.ChartProgressListener;
+import org.afree.chart.event.ChartRenderListener;
+import org.afree.graphics.geom.RectShape;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+/**
+ * Draws a chart into an off-screen bitmap on a background thread, so that
+ * the UI thread only has to copy the most recent frame to the screen.  Two
+ * bitmaps are used: the chart is drawn into the back buffer, which is then
+ * swapped with the front buffer in one step, so {@link #drawFrame(Canvas,
+ * float, float)} never sees a partly drawn frame.
+ * <P>
+ * The service listens for changes to the chart and draws a new frame after
+ * each one.  If further changes arrive while a frame is being drawn, that
+ * frame is stale and is normally thrown away in favour of a new one (but a
+ * stale frame is still shown if the previous frame was also thrown away, so
+ * that a continuous pan still updates the screen).  A frame that would
+ * already be stale, because further changes are waiting, is not drawn at
+ * all.  Each frame comes with
+ * its own {@link ChartRenderingInfo}, which can be used for hit-testing
+ * against exactly what is on the screen.  By default, data item entities are
+ * not collected for the frames; see
+ * {@link org.afree.chart.plot.XYItemLocator} for looking up items on demand.
+ * <P>
+ * The chart is not thread-safe, so while the service is running, changes to
+ * the chart and its datasets (including zooming and panning) should be made
+ * with {@link #invokeUpdate(Runnable)}, which runs them on the rendering
+ * thread before the next frame is drawn.
+ * <P>
+ * An exception thrown by one of those changes, or while drawing a frame, is
+ * passed to the registered render listeners (see
+ * {@link ChartRenderListener#renderFailed(ChartRenderService,
+ * RuntimeException)}).  If there are no listeners, it is thrown from the
+ * next call to {@link #drawFrame(Canvas, float, float)} instead, so that it
+ * is not lost.
+ */
+public class ChartRenderService implements ChartChangeListener,
+        ChartProgressListener {
+
+    /** The chart. */
+    private AFreeChart chart;
+
+    /** The executor that runs the rendering thread. */
+    private ExecutorService executor;
+
+    /** The rendering thread. */
+    private volatile Thread renderThread;
+
+    /** Storage for registered render listeners. */
+    private List<ChartRenderListener> renderListeners;
+
+    /** The task that draws frames until there is nothing left to draw. */
+    private Runnable renderTask;
+
+    /** The width of the frames. */
+    private int width;
+
+    /** The height of the frames. */
+    private int height;
+
+    /** A counter that is incremented whenever a new frame is needed. */
+    private long generation;
+
+    /** A flag indicating that the render task has been scheduled. */
+    private boolean scheduled;
+
+    /** Changes waiting to be made on the rendering thread. */
+    private List<Runnable> updates;
+
+    /** A flag indicating that the last frame drawn was thrown away. */
+    private boolean skipped;
+
+    /** A flag indicating that the service has been disposed. */
+    private boolean disposed;
+
+    /** Flags whether the creation of data item entities is deferred. */
+    private volatile boolean deferItemEntities;
+
+    /** A flag that is set while the rendering thread is drawing. */
+    private volatile boolean drawing;
+
+    /** The lock for the front buffer and its rendering info. */
+    private final Object frameLock = new Object();
+
+    /** The front buffer (<code>null</code> until the first frame is ready). */
+    private Bitmap front;
+
+    /** The back buffer. */
+    private Bitmap back;
+
+    /** The rendering info for the front buffer. */
+    private ChartRenderingInfo frontInfo;
+
+    /**
+     * An exception from the rendering thread that no listener has been told
+     * about (<code>null</code> if there is none).
+     */
+    private RuntimeException failure;
+
+    /**
+     * Creates a new service for the specified chart.  No frames are drawn
+     * until the size is set.
+     *
+     * @param chart  the chart (<code>null</code> not permitted).
+     */
+    public ChartRenderService(AFreeChart chart) {
+        if (chart == null) {
+            throw new IllegalArgumentException("Null 'chart' argument.");
+        }
+        this.chart = chart;
+        this.renderListeners = new CopyOnWriteArrayList<ChartRenderListener>();
+        this.updates = new ArrayList<Runnable>();
+        this.deferItemEntities = true;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AFreeChart renderer");
+                thread.setDaemon(true);
+                ChartRenderService.this.renderThread = thread;
+                return thread;
+            }
+        });
+        this.renderTask = new Runnable() {
+            public void run() {
+                renderFrames();
+            }
+        };
+        chart.addChangeListener(this);
+        chart.addProgressListener(this);
+    }
+
+    /**
+     * Returns the chart.
+     *
+     * @return The chart (never <code>null</code>).
+     */
+    public AFreeChart getChart() {
+        return this.chart;
+    }
+
+    /**
+     * Returns the flag that controls whether the creation of data item
+     * entities is deferred for each frame.  The default value is
+     * <code>true</code>.
+     *
+     * @return A boolean.
+     *
+     * @see ChartRenderingInfo#getDeferItemEntities()
+     */
+    public boolean getDeferItemEntities() {
+        return this.deferItemEntities;
+    }
+
+    /**
+     * Sets the flag that controls whether the creation of data item entities
+     * is deferred for each frame.  The new setting applies from the next
+     * frame drawn.
+     *
+     * @param defer  the new flag value.
+     *
+     * @see ChartRenderingInfo#setDeferItemEntities(boolean)
+     */
+    public void setDeferItemEntities(boolean defer) {
+        this.deferItemEntities = defer;
+    }
+
+    /**
+     * Sets the size of the frames and, if it has changed, requests a new
+     * frame.  A view will typically call this method from
+     * <code>onSizeChanged()</code>.
+     *
+     * @param width  the width (in pixels).
+     * @param height  the height (in pixels).
+     */
+    public void setSize(int width, int height) {
+        synchronized (this) {
+            if (this.width == width && this.height == height) {
+                return;
+            }
+            this.width = width;
+            this.height = height;
+        }
+        requestRender();
+    }
+
+    /**
+     * Requests a new frame.  Any frame that is being drawn when this method
+     * is called becomes stale.
+     */
+    public void requestRender() {
+        synchronized (this) {
+            this.generation++;
+            if (!this.scheduled && !this.disposed) {
+                this.scheduled = true;
+                this.executor.execute(this.renderTask);
+            }
+        }
+    }
+
+    /**
+     * Runs a change to the chart (or its datasets) on the rendering thread
+     * before the next frame is drawn, and requests that frame.
+     *
+     * @param update  the change (<code>null</code> not permitted).
+     */
+    public void invokeUpdate(Runnable update) {
+        if (update == null) {
+            throw new IllegalArgumentException("Null 'update' argument.");
+        }
+        synchronized (this) {
+            this.updates.add(update);
+        }
+        requestRender();
+    }
+
+    /**
+     * Receives notification of a change to the chart and requests a new
+     * frame.
+     *
+     * @param event  the event.
+     */
+    public void chartChanged(ChartChangeEvent event) {
+        // drawing the chart can itself trigger change events, which must not
+        // make the frame that is being drawn stale...
+        if (this.drawing && Thread.currentThread() == this.renderThread) {
+            return;
+        }
+        requestRender();
+    }
+
+    /**
+     * Receives notification of the progress of drawing the chart.  Once a
+     * frame is finished, the chart sends the dataset changes that it held
+     * back while drawing, and those must request a new frame.
+     *
+     * @param event  the event.
+     */
+    public void chartProgress(ChartProgressEvent event) {
+        if (event.getType() == ChartProgressEvent.DRAWING_FINISHED
+                && Thread.currentThread() == this.renderThread) {
+            this.drawing = false;
+        }
+    }
+
+    /**
+     * Draws the most recent frame on a canvas.  A view will typically call
+     * this method from <code>onDraw()</code>.
+     *
+     * @param canvas  the canvas (<code>null</code> not permitted).
+     * @param x  the x-coordinate for the top left corner of the frame.
+     * @param y  the y-coordinate for the top left corner of the frame.
+     *
+     * @return <code>true</code> if a frame was drawn, and <code>false</code>
+     *         if no frame is ready yet.
+     *
+     * @throws RuntimeException  the exception thrown on the rendering thread
+     *         since the last call, if there are no render listeners to tell
+     *         about it.
+     */
+    public boolean drawFrame(Canvas canvas, float x, float y) {
+        synchronized (this.frameLock) {
+            if (this.failure != null) {
+                RuntimeException e = this.failure;
+                this.failure = null;
+                throw e;
+            }
+            if (this.front == null) {
+                return false;
+            }
+            canvas.drawBitmap(this.front, x, y, null);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the rendering info for the most recent frame.  The info is not
+     * changed once the frame is ready, so it can be used for hit-testing on
+     * the UI thread while later frames are being drawn.
+     *
+     * @return The rendering info (<code>null</code> if no frame is ready
+     *         yet).
+     */
+    public ChartRenderingInfo getRenderingInfo() {
+        synchronized (this.frameLock) {
+            return this.frontInfo;
+        }
+    }
+
+    /**
+     * Registers an object to be told when a new frame is ready.
+     *
+     * @param listener  the listener (<code>null</code> not permitted).
+     *
+     * @see #removeRenderListener(ChartRenderListener)
+     */
+    public void addRenderListener(ChartRenderListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Null 'listener' argument.");
+        }
+        this.renderListeners.add(listener);
+    }
+
+    /**
+     * Deregisters an object so that it is no longer told about new frames.
+     *
+     * @param listener  the listener.
+     *
+     * @see #addRenderListener(ChartRenderListener)
+     */
+    public void removeRenderListener(ChartRenderListener listener) {
+        this.renderListeners.remove(listener);
+    }
+
+    /**
+     * Stops the rendering thread, deregisters the service from the chart and
+     * releases the bitmaps.  The service cannot be used again.
+     */
+    public void dispose() {
+        synchronized (this) {
+            if (this.disposed) {
+                return;
+            }
+            this.disposed = true;
+            this.updates.clear();
+        }
+        this.chart.removeChangeListener(this);
+        this.chart.removeProgressListener(this);
+        // release the bitmaps on the rendering thread, after any frame that
+        // is being drawn...
+        this.executor.execute(new Runnable() {
+            public void run() {
+                synchronized (ChartRenderService.this.frameLock) {
+                    releaseBuffers();
+                }
+            }
+        });
+        this.executor.shutdown();
+    }
+
+    /**
+     * Draws frames until there are no more changes or requests.  This
+     * method runs on the rendering thread.
+     */
+    private void renderFrames() {
+        boolean done = false;
+        try {
+            while (!done) {
+                List<Runnable> pending;
+                synchronized (this) {
+                    if (this.disposed) {
+                        return;
+                    }
+                    pending = this.updates;
+                    this.updates = new ArrayList<Runnable>();
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    try {
+                        pending.get(i).run();
+                    }
+                    catch (RuntimeException e) {
+                        renderFailed(e);
+                    }
+                }
+
+                long frame;
+                int w;
+                int h;
+                synchronized (this) {
+                    if (!this.updates.isEmpty() && !this.skipped) {
+                        // the frame would be stale before it was drawn, so
+                        // make the new changes first...
+                        this.skipped = true;
+                        continue;
+                    }
+                    frame = this.generation;
+                    w = this.width;
+                    h = this.height;
+                }
+                boolean drawn = false;
+                ChartRenderingInfo info = null;
+                if (w > 0 && h > 0) {
+                    info = new ChartRenderingInfo();
+                    info.setDeferItemEntities(this.deferItemEntities);
+                    try {
+                        drawBackBuffer(w, h, info);
+                        drawn = true;
+                    }
+                    catch (RuntimeException e) {
+                        renderFailed(e);
+                    }
+                }
+
+                boolean present = false;
+                synchronized (this) {
+                    boolean stale = frame != this.generation;
+                    if (drawn && (!stale || this.skipped)) {
+                        present = true;
+                        this.skipped = false;
+                    }
+                    else if (drawn) {
+                        this.skipped = true;
+                    }
+                    if (!stale && this.updates.isEmpty()) {
+                        this.scheduled = false;
+                        done = true;
+                    }
+                }
+                if (present) {
+                    synchronized (this.frameLock) {
+                        Bitmap b = this.front;
+                        this.front = this.back;
+                        this.back = b;
+                        this.frontInfo = info;
+                    }
+                    for (int i = this.renderListeners.size() - 1; i >= 0; i--) {
+                        this.renderListeners.get(i).frameRendered(this);
+                    }
+                }
+            }
+        }
+        finally {
+            if (!done) {
+                synchronized (this) {
+                    this.scheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes an exception thrown on the rendering thread to the render
+     * listeners or, if there are none, keeps it to be thrown by
+     * {@link #drawFrame(Canvas, float, float)}.
+     *
+     * @param e  the exception.
+     */
+    private void renderFailed(RuntimeException e) {
+        if (this.renderListeners.isEmpty()) {
+            synchronized (this.frameLock) {
+                this.failure = e;
+            }
+            return;
+        }
+        for (int i = this.renderListeners.size() - 1; i >= 0; i--) {
+            this.renderListeners.get(i).renderFailed(this, e);
+        }
+    }
+
+    /**
+     * Draws the chart into the back buffer, creating the buffer if it is
+     * missing or the wrong size.  The front buffer is never touched, so
+     * there is no need to hold the frame lock.
+     *
+     * @param w  the width.
+     * @param h  the height.
+     * @param info  the rendering info for the frame.
+     */
+    private void drawBackBuffer(int w, int h, ChartRenderingInfo info) {
+        if (this.back == null || this.back.getWidth() != w
+                || this.back.getHeight() != h) {
+            if (this.back != null) {
+                this.back.recycle();
+            }
+            this.back = Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_8888);
+        }
+        this.back.eraseColor(Color.TRANSPARENT);
+        Canvas canvas = new Canvas(this.back);
+        this.drawing = true;
+        try {
+            this.chart.draw(canvas, new RectShape(0.0, 0.0, w, h), null, info);
+        }
+        finally {
+            this.drawing = false;
+        }
+    }
+
+    /**
+     * Releases both bitmaps.
+     */
+    private void releaseBuffers() {
+        if (this.front != null) {
+            this.front.recycle();
+            this.front = null;
+        }
+        if (this.back != null) {
+            this.back.recycle();
+            this.back = null;
+        }
+        this.frontInfo = null;
+    }
+
+}
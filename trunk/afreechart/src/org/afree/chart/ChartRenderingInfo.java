@@ -68,7 +68,7 @@ import java.io.Serializable;
 import org.afree.util.ObjectUtilities;
 import org.afree.util.PublicCloneable;
 import org.afree.chart.entity.EntityCollection;
-import org.afree.chart.entity.StandardEntityCollection;
+import org.afree.chart.entity.GridEntityCollection;
 import org.afree.chart.plot.PlotRenderingInfo;
 import org.afree.graphics.geom.RectShape;
 
@@ -104,12 +104,22 @@ public class ChartRenderingInfo implements Cloneable,PublicCloneable, Serializab
      */
     private EntityCollection entities;
 
+    /**
+     * A flag that controls whether the renderers in an XY plot skip the
+     * creation of entities for individual data items.  When it is set, the
+     * item under a point can be found on demand with
+     * {@link org.afree.chart.plot.XYItemLocator}.
+     */
+    private boolean deferItemEntities;
+
     /**
      * Constructs a new ChartRenderingInfo structure that can be used to collect
-     * information about the dimensions of a rendered chart.
+     * information about the dimensions of a rendered chart.  The entities are
+     * collected in a {@link GridEntityCollection}, so that hit-testing stays
+     * fast for charts with many data items.
      */
     public ChartRenderingInfo() {
-        this(new StandardEntityCollection());
+        this(new GridEntityCollection());
     }
 
     /**
@@ -173,6 +183,48 @@ public class ChartRenderingInfo implements Cloneable,PublicCloneable, Serializab
         this.entities = entities;
     }
 
+    /**
+     * Returns the collection that renderers should add data item entities
+     * to.  This is the same as {@link #getEntityCollection()}, except that
+     * it returns <code>null</code> when item entities are deferred.
+     *
+     * @return The entity collection (possibly <code>null</code>).
+     *
+     * @see #getDeferItemEntities()
+     */
+    public EntityCollection getItemEntityCollection() {
+        if (this.deferItemEntities) {
+            return null;
+        }
+        return this.entities;
+    }
+
+    /**
+     * Returns the flag that controls whether the creation of data item
+     * entities is deferred until a hit-test is performed.  The default value
+     * is <code>false</code>.
+     *
+     * @return A boolean.
+     *
+     * @see #setDeferItemEntities(boolean)
+     */
+    public boolean getDeferItemEntities() {
+        return this.deferItemEntities;
+    }
+
+    /**
+     * Sets the flag that controls whether the creation of data item entities
+     * is deferred until a hit-test is performed.  Entities for other chart
+     * elements (titles, axes, legend items and so on) are still collected.
+     *
+     * @param defer  the new flag value.
+     *
+     * @see #getDeferItemEntities()
+     */
+    public void setDeferItemEntities(boolean defer) {
+        this.deferItemEntities = defer;
+    }
+
     /**
      * Clears the information recorded by this object.
      */
@@ -193,6 +245,18 @@ public class ChartRenderingInfo implements Cloneable,PublicCloneable, Serializab
         return this.plotInfo;
     }
 
+    /**
+     * Sets the rendering info for the chart's plot.  This is used by
+     * {@link AFreeChart} to restore the info recorded when a cached plot
+     * layer was drawn.
+     * 
+     * @param plotInfo
+     *            the plot rendering info (<code>null</code> not permitted).
+     */
+    void setPlotInfo(PlotRenderingInfo plotInfo) {
+        this.plotInfo = plotInfo;
+    }
+
     /**
      * Tests this object for equality with an arbitrary object.
      *
@@ -217,6 +281,9 @@ public class ChartRenderingInfo implements Cloneable,PublicCloneable, Serializab
         if (!ObjectUtilities.equal(this.entities, that.entities)) {
             return false;
         }
+        if (this.deferItemEntities != that.deferItemEntities) {
+            return false;
+        }
         return true;
     }    
     
@@ -149,9 +149,12 @@ package org.afree.chart.axis;
 import java.io.Serializable;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -351,6 +354,67 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     /** Our underlying timeline. */
     private Timeline timeline;
 
+    /** The maximum number of tick labels kept in the label cache. */
+    private static final int TICK_LABEL_CACHE_SIZE = 512;
+
+    /**
+     * A calendar for the axis time zone and locale that is reused for the
+     * date calculations in previousStandardDate() and nextStandardDate().
+     * It is created when first needed.
+     */
+    private transient Calendar workingCalendar;
+
+    /**
+     * The ticks from the last call to refreshTicks(), or <code>null</code>.
+     * The ticks are reused while the axis range, tick unit, timeline, date
+     * format override and data area size are unchanged, and are discarded
+     * when the axis sends a change event.
+     */
+    private transient List tickCache;
+
+    /** The lower bound of the axis range for the cached ticks. */
+    private transient double tickCacheLower;
+
+    /** The upper bound of the axis range for the cached ticks. */
+    private transient double tickCacheUpper;
+
+    /** The width of the data area for the cached ticks. */
+    private transient double tickCacheWidth;
+
+    /** The height of the data area for the cached ticks. */
+    private transient double tickCacheHeight;
+
+    /** The axis location for the cached ticks. */
+    private transient RectangleEdge tickCacheEdge;
+
+    /** The tick unit for the cached ticks. */
+    private transient DateTickUnit tickCacheUnit;
+
+    /** The timeline for the cached ticks. */
+    private transient Timeline tickCacheTimeline;
+
+    /**
+     * A copy of the date format override for the cached ticks and labels, so
+     * that changes made to the override in place are detected.
+     */
+    private transient DateFormat tickCacheFormatter;
+
+    /**
+     * Tick labels keyed by the tick time (a <code>Long</code>), so that the
+     * labels for ticks that stay on the axis while it is panned are not
+     * formatted again.
+     */
+    private transient Map tickLabelCache;
+
+    /** The tick unit used to format the labels in the label cache. */
+    private transient DateTickUnit tickLabelCacheUnit;
+
+    /** The date format override used for the labels in the label cache. */
+    private transient DateFormat tickLabelCacheFormatter;
+
+    /** The time zone for the labels in the label cache. */
+    private transient TimeZone tickLabelCacheZone;
+
     /**
      * Creates a date axis with no label.
      */
@@ -438,6 +502,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         }
         if (!this.timeZone.equals(zone)) {
             this.timeZone = zone;
+            this.workingCalendar = null;
             setStandardTickUnits(createStandardDateTickUnits(zone,
                     this.locale));
             notifyListeners(new AxisChangeEvent(this));
@@ -454,18 +519,19 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     }
 
     /**
-     * Sets the underlying timeline to use for this axis.
+     * Sets the underlying timeline to use for this axis and sends an
+     * {@link AxisChangeEvent} to all registered listeners.
      * <P>
-     * If the timeline is changed, an {@link AxisChangeEvent} is sent to all
-     * registered listeners.
+     * The event is sent even if the timeline is the current one, so after
+     * changing a timeline in place (for example, adding exceptions to a
+     * {@link SegmentedTimeline}) call this method again to discard the
+     * cached ticks.
      *
      * @param timeline  the timeline.
      */
     public void setTimeline(Timeline timeline) {
-        if (this.timeline != timeline) {
-            this.timeline = timeline;
-            notifyListeners(new AxisChangeEvent(this));
-        }
+        this.timeline = timeline;
+        notifyListeners(new AxisChangeEvent(this));
     }
 
     /**
@@ -904,7 +970,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         int months;
         int years;
 
-        Calendar calendar = Calendar.getInstance(this.timeZone, this.locale);
+        Calendar calendar = getWorkingCalendar();
         calendar.setTime(date);
         int count = unit.getCount();
         int current = calendar.get(unit.getCalendarField());
@@ -1116,12 +1182,26 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
      */
     protected Date nextStandardDate(Date date, DateTickUnit unit) {
         Date previous = previousStandardDate(date, unit);
-        Calendar calendar = Calendar.getInstance(this.timeZone, this.locale);
+        Calendar calendar = getWorkingCalendar();
         calendar.setTime(previous);
         calendar.add(unit.getCalendarField(), unit.getMultiple());
         return calendar.getTime();
     }
 
+    /**
+     * Returns the calendar used for date calculations, creating it if
+     * necessary.
+     *
+     * @return The calendar.
+     */
+    private Calendar getWorkingCalendar() {
+        if (this.workingCalendar == null) {
+            this.workingCalendar = Calendar.getInstance(this.timeZone,
+                    this.locale);
+        }
+        return this.workingCalendar;
+    }
+
     /**
      * Returns a collection of standard date tick units that uses the default
      * time zone.  This collection will be used by default, but you are free
@@ -1576,6 +1656,27 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                              RectShape dataArea,
                              RectangleEdge edge) {
 
+        DateFormat formatter = getDateFormatOverride();
+        if (formatter == null ? this.tickCacheFormatter != null
+                : !formatter.equals(this.tickCacheFormatter)) {
+            this.tickCache = null;
+            this.tickLabelCache = null;
+            this.tickCacheFormatter = formatter == null ? null
+                    : (DateFormat) formatter.clone();
+        }
+
+        Range range = getRange();
+        if (this.tickCache != null
+                && this.tickCacheLower == range.getLowerBound()
+                && this.tickCacheUpper == range.getUpperBound()
+                && this.tickCacheWidth == dataArea.getWidth()
+                && this.tickCacheHeight == dataArea.getHeight()
+                && this.tickCacheEdge == edge
+                && this.tickCacheUnit == this.tickUnit
+                && this.tickCacheTimeline == this.timeline) {
+            return new ArrayList(this.tickCache);
+        }
+
         List result = null;
         if (RectangleEdge.isTopOrBottom(edge)) {
             result = refreshTicksHorizontal(canvas, dataArea, edge);
@@ -1583,10 +1684,57 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         else if (RectangleEdge.isLeftOrRight(edge)) {
             result = refreshTicksVertical(canvas, dataArea, edge);
         }
+        if (result != null) {
+            this.tickCache = new ArrayList(result);
+            this.tickCacheLower = range.getLowerBound();
+            this.tickCacheUpper = range.getUpperBound();
+            this.tickCacheWidth = dataArea.getWidth();
+            this.tickCacheHeight = dataArea.getHeight();
+            this.tickCacheEdge = edge;
+            this.tickCacheUnit = this.tickUnit;
+            this.tickCacheTimeline = this.timeline;
+        }
         return result;
 
     }
 
+    /**
+     * Returns the label for a tick, taking it from the label cache if the
+     * tick has been labelled before with the current tick unit, date format
+     * override and time zone.
+     *
+     * @param tickDate  the tick date.
+     *
+     * @return The tick label.
+     */
+    private String getTickLabel(Date tickDate) {
+        DateFormat formatter = getDateFormatOverride();
+        if (this.tickLabelCache == null
+                || this.tickLabelCacheUnit != this.tickUnit
+                || this.tickLabelCacheFormatter != formatter
+                || this.tickLabelCacheZone != this.timeZone) {
+            this.tickLabelCache = new HashMap();
+            this.tickLabelCacheUnit = this.tickUnit;
+            this.tickLabelCacheFormatter = formatter;
+            this.tickLabelCacheZone = this.timeZone;
+        }
+        Long key = new Long(tickDate.getTime());
+        String result = (String) this.tickLabelCache.get(key);
+        if (result == null) {
+            if (formatter != null) {
+                result = formatter.format(tickDate);
+            }
+            else {
+                result = this.tickUnit.dateToString(tickDate);
+            }
+            if (this.tickLabelCache.size() >= TICK_LABEL_CACHE_SIZE) {
+                this.tickLabelCache.clear();
+            }
+            this.tickLabelCache.put(key, result);
+        }
+        return result;
+    }
+
     /**
      * Corrects the given tick date for the position setting.
      *
@@ -1632,7 +1780,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     protected List refreshTicksHorizontal(Canvas canvas,
                 RectShape dataArea, RectangleEdge edge) {
         
-        List result = new java.util.ArrayList();
+        List result = new ArrayList();
         
         if (isAutoTickUnitSelection()) {
             selectAutoTickUnit(canvas, dataArea, edge);
@@ -1667,14 +1815,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
 
             if (!isHiddenValue(tickDate.getTime())) {
                 // work out the value, label and position
-                String tickLabel;
-                DateFormat formatter = getDateFormatOverride();
-                if (formatter != null) {
-                    tickLabel = formatter.format(tickDate);
-                }
-                else {
-                    tickLabel = this.tickUnit.dateToString(tickDate);
-                }
+                String tickLabel = getTickLabel(tickDate);
                 TextAnchor anchor = null;
                 TextAnchor rotationAnchor = null;
                 double angle = 0.0;
@@ -1743,7 +1884,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     protected List refreshTicksVertical(Canvas canvas,
             RectShape dataArea, RectangleEdge edge) {
         
-        List result = new java.util.ArrayList();
+        List result = new ArrayList();
 
         if (isAutoTickUnitSelection()) {
             selectAutoTickUnit(canvas, dataArea, edge);
@@ -1777,14 +1918,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             }
             if (!isHiddenValue(tickDate.getTime())) {
                 // work out the value, label and position
-                String tickLabel;
-                DateFormat formatter = getDateFormatOverride();
-                if (formatter != null) {
-                    tickLabel = formatter.format(tickDate);
-                }
-                else {
-                    tickLabel = this.tickUnit.dateToString(tickDate);
-                }
+                String tickLabel = getTickLabel(tickDate);
                 TextAnchor anchor = null;
                 TextAnchor rotationAnchor = null;
                 double angle = 0.0;
@@ -1836,6 +1970,17 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Sends an {@link AxisChangeEvent} to all registered listeners, after
+     * discarding the cached ticks (the change may affect them).
+     *
+     * @param event  the event.
+     */
+    protected void notifyListeners(AxisChangeEvent event) {
+        this.tickCache = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Draws the axis on a graphics device (such as the screen or a
      * printer).
@@ -1974,6 +2119,9 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 = (DateFormat) this.dateFormatOverride.clone();
         }
         // 'tickMarkPosition' is immutable : no need to clone
+        clone.workingCalendar = null;
+        clone.tickCache = null;
+        clone.tickLabelCache = null;
         return clone;
     }
 
@@ -274,6 +274,24 @@ public class SegmentedTimeline implements Timeline, Cloneable, Serializable {
      */
     private List exceptionSegments = new ArrayList();
 
+    /**
+     * The start of each exception segment, in the same order as the
+     * exceptionSegments list.  This, together with exceptionEnds and
+     * exceptionCounts, is an index that lets the exception segments in an
+     * interval be counted with a binary search.  It is rebuilt when the
+     * exception segments change.
+     */
+    private transient long[] exceptionStarts;
+
+    /** The end of each exception segment. */
+    private transient long[] exceptionEnds;
+
+    /**
+     * The running total of segment counts: element <code>i</code> is the
+     * number of segments in the first <code>i</code> exception segments.
+     */
+    private transient long[] exceptionCounts;
+
     /**
      * This base timeline is used to specify exceptions at a higher level. For
      * example, if we are a intraday timeline and want to exclude holidays,
@@ -534,12 +552,15 @@ public class SegmentedTimeline implements Timeline, Cloneable, Serializable {
     }
 
     /**
-     * Sets the exception segments list.
+     * Sets the exception segments list.  The list must be sorted, and it
+     * should not be modified after it is passed to this method (use the
+     * <code>addException()</code> methods instead).
      *
      * @param exceptionSegments  the exception segments.
      */
     public void setExceptionSegments(List exceptionSegments) {
         this.exceptionSegments = exceptionSegments;
+        this.exceptionStarts = null;
     }
 
     /**
@@ -647,6 +668,51 @@ public class SegmentedTimeline implements Timeline, Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Translates an array of values relative to the domain value into values
+     * relative to the segmented timeline.  This is equivalent to calling
+     * {@link #toTimelineValue(long)} for each value, but is intended for
+     * renderers that translate many values at once.
+     *
+     * @param milliseconds  the milliseconds (<code>null</code> not
+     *                      permitted).
+     *
+     * @return The timeline values.
+     *
+     * @see #toTimelineValues(long[], long[])
+     */
+    public long[] toTimelineValues(long[] milliseconds) {
+        return toTimelineValues(milliseconds, null);
+    }
+
+    /**
+     * Translates an array of values relative to the domain value into values
+     * relative to the segmented timeline, storing the results in an array
+     * supplied by the caller (so that the array can be reused from one call
+     * to the next).
+     *
+     * @param milliseconds  the milliseconds (<code>null</code> not
+     *                      permitted).
+     * @param result  an array for the results (if <code>null</code>, or
+     *                shorter than <code>milliseconds</code>, a new array is
+     *                created).
+     *
+     * @return The timeline values.
+     */
+    public long[] toTimelineValues(long[] milliseconds, long[] result) {
+        if (milliseconds == null) {
+            throw new IllegalArgumentException(
+                    "Null 'milliseconds' argument.");
+        }
+        if (result == null || result.length < milliseconds.length) {
+            result = new long[milliseconds.length];
+        }
+        for (int i = 0; i < milliseconds.length; i++) {
+            result[i] = toTimelineValue(milliseconds[i]);
+        }
+        return result;
+    }
+
     /**
      * Translates a date into a value relative to the segmented timeline. The
      * values relative to the segmented timeline are all consecutives starting
@@ -892,6 +958,7 @@ public class SegmentedTimeline implements Timeline, Cloneable, Serializable {
          if (segment.inIncludeSegments()) {
              int p = binarySearchExceptionSegments(segment);
              this.exceptionSegments.add(-(p + 1), segment);
+             this.exceptionStarts = null;
          }
     }
 
@@ -1032,12 +1099,29 @@ public class SegmentedTimeline implements Timeline, Cloneable, Serializable {
             return (0);
         }
 
-        int n = 0;
-        for (Iterator iter = this.exceptionSegments.iterator();
-             iter.hasNext();) {
-            Segment segment = (Segment) iter.next();
-            Segment intersection = segment.intersect(fromMillisecond,
-                    toMillisecond);
+        updateExceptionIndex();
+
+        // the exception segments that overlap the interval are those from
+        // index a (the first that ends on or after fromMillisecond) up to
+        // b - 1 (the last that starts on or before toMillisecond)
+        int a = findFirstEndingOnOrAfter(fromMillisecond);
+        int b = findFirstStartingAfter(toMillisecond);
+        if (a >= b) {
+            return (0);
+        }
+
+        // only the first and last segments can be partly outside the
+        // interval, all those in between are counted from the running total
+        long n = 0;
+        Segment intersection = ((Segment) this.exceptionSegments.get(a))
+                .intersect(fromMillisecond, toMillisecond);
+        if (intersection != null) {
+            n += intersection.getSegmentCount();
+        }
+        if (b - 1 > a) {
+            n += this.exceptionCounts[b - 1] - this.exceptionCounts[a + 1];
+            intersection = ((Segment) this.exceptionSegments.get(b - 1))
+                    .intersect(fromMillisecond, toMillisecond);
             if (intersection != null) {
                 n += intersection.getSegmentCount();
             }
@@ -1046,6 +1130,80 @@ public class SegmentedTimeline implements Timeline, Cloneable, Serializable {
         return (n);
     }
 
+    /**
+     * Rebuilds the index of exception segments, if it is out of date.
+     */
+    private void updateExceptionIndex() {
+        int count = this.exceptionSegments.size();
+        if (this.exceptionStarts != null
+                && this.exceptionStarts.length == count) {
+            return;
+        }
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        long[] counts = new long[count + 1];
+        int i = 0;
+        for (Iterator iter = this.exceptionSegments.iterator();
+             iter.hasNext();) {
+            Segment segment = (Segment) iter.next();
+            starts[i] = segment.getSegmentStart();
+            ends[i] = segment.getSegmentEnd();
+            counts[i + 1] = counts[i] + segment.getSegmentCount();
+            i++;
+        }
+        this.exceptionEnds = ends;
+        this.exceptionCounts = counts;
+        this.exceptionStarts = starts;
+    }
+
+    /**
+     * Returns the index of the first exception segment that ends on or after
+     * the specified millisecond, or the number of exception segments if
+     * there is no such segment.
+     *
+     * @param millisecond  the millisecond.
+     *
+     * @return The index.
+     */
+    private int findFirstEndingOnOrAfter(long millisecond) {
+        int low = 0;
+        int high = this.exceptionEnds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.exceptionEnds[mid] < millisecond) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first exception segment that starts after the
+     * specified millisecond, or the number of exception segments if there is
+     * no such segment.
+     *
+     * @param millisecond  the millisecond.
+     *
+     * @return The index.
+     */
+    private int findFirstStartingAfter(long millisecond) {
+        int low = 0;
+        int high = this.exceptionStarts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.exceptionStarts[mid] <= millisecond) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * Returns a segment that contains a domainValue. If the domainValue is
      * not contained in the timeline (because it is not contained in the
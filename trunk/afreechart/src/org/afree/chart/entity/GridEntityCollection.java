@@ -0,0 +1,527 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------------
+ * GridEntityCollection.java
+ * -------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.entity;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.afree.util.ObjectUtilities;
+import org.afree.util.PublicCloneable;
+import org.afree.graphics.geom.RectShape;
+
+/**
+ * An {@link EntityCollection} that maintains a uniform grid over the bounds
+ * of the entity areas, so that finding the entity at a point examines only
+ * the entities that overlap one grid cell rather than every entity in the
+ * collection.  The grid is built on the first query after the entities are
+ * added (typically, the first touch event after the chart is drawn).  A few
+ * entities added after that are searched directly, and the grid is rebuilt
+ * once there are too many of them.
+ * <P>
+ * The lookup rules are the same as for {@link StandardEntityCollection}:
+ * when several entities contain a point, the one added last is returned.
+ * The areas of the entities must not be changed after they are added.
+ */
+public class GridEntityCollection implements EntityCollection,
+        Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2271534961307825541L;
+
+    /** The maximum number of columns (or rows) in the grid. */
+    private static final int MAX_CELLS_PER_SIDE = 256;
+
+    /** The target number of entities per grid cell. */
+    private static final int ENTITIES_PER_CELL = 4;
+
+    /** The margin added around the bounds of each entity area. */
+    private static final float MARGIN = 1.0f;
+
+    /** The number of unindexed entities that is always tolerated. */
+    private static final int MIN_UNINDEXED = 32;
+
+    /** Storage for the entities. */
+    private List entities;
+
+    /** The number of entities covered by the grid (0 if there is no grid). */
+    private transient int indexedCount;
+
+    /** The left edge of the grid. */
+    private transient float gridX;
+
+    /** The top edge of the grid. */
+    private transient float gridY;
+
+    /** The width of a grid cell. */
+    private transient float cellWidth;
+
+    /** The height of a grid cell. */
+    private transient float cellHeight;
+
+    /** The number of columns in the grid. */
+    private transient int columns;
+
+    /** The number of rows in the grid. */
+    private transient int rows;
+
+    /**
+     * The position in {@link #cellItems} of the first entity index for each
+     * cell (with one extra element marking the end of the last cell).
+     */
+    private transient int[] cellStart;
+
+    /** The entity indices for each cell, in ascending order. */
+    private transient int[] cellItems;
+
+    /**
+     * The indices (in ascending order) of the entities that cover too many
+     * cells to be stored in the grid, such as plot and axis entities.
+     */
+    private transient int[] oversized;
+
+    /**
+     * Constructs a new entity collection (initially empty).
+     */
+    public GridEntityCollection() {
+        this.entities = new ArrayList();
+    }
+
+    /**
+     * Returns the number of entities in the collection.
+     *
+     * @return The entity count.
+     */
+    public int getEntityCount() {
+        return this.entities.size();
+    }
+
+    /**
+     * Returns a chart entity from the collection.
+     *
+     * @param index  the entity index.
+     *
+     * @return The entity.
+     *
+     * @see #add(ChartEntity)
+     */
+    public ChartEntity getEntity(int index) {
+        return (ChartEntity) this.entities.get(index);
+    }
+
+    /**
+     * Clears all the entities from the collection.
+     */
+    public void clear() {
+        this.entities.clear();
+        discardIndex();
+    }
+
+    /**
+     * Adds an entity to the collection.
+     *
+     * @param entity  the entity (<code>null</code> not permitted).
+     */
+    public void add(ChartEntity entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Null 'entity' argument.");
+        }
+        this.entities.add(entity);
+    }
+
+    /**
+     * Adds all the entities from the specified collection.
+     *
+     * @param collection  the collection of entities (<code>null</code> not
+     *     permitted).
+     */
+    public void addAll(EntityCollection collection) {
+        this.entities.addAll(collection.getEntities());
+    }
+
+    /**
+     * Returns the last entity in the list with an area that encloses the
+     * specified coordinates, or <code>null</code> if there is no such entity.
+     *
+     * @param x  the x coordinate.
+     * @param y  the y coordinate.
+     *
+     * @return The entity (possibly <code>null</code>).
+     */
+    public ChartEntity getEntity(double x, double y) {
+        float fx = (float) x;
+        float fy = (float) y;
+        updateIndex();
+
+        // entities added since the grid was built take precedence
+        for (int i = this.entities.size() - 1; i >= this.indexedCount; i--) {
+            ChartEntity entity = (ChartEntity) this.entities.get(i);
+            if (entity.getArea().contains(fx, fy)) {
+                return entity;
+            }
+        }
+        if (this.indexedCount == 0) {
+            return null;
+        }
+
+        int found = -1;
+        int column = column(fx);
+        int row = row(fy);
+        // (a point on the right or bottom edge of the grid maps to the
+        // last column or row)
+        if (column >= 0 && column <= this.columns && row >= 0
+                && row <= this.rows) {
+            int cell = clampRow(row) * this.columns + clampColumn(column);
+            for (int k = this.cellStart[cell + 1] - 1;
+                    k >= this.cellStart[cell]; k--) {
+                int i = this.cellItems[k];
+                if (contains(i, fx, fy)) {
+                    found = i;
+                    break;
+                }
+            }
+        }
+        for (int k = this.oversized.length - 1; k >= 0; k--) {
+            int i = this.oversized[k];
+            if (i <= found) {
+                break;
+            }
+            if (contains(i, fx, fy)) {
+                found = i;
+                break;
+            }
+        }
+        return found >= 0 ? (ChartEntity) this.entities.get(found) : null;
+    }
+
+    /**
+     * Returns the entities with an area that intersects the specified
+     * rectangle (for example, a selection drawn by the user), in the order
+     * that they were added to the collection.
+     *
+     * @param area  the rectangle (<code>null</code> not permitted).
+     *
+     * @return A list of entities (possibly empty, never <code>null</code>).
+     */
+    public List getEntities(RectShape area) {
+        if (area == null) {
+            throw new IllegalArgumentException("Null 'area' argument.");
+        }
+        updateIndex();
+        int count = this.entities.size();
+        BitSet candidates = new BitSet(count);
+        if (this.indexedCount > 0) {
+            int c0 = Math.max(column(area.getMinX()), 0);
+            int c1 = Math.min(column(area.getMaxX()), this.columns - 1);
+            int r0 = Math.max(row(area.getMinY()), 0);
+            int r1 = Math.min(row(area.getMaxY()), this.rows - 1);
+            for (int row = r0; row <= r1; row++) {
+                for (int column = c0; column <= c1; column++) {
+                    int cell = row * this.columns + column;
+                    for (int k = this.cellStart[cell];
+                            k < this.cellStart[cell + 1]; k++) {
+                        candidates.set(this.cellItems[k]);
+                    }
+                }
+            }
+            for (int k = 0; k < this.oversized.length; k++) {
+                candidates.set(this.oversized[k]);
+            }
+        }
+        candidates.set(this.indexedCount, count);
+        List result = new ArrayList();
+        for (int i = candidates.nextSetBit(0); i >= 0;
+                i = candidates.nextSetBit(i + 1)) {
+            ChartEntity entity = (ChartEntity) this.entities.get(i);
+            if (entity.getArea().intersects(area)) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entities in an unmodifiable collection.
+     *
+     * @return The entities.
+     */
+    public Collection getEntities() {
+        return Collections.unmodifiableCollection(this.entities);
+    }
+
+    /**
+     * Returns an iterator for the entities in the collection.
+     *
+     * @return An iterator.
+     */
+    public Iterator iterator() {
+        return this.entities.iterator();
+    }
+
+    /**
+     * Tests this object for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof GridEntityCollection) {
+            GridEntityCollection that = (GridEntityCollection) obj;
+            return ObjectUtilities.equal(this.entities, that.entities);
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash code for this collection.
+     *
+     * @return A hash code.
+     */
+    public int hashCode() {
+        return this.entities.hashCode();
+    }
+
+    /**
+     * Returns a clone of the collection.  The entities are cloned, and the
+     * grid is rebuilt on the first query to the clone.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if an entity cannot be cloned.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        GridEntityCollection clone = (GridEntityCollection) super.clone();
+        clone.entities = new ArrayList(this.entities.size());
+        for (int i = 0; i < this.entities.size(); i++) {
+            ChartEntity entity = (ChartEntity) this.entities.get(i);
+            clone.entities.add(entity.clone());
+        }
+        clone.discardIndex();
+        return clone;
+    }
+
+    /**
+     * Returns <code>true</code> if the area of the specified entity contains
+     * a point.
+     *
+     * @param index  the entity index.
+     * @param x  the x coordinate.
+     * @param y  the y coordinate.
+     *
+     * @return A boolean.
+     */
+    private boolean contains(int index, float x, float y) {
+        ChartEntity entity = (ChartEntity) this.entities.get(index);
+        return entity.getArea().contains(x, y);
+    }
+
+    /**
+     * Returns the grid column for an x coordinate (the result may be outside
+     * the grid).
+     *
+     * @param x  the x coordinate.
+     *
+     * @return The column.
+     */
+    private int column(float x) {
+        return (int) Math.floor((x - this.gridX) / this.cellWidth);
+    }
+
+    /**
+     * Returns the grid row for a y coordinate (the result may be outside the
+     * grid).
+     *
+     * @param y  the y coordinate.
+     *
+     * @return The row.
+     */
+    private int row(float y) {
+        return (int) Math.floor((y - this.gridY) / this.cellHeight);
+    }
+
+    /**
+     * Discards the grid (it will be rebuilt when next required).
+     */
+    private void discardIndex() {
+        this.indexedCount = 0;
+        this.cellStart = null;
+        this.cellItems = null;
+        this.oversized = null;
+    }
+
+    /**
+     * Rebuilds the grid if there is none, or if too many entities have been
+     * added since it was built.
+     */
+    private void updateIndex() {
+        int count = this.entities.size();
+        if (count < this.indexedCount) {
+            // the list has been modified through a removal
+            discardIndex();
+        }
+        int unindexed = count - this.indexedCount;
+        if (unindexed > MIN_UNINDEXED && unindexed > this.indexedCount / 8) {
+            buildIndex();
+        }
+    }
+
+    /**
+     * Builds the grid for all the entities in the collection.
+     */
+    private void buildIndex() {
+        int count = this.entities.size();
+        float[] x0 = new float[count];
+        float[] y0 = new float[count];
+        float[] x1 = new float[count];
+        float[] y1 = new float[count];
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        RectShape bounds = new RectShape();
+        for (int i = 0; i < count; i++) {
+            ChartEntity entity = (ChartEntity) this.entities.get(i);
+            entity.getArea().getBounds(bounds);
+            // some shapes round the coordinates when testing for
+            // containment, so allow a margin around the bounds
+            x0[i] = bounds.getMinX() - MARGIN;
+            y0[i] = bounds.getMinY() - MARGIN;
+            x1[i] = bounds.getMaxX() + MARGIN;
+            y1[i] = bounds.getMaxY() + MARGIN;
+            minX = Math.min(minX, x0[i]);
+            minY = Math.min(minY, y0[i]);
+            maxX = Math.max(maxX, x1[i]);
+            maxY = Math.max(maxY, y1[i]);
+        }
+        int side = (int) Math.ceil(Math.sqrt((double) count
+                / ENTITIES_PER_CELL));
+        side = Math.max(1, Math.min(side, MAX_CELLS_PER_SIDE));
+        this.columns = side;
+        this.rows = side;
+        this.gridX = minX;
+        this.gridY = minY;
+        this.cellWidth = maxX > minX ? (maxX - minX) / side : 1.0f;
+        this.cellHeight = maxY > minY ? (maxY - minY) / side : 1.0f;
+        int cellCount = side * side;
+        int oversizedLimit = Math.max(16, cellCount / 8);
+
+        // first pass: count the entities in each cell
+        int[] starts = new int[cellCount + 1];
+        int oversizedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int c0 = clampColumn(column(x0[i]));
+            int c1 = clampColumn(column(x1[i]));
+            int r0 = clampRow(row(y0[i]));
+            int r1 = clampRow(row(y1[i]));
+            if ((c1 - c0 + 1) * (r1 - r0 + 1) > oversizedLimit) {
+                oversizedCount++;
+                continue;
+            }
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    starts[r * side + c + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            starts[cell + 1] += starts[cell];
+        }
+
+        // second pass: fill in the entity indices
+        int[] items = new int[starts[cellCount]];
+        int[] fill = new int[cellCount];
+        System.arraycopy(starts, 0, fill, 0, cellCount);
+        int[] big = new int[oversizedCount];
+        int b = 0;
+        for (int i = 0; i < count; i++) {
+            int c0 = clampColumn(column(x0[i]));
+            int c1 = clampColumn(column(x1[i]));
+            int r0 = clampRow(row(y0[i]));
+            int r1 = clampRow(row(y1[i]));
+            if ((c1 - c0 + 1) * (r1 - r0 + 1) > oversizedLimit) {
+                big[b++] = i;
+                continue;
+            }
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    items[fill[r * side + c]++] = i;
+                }
+            }
+        }
+        this.cellStart = starts;
+        this.cellItems = items;
+        this.oversized = big;
+        this.indexedCount = count;
+    }
+
+    /**
+     * Clamps a column to the grid.
+     *
+     * @param column  the column.
+     *
+     * @return The clamped column.
+     */
+    private int clampColumn(int column) {
+        return Math.max(0, Math.min(column, this.columns - 1));
+    }
+
+    /**
+     * Clamps a row to the grid.
+     *
+     * @param row  the row.
+     *
+     * @return The clamped row.
+     */
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(row, this.rows - 1));
+    }
+
+}
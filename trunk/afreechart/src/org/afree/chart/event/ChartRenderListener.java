@@ -0,0 +1,77 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * ChartRenderListener.java
+ * ------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.event;
+
+import java.util.EventListener;
+
+import org.afree.chart.ChartRenderService;
+
+/**
+ * The interface that must be supported by classes that wish to be told
+ * when a {@link ChartRenderService} has finished drawing a new frame, or
+ * has failed to draw one.
+ */
+public interface ChartRenderListener extends EventListener {
+
+    /**
+     * Receives notification that a new frame is ready to be copied to the
+     * screen.  This method is called on the rendering thread, so a view will
+     * typically just call <code>postInvalidate()</code>.
+     *
+     * @param service  the service that drew the frame.
+     */
+    public void frameRendered(ChartRenderService service);
+
+    /**
+     * Receives notification that a change made with
+     * {@link ChartRenderService#invokeUpdate(Runnable)}, or the drawing of a
+     * frame, has thrown an exception.  This method is called on the
+     * rendering thread, which carries on with the next change or frame.
+     *
+     * @param service  the service.
+     * @param exception  the exception.
+     */
+    public void renderFailed(ChartRenderService service,
+            RuntimeException exception);
+
+}
@@ -0,0 +1,173 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------------------
+ * CoalescingChartChangeListener.java
+ * -----------------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A chart change listener that collapses the events it receives into a
+ * single notification for another listener.  The first event received
+ * after a notification schedules a flush with the supplied executor, and any
+ * further events received before the flush runs are combined with it.  On
+ * Android, an executor that posts to the UI thread's handler (or a view's
+ * <code>post()</code> method) gives at most one notification per frame,
+ * however many changes a data feed makes in between.
+ * <P>
+ * If no executor is supplied, the events are held until {@link #flush()} is
+ * called, for instance at the start of each frame.  Events can arrive on any
+ * thread; the target listener is notified on the thread that runs the flush.
+ */
+public class CoalescingChartChangeListener implements ChartChangeListener {
+
+    /** The listener that receives the combined events. */
+    private ChartChangeListener listener;
+
+    /** The executor used to schedule a flush (<code>null</code> permitted). */
+    private Executor executor;
+
+    /** The event waiting to be sent, or <code>null</code>. */
+    private ChartChangeEvent pendingEvent;
+
+    /** A flag indicating that a flush has been scheduled. */
+    private boolean flushScheduled;
+
+    /** The task passed to the executor. */
+    private Runnable flushTask;
+
+    /**
+     * Creates a new listener that holds events until {@link #flush()} is
+     * called.
+     *
+     * @param listener  the target listener (<code>null</code> not permitted).
+     */
+    public CoalescingChartChangeListener(ChartChangeListener listener) {
+        this(listener, null);
+    }
+
+    /**
+     * Creates a new listener.
+     *
+     * @param listener  the target listener (<code>null</code> not permitted).
+     * @param executor  the executor used to schedule a flush when the first
+     *                  event arrives (<code>null</code> permitted, in which
+     *                  case {@link #flush()} must be called explicitly).
+     */
+    public CoalescingChartChangeListener(ChartChangeListener listener,
+            Executor executor) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Null 'listener' argument.");
+        }
+        this.listener = listener;
+        this.executor = executor;
+        this.flushTask = new Runnable() {
+            public void run() {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * Returns the listener that receives the combined events.
+     *
+     * @return The listener (never <code>null</code>).
+     */
+    public ChartChangeListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Returns <code>true</code> if there is an event waiting to be sent, and
+     * <code>false</code> otherwise.
+     *
+     * @return A boolean.
+     */
+    public synchronized boolean isPending() {
+        return this.pendingEvent != null;
+    }
+
+    /**
+     * Receives notification of a chart change event and holds it (combined
+     * with any other events received since the last flush) until the next
+     * flush.
+     *
+     * @param event  the event.
+     */
+    public void chartChanged(ChartChangeEvent event) {
+        boolean schedule = false;
+        synchronized (this) {
+            if (this.pendingEvent == null) {
+                this.pendingEvent = event;
+            }
+            else if (this.pendingEvent.getType() == event.getType()) {
+                this.pendingEvent = event;
+            }
+            else {
+                this.pendingEvent = new ChartChangeEvent(event.getSource(),
+                        event.getChart());
+            }
+            if (this.executor != null && !this.flushScheduled) {
+                this.flushScheduled = true;
+                schedule = true;
+            }
+        }
+        if (schedule) {
+            this.executor.execute(this.flushTask);
+        }
+    }
+
+    /**
+     * Sends the waiting event (if there is one) to the target listener.
+     */
+    public void flush() {
+        ChartChangeEvent event;
+        synchronized (this) {
+            event = this.pendingEvent;
+            this.pendingEvent = null;
+            this.flushScheduled = false;
+        }
+        if (event != null) {
+            this.listener.chartChanged(event);
+        }
+    }
+
+}
@@ -426,6 +426,19 @@ public class CombinedDomainXYPlot extends XYPlot
         return space;
     }
 
+    /**
+     * Sends any change events that the datasets of the subplots are holding
+     * back because they were updated on another thread.
+     */
+    public void firePendingDatasetChanges() {
+        super.firePendingDatasetChanges();
+        Iterator iterator = this.subplots.iterator();
+        while (iterator.hasNext()) {
+            XYPlot plot = (XYPlot) iterator.next();
+            plot.firePendingDatasetChanges();
+        }
+    }
+
     /**
      * Draws the plot within the specified area on a graphics device.
      *
@@ -1071,6 +1071,19 @@ public abstract class Plot implements AxisChangeListener, LegendItemSource, Clon
         }
     }
 
+    /**
+     * Sends any change events that the plot's datasets are holding back
+     * because they were updated on another thread (see
+     * {@link org.afree.data.general.SnapshotDataset#firePendingChange()}).
+     * The chart calls this method after it has drawn the plot, so that the
+     * events are handled on the drawing thread but not in the middle of a
+     * frame.  The default implementation does nothing; subclasses that
+     * support snapshot datasets override it.
+     */
+    public void firePendingDatasetChanges() {
+        // nothing to do by default.
+    }
+
     /**
      * Handles a 'click' on the plot. Since the plot does not maintain any
      * information about where it has been drawn, the plot rendering info is
@@ -0,0 +1,531 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------
+ * XYItemLocator.java
+ * ------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.plot;
+
+import org.afree.ui.RectangleEdge;
+import org.afree.data.DomainOrder;
+import org.afree.data.xy.XYDataset;
+import org.afree.chart.axis.ValueAxis;
+import org.afree.chart.entity.XYItemEntity;
+import org.afree.chart.labels.XYToolTipGenerator;
+import org.afree.chart.renderer.AbstractRenderer;
+import org.afree.chart.renderer.RendererUtilities;
+import org.afree.chart.renderer.xy.AbstractXYItemRenderer;
+import org.afree.chart.renderer.xy.XYItemRenderer;
+import org.afree.graphics.geom.OvalShape;
+import org.afree.graphics.geom.RectShape;
+
+import android.graphics.PointF;
+
+/**
+ * Finds the data item under a point in an {@link XYPlot} without relying on
+ * the entities recorded while the chart was drawn.  The point is converted
+ * to a range of x-values with {@link ValueAxis#java2DToValue(double,
+ * RectShape, RectangleEdge)} and the live items in that range are found by
+ * binary search (for datasets sorted by x-value), so the cost of a lookup
+ * does not depend on the number of items in the chart.  This is intended to
+ * be used with {@link org.afree.chart.ChartRenderingInfo#setDeferItemEntities(
+ * boolean)}.
+ * <P>
+ * The same search is used to lock the crosshairs onto the data item nearest
+ * to the anchor point (see {@link #updateCrosshairState(XYPlot, RectShape,
+ * CrosshairState)}).
+ */
+public class XYItemLocator {
+
+    /** Lock onto the nearest item in Java2D space. */
+    private static final int POINT = 0;
+
+    /** Lock onto the nearest x-value. */
+    private static final int DOMAIN = 1;
+
+    /** Lock onto the nearest y-value. */
+    private static final int RANGE = 2;
+
+    /**
+     * Private constructor prevents instantiation.
+     */
+    private XYItemLocator() {
+        // no requirements
+    }
+
+    /**
+     * Returns an entity for the data item nearest to the specified point, or
+     * <code>null</code> if there is no visible item within
+     * <code>radius</code> of the point.  The entity's tool tip text comes
+     * from the renderer's tool tip generator, if it has one.
+     *
+     * @param plot  the plot (<code>null</code> not permitted).
+     * @param info  the rendering info for the plot, from the last time it
+     *              was drawn (<code>null</code> not permitted).
+     * @param x  the x-coordinate of the point.
+     * @param y  the y-coordinate of the point.
+     * @param radius  the search radius (in pixels).
+     *
+     * @return The entity (possibly <code>null</code>).
+     */
+    public static XYItemEntity findItemEntity(XYPlot plot,
+            PlotRenderingInfo info, double x, double y, double radius) {
+        if (plot == null) {
+            throw new IllegalArgumentException("Null 'plot' argument.");
+        }
+        if (info == null) {
+            throw new IllegalArgumentException("Null 'info' argument.");
+        }
+        RectShape dataArea = info.getDataArea();
+        if (!dataArea.contains((float) x, (float) y)) {
+            return null;
+        }
+        boolean vertical = plot.getOrientation() == PlotOrientation.VERTICAL;
+        double domainPos = vertical ? x : y;
+        double rangePos = vertical ? y : x;
+
+        XYDataset bestDataset = null;
+        int bestSeries = -1;
+        int bestItem = -1;
+        double bestDomainPos = 0.0;
+        double bestRangePos = 0.0;
+        double bestDistance = radius * radius;
+        int datasetCount = plot.getDatasetCount();
+        for (int i = 0; i < datasetCount; i++) {
+            XYDataset dataset = plot.getDataset(i);
+            if (dataset == null) {
+                continue;
+            }
+            XYItemRenderer renderer = plot.getRendererForDataset(dataset);
+            ValueAxis domainAxis = plot.getDomainAxisForDataset(i);
+            ValueAxis rangeAxis = plot.getRangeAxisForDataset(i);
+            if (renderer == null || domainAxis == null || rangeAxis == null) {
+                continue;
+            }
+            RectangleEdge domainEdge = getDomainAxisEdge(plot, domainAxis);
+            RectangleEdge rangeEdge = getRangeAxisEdge(plot, rangeAxis);
+            double x0 = domainAxis.java2DToValue(domainPos - radius, dataArea,
+                    domainEdge);
+            double x1 = domainAxis.java2DToValue(domainPos + radius, dataArea,
+                    domainEdge);
+            double xLow = Math.min(x0, x1);
+            double xHigh = Math.max(x0, x1);
+            int seriesCount = dataset.getSeriesCount();
+            for (int series = 0; series < seriesCount; series++) {
+                if (!renderer.isSeriesVisible(series)
+                        || dataset.getItemCount(series) == 0) {
+                    continue;
+                }
+                int[] live = RendererUtilities.findLiveItems(dataset, series,
+                        xLow, xHigh);
+                for (int item = live[0]; item <= live[1]; item++) {
+                    double xx = dataset.getXValue(series, item);
+                    double yy = dataset.getYValue(series, item);
+                    if (Double.isNaN(xx) || Double.isNaN(yy)
+                            || xx < xLow || xx > xHigh
+                            || !renderer.getItemVisible(series, item)) {
+                        continue;
+                    }
+                    double d = domainAxis.valueToJava2D(xx, dataArea,
+                            domainEdge);
+                    double r = rangeAxis.valueToJava2D(yy, dataArea,
+                            rangeEdge);
+                    double dd = (d - domainPos) * (d - domainPos)
+                            + (r - rangePos) * (r - rangePos);
+                    // on a tie, the item found last wins (as in the entity collections)
+                    if (dd <= bestDistance) {
+                        bestDistance = dd;
+                        bestDataset = dataset;
+                        bestSeries = series;
+                        bestItem = item;
+                        bestDomainPos = d;
+                        bestRangePos = r;
+                    }
+                }
+            }
+        }
+        if (bestDataset == null) {
+            return null;
+        }
+
+        double r = radius;
+        XYItemRenderer renderer = plot.getRendererForDataset(bestDataset);
+        if (renderer instanceof AbstractRenderer) {
+            r = ((AbstractRenderer) renderer).getDefaultEntityRadius();
+        }
+        double cx = vertical ? bestDomainPos : bestRangePos;
+        double cy = vertical ? bestRangePos : bestDomainPos;
+        OvalShape hotspot = new OvalShape(cx - r, cy - r, r * 2, r * 2);
+        String tip = "";
+        if (renderer instanceof AbstractXYItemRenderer) {
+            XYToolTipGenerator generator = ((AbstractXYItemRenderer) renderer)
+                    .getToolTipGenerator(bestSeries, bestItem);
+            if (generator != null) {
+                tip = generator.generateToolTip(bestDataset, bestSeries,
+                        bestItem);
+            }
+        }
+        // the renderers have no URL generators in AFreeChart...
+        return new XYItemEntity(hotspot, bestDataset, bestSeries, bestItem,
+                tip, "");
+    }
+
+    /**
+     * Returns the edge for a domain axis of a plot.
+     *
+     * @param plot  the plot.
+     * @param axis  the axis.
+     *
+     * @return The edge.
+     */
+    private static RectangleEdge getDomainAxisEdge(XYPlot plot,
+            ValueAxis axis) {
+        int index = plot.getDomainAxisIndex(axis);
+        if (index < 0) {
+            return plot.getDomainAxisEdge();
+        }
+        return plot.getDomainAxisEdge(index);
+    }
+
+    /**
+     * Returns the edge for a range axis of a plot.
+     *
+     * @param plot  the plot.
+     * @param axis  the axis.
+     *
+     * @return The edge.
+     */
+    private static RectangleEdge getRangeAxisEdge(XYPlot plot,
+            ValueAxis axis) {
+        int index = plot.getRangeAxisIndex(axis);
+        if (index < 0) {
+            return plot.getRangeAxisEdge();
+        }
+        return plot.getRangeAxisEdge(index);
+    }
+
+    /**
+     * Updates a crosshair state with the data item nearest to its anchor
+     * point, as the renderers do for each item they draw when they are
+     * passed a crosshair state.  The items considered are the visible items
+     * within the domain axis range (plus one item either side, as drawn by
+     * the plot) and each item's x- and y-values are used.  For datasets
+     * sorted by x-value the nearest item is found by binary search and a
+     * scan outwards that stops once items are too far away along the domain
+     * axis, so the cost does not depend on the number of items in the chart.
+     * Datasets, series and items are visited in the order that the plot
+     * draws them, so the same item is chosen when two are equally near.
+     * <P>
+     * The state is updated only for the axes whose crosshairs are locked on
+     * the data, and not at all if it has no anchor point.
+     *
+     * @param plot  the plot (<code>null</code> not permitted).
+     * @param dataArea  the data area (<code>null</code> not permitted).
+     * @param state  the crosshair state, with the anchor point and the
+     *               crosshair distance set (<code>null</code> not
+     *               permitted).
+     */
+    public static void updateCrosshairState(XYPlot plot, RectShape dataArea,
+            CrosshairState state) {
+        if (plot == null) {
+            throw new IllegalArgumentException("Null 'plot' argument.");
+        }
+        if (dataArea == null) {
+            throw new IllegalArgumentException("Null 'dataArea' argument.");
+        }
+        if (state == null) {
+            throw new IllegalArgumentException("Null 'state' argument.");
+        }
+        PointF anchor = state.getAnchor();
+        int mode;
+        if (plot.isDomainCrosshairLockedOnData()) {
+            mode = plot.isRangeCrosshairLockedOnData() ? POINT : DOMAIN;
+        }
+        else {
+            mode = plot.isRangeCrosshairLockedOnData() ? RANGE : -1;
+        }
+        if (anchor == null || mode < 0) {
+            return;
+        }
+        PlotOrientation orientation = plot.getOrientation();
+        boolean vertical = orientation == PlotOrientation.VERTICAL;
+        double domainPos = vertical ? anchor.x : anchor.y;
+        double rangePos = vertical ? anchor.y : anchor.x;
+
+        int datasetCount = plot.getDatasetCount();
+        boolean forward = plot.getDatasetRenderingOrder()
+                == DatasetRenderingOrder.FORWARD;
+        for (int d = 0; d < datasetCount; d++) {
+            int index = forward ? d : datasetCount - 1 - d;
+            XYDataset dataset = plot.getDataset(index);
+            if (dataset == null) {
+                continue;
+            }
+            ValueAxis domainAxis = plot.getDomainAxisForDataset(index);
+            ValueAxis rangeAxis = plot.getRangeAxisForDataset(index);
+            XYItemRenderer renderer = plot.getRenderer(index);
+            if (renderer == null) {
+                renderer = plot.getRenderer();
+            }
+            if (renderer == null || domainAxis == null || rangeAxis == null) {
+                continue;
+            }
+            RectangleEdge domainEdge = getDomainAxisEdge(plot, domainAxis);
+            RectangleEdge rangeEdge = getRangeAxisEdge(plot, rangeAxis);
+            Locator locator = new Locator(mode, renderer, dataset, domainAxis,
+                    rangeAxis, dataArea, domainEdge, rangeEdge, domainPos,
+                    rangePos, state.getAnchorX(), state.getAnchorY());
+            int domainAxisIndex = plot.getDomainAxisIndex(domainAxis);
+            int rangeAxisIndex = plot.getRangeAxisIndex(rangeAxis);
+            boolean reverse = plot.getSeriesRenderingOrder()
+                    == SeriesRenderingOrder.REVERSE;
+            int seriesCount = dataset.getSeriesCount();
+            for (int i = 0; i < seriesCount; i++) {
+                int series = reverse ? seriesCount - 1 - i : i;
+                int item = locator.findNearestItem(series,
+                        state.getCrosshairDistance());
+                if (item < 0) {
+                    continue;
+                }
+                double x = dataset.getXValue(series, item);
+                double y = dataset.getYValue(series, item);
+                if (mode == POINT) {
+                    state.updateCrosshairPoint(x, y, domainAxisIndex,
+                            rangeAxisIndex, domainAxis.valueToJava2D(x,
+                            dataArea, domainEdge), rangeAxis.valueToJava2D(y,
+                            dataArea, rangeEdge), orientation);
+                }
+                else if (mode == DOMAIN) {
+                    state.updateCrosshairX(x, domainAxisIndex);
+                }
+                else {
+                    state.updateCrosshairY(y, rangeAxisIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the item nearest to the anchor point in each series of one
+     * dataset.
+     */
+    private static class Locator {
+
+        /** The search mode (POINT, DOMAIN or RANGE). */
+        private int mode;
+
+        /** The renderer. */
+        private XYItemRenderer renderer;
+
+        /** The dataset. */
+        private XYDataset dataset;
+
+        /** The domain axis. */
+        private ValueAxis domainAxis;
+
+        /** The range axis. */
+        private ValueAxis rangeAxis;
+
+        /** The data area. */
+        private RectShape dataArea;
+
+        /** The domain axis edge. */
+        private RectangleEdge domainEdge;
+
+        /** The range axis edge. */
+        private RectangleEdge rangeEdge;
+
+        /** The anchor position along the domain axis (in Java2D space). */
+        private double domainPos;
+
+        /** The anchor position along the range axis (in Java2D space). */
+        private double rangePos;
+
+        /** The anchor x-value. */
+        private double anchorX;
+
+        /** The anchor y-value. */
+        private double anchorY;
+
+        /** The distance to the nearest item found so far. */
+        private double bestDistance;
+
+        /** The index of the nearest item found so far. */
+        private int bestItem;
+
+        Locator(int mode, XYItemRenderer renderer, XYDataset dataset,
+                ValueAxis domainAxis, ValueAxis rangeAxis, RectShape dataArea,
+                RectangleEdge domainEdge, RectangleEdge rangeEdge,
+                double domainPos, double rangePos, double anchorX,
+                double anchorY) {
+            this.mode = mode;
+            this.renderer = renderer;
+            this.dataset = dataset;
+            this.domainAxis = domainAxis;
+            this.rangeAxis = rangeAxis;
+            this.dataArea = dataArea;
+            this.domainEdge = domainEdge;
+            this.rangeEdge = rangeEdge;
+            this.domainPos = domainPos;
+            this.rangePos = rangePos;
+            this.anchorX = anchorX;
+            this.anchorY = anchorY;
+        }
+
+        /**
+         * Returns the index of the item nearest to the anchor point in a
+         * series (the lowest index if several items are equally near).
+         *
+         * @param series  the series index.
+         * @param limit  the distance that an item must be nearer than.
+         *
+         * @return The item index (-1 if there is no item nearer than the
+         *         limit).
+         */
+        int findNearestItem(int series, double limit) {
+            this.bestDistance = limit;
+            this.bestItem = -1;
+            int itemCount = this.dataset.getItemCount(series);
+            if (itemCount == 0) {
+                return -1;
+            }
+            int[] live = RendererUtilities.findLiveItems(this.dataset, series,
+                    this.domainAxis.getLowerBound(),
+                    this.domainAxis.getUpperBound());
+            int first = Math.max(live[0] - 1, 0);
+            int last = Math.min(live[1] + 1, itemCount - 1);
+            if (this.mode == RANGE || this.dataset.getDomainOrder()
+                    != DomainOrder.ASCENDING) {
+                for (int item = first; item <= last; item++) {
+                    consider(series, item);
+                }
+                return this.bestItem;
+            }
+
+            double x = this.anchorX;
+            if (this.mode == POINT) {
+                x = this.domainAxis.java2DToValue(this.domainPos,
+                        this.dataArea, this.domainEdge);
+            }
+            // find the first item with an x-value not less than the anchor,
+            // then work outwards until the items are too far away
+            int low = first;
+            int high = last + 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.dataset.getXValue(series, mid) < x) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            for (int item = low; item <= last; item++) {
+                if (getDomainDistance(series, item) > this.bestDistance) {
+                    break;
+                }
+                consider(series, item);
+            }
+            for (int item = low - 1; item >= first; item--) {
+                if (getDomainDistance(series, item) > this.bestDistance) {
+                    break;
+                }
+                consider(series, item);
+            }
+            return this.bestItem;
+        }
+
+        /**
+         * Returns the distance from the anchor point to an item along the
+         * domain axis, which is never more than the distance used to compare
+         * items.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         *
+         * @return The distance.
+         */
+        private double getDomainDistance(int series, int item) {
+            double x = this.dataset.getXValue(series, item);
+            if (this.mode == DOMAIN) {
+                return Math.abs(x - this.anchorX);
+            }
+            double d = this.domainAxis.valueToJava2D(x, this.dataArea,
+                    this.domainEdge) - this.domainPos;
+            return d * d;
+        }
+
+        /**
+         * Compares an item with the nearest item found so far.
+         *
+         * @param series  the series index.
+         * @param item  the item index.
+         */
+        private void consider(int series, int item) {
+            if (!this.renderer.getItemVisible(series, item)) {
+                return;
+            }
+            double d;
+            if (this.mode == DOMAIN) {
+                d = Math.abs(this.dataset.getXValue(series, item)
+                        - this.anchorX);
+            }
+            else if (this.mode == RANGE) {
+                d = Math.abs(this.dataset.getYValue(series, item)
+                        - this.anchorY);
+            }
+            else {
+                double dx = this.domainAxis.valueToJava2D(
+                        this.dataset.getXValue(series, item), this.dataArea,
+                        this.domainEdge) - this.domainPos;
+                double dy = this.rangeAxis.valueToJava2D(
+                        this.dataset.getYValue(series, item), this.dataArea,
+                        this.rangeEdge) - this.rangePos;
+                d = dx * dx + dy * dy;
+            }
+            if (d < this.bestDistance
+                    || (d == this.bestDistance && item < this.bestItem)) {
+                this.bestDistance = d;
+                this.bestItem = item;
+            }
+        }
+
+    }
+
+}
@@ -243,6 +243,7 @@
 package org.afree.chart.plot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -272,7 +273,9 @@ import org.afree.chart.axis.ValueTick;
 import org.afree.data.Range;
 import org.afree.data.xy.XYDataset;
 import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeType;
 import org.afree.data.general.DatasetUtilities;
+import org.afree.data.general.SnapshotDataset;
 import org.afree.chart.event.ChartChangeEventType;
 import org.afree.chart.event.PlotChangeEvent;
 import org.afree.chart.event.RendererChangeEvent;
@@ -534,6 +537,26 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
      */
     private boolean rangeCrosshairLockedOnData = true;
 
+    /**
+     * A flag that controls whether the crosshairs are locked onto the data
+     * by a search after the items are drawn, instead of by the renderers as
+     * each item is drawn.
+     */
+    private boolean crosshairLocatorEnabled;
+
+    /**
+     * The result of the last crosshair search, or <code>null</code> if the
+     * plot has changed since.  The plot may be drawn on one thread and
+     * changed on another, so the result is replaced as a whole.
+     */
+    private transient volatile LocatedCrosshair locatedCrosshair;
+
+    /**
+     * A count of the changes to the plot, used to discard the result of a
+     * crosshair search that was running when the plot changed.
+     */
+    private transient volatile int locatorChangeCount;
+
     /** A map of lists of foreground markers (optional) for the domain axes. */
     private Map foregroundDomainMarkers;
 
@@ -3282,6 +3305,20 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
     }
 
+    /**
+     * Sends any change events that the plot's datasets are holding back
+     * because they were updated on another thread.  The chart calls this
+     * method once it has finished drawing.
+     */
+    public void firePendingDatasetChanges() {
+        for (int i = 0; i < this.datasets.size(); i++) {
+            Object dataset = this.datasets.get(i);
+            if (dataset instanceof SnapshotDataset) {
+                ((SnapshotDataset) dataset).firePendingChange();
+            }
+        }
+    }
+
     /**
      * Draws the plot within the specified area on a graphics device.
      * 
@@ -3371,6 +3408,13 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         crosshairState.setCrosshairX(getDomainCrosshairValue());
         crosshairState.setCrosshairY(getRangeCrosshairValue());
 
+        // the renderers only update the crosshair state if the locator is
+        // not used...
+        CrosshairState itemCrosshairState = crosshairState;
+        if (this.crosshairLocatorEnabled) {
+            itemCrosshairState = null;
+        }
+
         canvas.save();
         canvas.clipRect((float) dataArea.getMinX(), (float) dataArea.getMinY(),
                 (float) dataArea.getMaxX(), (float) dataArea.getMaxY());
@@ -3433,8 +3477,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
             // render data items...
             for (int i = 0; i < getDatasetCount(); i++) {
-                foundData = render(canvas, dataArea, i, info, crosshairState)
-                        || foundData;
+                foundData = render(canvas, dataArea, i, info,
+                        itemCrosshairState) || foundData;
             }
 
             // draw foreground annotations
@@ -3466,8 +3510,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             }
 
             for (int i = getDatasetCount() - 1; i >= 0; i--) {
-                foundData = render(canvas, dataArea, i, info, crosshairState)
-                        || foundData;
+                foundData = render(canvas, dataArea, i, info,
+                        itemCrosshairState) || foundData;
             }
 
             // draw foreground annotations
@@ -3486,6 +3530,10 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
         }
 
+        if (this.crosshairLocatorEnabled && anchor != null) {
+            crosshairState = locateCrosshair(dataArea, crosshairState);
+        }
+
         // draw domain crosshair if required...
         int xAxisIndex = crosshairState.getDomainAxisIndex();
         ValueAxis xAxis = getDomainAxis(xAxisIndex);
@@ -3868,8 +3916,50 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public boolean render(Canvas canvas, RectShape dataArea, int index,
             PlotRenderingInfo info, CrosshairState crosshairState) {
 
-        boolean foundData = false;
         XYDataset dataset = getDataset(index);
+        if (!(dataset instanceof SnapshotDataset)) {
+            return renderDataset(canvas, dataArea, index, dataset, info,
+                    crosshairState);
+        }
+        // draw one consistent version of a dataset that may be updated on
+        // another thread (the renderers, label generators and entities
+        // still see the dataset itself)...
+        SnapshotDataset snapshotDataset = (SnapshotDataset) dataset;
+        snapshotDataset.pinSnapshot();
+        try {
+            return renderDataset(canvas, dataArea, index, dataset, info,
+                    crosshairState);
+        }
+        finally {
+            snapshotDataset.releaseSnapshot();
+        }
+    }
+
+    /**
+     * Draws the items in one dataset, for
+     * {@link #render(Canvas, RectShape, int, PlotRenderingInfo,
+     * CrosshairState)}.
+     * 
+     * @param canvas
+     *            the graphics device.
+     * @param dataArea
+     *            the region in which the data is to be drawn.
+     * @param index
+     *            the dataset index.
+     * @param dataset
+     *            the dataset (<code>null</code> permitted).
+     * @param info
+     *            an optional object for collection dimension information.
+     * @param crosshairState
+     *            collects crosshair information (<code>null</code> permitted).
+     * 
+     * @return A flag that indicates whether any data was actually rendered.
+     */
+    private boolean renderDataset(Canvas canvas, RectShape dataArea,
+            int index, XYDataset dataset, PlotRenderingInfo info,
+            CrosshairState crosshairState) {
+
+        boolean foundData = false;
         if (!DatasetUtilities.isEmptyOrNull(dataset)) {
             foundData = true;
             ValueAxis xAxis = getDomainAxisForDataset(index);
@@ -3909,7 +3999,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                         }
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
+                        for (int item = firstItem; item <= lastItem
+                                && !state.isSeriesPassComplete(); item++) {
                             renderer.drawItem(canvas, state, dataArea, info, this,
                                     xAxis, yAxis, dataset, series, item,
                                     crosshairState, pass);
@@ -3934,7 +4025,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                         }
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
+                        for (int item = firstItem; item <= lastItem
+                                && !state.isSeriesPassComplete(); item++) {
                             renderer.drawItem(canvas, state, dataArea, info, this,
                                     xAxis, yAxis, dataset, series, item,
                                     crosshairState, pass);
@@ -4369,6 +4461,50 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
     }
 
+    /**
+     * Locks the crosshairs onto the data item nearest to the anchor point,
+     * reusing the result of the last search if the anchor point, the data
+     * area, the axis ranges and the plot are unchanged.
+     * 
+     * @param dataArea
+     *            the data area.
+     * @param state
+     *            the crosshair state for the current anchor point.
+     * 
+     * @return The crosshair state to use.
+     */
+    private CrosshairState locateCrosshair(RectShape dataArea,
+            CrosshairState state) {
+        double[] bounds = new double[] {Double.NaN, Double.NaN, Double.NaN,
+                Double.NaN};
+        ValueAxis domainAxis = getDomainAxis();
+        if (domainAxis != null) {
+            bounds[0] = domainAxis.getLowerBound();
+            bounds[1] = domainAxis.getUpperBound();
+        }
+        ValueAxis rangeAxis = getRangeAxis();
+        if (rangeAxis != null) {
+            bounds[2] = rangeAxis.getLowerBound();
+            bounds[3] = rangeAxis.getUpperBound();
+        }
+        PointF anchor = state.getAnchor();
+        int changeCount = this.locatorChangeCount;
+        LocatedCrosshair last = this.locatedCrosshair;
+        if (last != null && last.changeCount == changeCount
+                && last.state.getAnchor().x == anchor.x
+                && last.state.getAnchor().y == anchor.y
+                && dataArea.equals(last.area)
+                && Arrays.equals(bounds, last.bounds)) {
+            return last.state;
+        }
+        XYItemLocator.updateCrosshairState(this, dataArea, state);
+        // keep a copy, since the caller may move the anchor point...
+        state.setAnchor(new PointF(anchor.x, anchor.y));
+        this.locatedCrosshair = new LocatedCrosshair(state,
+                (RectShape) dataArea.clone(), bounds, changeCount);
+        return state;
+    }
+
     /**
      * Draws a domain crosshair.
      * 
@@ -4748,7 +4884,13 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
      *            information about the event (not used here).
      */
      public void datasetChanged(DatasetChangeEvent event) {
-         configureDomainAxes();
+         this.locatorChangeCount++;
+         this.locatedCrosshair = null;
+         // a change to the y-values of existing items leaves the x-values
+         // (and so the domain axes) as they were...
+         if (event.getType() != DatasetChangeType.ITEMS_CHANGED) {
+             configureDomainAxes();
+         }
          configureRangeAxes();
          if (getParent() != null) {
              getParent().datasetChanged(event);
@@ -4776,6 +4918,19 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         fireChangeEvent();
     }
 
+    /**
+     * Discards the result of the last crosshair search, then sends a
+     * {@link PlotChangeEvent} to all registered listeners.
+     * 
+     * @param event
+     *            information about the change event.
+     */
+    public void notifyListeners(PlotChangeEvent event) {
+        this.locatorChangeCount++;
+        this.locatedCrosshair = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Returns a flag indicating whether or not the domain crosshair is visible.
      * 
@@ -5027,6 +5182,46 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
     }
 
+    /**
+     * Returns a flag indicating whether the crosshairs are locked onto the
+     * data by a search after the items are drawn.
+     * 
+     * @return The flag.
+     * 
+     * @see #setCrosshairLocatorEnabled(boolean)
+     */
+    public boolean isCrosshairLocatorEnabled() {
+        return this.crosshairLocatorEnabled;
+    }
+
+    /**
+     * Sets the flag indicating whether the crosshairs are locked onto the
+     * data by a search after the items are drawn, instead of by the renderers
+     * as each item is drawn, and sends a {@link PlotChangeEvent} to all
+     * registered listeners.  The search (see
+     * {@link XYItemLocator#updateCrosshairState(XYPlot, RectShape,
+     * CrosshairState)}) uses binary search on datasets sorted by x-value and
+     * is only repeated when the anchor point, the data area, the axis ranges
+     * or the plot change, so the cost of locking the crosshairs no longer
+     * grows with the number of items drawn.  Note that the plot is still
+     * drawn again each time the anchor point moves, so this alone does not
+     * make a crosshair that follows the user's finger as fast as the drawing
+     * of a large dataset allows.  The crosshairs lock onto the x- and
+     * y-values of the items, whatever the renderer draws for them (for
+     * instance, stacked renderers draw the items above the values).
+     * 
+     * @param flag
+     *            the flag.
+     * 
+     * @see #isCrosshairLocatorEnabled()
+     */
+    public void setCrosshairLocatorEnabled(boolean flag) {
+        if (this.crosshairLocatorEnabled != flag) {
+            this.crosshairLocatorEnabled = flag;
+            fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the range crosshair value.
      * 
@@ -5807,4 +6002,44 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     }
     
     
+    /**
+     * The result of a crosshair search, with the data area and axis bounds
+     * it was found for.
+     */
+    private static class LocatedCrosshair {
+
+        /** The crosshair state. */
+        final CrosshairState state;
+
+        /** The data area. */
+        final RectShape area;
+
+        /** The domain and range axis bounds. */
+        final double[] bounds;
+
+        /** The count of plot changes when the search started. */
+        final int changeCount;
+
+        /**
+         * Creates a new search result.
+         * 
+         * @param state
+         *            the crosshair state.
+         * @param area
+         *            the data area.
+         * @param bounds
+         *            the domain and range axis bounds.
+         * @param changeCount
+         *            the count of plot changes when the search started.
+         */
+        LocatedCrosshair(CrosshairState state, RectShape area,
+                double[] bounds, int changeCount) {
+            this.state = state;
+            this.area = area;
+            this.bounds = bounds;
+            this.changeCount = changeCount;
+        }
+
+    }
+
 }
@@ -395,6 +395,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     /** Storage for registered change listeners. */
     private transient List<RendererChangeListener> listenerList;
 
+    /**
+     * Paints reused across items (created on demand, and cleared whenever a
+     * change event is sent).
+     */
+    private transient PaintCache paintCache;
+
     /**
      * Default constructor.
      */
@@ -3237,6 +3243,49 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         return listenerList.contains(listener);
     }
 
+    /**
+     * Returns a paint with the specified flags and paint type for drawing an
+     * item in a series.  The paint is taken from a cache owned by the
+     * renderer, so the caller must not change its color, stroke or effect
+     * (the style, stroke cap and stroke join are reset on each call).
+     *
+     * @param series  the series index (zero-based).
+     * @param flags  the paint flags.
+     * @param paintType  the paint type (<code>null</code> not permitted).
+     *
+     * @return The paint.
+     */
+    protected Paint getCachedPaint(int series, int flags,
+            PaintType paintType) {
+        if (this.paintCache == null) {
+            this.paintCache = new PaintCache();
+        }
+        return this.paintCache.getPaint(series, flags, paintType);
+    }
+
+    /**
+     * Returns a paint with the specified flags, paint type, stroke and effect
+     * for drawing an item in a series.  The paint is taken from a cache owned
+     * by the renderer, so the caller must not change its color, stroke or
+     * effect (the style, stroke cap and stroke join are reset on each call).
+     *
+     * @param series  the series index (zero-based).
+     * @param flags  the paint flags.
+     * @param paintType  the paint type (<code>null</code> not permitted).
+     * @param stroke  the stroke width.
+     * @param effect  the path effect (<code>null</code> permitted).
+     *
+     * @return The paint.
+     */
+    protected Paint getCachedPaint(int series, int flags, PaintType paintType,
+            float stroke, PathEffect effect) {
+        if (this.paintCache == null) {
+            this.paintCache = new PaintCache();
+        }
+        return this.paintCache.getPaint(series, flags, paintType, stroke,
+                effect);
+    }
+
     /**
      * Sends a {@link RendererChangeEvent} to all registered listeners.
      *
@@ -3262,6 +3311,9 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @param event  information about the change event.
      */
     public void notifyListeners(RendererChangeEvent event) {
+        if (this.paintCache != null) {
+            this.paintCache.clear();
+        }
         if(listenerList.size() == 0) {
             return;
         }
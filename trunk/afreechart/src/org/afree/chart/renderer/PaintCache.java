@@ -0,0 +1,273 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ---------------
+ * PaintCache.java
+ * ---------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.renderer;
+
+import org.afree.graphics.GradientColor;
+import org.afree.graphics.PaintType;
+import org.afree.graphics.PaintUtility;
+import org.afree.graphics.SolidColor;
+
+import android.graphics.Paint;
+import android.graphics.PathEffect;
+
+/**
+ * A cache of <code>Paint</code> objects for a renderer, so that drawing an
+ * item does not allocate a new <code>Paint</code> when the paint type,
+ * stroke and effect are the same as for an earlier item in the same series.
+ * A few paints are kept for each series (typically one each for the line,
+ * the shape fill and the shape outline) and are replaced in rotation.
+ * <P>
+ * Paints are matched on the color taken from the paint type when the lookup
+ * is made, not on the paint type instance, so changing a paint type in place
+ * (for example with {@link GradientColor#setColor1(int)}) does not return a
+ * stale paint.
+ * <P>
+ * The cache is owned by {@link AbstractRenderer}, which clears it whenever
+ * a {@link org.afree.chart.event.RendererChangeEvent} is sent.  Callers may
+ * change the style, stroke cap and stroke join of a cached paint (as the
+ * shape drawing methods do), these are reset to the <code>Paint</code>
+ * defaults each time the paint is returned.  Callers must not change its
+ * color, stroke width or path effect.
+ */
+public class PaintCache {
+
+    /** The number of paints kept for each series. */
+    private static final int ENTRIES_PER_SERIES = 4;
+
+    /** The paint flags, indexed by series then entry. */
+    private int[][] flags;
+
+    /** The classes of the paint types. */
+    private Class[][] paintClasses;
+
+    /** The paint type colors at the time the paints were created. */
+    private int[][] colors;
+
+    /** Flags indicating whether a stroke and effect were applied. */
+    private boolean[][] stroked;
+
+    /** The stroke widths. */
+    private float[][] strokes;
+
+    /** The path effects. */
+    private PathEffect[][] effects;
+
+    /** The cached paints. */
+    private Paint[][] paints;
+
+    /** The entry that will be replaced next, for each series. */
+    private int[] next;
+
+    /**
+     * Creates a new empty cache.
+     */
+    public PaintCache() {
+        clear();
+    }
+
+    /**
+     * Returns a paint with the specified flags and paint type, creating it if
+     * necessary.
+     *
+     * @param series  the series index (zero-based).
+     * @param flags  the paint flags.
+     * @param paintType  the paint type (<code>null</code> not permitted).
+     *
+     * @return The paint.
+     */
+    public Paint getPaint(int series, int flags, PaintType paintType) {
+        return lookup(series, flags, paintType, false, 0.0f, null);
+    }
+
+    /**
+     * Returns a paint with the specified flags, paint type, stroke and
+     * effect, creating it if necessary.
+     *
+     * @param series  the series index (zero-based).
+     * @param flags  the paint flags.
+     * @param paintType  the paint type (<code>null</code> not permitted).
+     * @param stroke  the stroke width.
+     * @param effect  the path effect (<code>null</code> permitted).
+     *
+     * @return The paint.
+     */
+    public Paint getPaint(int series, int flags, PaintType paintType,
+            float stroke, PathEffect effect) {
+        return lookup(series, flags, paintType, true, stroke, effect);
+    }
+
+    /**
+     * Removes all the paints from the cache.
+     */
+    public void clear() {
+        this.flags = new int[0][];
+        this.paintClasses = new Class[0][];
+        this.colors = new int[0][];
+        this.stroked = new boolean[0][];
+        this.strokes = new float[0][];
+        this.effects = new PathEffect[0][];
+        this.paints = new Paint[0][];
+        this.next = new int[0];
+    }
+
+    /**
+     * Finds a matching paint for a series, creating one (and replacing the
+     * oldest entry for the series) if there is no match.
+     *
+     * @param series  the series index.
+     * @param flags  the paint flags.
+     * @param paintType  the paint type.
+     * @param stroked  apply the stroke and effect?
+     * @param stroke  the stroke width.
+     * @param effect  the path effect.
+     *
+     * @return The paint.
+     */
+    private Paint lookup(int series, int flags, PaintType paintType,
+            boolean stroked, float stroke, PathEffect effect) {
+        if (paintType == null) {
+            throw new IllegalArgumentException("Null 'paintType' argument.");
+        }
+        if (series < 0) {
+            throw new IllegalArgumentException("Negative 'series' argument.");
+        }
+        if (series >= this.paints.length) {
+            grow(series + 1);
+        }
+        Class paintClass = paintType.getClass();
+        int color = colorOf(paintType);
+        Paint[] p = this.paints[series];
+        for (int i = 0; i < ENTRIES_PER_SERIES; i++) {
+            if (p[i] != null && this.flags[series][i] == flags
+                    && this.paintClasses[series][i] == paintClass
+                    && this.colors[series][i] == color
+                    && this.stroked[series][i] == stroked
+                    && (!stroked || (this.strokes[series][i] == stroke
+                    && this.effects[series][i] == effect))) {
+                p[i].setStyle(Paint.Style.FILL);
+                p[i].setStrokeCap(Paint.Cap.BUTT);
+                p[i].setStrokeJoin(Paint.Join.MITER);
+                return p[i];
+            }
+        }
+        Paint paint;
+        if (stroked) {
+            paint = PaintUtility.createPaint(flags, paintType, stroke, effect);
+        }
+        else {
+            paint = PaintUtility.createPaint(flags, paintType);
+        }
+        int i = this.next[series];
+        this.next[series] = (i + 1) % ENTRIES_PER_SERIES;
+        this.flags[series][i] = flags;
+        this.paintClasses[series][i] = paintClass;
+        this.colors[series][i] = color;
+        this.stroked[series][i] = stroked;
+        this.strokes[series][i] = stroke;
+        this.effects[series][i] = effect;
+        p[i] = paint;
+        return paint;
+    }
+
+    /**
+     * Returns the color that {@link PaintUtility} applies to a paint created
+     * for the specified paint type (zero for paint types that it does not
+     * take a color from).
+     *
+     * @param paintType  the paint type.
+     *
+     * @return The color.
+     */
+    private static int colorOf(PaintType paintType) {
+        if (paintType instanceof SolidColor) {
+            return ((SolidColor) paintType).getColor();
+        }
+        if (paintType instanceof GradientColor) {
+            return ((GradientColor) paintType).getColor1();
+        }
+        return 0;
+    }
+
+    /**
+     * Increases the number of series held in the cache.
+     *
+     * @param seriesCount  the new series count.
+     */
+    private void grow(int seriesCount) {
+        int old = this.paints.length;
+        int[][] f = new int[seriesCount][];
+        Class[][] t = new Class[seriesCount][];
+        int[][] a = new int[seriesCount][];
+        boolean[][] s = new boolean[seriesCount][];
+        float[][] w = new float[seriesCount][];
+        PathEffect[][] e = new PathEffect[seriesCount][];
+        Paint[][] p = new Paint[seriesCount][];
+        int[] n = new int[seriesCount];
+        System.arraycopy(this.flags, 0, f, 0, old);
+        System.arraycopy(this.paintClasses, 0, t, 0, old);
+        System.arraycopy(this.colors, 0, a, 0, old);
+        System.arraycopy(this.stroked, 0, s, 0, old);
+        System.arraycopy(this.strokes, 0, w, 0, old);
+        System.arraycopy(this.effects, 0, e, 0, old);
+        System.arraycopy(this.paints, 0, p, 0, old);
+        System.arraycopy(this.next, 0, n, 0, old);
+        for (int i = old; i < seriesCount; i++) {
+            f[i] = new int[ENTRIES_PER_SERIES];
+            t[i] = new Class[ENTRIES_PER_SERIES];
+            a[i] = new int[ENTRIES_PER_SERIES];
+            s[i] = new boolean[ENTRIES_PER_SERIES];
+            w[i] = new float[ENTRIES_PER_SERIES];
+            e[i] = new PathEffect[ENTRIES_PER_SERIES];
+            p[i] = new Paint[ENTRIES_PER_SERIES];
+        }
+        this.flags = f;
+        this.paintClasses = t;
+        this.colors = a;
+        this.stroked = s;
+        this.strokes = w;
+        this.effects = e;
+        this.paints = p;
+        this.next = n;
+    }
+
+}
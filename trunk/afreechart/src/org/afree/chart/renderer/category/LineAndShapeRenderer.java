@@ -126,7 +126,6 @@ import org.afree.graphics.geom.LineShape;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.geom.Shape;
 import org.afree.graphics.PaintType;
-import org.afree.graphics.PaintUtility;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 
@@ -984,7 +983,7 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
                         line = new LineShape(x0, y0, x1, y1);
                     }
                     
-                    Paint paint = PaintUtility.createPaint(
+                    Paint paint = getCachedPaint(row,
                             Paint.ANTI_ALIAS_FLAG,
                             getItemPaintType(row, column),
                             getItemStroke(row, column),
@@ -1012,7 +1011,7 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
                         paintType = getItemPaintType(row, column);
                     }
                     
-                    Paint paint = PaintUtility.createPaint(
+                    Paint paint = getCachedPaint(row,
                             Paint.ANTI_ALIAS_FLAG,
                             paintType);
                     shape.fillAndStroke(canvas, paint);
@@ -1025,7 +1024,7 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
                     } else {
                         paintType = getItemPaintType(row, column);
                     }
-                    Paint paint = PaintUtility.createPaint(
+                    Paint paint = getCachedPaint(row,
                             Paint.ANTI_ALIAS_FLAG,
                             paintType);
                     shape.draw(canvas, paint);
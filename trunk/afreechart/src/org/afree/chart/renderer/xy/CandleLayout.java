@@ -0,0 +1,268 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * CandleLayout.java
+ * -----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.renderer.xy;
+
+import java.util.Arrays;
+
+import org.afree.chart.axis.ValueAxis;
+import org.afree.chart.renderer.RendererUtilities;
+import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeListener;
+import org.afree.data.xy.OHLCDataset;
+import org.afree.graphics.geom.RectShape;
+import org.afree.ui.RectangleEdge;
+
+/**
+ * The per-frame layout values used by {@link CandlestickRenderer}: the
+ * smallest gap (in Java2D units) between neighbouring candles in each
+ * series, and the highest volume, both over the visible part of the domain
+ * only.  The values are calculated once per frame, rather than once per
+ * candle, and are kept until the dataset changes (or its item counts or
+ * x-ranges change, for updates made without a change event) or the domain
+ * axis range or data area moves, so that redrawing an unchanged chart does
+ * not visit the items again.
+ */
+class CandleLayout implements DatasetChangeListener {
+
+    /** The dataset that the values were calculated for. */
+    private OHLCDataset dataset;
+
+    /** A flag indicating that the dataset has changed. */
+    private volatile boolean stale = true;
+
+    /**
+     * The item count and the first and last x-values of each series when
+     * the values were calculated, used to spot changes made to the dataset
+     * without a change event.
+     */
+    private double[] items = new double[0];
+
+    /** The domain axis lower bound for the values. */
+    private double lower;
+
+    /** The domain axis upper bound for the values. */
+    private double upper;
+
+    /** The data area for the values. */
+    private RectShape area = new RectShape();
+
+    /** The domain axis edge for the values. */
+    private RectangleEdge edge;
+
+    /** A flag indicating that the smallest gaps have been calculated. */
+    private boolean gapsValid;
+
+    /** A flag indicating that the highest volume has been calculated. */
+    private boolean volumeValid;
+
+    /** The smallest gap between neighbouring candles, by series. */
+    private double[] smallestGaps = new double[0];
+
+    /** The highest visible volume. */
+    private double maxVolume;
+
+    /**
+     * Brings the layout values up to date for a frame.
+     *
+     * @param axis  the domain axis for the dataset.
+     * @param domainEdge  the edge of the domain axis.
+     * @param dataset  the dataset.
+     * @param dataArea  the data area.
+     * @param gaps  a flag indicating that the smallest gaps are needed.
+     * @param volume  a flag indicating that the highest volume is needed.
+     */
+    void update(ValueAxis axis, RectangleEdge domainEdge, OHLCDataset dataset,
+            RectShape dataArea, boolean gaps, boolean volume) {
+        if (dataset != this.dataset) {
+            if (this.dataset != null) {
+                this.dataset.removeChangeListener(this);
+            }
+            this.dataset = dataset;
+            if (dataset != null) {
+                dataset.addChangeListener(this);
+            }
+            this.stale = true;
+        }
+        double[] current = describeItems(dataset);
+        if (!Arrays.equals(current, this.items)) {
+            this.items = current;
+            this.stale = true;
+        }
+        if (this.stale || axis.getLowerBound() != this.lower
+                || axis.getUpperBound() != this.upper
+                || domainEdge != this.edge
+                || dataArea.getX() != this.area.getX()
+                || dataArea.getY() != this.area.getY()
+                || dataArea.getWidth() != this.area.getWidth()
+                || dataArea.getHeight() != this.area.getHeight()) {
+            this.stale = false;
+            this.lower = axis.getLowerBound();
+            this.upper = axis.getUpperBound();
+            this.edge = domainEdge;
+            this.area.setRect(dataArea);
+            this.gapsValid = false;
+            this.volumeValid = false;
+        }
+        if ((gaps && !this.gapsValid) || (volume && !this.volumeValid)) {
+            calculate(axis, dataset, dataArea, domainEdge, gaps, volume);
+        }
+    }
+
+    /**
+     * Returns the smallest gap between neighbouring candles in a series, as
+     * calculated by the last call to {@link #update}.
+     *
+     * @param series  the series index.
+     *
+     * @return The gap.
+     */
+    double getSmallestGap(int series) {
+        return this.smallestGaps[series];
+    }
+
+    /**
+     * Returns the highest visible volume, as calculated by the last call to
+     * {@link #update}.
+     *
+     * @return The volume.
+     */
+    double getMaxVolume() {
+        return this.maxVolume;
+    }
+
+    /**
+     * Returns the item count and the first and last x-values of each series
+     * in a dataset.
+     *
+     * @param dataset  the dataset.
+     *
+     * @return The values (three for each series).
+     */
+    private static double[] describeItems(OHLCDataset dataset) {
+        int seriesCount = dataset.getSeriesCount();
+        double[] result = new double[seriesCount * 3];
+        for (int series = 0; series < seriesCount; series++) {
+            int itemCount = dataset.getItemCount(series);
+            result[series * 3] = itemCount;
+            if (itemCount > 0) {
+                result[series * 3 + 1] = dataset.getXValue(series, 0);
+                result[series * 3 + 2] = dataset.getXValue(series,
+                        itemCount - 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks the values as stale when the dataset changes.
+     *
+     * @param event  the event.
+     */
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.stale = true;
+    }
+
+    /**
+     * Calculates the layout values over the visible items.
+     *
+     * @param axis  the domain axis.
+     * @param dataset  the dataset.
+     * @param dataArea  the data area.
+     * @param domainEdge  the domain axis edge.
+     * @param gaps  a flag indicating that the smallest gaps are needed.
+     * @param volume  a flag indicating that the highest volume is needed.
+     */
+    private void calculate(ValueAxis axis, OHLCDataset dataset,
+            RectShape dataArea, RectangleEdge domainEdge, boolean gaps,
+            boolean volume) {
+        int seriesCount = dataset.getSeriesCount();
+        if (this.smallestGaps.length != seriesCount) {
+            this.smallestGaps = new double[seriesCount];
+        }
+        double highest = 0.0;
+        for (int series = 0; series < seriesCount; series++) {
+            if (dataset.getItemCount(series) == 0) {
+                if (gaps) {
+                    this.smallestGaps[series] = dataArea.getWidth();
+                }
+                continue;
+            }
+            // the live items include the neighbours just outside the range,
+            // so the gaps at the edges are measured too...
+            int[] bounds = RendererUtilities.findLiveItems(dataset, series,
+                    this.lower, this.upper);
+            double smallest = dataArea.getWidth();
+            double lastPos = -1;
+            for (int i = bounds[0]; i <= bounds[1]; i++) {
+                if (gaps) {
+                    double pos = axis.valueToJava2D(dataset.getXValue(series,
+                            i), dataArea, domainEdge);
+                    if (lastPos != -1) {
+                        smallest = Math.min(smallest, Math.abs(pos - lastPos));
+                    }
+                    lastPos = pos;
+                }
+                if (volume) {
+                    double x = dataset.getXValue(series, i);
+                    if (x >= this.lower && x <= this.upper) {
+                        double v = dataset.getVolumeValue(series, i);
+                        if (v > highest) {
+                            highest = v;
+                        }
+                    }
+                }
+            }
+            if (gaps) {
+                this.smallestGaps[series] = smallest;
+            }
+        }
+        if (gaps) {
+            this.gapsValid = true;
+        }
+        if (volume) {
+            this.maxVolume = highest;
+            this.volumeValid = true;
+        }
+    }
+
+}
@@ -204,6 +204,11 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
     /** Temporary storage for the maximum volume. */
     private transient double maxVolume;
 
+    /**
+     * The cached volume maximum and candle gaps (created when first needed).
+     */
+    private transient CandleLayout layout;
+
     /**
      * A flag that controls whether or not the renderer's outline paint is
      * used to draw the outline of the candlestick.  The default value is
@@ -629,20 +634,33 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             // Absolute value, since the relative x
             // positions are reversed for horizontal orientation
 
-        // calculate the highest volume in the dataset...
-        if (this.drawVolume) {
-            OHLCDataset highLowDataset = (OHLCDataset) dataset;
-            this.maxVolume = 0.0;
-            for (int series = 0; series < highLowDataset.getSeriesCount();
-                 series++) {
-                for (int item = 0; item < highLowDataset.getItemCount(series);
-                     item++) {
-                    double volume = highLowDataset.getVolumeValue(series, item);
-                    if (volume > this.maxVolume) {
-                        this.maxVolume = volume;
-                    }
-
-                }
+        // calculate the highest visible volume and the smallest gaps between
+        // the candles (kept from the previous frame if nothing has moved)...
+        boolean gaps = this.candleWidth <= 0
+                && this.autoWidthMethod == WIDTHMETHOD_SMALLEST;
+        if (this.drawVolume || gaps) {
+            if (this.layout == null) {
+                this.layout = new CandleLayout();
+            }
+            // the candles are drawn against the domain axis mapped to the
+            // dataset, which need not be the primary axis...
+            ValueAxis domainAxis = null;
+            int index = plot.getIndexOf(this);
+            if (index >= 0) {
+                domainAxis = plot.getDomainAxisForDataset(index);
+            }
+            if (domainAxis == null) {
+                domainAxis = axis;
+            }
+            RectangleEdge domainEdge = plot.getDomainAxisEdge();
+            int axisIndex = plot.getDomainAxisIndex(domainAxis);
+            if (axisIndex >= 0) {
+                domainEdge = plot.getDomainAxisEdge(axisIndex);
+            }
+            this.layout.update(domainAxis, domainEdge, (OHLCDataset) dataset,
+                    dataArea, gaps, this.drawVolume);
+            if (this.drawVolume) {
+                this.maxVolume = this.layout.getMaxVolume();
             }
         }
 
@@ -695,7 +713,7 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         // setup for collecting optional entity info...
         EntityCollection entities = null;
         if (info != null) {
-            entities = info.getOwner().getEntityCollection();
+            entities = info.getOwner().getItemEntityCollection();
         }
 
         OHLCDataset highLowData = (OHLCDataset) dataset;
@@ -739,20 +757,8 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
                     break;
 
                 case WIDTHMETHOD_SMALLEST:
-                    // Note: It would be nice to pre-calculate this per series
-                    itemCount = highLowData.getItemCount(series);
-                    double lastPos = -1;
-                    xxWidth = dataArea.getWidth();
-                    for (int i = 0; i < itemCount; i++) {
-                        double pos = domainAxis.valueToJava2D(
-                                highLowData.getXValue(series, i), dataArea,
-                                domainEdge);
-                        if (lastPos != -1) {
-                            xxWidth = Math.min(xxWidth,
-                                    Math.abs(pos - lastPos));
-                        }
-                        lastPos = pos;
-                    }
+                    // calculated once per frame in initialise()
+                    xxWidth = this.layout.getSmallestGap(series);
                     break;
 
                 case WIDTHMETHOD_INTERVALDATA:
@@ -991,7 +997,9 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
      * @throws CloneNotSupportedException  if the renderer cannot be cloned.
      */
     public Object clone() throws CloneNotSupportedException {
-        return super.clone();
+        CandlestickRenderer clone = (CandlestickRenderer) super.clone();
+        clone.layout = null;
+        return clone;
     }
 
     /**
@@ -347,7 +347,7 @@ public class ClusteredXYBarRenderer extends XYBarRenderer
             // add an entity for the item...
             if (info != null) {
                 EntityCollection entities
-                        = info.getOwner().getEntityCollection();
+                        = info.getOwner().getItemEntityCollection();
                 if (entities != null) {
                     addEntity(entities, bar, dataset, series, item,
                             bar.getCenterX(), bar.getCenterY());
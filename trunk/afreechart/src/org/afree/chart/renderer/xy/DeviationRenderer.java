@@ -377,7 +377,7 @@ public class DeviationRenderer extends XYLineAndShapeRenderer {
             // setup for collecting optional entity info...
             EntityCollection entities = null;
             if (info != null) {
-                entities = info.getOwner().getEntityCollection();
+                entities = info.getOwner().getItemEntityCollection();
             }
 
             drawSecondaryPass(canvas, plot, dataset, pass, series, item,
@@ -357,7 +357,7 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         Shape entityArea = null;
         EntityCollection entities = null;
         if (info != null) {
-            entities = info.getOwner().getEntityCollection();
+            entities = info.getOwner().getItemEntityCollection();
         }
 
         PlotOrientation orientation = plot.getOrientation();
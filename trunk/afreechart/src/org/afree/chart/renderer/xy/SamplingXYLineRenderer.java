@@ -74,11 +74,18 @@ import org.afree.graphics.geom.PathShape;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.geom.Shape;
 import org.afree.graphics.PaintType;
-import org.afree.graphics.PaintUtility;
 
 /**
  * A renderer that...  This renderer is designed for use with the {@link XYPlot}
  * class.
+ * <P>
+ * If the <code>aggregateColumns</code> flag is set, each series is reduced in
+ * a single loop over the visible items to (at most) four points per pixel
+ * column of the data area: the first, lowest, highest and last value in the
+ * column.  The result is drawn as one path per series, so the number of
+ * canvas operations depends on the width of the data area rather than the
+ * number of items in the series, while the shape of the line (including
+ * any extreme values) is preserved.
  */
 public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
@@ -90,11 +97,18 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
     /** The shape that is used to represent a line in the legend. */
     private transient Shape legendLine;
 
+    /**
+     * A flag that controls whether the items are aggregated by pixel column
+     * (first, lowest, highest and last value) in one pass over each series.
+     */
+    private boolean aggregateColumns;
+
     /**
      * Creates a new renderer.
      */
     public SamplingXYLineRenderer() {
         this.legendLine = new LineShape(-7.0, 0.0, 7.0, 0.0);
+        this.aggregateColumns = false;
     }
 
     /**
@@ -124,6 +138,36 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the items in each series are
+     * aggregated by pixel column.
+     *
+     * @return A boolean.
+     *
+     * @see #setAggregateColumns(boolean)
+     */
+    public boolean getAggregateColumns() {
+        return this.aggregateColumns;
+    }
+
+    /**
+     * Sets the flag that controls whether the items in each series are
+     * aggregated by pixel column and sends a {@link RendererChangeEvent} to
+     * all registered listeners.  When set, each series is drawn as a single
+     * path containing at most four points per pixel column, computed in one
+     * loop over the visible items.
+     *
+     * @param aggregate  the new flag value.
+     *
+     * @see #getAggregateColumns()
+     */
+    public void setAggregateColumns(boolean aggregate) {
+        if (this.aggregateColumns != aggregate) {
+            this.aggregateColumns = aggregate;
+            fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the number of passes through the data that the renderer requires
      * in order to draw the chart.  Most charts will require a single pass, but
@@ -178,6 +222,24 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
          */
         boolean lastPointGood;
 
+        /** The pixel column being aggregated. */
+        int column;
+
+        /** The coordinates of the first point in the current column. */
+        double firstX, firstY;
+
+        /** The coordinates of the lowest point in the current column. */
+        double minX, minY;
+
+        /** The coordinates of the highest point in the current column. */
+        double maxX, maxY;
+
+        /** The coordinates of the last point in the current column. */
+        double lastColumnX, lastColumnY;
+
+        /** The item indices of the points in the current column. */
+        int firstItem, minItem, maxItem, lastItem;
+
         /**
          * Creates a new state instance.
          *
@@ -271,6 +333,16 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
                          CrosshairState crosshairState,
                          int pass) {
 
+        if (this.aggregateColumns) {
+            State s = (State) state;
+            s.setSeriesPassComplete(true);
+            if (getItemVisible(series, item)) {
+                drawSeriesByColumn(canvas, s, dataArea, plot, domainAxis,
+                        rangeAxis, dataset, series);
+            }
+            return;
+        }
+
         // do nothing if item is not visible
         if (!getItemVisible(series, item)) {
             return;
@@ -330,7 +402,7 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         if (item == s.getLastItemIndex()) {
             // draw path
             // Path path = s.seriesPath.getPath();
-            Paint paint = PaintUtility.createPaint(
+            Paint paint = getCachedPaint(series,
                     Paint.ANTI_ALIAS_FLAG,
                     getItemPaintType(series, item),
                     getItemStroke(series, item),
@@ -341,6 +413,152 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Draws all the items in the current series pass (from
+     * <code>state.getFirstItemIndex()</code> to
+     * <code>state.getLastItemIndex()</code>) as a single path, reducing the
+     * items that fall in the same pixel column to the first, lowest, highest
+     * and last point in that column.
+     *
+     * @param canvas  the graphics device.
+     * @param s  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     */
+    private void drawSeriesByColumn(Canvas canvas, State s,
+            RectShape dataArea, XYPlot plot, ValueAxis domainAxis,
+            ValueAxis rangeAxis, XYDataset dataset, int series) {
+
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal
+                = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+        int first = s.getFirstItemIndex();
+        int last = s.getLastItemIndex();
+        boolean columnOpen = false;
+        for (int item = first; item <= last; item++) {
+            double transX = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, item), dataArea, xAxisLocation);
+            double transY = rangeAxis.valueToJava2D(
+                    dataset.getYValue(series, item), dataArea, yAxisLocation);
+            if (Double.isNaN(transX) || Double.isNaN(transY)) {
+                // a missing value breaks the line
+                if (columnOpen) {
+                    emitColumn(s, horizontal);
+                    columnOpen = false;
+                }
+                s.lastPointGood = false;
+                continue;
+            }
+            int column = (int) Math.floor(transX);
+            if (columnOpen && column == s.column) {
+                if (transY < s.minY) {
+                    s.minX = transX;
+                    s.minY = transY;
+                    s.minItem = item;
+                }
+                if (transY > s.maxY) {
+                    s.maxX = transX;
+                    s.maxY = transY;
+                    s.maxItem = item;
+                }
+                s.lastColumnX = transX;
+                s.lastColumnY = transY;
+                s.lastItem = item;
+            }
+            else {
+                if (columnOpen) {
+                    emitColumn(s, horizontal);
+                }
+                s.column = column;
+                s.firstX = transX;
+                s.firstY = transY;
+                s.minX = transX;
+                s.minY = transY;
+                s.maxX = transX;
+                s.maxY = transY;
+                s.lastColumnX = transX;
+                s.lastColumnY = transY;
+                s.firstItem = item;
+                s.minItem = item;
+                s.maxItem = item;
+                s.lastItem = item;
+                columnOpen = true;
+            }
+        }
+        if (columnOpen) {
+            emitColumn(s, horizontal);
+        }
+
+        Paint paint = getCachedPaint(series,
+                Paint.ANTI_ALIAS_FLAG,
+                getItemPaintType(series, first),
+                getItemStroke(series, first),
+                getItemEffect(series, first));
+        s.seriesPath.draw(canvas, paint);
+    }
+
+    /**
+     * Adds the points for the current pixel column to the series path, in
+     * item order and without repeating a point.
+     *
+     * @param s  the renderer state.
+     * @param horizontal  a flag indicating a horizontal plot orientation.
+     */
+    private void emitColumn(State s, boolean horizontal) {
+        addPoint(s, s.firstX, s.firstY, horizontal);
+        int previous = s.firstItem;
+        if (s.minItem < s.maxItem) {
+            if (s.minItem != previous) {
+                addPoint(s, s.minX, s.minY, horizontal);
+                previous = s.minItem;
+            }
+            if (s.maxItem != previous) {
+                addPoint(s, s.maxX, s.maxY, horizontal);
+                previous = s.maxItem;
+            }
+        }
+        else {
+            if (s.maxItem != previous) {
+                addPoint(s, s.maxX, s.maxY, horizontal);
+                previous = s.maxItem;
+            }
+            if (s.minItem != previous) {
+                addPoint(s, s.minX, s.minY, horizontal);
+                previous = s.minItem;
+            }
+        }
+        if (s.lastItem != previous) {
+            addPoint(s, s.lastColumnX, s.lastColumnY, horizontal);
+        }
+    }
+
+    /**
+     * Adds a point to the series path, starting a new sub-path if the
+     * previous point was missing.
+     *
+     * @param s  the renderer state.
+     * @param transX  the x-coordinate (along the domain axis).
+     * @param transY  the y-coordinate (along the range axis).
+     * @param horizontal  a flag indicating a horizontal plot orientation.
+     */
+    private void addPoint(State s, double transX, double transY,
+            boolean horizontal) {
+        float x = (float) (horizontal ? transY : transX);
+        float y = (float) (horizontal ? transX : transY);
+        if (s.lastPointGood) {
+            s.seriesPath.lineTo(x, y);
+        }
+        else {
+            s.seriesPath.moveTo(x, y);
+            s.lastPointGood = true;
+        }
+    }
+
     /**
      * Returns a legend item for the specified series.
      *
@@ -414,6 +632,9 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         if (!ShapeUtilities.equal(this.legendLine, that.legendLine)) {
             return false;
         }
+        if (this.aggregateColumns != that.aggregateColumns) {
+            return false;
+        }
         return true;
     }
 
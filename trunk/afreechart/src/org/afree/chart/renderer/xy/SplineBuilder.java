@@ -0,0 +1,526 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------
+ * SplineBuilder.java
+ * ------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.renderer.xy;
+
+import java.util.Arrays;
+
+import org.afree.chart.axis.ValueAxis;
+import org.afree.chart.plot.PlotOrientation;
+import org.afree.chart.plot.XYPlot;
+import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeListener;
+import org.afree.data.xy.XYDataset;
+import org.afree.graphics.geom.PathShape;
+import org.afree.graphics.geom.RectShape;
+import org.afree.ui.RectangleEdge;
+
+/**
+ * Builds the natural cubic spline curves for {@link XYSplineRenderer}.  The
+ * working arrays are kept from one frame to the next and only grow, so
+ * drawing a series does not allocate once they have reached the size of the
+ * visible window.  Only the items that are drawn (plus {@link #MARGIN} items
+ * either side, so that the curve through the visible items matches the curve
+ * through the whole series) are used.  Items with the same x-coordinate as
+ * an earlier item are dropped: while the x-coordinates increase this just
+ * compares each item with the last one, otherwise a hash set is used, so the
+ * cost is linear either way.
+ * <P>
+ * If caching is requested, the curve for each series is kept and drawn again
+ * without any calculation until the dataset changes, an axis range or the
+ * data area moves, or the renderer changes.
+ */
+class SplineBuilder implements DatasetChangeListener {
+
+    /**
+     * The number of items either side of the visible items that are used to
+     * build the curve.  The influence of an item on a natural cubic spline
+     * falls by a factor of about 3.7 with each item, so this keeps the
+     * difference from the curve through the whole series well below a
+     * pixel.
+     */
+    static final int MARGIN = 10;
+
+    /** The x-coordinates of the control points. */
+    private float[] x = new float[0];
+
+    /** The y-coordinates of the control points (Newton form coefficients). */
+    private float[] d = new float[0];
+
+    /** The intervals between the control points. */
+    private float[] h = new float[0];
+
+    /** The second derivatives at the control points. */
+    private float[] a = new float[0];
+
+    /** The sub-diagonal of the tridiagonal system. */
+    private float[] sub = new float[0];
+
+    /** The diagonal of the tridiagonal system. */
+    private float[] diag = new float[0];
+
+    /** The super-diagonal of the tridiagonal system. */
+    private float[] sup = new float[0];
+
+    /** The hash set keys for the x-coordinates seen (as int bits). */
+    private int[] keys = new int[0];
+
+    /** The generation that each hash set slot was last used in. */
+    private int[] stamps = new int[0];
+
+    /** The current hash set generation (a slot is empty unless it matches). */
+    private int generation;
+
+    /** The curve for the series being drawn when caching is off. */
+    private float[] scratch = new float[0];
+
+    /** The cached curves (x, y pairs) by series. */
+    private float[][] curves = new float[0][];
+
+    /** The number of values in each cached curve (-1 if not valid). */
+    private int[] curveLengths = new int[0];
+
+    /** The first item index that each cached curve was built for. */
+    private int[] curveFirst = new int[0];
+
+    /** The last item index that each cached curve was built for. */
+    private int[] curveLast = new int[0];
+
+    /** The dataset that the cached curves were built for. */
+    private XYDataset dataset;
+
+    /** A flag indicating that the cached curves need rebuilding. */
+    private volatile boolean stale = true;
+
+    /** The domain axis bounds for the cached curves. */
+    private double domainLower;
+
+    /** The domain axis bounds for the cached curves. */
+    private double domainUpper;
+
+    /** The range axis bounds for the cached curves. */
+    private double rangeLower;
+
+    /** The range axis bounds for the cached curves. */
+    private double rangeUpper;
+
+    /** The domain axis edge for the cached curves. */
+    private RectangleEdge domainEdge;
+
+    /** The range axis edge for the cached curves. */
+    private RectangleEdge rangeEdge;
+
+    /** The plot orientation for the cached curves. */
+    private PlotOrientation orientation;
+
+    /** The precision for the cached curves. */
+    private int precision;
+
+    /** The data area for the cached curves. */
+    private RectShape area = new RectShape();
+
+    /**
+     * Adds the curve for a series to a path.
+     *
+     * @param renderer  the renderer.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to draw.
+     * @param lastItem  the index of the last item to draw.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataArea  the data area.
+     * @param cache  a flag that controls whether or not the curve is cached.
+     * @param path  the path to add the curve to.
+     *
+     * @return <code>true</code> if anything was added to the path.
+     */
+    boolean appendCurve(XYSplineRenderer renderer, XYPlot plot,
+            XYDataset dataset, int series, int firstItem, int lastItem,
+            ValueAxis domainAxis, ValueAxis rangeAxis, RectShape dataArea,
+            boolean cache, PathShape path) {
+        RectangleEdge xEdge = plot.getDomainAxisEdge();
+        RectangleEdge yEdge = plot.getRangeAxisEdge();
+        PlotOrientation plotOrientation = plot.getOrientation();
+        int p = renderer.getPrecision();
+        if (!cache) {
+            stopCaching();
+            int length = build(renderer, dataset, series, firstItem,
+                    lastItem, domainAxis, rangeAxis, dataArea, xEdge, yEdge,
+                    plotOrientation, p, false);
+            return replay(this.scratch, length, path);
+        }
+        if (dataset != this.dataset) {
+            stopCaching();
+            this.dataset = dataset;
+            dataset.addChangeListener(this);
+        }
+        if (this.stale || domainAxis.getLowerBound() != this.domainLower
+                || domainAxis.getUpperBound() != this.domainUpper
+                || rangeAxis.getLowerBound() != this.rangeLower
+                || rangeAxis.getUpperBound() != this.rangeUpper
+                || xEdge != this.domainEdge || yEdge != this.rangeEdge
+                || plotOrientation != this.orientation
+                || p != this.precision
+                || dataArea.getX() != this.area.getX()
+                || dataArea.getY() != this.area.getY()
+                || dataArea.getWidth() != this.area.getWidth()
+                || dataArea.getHeight() != this.area.getHeight()) {
+            this.stale = false;
+            this.domainLower = domainAxis.getLowerBound();
+            this.domainUpper = domainAxis.getUpperBound();
+            this.rangeLower = rangeAxis.getLowerBound();
+            this.rangeUpper = rangeAxis.getUpperBound();
+            this.domainEdge = xEdge;
+            this.rangeEdge = yEdge;
+            this.orientation = plotOrientation;
+            this.precision = p;
+            this.area.setRect(dataArea);
+            invalidate();
+        }
+        if (series >= this.curves.length) {
+            growCache(series + 1);
+        }
+        if (this.curveLengths[series] < 0
+                || this.curveFirst[series] != firstItem
+                || this.curveLast[series] != lastItem) {
+            this.curveLengths[series] = build(renderer, dataset, series,
+                    firstItem, lastItem, domainAxis, rangeAxis, dataArea,
+                    xEdge, yEdge, plotOrientation, p, true);
+            this.curveFirst[series] = firstItem;
+            this.curveLast[series] = lastItem;
+        }
+        return replay(this.curves[series], this.curveLengths[series], path);
+    }
+
+    /**
+     * Marks all the cached curves as invalid.
+     */
+    void invalidate() {
+        for (int i = 0; i < this.curveLengths.length; i++) {
+            this.curveLengths[i] = -1;
+        }
+    }
+
+    /**
+     * Stops listening to the dataset and drops the cached curves.
+     */
+    void stopCaching() {
+        if (this.dataset != null) {
+            this.dataset.removeChangeListener(this);
+            this.dataset = null;
+        }
+        if (this.curves.length > 0) {
+            this.curves = new float[0][];
+            this.curveLengths = new int[0];
+            this.curveFirst = new int[0];
+            this.curveLast = new int[0];
+        }
+        this.stale = true;
+    }
+
+    /**
+     * Marks the cached curves as stale when the dataset changes.
+     *
+     * @param event  the event.
+     */
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.stale = true;
+    }
+
+    /**
+     * Calculates the curve for a series into the cache (or the scratch
+     * array).
+     *
+     * @return The number of values written (two per vertex).
+     */
+    private int build(XYSplineRenderer renderer, XYDataset dataset,
+            int series, int firstItem, int lastItem, ValueAxis domainAxis,
+            ValueAxis rangeAxis, RectShape dataArea, RectangleEdge xEdge,
+            RectangleEdge yEdge, PlotOrientation plotOrientation, int p,
+            boolean cache) {
+        int start = Math.max(firstItem - MARGIN, 0);
+        int end = Math.min(lastItem + MARGIN,
+                dataset.getItemCount(series) - 1);
+        int np = collect(renderer, dataset, series, start, end, domainAxis,
+                rangeAxis, dataArea, xEdge, yEdge,
+                plotOrientation == PlotOrientation.HORIZONTAL);
+        if (np < 2) {
+            return 0;
+        }
+        int length = np == 2 ? 4 : 2 + (np - 1) * p * 2;
+        float[] out;
+        if (cache) {
+            out = this.curves[series];
+            if (out == null || out.length < length) {
+                out = new float[length + length / 2];
+                this.curves[series] = out;
+            }
+        }
+        else {
+            if (this.scratch.length < length) {
+                this.scratch = new float[length + length / 2];
+            }
+            out = this.scratch;
+        }
+        out[0] = this.x[0];
+        out[1] = this.d[0];
+        if (np == 2) {
+            // we need at least 3 points to spline, so draw a simple line
+            out[2] = this.x[1];
+            out[3] = this.d[1];
+            return length;
+        }
+        solve(np);
+        int k = 2;
+        for (int i = 1; i <= np - 1; i++) {
+            // loop over intervals between nodes
+            for (int j = 1; j <= p; j++) {
+                float t1 = (this.h[i] * j) / p;
+                float t2 = this.h[i] - t1;
+                float y = ((-this.a[i - 1] / 6 * (t2 + this.h[i]) * t1
+                        + this.d[i - 1]) * t2 + (-this.a[i] / 6
+                        * (t1 + this.h[i]) * t2 + this.d[i]) * t1)
+                        / this.h[i];
+                out[k++] = this.x[i - 1] + t1;
+                out[k++] = y;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Collects the control points for a range of items, dropping items with
+     * a missing value or a duplicate x-coordinate.
+     *
+     * @return The number of control points.
+     */
+    private int collect(XYSplineRenderer renderer, XYDataset dataset,
+            int series, int start, int end, ValueAxis domainAxis,
+            ValueAxis rangeAxis, RectShape dataArea, RectangleEdge xEdge,
+            RectangleEdge yEdge, boolean horizontal) {
+        ensureCapacity(end - start + 1);
+        int np = 0;
+        boolean increasing = true;
+        for (int item = start; item <= end; item++) {
+            if (!renderer.getItemVisible(series, item)
+                    || !renderer.getItemLineVisible(series, item)) {
+                continue;
+            }
+            double transX = domainAxis.valueToJava2D(dataset.getXValue(
+                    series, item), dataArea, xEdge);
+            double transY = rangeAxis.valueToJava2D(dataset.getYValue(
+                    series, item), dataArea, yEdge);
+            if (Double.isNaN(transX) || Double.isNaN(transY)) {
+                continue;
+            }
+            // adding 0.0f turns -0.0f into 0.0f, which compare as equal
+            float px = (horizontal ? (float) transY : (float) transX) + 0.0f;
+            float py = horizontal ? (float) transX : (float) transY;
+            if (increasing && np > 0 && px <= this.x[np - 1]) {
+                if (px == this.x[np - 1]) {
+                    continue;
+                }
+                increasing = false;
+                clearSet(end - start + 1);
+                for (int i = 0; i < np; i++) {
+                    addToSet(this.x[i]);
+                }
+            }
+            if (!increasing && !addToSet(px)) {
+                continue;
+            }
+            this.x[np] = px;
+            this.d[np] = py;
+            np++;
+        }
+        return np;
+    }
+
+    /**
+     * Calculates the second derivatives of the spline through the control
+     * points, with a[0] = a[np - 1] = 0.
+     *
+     * @param np  the number of control points.
+     */
+    private void solve(int np) {
+        for (int i = 1; i <= np - 1; i++) {
+            this.h[i] = this.x[i] - this.x[i - 1];
+        }
+        this.a[0] = 0.0f;
+        this.a[np - 1] = 0.0f;
+        for (int i = 1; i <= np - 2; i++) {
+            this.diag[i] = (this.h[i] + this.h[i + 1]) / 3;
+            this.sup[i] = this.h[i + 1] / 6;
+            this.sub[i] = this.h[i] / 6;
+            this.a[i] = (this.d[i + 1] - this.d[i]) / this.h[i + 1]
+                    - (this.d[i] - this.d[i - 1]) / this.h[i];
+        }
+        solveTridiag(this.sub, this.diag, this.sup, this.a, np - 2);
+    }
+
+    /**
+     * Solves a linear system with a tridiagonal n by n matrix using Gaussian
+     * elimination without pivoting, where a(i, i-1) = sub[i] for
+     * 2 &lt;= i &lt;= n, a(i, i) = diag[i] for 1 &lt;= i &lt;= n and
+     * a(i, i+1) = sup[i] for 1 &lt;= i &lt;= n-1.  The right hand side
+     * b[1:n] is overwritten with the solution (index 0 is not used).
+     */
+    private static void solveTridiag(float[] sub, float[] diag, float[] sup,
+            float[] b, int n) {
+        // factorization and forward substitution
+        for (int i = 2; i <= n; i++) {
+            sub[i] = sub[i] / diag[i - 1];
+            diag[i] = diag[i] - sub[i] * sup[i - 1];
+            b[i] = b[i] - sub[i] * b[i - 1];
+        }
+        b[n] = b[n] / diag[n];
+        for (int i = n - 1; i >= 1; i--) {
+            b[i] = (b[i] - sup[i] * b[i + 1]) / diag[i];
+        }
+    }
+
+    /**
+     * Adds a curve to a path.
+     *
+     * @return <code>true</code> if anything was added to the path.
+     */
+    private static boolean replay(float[] curve, int length, PathShape path) {
+        if (length < 4) {
+            return false;
+        }
+        path.moveTo(curve[0], curve[1]);
+        for (int i = 2; i < length; i += 2) {
+            path.lineTo(curve[i], curve[i + 1]);
+        }
+        return true;
+    }
+
+    /**
+     * Makes sure the working arrays can hold the specified number of
+     * control points.
+     *
+     * @param n  the number of control points.
+     */
+    private void ensureCapacity(int n) {
+        if (this.x.length >= n) {
+            return;
+        }
+        int capacity = Math.max(n, this.x.length * 2);
+        this.x = new float[capacity];
+        this.d = new float[capacity];
+        this.h = new float[capacity];
+        this.a = new float[capacity];
+        this.sub = new float[capacity];
+        this.diag = new float[capacity];
+        this.sup = new float[capacity];
+    }
+
+    /**
+     * Grows the cache arrays to hold the specified number of series.
+     *
+     * @param seriesCount  the series count.
+     */
+    private void growCache(int seriesCount) {
+        int old = this.curves.length;
+        float[][] c = new float[seriesCount][];
+        int[] lengths = new int[seriesCount];
+        int[] first = new int[seriesCount];
+        int[] last = new int[seriesCount];
+        System.arraycopy(this.curves, 0, c, 0, old);
+        System.arraycopy(this.curveLengths, 0, lengths, 0, old);
+        System.arraycopy(this.curveFirst, 0, first, 0, old);
+        System.arraycopy(this.curveLast, 0, last, 0, old);
+        for (int i = old; i < seriesCount; i++) {
+            lengths[i] = -1;
+        }
+        this.curves = c;
+        this.curveLengths = lengths;
+        this.curveFirst = first;
+        this.curveLast = last;
+    }
+
+    /**
+     * Empties the hash set, making sure it has room for the specified number
+     * of values.
+     *
+     * @param n  the number of values.
+     */
+    private void clearSet(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n, 8)) * 4;
+        if (this.keys.length < capacity) {
+            this.keys = new int[capacity];
+            this.stamps = new int[capacity];
+            this.generation = 0;
+        }
+        this.generation++;
+        if (this.generation == 0) {
+            // the counter has wrapped around, so clear the stamps
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+    }
+
+    /**
+     * Adds a value to the hash set.
+     *
+     * @param value  the value.
+     *
+     * @return <code>false</code> if the value was already in the set.
+     */
+    private boolean addToSet(float value) {
+        int key = Float.floatToIntBits(value);
+        int mask = this.keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 7 & mask;
+        while (this.stamps[slot] == this.generation) {
+            if (this.keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.stamps[slot] = this.generation;
+        this.keys[slot] = key;
+        return true;
+    }
+
+}
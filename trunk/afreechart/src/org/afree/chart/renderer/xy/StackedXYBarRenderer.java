@@ -398,7 +398,7 @@ public class StackedXYBarRenderer extends XYBarRenderer {
             // add an entity for the item...
             if (info != null) {
                 EntityCollection entities = info.getOwner()
-                        .getEntityCollection();
+                        .getItemEntityCollection();
                 if (entities != null) {
                     addEntity(entities, bar, dataset, series, item,
                             bar.getCenterX(), bar.getCenterY());
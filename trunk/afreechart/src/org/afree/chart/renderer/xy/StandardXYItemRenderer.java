@@ -145,7 +145,6 @@ import org.afree.graphics.geom.PathShape;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.geom.Shape;
 import org.afree.graphics.PaintType;
-import org.afree.graphics.PaintUtility;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.PathEffect;
@@ -798,7 +797,7 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
         Shape entityArea = null;
         EntityCollection entities = null;
         if (info != null) {
-            entities = info.getOwner().getEntityCollection();
+            entities = info.getOwner().getItemEntityCollection();
         }
 
         PlotOrientation orientation = plot.getOrientation();
@@ -853,7 +852,7 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
                 if (item == dataset.getItemCount(series) - 1) {
                     if (s.seriesIndex == series) {
                         // draw path
-                        Paint paint = PaintUtility.createPaint(
+                        Paint paint = getCachedPaint(series,
                                 Paint.ANTI_ALIAS_FLAG,
                                 lookupSeriesPaintType(series),
                                 lookupSeriesStroke(series),
@@ -905,7 +904,7 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
                         }
 
                         if (state.workingLine.intersects(dataArea)) {
-                            Paint paint = PaintUtility.createPaint(
+                            Paint paint = getCachedPaint(series,
                                     Paint.ANTI_ALIAS_FLAG,
                                     paintType,
                                     seriesStroke,
@@ -936,7 +935,7 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
                         transY1);
             }
             if (shape.intersects(dataArea)) {
-                Paint paint = PaintUtility.createPaint(
+                Paint paint = getCachedPaint(series, 0,
                         paintType,
                         seriesStroke,
                         effect);
@@ -315,7 +315,7 @@ public class VectorRenderer extends AbstractXYItemRenderer
         // setup for collecting optional entity info...
         EntityCollection entities = null;
         if (info != null) {
-            entities = info.getOwner().getEntityCollection();
+            entities = info.getOwner().getItemEntityCollection();
             if (entities != null) {
                 RectShape rectShape = new RectShape();
                 line.getBounds(rectShape);
@@ -891,7 +891,7 @@ public class XYDifferenceRenderer extends AbstractXYItemRenderer
         Shape l_entityArea = null;
         EntityCollection l_entities = null;
         if (null != x_info) {
-            l_entities = x_info.getOwner().getEntityCollection();
+            l_entities = x_info.getOwner().getItemEntityCollection();
         }
 
         PaintType l_seriesPaintType = getItemPaintType(x_series, x_item);
@@ -84,7 +84,6 @@ import org.afree.chart.plot.XYPlot;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.geom.Shape;
 import org.afree.graphics.PaintType;
-import org.afree.graphics.PaintUtility;
 
 
 
@@ -269,7 +268,7 @@ public class XYDotRenderer extends AbstractXYItemRenderer
                     - adjy;
 
 //            canvas.setPaint(getItemPaint(series, item));
-            Paint paint = PaintUtility.createPaint(
+            Paint paint = getCachedPaint(series,
                     Paint.ANTI_ALIAS_FLAG,
                     getItemPaintType(series, item));
             paint.setStyle(Style.FILL);
@@ -65,6 +65,8 @@ package org.afree.chart.renderer.xy;
 
 
 import org.afree.data.xy.XYDataset;
+import org.afree.chart.ChartRenderingInfo;
+import org.afree.chart.entity.EntityCollection;
 import org.afree.chart.plot.PlotRenderingInfo;
 import org.afree.chart.plot.XYPlot;
 import org.afree.chart.renderer.RendererState;
@@ -105,6 +107,13 @@ public class XYItemRendererState extends RendererState {
      */
     private boolean processVisibleItemsOnly;
 
+    /**
+     * A flag that a renderer can set to tell the plot that it has already
+     * processed all the items in the current series pass (so the remaining
+     * calls to drawItem() can be skipped).
+     */
+    private boolean seriesPassComplete;
+
     /**
      * Creates a new state.
      *
@@ -116,6 +125,27 @@ public class XYItemRendererState extends RendererState {
         this.processVisibleItemsOnly = true;
     }
 
+    /**
+     * Returns the collection that item entities are added to.  This is
+     * <code>null</code> when the owner has deferred the creation of item
+     * entities.
+     *
+     * @return The entity collection (possibly <code>null</code>).
+     *
+     * @see ChartRenderingInfo#getItemEntityCollection()
+     */
+    public EntityCollection getEntityCollection() {
+        EntityCollection result = null;
+        PlotRenderingInfo info = getInfo();
+        if (info != null) {
+            ChartRenderingInfo owner = info.getOwner();
+            if (owner != null) {
+                result = owner.getItemEntityCollection();
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the flag that controls whether the plot passes all data
      * items in each series to the renderer, or just the visible items.  The
@@ -143,6 +173,34 @@ public class XYItemRendererState extends RendererState {
         this.processVisibleItemsOnly = flag;
     }
 
+    /**
+     * Returns the flag that indicates whether or not the renderer has
+     * finished with the current series pass.  The plot checks this flag
+     * before passing each item to the renderer.
+     *
+     * @return A boolean.
+     *
+     * @see #setSeriesPassComplete(boolean)
+     */
+    public boolean isSeriesPassComplete() {
+        return this.seriesPassComplete;
+    }
+
+    /**
+     * Sets the flag that indicates whether or not the renderer has finished
+     * with the current series pass.  A renderer that draws all the items of
+     * a series in a single call to drawItem() sets this flag so that the plot
+     * does not call drawItem() for each of the remaining items.  The flag is
+     * reset at the start of each series pass.
+     *
+     * @param complete  the new flag value.
+     *
+     * @see #isSeriesPassComplete()
+     */
+    public void setSeriesPassComplete(boolean complete) {
+        this.seriesPassComplete = complete;
+    }
+
     /**
      * Returns the first item index (this is updated with each call to
      * {@link #startSeriesPass(XYDataset, int, int, int, int, int)}.
@@ -188,6 +246,7 @@ public class XYItemRendererState extends RendererState {
             int lastItem, int pass, int passCount) {
         this.firstItemIndex = firstItem;
         this.lastItemIndex = lastItem;
+        this.seriesPassComplete = false;
     }
 
     /**
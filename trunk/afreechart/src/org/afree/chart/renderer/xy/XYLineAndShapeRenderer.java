@@ -103,7 +103,6 @@ import org.afree.graphics.geom.PathShape;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.geom.Shape;
 import org.afree.graphics.PaintType;
-import org.afree.graphics.PaintUtility;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 
@@ -927,7 +926,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
             // setup for collecting optional entity info...
             EntityCollection entities = null;
             if (info != null) {
-                entities = info.getOwner().getEntityCollection();
+                entities = info.getOwner().getItemEntityCollection();
             }
 
             drawSecondaryPass(canvas, plot, dataset, pass, series, item, domainAxis, dataArea,
@@ -1049,7 +1048,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
      *            the shape.
      */
     protected void drawFirstPassShape(Canvas canvas, int pass, int series, int item, Shape shape) {
-        Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, getItemPaintType(series,
+        Paint paint = getCachedPaint(series, Paint.ANTI_ALIAS_FLAG, getItemPaintType(series,
                 item), getItemStroke(series, item), getItemEffect(series, item));
         shape.draw(canvas, paint);
     }
@@ -1186,7 +1185,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
                         paintType = getItemPaintType(series, item);
                     }
 
-                    Paint paint = PaintUtility.createPaint(
+                    Paint paint = getCachedPaint(series,
                             Paint.ANTI_ALIAS_FLAG, 
                             paintType);
                     shape.fill(canvas, paint);
@@ -1199,7 +1198,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
                         paintType = getItemPaintType(series, item);
                     }
 
-                    Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, paintType,
+                    Paint paint = getCachedPaint(series, Paint.ANTI_ALIAS_FLAG, paintType,
                             getItemStroke(series, item), getItemEffect(series, item));
                     shape.draw(canvas, paint);
                 }
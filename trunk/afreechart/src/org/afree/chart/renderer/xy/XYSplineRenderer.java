@@ -58,12 +58,9 @@
 
 package org.afree.chart.renderer.xy;
 
-import java.util.Vector;
-
-import org.afree.ui.RectangleEdge;
 import org.afree.chart.axis.ValueAxis;
 import org.afree.data.xy.XYDataset;
-import org.afree.chart.plot.PlotOrientation;
+import org.afree.chart.event.RendererChangeEvent;
 import org.afree.chart.plot.PlotRenderingInfo;
 import org.afree.chart.plot.XYPlot;
 import org.afree.graphics.geom.RectShape;
@@ -80,6 +77,12 @@ import android.graphics.Canvas;
  * <br><br>
  * <img src="../../../../../images/XYSplineRendererSample.png"
  * alt="XYSplineRendererSample.png" />
+ * <P>
+ * Only the visible items (and a few items either side of them) are used to
+ * build the curves, and the working arrays are reused from one drawing to
+ * the next.  If the data changes less often than the chart is redrawn (for
+ * instance while the user is looking at a static chart), the curves can
+ * also be cached (see {@link #setCacheSplines(boolean)}).
  *
  * @since JFreeChart 1.0.7
  */
@@ -91,14 +94,18 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
     private static final long serialVersionUID = -3258675984264467983L;
 
     /**
-     * To collect data points for later splining.
+     * Resolution of splines (number of line segments between points)
      */
-    private Vector points;
+    private int precision;
 
     /**
-     * Resolution of splines (number of line segments between points)
+     * A flag that controls whether or not the curves are cached until the
+     * data or the axes change.
      */
-    private int precision;
+    private boolean cacheSplines;
+
+    /** Builds (and caches) the curves, created when first needed. */
+    private transient SplineBuilder builder;
 
     /**
      * Creates a new instance with the 'precision' attribute defaulting to
@@ -148,6 +155,33 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether or not the curves are cached
+     * until the data or the axes change.
+     *
+     * @return A boolean.
+     *
+     * @see #setCacheSplines(boolean)
+     */
+    public boolean getCacheSplines() {
+        return this.cacheSplines;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the curves are cached until
+     * the data or the axes change, and sends a {@link RendererChangeEvent} to
+     * all registered listeners.  A cached curve is drawn again without any
+     * calculation, at the cost of the memory to hold it.
+     *
+     * @param cache  the new flag value.
+     *
+     * @see #getCacheSplines()
+     */
+    public void setCacheSplines(boolean cache) {
+        this.cacheSplines = cache;
+        fireChangeEvent();
+    }
+
     /**
      * Initialises the renderer.
      * <P>
@@ -168,9 +202,10 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
             XYPlot plot, XYDataset data, PlotRenderingInfo info) {
 
         State state = (State) super.initialise(canvas, dataArea, plot, data, info);
-        state.setProcessVisibleItemsOnly(false);
-        this.points = new Vector();
         setDrawSeriesLineAsPath(true);
+        if (this.builder == null) {
+            this.builder = new SplineBuilder();
+        }
         return state;
     }
 
@@ -197,126 +232,32 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
             int series, int item, ValueAxis domainAxis, ValueAxis rangeAxis,
             RectShape dataArea) {
 
-        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
-        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
-
-        // get the data points
-        double x1 = dataset.getXValue(series, item);
-        double y1 = dataset.getYValue(series, item);
-        double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
-        double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
-
-        // collect points
-        if (!Double.isNaN(transX1) && !Double.isNaN(transY1)) {
-            ControlPoint p = new ControlPoint(plot.getOrientation()
-                                == PlotOrientation.HORIZONTAL ? (float) transY1
-                                : (float) transX1, plot.getOrientation()
-                                == PlotOrientation.HORIZONTAL ? (float) transX1
-                                        : (float) transY1);
-            if (!this.points.contains(p)) {
-                this.points.add(p);
-            }
+        State s = (State) state;
+        if (item != s.getLastItemIndex()) {
+            // the curve is built from the dataset once the last item is reached
+            return;
         }
-        if (item == dataset.getItemCount(series) - 1) {
-            State s = (State) state;
-            // construct path
-            if (this.points.size() > 1) {
-                // we need at least two points to draw something
-                ControlPoint cp0 = (ControlPoint) this.points.get(0);
-                s.seriesPath.moveTo(cp0.x, cp0.y);
-                if (this.points.size() == 2) {
-                    // we need at least 3 points to spline. Draw simple line
-                    // for two points
-                    ControlPoint cp1 = (ControlPoint) this.points.get(1);
-                    s.seriesPath.lineTo(cp1.x, cp1.y);
-                }
-                else {
-                    // construct spline
-                    int np = this.points.size(); // number of points
-                    float[] d = new float[np]; // Newton form coefficients
-                    float[] x = new float[np]; // x-coordinates of nodes
-                    float y;
-                    float t;
-                    float oldy = 0;
-                    float oldt = 0;
-
-                    float[] a = new float[np];
-                    float t1;
-                    float t2;
-                    float[] h = new float[np];
-
-                    for (int i = 0; i < np; i++) {
-                        ControlPoint cpi = (ControlPoint) this.points.get(i);
-                        x[i] = cpi.x;
-                        d[i] = cpi.y;
-                    }
-
-                    for (int i = 1; i <= np - 1; i++) {
-                        h[i] = x[i] - x[i - 1];
-                    }
-                    float[] sub = new float[np - 1];
-                    float[] diag = new float[np - 1];
-                    float[] sup = new float[np - 1];
-
-                    for (int i = 1; i <= np - 2; i++) {
-                        diag[i] = (h[i] + h[i + 1]) / 3;
-                        sup[i] = h[i + 1] / 6;
-                        sub[i] = h[i] / 6;
-                        a[i] = (d[i + 1] - d[i]) / h[i + 1]
-                                   - (d[i] - d[i - 1]) / h[i];
-                    }
-                    solveTridiag(sub, diag, sup, a, np - 2);
-
-                    // note that a[0]=a[np-1]=0
-                    // draw
-                    oldt = x[0];
-                    oldy = d[0];
-                    s.seriesPath.moveTo(oldt, oldy);
-                    for (int i = 1; i <= np - 1; i++) {
-                        // loop over intervals between nodes
-                        for (int j = 1; j <= this.precision; j++) {
-                            t1 = (h[i] * j) / this.precision;
-                            t2 = h[i] - t1;
-                            y = ((-a[i - 1] / 6 * (t2 + h[i]) * t1 + d[i - 1])
-                                    * t2 + (-a[i] / 6 * (t1 + h[i]) * t2
-                                    + d[i]) * t1) / h[i];
-                            t = x[i - 1] + t1;
-                            s.seriesPath.lineTo(t, y);
-                            oldt = t;
-                            oldy = y;
-                        }
-                    }
-                }
-                // draw path
-                drawFirstPassShape(canvas, pass, series, item, s.seriesPath);
-            }
-
-            // reset points vector
-            this.points = new Vector();
+        if (this.builder == null) {
+            this.builder = new SplineBuilder();
+        }
+        if (this.builder.appendCurve(this, plot, dataset, series,
+                s.getFirstItemIndex(), item, domainAxis, rangeAxis, dataArea,
+                this.cacheSplines, s.seriesPath)) {
+            drawFirstPassShape(canvas, pass, series, item, s.seriesPath);
         }
     }
 
-    private void solveTridiag(float[] sub, float[] diag, float[] sup,
-            float[] b, int n) {
-/*      solve linear system with tridiagonal n by n matrix a
-        using Gaussian elimination *without* pivoting
-        where   a(i,i-1) = sub[i]  for 2<=i<=n
-        a(i,i)   = diag[i] for 1<=i<=n
-        a(i,i+1) = sup[i]  for 1<=i<=n-1
-        (the values sub[1], sup[n] are ignored)
-        right hand side vector b[1:n] is overwritten with solution
-        NOTE: 1...n is used in all arrays, 0 is unused */
-        int i;
-/*                  factorization and forward substitution */
-        for (i = 2; i <= n; i++) {
-            sub[i] = sub[i] / diag[i - 1];
-            diag[i] = diag[i] - sub[i] * sup[i - 1];
-            b[i] = b[i] - sub[i] * b[i - 1];
-        }
-        b[n] = b[n] / diag[n];
-        for (i = n - 1; i >= 1; i--) {
-            b[i] = (b[i] - sup[i] * b[i + 1]) / diag[i];
+    /**
+     * Marks any cached curves as invalid, then sends the event to all
+     * registered listeners.
+     *
+     * @param event  information about the change event.
+     */
+    public void notifyListeners(RendererChangeEvent event) {
+        if (this.builder != null) {
+            this.builder.invalidate();
         }
+        super.notifyListeners(event);
     }
 
     /**
@@ -337,52 +278,23 @@ public class XYSplineRenderer extends XYLineAndShapeRenderer {
         if (this.precision != that.precision) {
             return false;
         }
+        if (this.cacheSplines != that.cacheSplines) {
+            return false;
+        }
         return super.equals(obj);
     }
 
     /**
-     * Represents a control point.
+     * Returns a clone of the renderer.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException  if the renderer cannot be cloned.
      */
-    class ControlPoint {
-
-        /** The x-coordinate. */
-        public float x;
-
-        /** The y-coordinate. */
-        public float y;
-
-        /**
-         * Creates a new control point.
-         *
-         * @param x  the x-coordinate.
-         * @param y  the y-coordinate.
-         */
-        public ControlPoint(float x, float y) {
-            this.x = x;
-            this.y = y;
-        }
-
-        /**
-         * Tests this point for equality with an arbitrary object.
-         *
-         * @param obj  the object (<code>null</code> permitted.
-         *
-         * @return A boolean.
-         */
-        public boolean equals(Object obj) {
-            if (obj == this) {
-                return true;
-            }
-            if (!(obj instanceof ControlPoint)) {
-                return false;
-            }
-            ControlPoint that = (ControlPoint) obj;
-            if (this.x != that.x) {
-                return false;
-            }
-            /*&& y == ((ControlPoint) obj).y*/;
-            return true;
-        }
-
+    public Object clone() throws CloneNotSupportedException {
+        XYSplineRenderer clone = (XYSplineRenderer) super.clone();
+        clone.builder = null;
+        return clone;
     }
+
 }
@@ -103,7 +103,6 @@ import org.afree.chart.plot.XYPlot;
 import org.afree.chart.urls.XYURLGenerator;
 import org.afree.graphics.geom.LineShape;
 import org.afree.graphics.geom.RectShape;
-import org.afree.graphics.PaintUtility;
 
 /**
  * Line/Step item renderer for an {@link XYPlot}.  This class draws lines
@@ -245,7 +244,7 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
             double transY0 = (Double.isNaN(y0) ? Double.NaN
                     : rangeAxis.valueToJava2D(y0, dataArea, yAxisLocation));
 
-            Paint paint = PaintUtility.createPaint(
+            Paint paint = getCachedPaint(series,
                     Paint.ANTI_ALIAS_FLAG,
                     getItemPaintType(series, item),
                     getItemStroke(series, item),
@@ -203,7 +203,7 @@ public class YIntervalRenderer extends AbstractXYItemRenderer
         // setup for collecting optional entity info...
         EntityCollection entities = null;
         if (info != null) {
-            entities = info.getOwner().getEntityCollection();
+            entities = info.getOwner().getItemEntityCollection();
         }
 
         IntervalXYDataset intervalDataset = (IntervalXYDataset) dataset;
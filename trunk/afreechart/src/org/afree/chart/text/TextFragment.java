@@ -236,7 +236,7 @@ public class TextFragment implements Serializable {
     public float calculateBaselineOffset(final TextAnchor anchor) {
         float result = 0.0f;
         Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, paintType, font);
-        final FontMetrics fm = paint.getFontMetrics();
+        final FontMetrics fm = TextUtilities.getFontMetrics(paint);
         if (anchor == TextAnchor.TOP_LEFT || anchor == TextAnchor.TOP_CENTER
                                           || anchor == TextAnchor.TOP_RIGHT) {
             result = Math.abs(fm.ascent);
@@ -0,0 +1,295 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------------
+ * TextMeasurementCache.java
+ * -------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.text;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.Paint.FontMetrics;
+
+/**
+ * A bounded, least-recently-used cache of text measurements, used by
+ * {@link TextUtilities}.  Tick labels, legend items and pie section labels
+ * are usually measured with the same text and font on every frame, and each
+ * measurement is a native call on Android, so the results are kept here
+ * keyed on the text and the paint attributes that affect its size (the
+ * typeface, text size, horizontal scale, skew and flags).  The paint itself
+ * is not part of the key, so a new paint created for each label still finds
+ * the cached values.
+ * <P>
+ * The methods are synchronized, since charts can be drawn on more than one
+ * thread.
+ */
+class TextMeasurementCache {
+
+    /** The maximum number of entries. */
+    private int maximumSize;
+
+    /** The entries, in access order. */
+    private LinkedHashMap entries;
+
+    /** A reusable rectangle for measuring text bounds. */
+    private Rect workRect;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize  the maximum number of entries (zero disables the
+     *                     cache).
+     */
+    TextMeasurementCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > TextMeasurementCache.this.maximumSize;
+            }
+        };
+        this.workRect = new Rect();
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return The maximum number of entries.
+     */
+    synchronized int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of entries, discarding the least recently used
+     * entries if necessary.
+     *
+     * @param maximumSize  the maximum number of entries (zero disables the
+     *                     cache).
+     */
+    synchronized void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Negative 'maximumSize'.");
+        }
+        this.maximumSize = maximumSize;
+        if (this.entries.size() > maximumSize) {
+            Iterator iterator = this.entries.keySet().iterator();
+            int excess = this.entries.size() - maximumSize;
+            for (int i = 0; i < excess; i++) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Returns the font metrics for a paint.  The returned object is shared
+     * and must not be modified.
+     *
+     * @param paint  the paint (<code>null</code> not permitted).
+     *
+     * @return The font metrics.
+     */
+    synchronized FontMetrics getFontMetrics(Paint paint) {
+        Entry entry = getEntry(null, paint);
+        if (entry.metrics == null) {
+            entry.metrics = paint.getFontMetrics();
+        }
+        return entry.metrics;
+    }
+
+    /**
+     * Returns the advance width of some text.
+     *
+     * @param text  the text (<code>null</code> not permitted).
+     * @param paint  the paint (<code>null</code> not permitted).
+     *
+     * @return The width.
+     */
+    synchronized float getWidth(String text, Paint paint) {
+        Entry entry = getEntry(text, paint);
+        if (Float.isNaN(entry.width)) {
+            entry.width = paint.measureText(text);
+        }
+        return entry.width;
+    }
+
+    /**
+     * Returns the bounds of some text, with the top and bottom taken from the
+     * font metrics, as <code>{left, top, right, bottom}</code>.  The returned
+     * array is shared and must not be modified.
+     *
+     * @param text  the text (<code>null</code> not permitted).
+     * @param paint  the paint (<code>null</code> not permitted).
+     *
+     * @return The bounds.
+     */
+    synchronized int[] getBounds(String text, Paint paint) {
+        Entry entry = getEntry(text, paint);
+        if (entry.bounds == null) {
+            Rect r = this.workRect;
+            r.set(0, 0, 0, 0);
+            if (text.length() > 0) {
+                paint.getTextBounds(text, 0, text.length(), r);
+            }
+            FontMetrics fm = getFontMetrics(paint);
+            entry.bounds = new int[] {r.left, (int) fm.top, r.right,
+                    (int) fm.bottom};
+        }
+        return entry.bounds;
+    }
+
+    /**
+     * Returns the entry for some text (or for the font itself, if
+     * <code>text</code> is <code>null</code>), creating it if necessary.
+     *
+     * @param text  the text (<code>null</code> permitted).
+     * @param paint  the paint.
+     *
+     * @return The entry.
+     */
+    private Entry getEntry(String text, Paint paint) {
+        Key key = new Key(text, paint);
+        Entry entry = (Entry) this.entries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            if (this.maximumSize > 0) {
+                this.entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * A cache key.
+     */
+    private static final class Key {
+
+        /** The text (<code>null</code> for the font metrics). */
+        private String text;
+
+        /** The typeface (<code>null</code> for the default typeface). */
+        private Typeface typeface;
+
+        /** The text size. */
+        private float size;
+
+        /** The horizontal scale. */
+        private float scaleX;
+
+        /** The horizontal skew. */
+        private float skewX;
+
+        /** The paint flags. */
+        private int flags;
+
+        /** The hash code. */
+        private int hash;
+
+        /**
+         * Creates a key.
+         *
+         * @param text  the text (<code>null</code> permitted).
+         * @param paint  the paint.
+         */
+        Key(String text, Paint paint) {
+            this.text = text;
+            this.typeface = paint.getTypeface();
+            this.size = paint.getTextSize();
+            this.scaleX = paint.getTextScaleX();
+            this.skewX = paint.getTextSkewX();
+            this.flags = paint.getFlags();
+            int h = (text != null ? text.hashCode() : 0);
+            h = 31 * h + (this.typeface != null ? this.typeface.hashCode() : 0);
+            h = 31 * h + Float.floatToIntBits(this.size);
+            h = 31 * h + Float.floatToIntBits(this.scaleX);
+            h = 31 * h + Float.floatToIntBits(this.skewX);
+            this.hash = 31 * h + this.flags;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.hash == that.hash
+                    && this.size == that.size
+                    && this.scaleX == that.scaleX
+                    && this.skewX == that.skewX
+                    && this.flags == that.flags
+                    && (this.typeface == null ? that.typeface == null
+                            : this.typeface.equals(that.typeface))
+                    && (this.text == null ? that.text == null
+                            : this.text.equals(that.text));
+        }
+
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+    /**
+     * The measurements for one key, filled in as they are requested.
+     */
+    private static final class Entry {
+
+        /** The advance width, or Float.NaN if not yet measured. */
+        private float width = Float.NaN;
+
+        /** The bounds, or <code>null</code> if not yet measured. */
+        private int[] bounds;
+
+        /** The font metrics, or <code>null</code> if not yet measured. */
+        private FontMetrics metrics;
+
+    }
+
+}
@@ -65,15 +65,10 @@ import java.text.BreakIterator;
 
 import org.afree.ui.TextAnchor;
 import org.afree.graphics.geom.Font;
-import org.afree.graphics.geom.PathShape;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.PaintType;
 import android.graphics.Canvas;
-import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.Rect;
-import android.graphics.RectF;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.FontMetrics;
 
@@ -82,6 +77,69 @@ import android.graphics.Paint.FontMetrics;
  */
 public abstract class TextUtilities {
 
+    /** The default maximum number of cached text measurements. */
+    public static final int DEFAULT_MEASUREMENT_CACHE_SIZE = 512;
+
+    /** The cache of text measurements. */
+    private static final TextMeasurementCache MEASUREMENT_CACHE
+            = new TextMeasurementCache(DEFAULT_MEASUREMENT_CACHE_SIZE);
+
+    /**
+     * Returns the maximum number of text measurements that are cached by the
+     * methods in this class.
+     *
+     * @return The maximum number of cached measurements.
+     *
+     * @see #setMeasurementCacheSize(int)
+     */
+    public static int getMeasurementCacheSize() {
+        return MEASUREMENT_CACHE.getMaximumSize();
+    }
+
+    /**
+     * Sets the maximum number of text measurements that are cached by the
+     * methods in this class.  Measurements are keyed on the text and on the
+     * typeface, size, scale, skew and flags of the paint, and the least
+     * recently used measurements are discarded first.
+     *
+     * @param size  the maximum number of cached measurements (zero disables
+     *              the cache).
+     *
+     * @see #getMeasurementCacheSize()
+     */
+    public static void setMeasurementCacheSize(int size) {
+        MEASUREMENT_CACHE.setMaximumSize(size);
+    }
+
+    /**
+     * Discards all cached text measurements.  This is only needed if the
+     * glyphs of a typeface object can change (for instance, after the
+     * system font is changed).
+     */
+    public static void clearMeasurementCache() {
+        MEASUREMENT_CACHE.clear();
+    }
+
+    /**
+     * Returns the font metrics for a paint.  The result comes from the
+     * measurement cache, so the paint does not have to be queried again for
+     * another paint with the same font settings.
+     *
+     * @param paint  the paint (<code>null</code> not permitted).
+     *
+     * @return The font metrics (a new object that the caller may modify).
+     */
+    public static FontMetrics getFontMetrics(final Paint paint) {
+        final FontMetrics cached = MEASUREMENT_CACHE.getFontMetrics(paint);
+        final FontMetrics result = new FontMetrics();
+        result.ascent = cached.ascent;
+        result.bottom = cached.bottom;
+        result.descent = cached.descent;
+        result.leading = cached.leading;
+        result.top = cached.top;
+        return result;
+    }
+
     /**
      * Creates a new text block from the given string.
      * 
@@ -248,18 +306,9 @@ public abstract class TextUtilities {
      * @return The text bounds (possibly <code>null</code>).
      */
     public static RectShape getTextBounds(final String text, final Paint paint) {
-        Rect bounds = new Rect();
-        
-        if (!text.equals("")) {
-            paint.getTextBounds(text, 0, text.length(), bounds);
-        }
-        
-        FontMetrics fontMetrix = paint.getFontMetrics();
-        
-        bounds.bottom = (int)fontMetrix.bottom;
-        bounds.top = (int)fontMetrix.top;
-
-        return new RectShape(bounds);
+        final int[] bounds = MEASUREMENT_CACHE.getBounds(text, paint);
+        return new RectShape(bounds[0], bounds[1], bounds[2] - bounds[0],
+                bounds[3] - bounds[1]);
     }
 
     //performance tuning
@@ -281,7 +330,7 @@ public abstract class TextUtilities {
 //        }
 //        
 //        return bounds.right - bounds.left;
-        return paint.measureText(text);
+        return MEASUREMENT_CACHE.getWidth(text, paint);
     }
     
     /**
@@ -293,7 +342,7 @@ public abstract class TextUtilities {
      * @return The text height
      */
     public static float getTextHeight(final Paint paint) {
-        FontMetrics fontMetrix = paint.getFontMetrics();
+        FontMetrics fontMetrix = MEASUREMENT_CACHE.getFontMetrics(paint);
         
         int bottom = (int)fontMetrix.bottom;
         int top = (int)fontMetrix.top;
@@ -425,7 +474,7 @@ public abstract class TextUtilities {
 
         final float[] result = new float[3];
 
-        final FontMetrics fm = paint.getFontMetrics();
+        final FontMetrics fm = MEASUREMENT_CACHE.getFontMetrics(paint);
         
         //performance tuning
         //final RectShape bounds = TextUtilities.getTextBounds(text, paint);
@@ -578,7 +627,7 @@ public abstract class TextUtilities {
             final String text, final TextAnchor anchor) {
 
         final float[] result = new float[2];
-        final FontMetrics fm = paint.getFontMetrics();
+        final FontMetrics fm = MEASUREMENT_CACHE.getFontMetrics(paint);
         final RectShape bounds = TextUtilities.getTextBounds(text, paint);
         final float ascent = Math.abs(fm.ascent);
         final float halfAscent = ascent / 2.0f;
@@ -662,7 +711,7 @@ public abstract class TextUtilities {
             final String text, final TextAnchor anchor) {
 
         final float[] result = new float[2];
-        final FontMetrics fm = paint.getFontMetrics();
+        final FontMetrics fm = MEASUREMENT_CACHE.getFontMetrics(paint);
         final RectShape bounds = TextUtilities.getTextBounds(text, paint);
         final float ascent = fm.ascent;
         final float halfAscent = ascent / 2.0f;
@@ -764,22 +813,29 @@ public abstract class TextUtilities {
             return null;
         }
 
-        final RectShape bounds = TextUtilities.getTextBounds(text, paint);
-        bounds.translate(textX, textY);
-
-        Matrix rotate = new Matrix();
-        rotate.postRotate((float)angle, rotateX, rotateY);
-        
-        Path path = new Path(bounds.getPath());
-        path.transform(rotate);
-        
-        RectF rect = new RectF();
-        path.computeBounds(rect, false);
-        
-        PathShape pathShape = new PathShape(path);
-        
-        RectShape rectShape = new RectShape();
-        pathShape.getBounds(rectShape);
-        return rectShape;
+        // rotate the corners of the (cached) text bounds directly, rather
+        // than transforming a path...
+        final int[] bounds = MEASUREMENT_CACHE.getBounds(text, paint);
+        final double theta = Math.toRadians(angle);
+        final double cos = Math.cos(theta);
+        final double sin = Math.sin(theta);
+        final double x0 = textX + bounds[0] - rotateX;
+        final double x1 = textX + bounds[2] - rotateX;
+        final double y0 = textY + bounds[1] - rotateY;
+        final double y1 = textY + bounds[3] - rotateY;
+        final double xa = x0 * cos;
+        final double xb = x1 * cos;
+        final double xc = -y0 * sin;
+        final double xd = -y1 * sin;
+        final double ya = x0 * sin;
+        final double yb = x1 * sin;
+        final double yc = y0 * cos;
+        final double yd = y1 * cos;
+        final double minX = Math.min(xa, xb) + Math.min(xc, xd);
+        final double maxX = Math.max(xa, xb) + Math.max(xc, xd);
+        final double minY = Math.min(ya, yb) + Math.min(yc, yd);
+        final double maxY = Math.max(ya, yb) + Math.max(yc, yd);
+        return new RectShape((float) (rotateX + minX), (float) (rotateY + minY),
+                (float) (maxX - minX), (float) (maxY - minY));
     }
 }
@@ -73,11 +73,11 @@
 
 package org.afree.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 
 import org.afree.util.SortOrder;
@@ -91,25 +91,17 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
     /** For serialization. */
     private static final long serialVersionUID = 8468154364608194797L;
 
-    /** Storage for the keys. */
-    private ArrayList keys;
-
-    /** Storage for the values. */
-    private ArrayList values;
-
     /**
-     * Contains (key, Integer) mappings, where the Integer is the index for the
-     * key in the list.
+     * Storage for the keys and values, with an index from each key to its
+     * position.
      */
-    private HashMap indexMap;
+    private KeyedValueIndex data;
 
     /**
      * Creates a new collection (initially empty).
      */
     public DefaultKeyedValues() {
-        this.keys = new ArrayList();
-        this.values = new ArrayList();
-        this.indexMap = new HashMap();
+        this.data = new KeyedValueIndex();
     }
 
     /**
@@ -118,7 +110,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      * @return The item count.
      */
     public int getItemCount() {
-        return this.indexMap.size();
+        return this.data.size();
     }
 
     /**
@@ -133,7 +125,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      *             if <code>item</code> is out of bounds.
      */
     public Number getValue(int item) {
-        return (Number) this.values.get(item);
+        return (Number) this.data.getValue(item);
     }
 
     /**
@@ -148,7 +140,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      *             if <code>item</code> is out of bounds.
      */
     public Comparable getKey(int index) {
-        return (Comparable) this.keys.get(index);
+        return (Comparable) this.data.getKey(index);
     }
 
     /**
@@ -166,11 +158,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
         if (key == null) {
             throw new IllegalArgumentException("Null 'key' argument.");
         }
-        final Integer i = (Integer) this.indexMap.get(key);
-        if (i == null) {
-            return -1; // key not found
-        }
-        return i.intValue();
+        return this.data.indexOf(key);
     }
 
     /**
@@ -179,7 +167,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      * @return The keys (never <code>null</code>).
      */
     public List getKeys() {
-        return (List) this.keys.clone();
+        return this.data.getKeys();
     }
 
     /**
@@ -257,12 +245,9 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
         }
         int keyIndex = getIndex(key);
         if (keyIndex >= 0) {
-            this.keys.set(keyIndex, key);
-            this.values.set(keyIndex, value);
+            this.data.set(keyIndex, key, value);
         } else {
-            this.keys.add(key);
-            this.values.add(value);
-            this.indexMap.put(key, new Integer(this.keys.size() - 1));
+            this.data.add(key, value);
         }
     }
 
@@ -307,29 +292,12 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
         }
         int pos = getIndex(key);
         if (pos == position) {
-            this.keys.set(pos, key);
-            this.values.set(pos, value);
+            this.data.set(pos, key, value);
         } else {
             if (pos >= 0) {
-                this.keys.remove(pos);
-                this.values.remove(pos);
+                this.data.remove(pos);
             }
-
-            this.keys.add(position, key);
-            this.values.add(position, value);
-            rebuildIndex();
-        }
-    }
-
-    /**
-     * Rebuilds the key to indexed-position mapping after an positioned insert
-     * or a remove operation.
-     */
-    private void rebuildIndex() {
-        this.indexMap.clear();
-        for (int i = 0; i < this.keys.size(); i++) {
-            final Object key = this.keys.get(i);
-            this.indexMap.put(key, new Integer(i));
+            this.data.insert(position, key, value);
         }
     }
 
@@ -344,9 +312,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      *             if <code>index</code> is not within the specified range.
      */
     public void removeValue(int index) {
-        this.keys.remove(index);
-        this.values.remove(index);
-        rebuildIndex();
+        this.data.remove(index);
     }
 
     /**
@@ -375,9 +341,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      * @since JFreeChart 1.0.2
      */
     public void clear() {
-        this.keys.clear();
-        this.values.clear();
-        this.indexMap.clear();
+        this.data.clear();
     }
 
     /**
@@ -387,12 +351,11 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      *            the sort order (<code>null</code> not permitted).
      */
     public void sortByKeys(SortOrder order) {
-        final int size = this.keys.size();
+        final int size = this.data.size();
         final DefaultKeyedValue[] data = new DefaultKeyedValue[size];
 
         for (int i = 0; i < size; i++) {
-            data[i] = new DefaultKeyedValue((Comparable) this.keys.get(i),
-                    (Number) this.values.get(i));
+            data[i] = new DefaultKeyedValue(getKey(i), getValue(i));
         }
 
         Comparator comparator = new KeyedValueComparator(
@@ -415,11 +378,10 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      *            the sort order (<code>null</code> not permitted).
      */
     public void sortByValues(SortOrder order) {
-        final int size = this.keys.size();
+        final int size = this.data.size();
         final DefaultKeyedValue[] data = new DefaultKeyedValue[size];
         for (int i = 0; i < size; i++) {
-            data[i] = new DefaultKeyedValue((Comparable) this.keys.get(i),
-                    (Number) this.values.get(i));
+            data[i] = new DefaultKeyedValue(getKey(i), getValue(i));
         }
 
         Comparator comparator = new KeyedValueComparator(
@@ -483,7 +445,7 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      * @return A hash code.
      */
     public int hashCode() {
-        return (this.keys != null ? this.keys.hashCode() : 0);
+        return (this.data != null ? this.data.getKeys().hashCode() : 0);
     }
 
     /**
@@ -497,10 +459,34 @@ public class DefaultKeyedValues implements KeyedValues, Cloneable, Serializable
      */
     public Object clone() throws CloneNotSupportedException {
         DefaultKeyedValues clone = (DefaultKeyedValues) super.clone();
-        clone.keys = (ArrayList) this.keys.clone();
-        clone.values = (ArrayList) this.values.clone();
-        clone.indexMap = (HashMap) this.indexMap.clone();
+        clone.data = (KeyedValueIndex) this.data.clone();
         return clone;
     }
 
+    /**
+     * Provides serialization support.  Streams written before the keys and
+     * values were held in a {@link KeyedValueIndex} have separate lists of
+     * keys and values instead, and these are copied into a new index.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = stream.readFields();
+        this.data = (KeyedValueIndex) fields.get("data", null);
+        if (this.data == null) {
+            this.data = new KeyedValueIndex();
+            List keys = (List) fields.get("keys", null);
+            List values = (List) fields.get("values", null);
+            if (keys != null && values != null) {
+                for (int i = 0; i < keys.size(); i++) {
+                    this.data.add(keys.get(i), values.get(i));
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,325 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------------
+ * KeyedValueIndex.java
+ * --------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * An ordered list of (key, value) pairs with a hash index from each key to
+ * its position, used by {@link DefaultKeyedValues}.
+ * <P>
+ * The pairs are held in a circular buffer, and the index maps each key to a
+ * position number that is offset by a base value rather than to the position
+ * itself.  Removing or inserting an item therefore only has to renumber the
+ * items between that position and the nearer end of the list: adding or
+ * removing at either end costs O(1) (amortised), so a sliding window that
+ * appends a new key and drops the oldest one on each update does not pay for
+ * a complete rebuild of the index.
+ */
+final class KeyedValueIndex implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2309437466105932751L;
+
+    /** The keys, in a circular buffer. */
+    private Object[] keys;
+
+    /** The values, in a circular buffer. */
+    private Object[] values;
+
+    /** The buffer position of the first item. */
+    private int head;
+
+    /** The number of items. */
+    private int size;
+
+    /** The position number of the first item. */
+    private int base;
+
+    /**
+     * Contains (key, Integer) mappings, where the Integer minus {@link #base}
+     * is the position of the key in the list.
+     */
+    private HashMap numbers;
+
+    /**
+     * Creates a new (empty) list.
+     */
+    KeyedValueIndex() {
+        this.keys = new Object[8];
+        this.values = new Object[8];
+        this.numbers = new HashMap();
+    }
+
+    /**
+     * Returns the number of items in the list.
+     *
+     * @return The item count.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the position of a key.
+     *
+     * @param key  the key.
+     *
+     * @return The position, or <code>-1</code> if the key is not in the list.
+     */
+    int indexOf(Object key) {
+        Integer n = (Integer) this.numbers.get(key);
+        if (n == null) {
+            return -1;
+        }
+        return n.intValue() - this.base;
+    }
+
+    /**
+     * Returns the key at a position.
+     *
+     * @param index  the position.
+     *
+     * @return The key.
+     */
+    Object getKey(int index) {
+        return this.keys[slot(index)];
+    }
+
+    /**
+     * Returns the value at a position.
+     *
+     * @param index  the position.
+     *
+     * @return The value (possibly <code>null</code>).
+     */
+    Object getValue(int index) {
+        return this.values[slot(index)];
+    }
+
+    /**
+     * Returns a new list containing the keys in order.
+     *
+     * @return The keys.
+     */
+    List getKeys() {
+        ArrayList result = new ArrayList(this.size);
+        for (int i = 0; i < this.size; i++) {
+            result.add(this.keys[(this.head + i) & (this.keys.length - 1)]);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the key and value at a position.  The new key must be equal to
+     * the old one.
+     *
+     * @param index  the position.
+     * @param key  the key.
+     * @param value  the value.
+     */
+    void set(int index, Object key, Object value) {
+        int s = slot(index);
+        this.keys[s] = key;
+        this.values[s] = value;
+    }
+
+    /**
+     * Adds a key that is not already in the list at the end of the list.
+     *
+     * @param key  the key.
+     * @param value  the value.
+     */
+    void add(Object key, Object value) {
+        insert(this.size, key, value);
+    }
+
+    /**
+     * Inserts a key that is not already in the list at a position.
+     *
+     * @param index  the position (in the range 0 to size()).
+     * @param key  the key.
+     * @param value  the value.
+     */
+    void insert(int index, Object key, Object value) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+        if (this.size == this.keys.length) {
+            grow();
+        }
+        int mask = this.keys.length - 1;
+        if (index < this.size - index) {
+            // move the items before the position one slot towards the front
+            this.head = (this.head - 1) & mask;
+            this.base--;
+            for (int i = 0; i < index; i++) {
+                int to = (this.head + i) & mask;
+                int from = (to + 1) & mask;
+                move(from, to, this.base + i);
+            }
+        }
+        else {
+            // move the items after the position one slot towards the back
+            for (int i = this.size - 1; i >= index; i--) {
+                int from = (this.head + i) & mask;
+                move(from, (from + 1) & mask, this.base + i + 1);
+            }
+        }
+        int s = (this.head + index) & mask;
+        this.keys[s] = key;
+        this.values[s] = value;
+        this.numbers.put(key, new Integer(this.base + index));
+        this.size++;
+    }
+
+    /**
+     * Removes the item at a position.
+     *
+     * @param index  the position.
+     */
+    void remove(int index) {
+        int mask = this.keys.length - 1;
+        this.numbers.remove(this.keys[slot(index)]);
+        if (index < this.size - 1 - index) {
+            // move the items before the position one slot towards the back
+            for (int i = index - 1; i >= 0; i--) {
+                int from = (this.head + i) & mask;
+                move(from, (from + 1) & mask, this.base + i + 1);
+            }
+            this.keys[this.head] = null;
+            this.values[this.head] = null;
+            this.head = (this.head + 1) & mask;
+            this.base++;
+        }
+        else {
+            // move the items after the position one slot towards the front
+            for (int i = index + 1; i < this.size; i++) {
+                int from = (this.head + i) & mask;
+                move(from, (from - 1) & mask, this.base + i - 1);
+            }
+            int last = (this.head + this.size - 1) & mask;
+            this.keys[last] = null;
+            this.values[last] = null;
+        }
+        this.size--;
+    }
+
+    /**
+     * Removes all items.
+     */
+    void clear() {
+        this.keys = new Object[8];
+        this.values = new Object[8];
+        this.head = 0;
+        this.size = 0;
+        this.base = 0;
+        this.numbers.clear();
+    }
+
+    /**
+     * Returns a clone of the list.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        KeyedValueIndex clone = (KeyedValueIndex) super.clone();
+        clone.keys = (Object[]) this.keys.clone();
+        clone.values = (Object[]) this.values.clone();
+        clone.numbers = (HashMap) this.numbers.clone();
+        return clone;
+    }
+
+    /**
+     * Returns the buffer slot for a position.
+     *
+     * @param index  the position.
+     *
+     * @return The slot.
+     */
+    private int slot(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+        return (this.head + index) & (this.keys.length - 1);
+    }
+
+    /**
+     * Moves an item to another slot and records its new position number.
+     *
+     * @param from  the current slot.
+     * @param to  the new slot.
+     * @param number  the new position number.
+     */
+    private void move(int from, int to, int number) {
+        Object key = this.keys[from];
+        this.keys[to] = key;
+        this.values[to] = this.values[from];
+        this.numbers.put(key, new Integer(number));
+    }
+
+    /**
+     * Doubles the capacity of the buffers, moving the first item to slot 0.
+     */
+    private void grow() {
+        int capacity = this.keys.length;
+        Object[] k = new Object[capacity * 2];
+        Object[] v = new Object[capacity * 2];
+        int n = capacity - this.head;
+        System.arraycopy(this.keys, this.head, k, 0, n);
+        System.arraycopy(this.keys, 0, k, n, this.head);
+        System.arraycopy(this.values, this.head, v, 0, n);
+        System.arraycopy(this.values, 0, v, n, this.head);
+        this.keys = k;
+        this.values = v;
+        this.head = 0;
+    }
+
+}
@@ -0,0 +1,598 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * ValuePyramid.java
+ * -----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data;
+
+/**
+ * A multi-resolution (level-of-detail) index over a sequence of values.
+ * Level <code>k</code> (for <code>k &gt;= 1</code>) divides the items into
+ * buckets of <code>2^k</code> consecutive items and records the minimum,
+ * maximum and number of (non-NaN) values in each bucket.  Level 0 is the
+ * items themselves, which are read from a {@link Source}.
+ * <P>
+ * The index supports:
+ * <ul>
+ * <li>the minimum and maximum over any range of items in
+ *     <code>O(log n)</code> time (see {@link #getRange(int, int)});</li>
+ * <li>access to the buckets of a level, so that a renderer can work at the
+ *     resolution that matches the current axis span;</li>
+ * <li>incremental maintenance when an item is appended, when items are
+ *     removed from the start of the sequence (as for a series with a
+ *     maximum item count), or when a single value changes, each in
+ *     <code>O(log n)</code> time.</li>
+ * </ul>
+ * Any other change should be reported with {@link #invalidate()}, in which
+ * case the index is rebuilt (in <code>O(n)</code> time) the next time it is
+ * used.
+ * <P>
+ * Bucket numbers are counted from the first item that was in the sequence
+ * when the index was last rebuilt, so they do not change when items are
+ * removed from the start of the sequence.  The index is rebuilt once as
+ * many items have been removed from the start as remain, so the cost of
+ * maintaining it for a series used as a sliding window is amortised
+ * <code>O(log n)</code> per item.
+ */
+public class ValuePyramid {
+
+    /**
+     * The source of the values that the pyramid indexes.
+     */
+    public interface Source {
+
+        /**
+         * Returns the number of items.
+         *
+         * @return The item count.
+         */
+        public int getItemCount();
+
+        /**
+         * Returns a value.
+         *
+         * @param index  the item index.
+         *
+         * @return The value (Double.NaN for a missing value).
+         */
+        public double getValue(int index);
+
+    }
+
+    /** The initial number of buckets allocated for each level. */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** The source of the values. */
+    private Source source;
+
+    /** A flag that indicates that the index must be rebuilt before use. */
+    private boolean dirty;
+
+    /**
+     * The number of items removed from the start of the sequence since the
+     * index was last rebuilt.
+     */
+    private int base;
+
+    /** The number of items indexed. */
+    private int itemCount;
+
+    /**
+     * The number of levels above level 0 (so bucket 0 of the top level
+     * covers all the items).
+     */
+    private int levelCount;
+
+    /** The bucket minimums for each level (index 0 is unused). */
+    private double[][] minimums;
+
+    /** The bucket maximums for each level (index 0 is unused). */
+    private double[][] maximums;
+
+    /** The bucket counts for each level (index 0 is unused). */
+    private int[][] counts;
+
+    /** The number of the bucket stored at array index 0, for each level. */
+    private int[] firstStored;
+
+    /**
+     * Creates a new index for the specified source.  The index is built the
+     * first time it is used.
+     *
+     * @param source  the source (<code>null</code> not permitted).
+     */
+    public ValuePyramid(Source source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Null 'source' argument.");
+        }
+        this.source = source;
+        this.dirty = true;
+    }
+
+    /**
+     * Marks the index as invalid, so that it will be rebuilt the next time it
+     * is used.  Call this method after any change to the source other than
+     * the ones handled by {@link #itemAppended()},
+     * {@link #itemsRemovedFromStart(int)} and {@link #itemChanged(int)}.
+     */
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     * Updates the index after an item has been appended to the end of the
+     * source.
+     */
+    public void itemAppended() {
+        if (this.dirty) {
+            return;
+        }
+        int a = this.base + this.itemCount;
+        while (a >= (1 << this.levelCount)) {
+            addLevel();
+        }
+        this.itemCount++;
+        double value = this.source.getValue(this.itemCount - 1);
+        for (int k = 1; k <= this.levelCount; k++) {
+            int i = ensureBucket(k, a >> k);
+            if ((a & ((1 << k) - 1)) == 0) {
+                // the item starts a new bucket
+                this.counts[k][i] = 0;
+            }
+            if (!Double.isNaN(value)) {
+                if (this.counts[k][i] == 0) {
+                    this.minimums[k][i] = value;
+                    this.maximums[k][i] = value;
+                }
+                else {
+                    this.minimums[k][i] = Math.min(this.minimums[k][i],
+                            value);
+                    this.maximums[k][i] = Math.max(this.maximums[k][i],
+                            value);
+                }
+                this.counts[k][i]++;
+            }
+        }
+    }
+
+    /**
+     * Updates the index after items have been removed from the start of the
+     * source.
+     *
+     * @param count  the number of items removed.
+     */
+    public void itemsRemovedFromStart(int count) {
+        if (this.dirty || count <= 0) {
+            return;
+        }
+        this.base += count;
+        this.itemCount -= count;
+        if (this.itemCount <= 0 || this.base >= this.itemCount) {
+            // start again, the cost is amortised over the removals
+            this.dirty = true;
+            return;
+        }
+        // only the first bucket at each level changes, the buckets before
+        // it are no longer used (the space is reclaimed by the rebuild above
+        // once as many items have been removed as remain)
+        for (int k = 1; k <= this.levelCount; k++) {
+            recalculateBucket(k, this.base >> k);
+        }
+    }
+
+    /**
+     * Updates the index after the value of an item has changed.
+     *
+     * @param index  the item index.
+     */
+    public void itemChanged(int index) {
+        if (this.dirty) {
+            return;
+        }
+        if (index < 0 || index >= this.itemCount) {
+            this.dirty = true;
+            return;
+        }
+        int a = this.base + index;
+        for (int k = 1; k <= this.levelCount; k++) {
+            recalculateBucket(k, a >> k);
+        }
+    }
+
+    /**
+     * Returns the number of items indexed.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        validate();
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the number of levels above level 0.
+     *
+     * @return The level count.
+     */
+    public int getLevelCount() {
+        validate();
+        return this.levelCount;
+    }
+
+    /**
+     * Returns the highest level with buckets that contain no more than the
+     * specified number of items.  A renderer that can show one bucket per
+     * pixel would pass the number of items per pixel.
+     *
+     * @param itemsPerBucket  the maximum number of items per bucket.
+     *
+     * @return The level (0 for the items themselves).
+     */
+    public int getLevel(double itemsPerBucket) {
+        validate();
+        int level = 0;
+        while (level < this.levelCount
+                && (1 << (level + 1)) <= itemsPerBucket) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Returns the bucket (at the specified level) that contains an item.
+     *
+     * @param level  the level (1 or higher).
+     * @param index  the item index.
+     *
+     * @return The bucket number.
+     */
+    public int getBucket(int level, int index) {
+        validate();
+        return (this.base + index) >> level;
+    }
+
+    /**
+     * Returns the index of the first item in a bucket that is still present
+     * in the source.
+     *
+     * @param level  the level (1 or higher).
+     * @param bucket  the bucket number.
+     *
+     * @return The item index.
+     */
+    public int getFirstItem(int level, int bucket) {
+        validate();
+        return Math.max((bucket << level) - this.base, 0);
+    }
+
+    /**
+     * Returns the index of the last item in a bucket.
+     *
+     * @param level  the level (1 or higher).
+     * @param bucket  the bucket number.
+     *
+     * @return The item index.
+     */
+    public int getLastItem(int level, int bucket) {
+        validate();
+        return Math.min(((bucket + 1) << level) - 1 - this.base,
+                this.itemCount - 1);
+    }
+
+    /**
+     * Returns the minimum value in a bucket.
+     *
+     * @param level  the level (1 or higher).
+     * @param bucket  the bucket number.
+     *
+     * @return The minimum value (Double.NaN if the bucket contains no
+     *     values).
+     */
+    public double getMinimum(int level, int bucket) {
+        int i = storedIndex(level, bucket);
+        return this.counts[level][i] > 0 ? this.minimums[level][i]
+                : Double.NaN;
+    }
+
+    /**
+     * Returns the maximum value in a bucket.
+     *
+     * @param level  the level (1 or higher).
+     * @param bucket  the bucket number.
+     *
+     * @return The maximum value (Double.NaN if the bucket contains no
+     *     values).
+     */
+    public double getMaximum(int level, int bucket) {
+        int i = storedIndex(level, bucket);
+        return this.counts[level][i] > 0 ? this.maximums[level][i]
+                : Double.NaN;
+    }
+
+    /**
+     * Returns the number of values (excluding Double.NaN) in a bucket.
+     *
+     * @param level  the level (1 or higher).
+     * @param bucket  the bucket number.
+     *
+     * @return The count.
+     */
+    public int getCount(int level, int bucket) {
+        return this.counts[level][storedIndex(level, bucket)];
+    }
+
+    /**
+     * Returns the range of the values for the items from <code>first</code>
+     * to <code>last</code> (inclusive).
+     *
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getRange(int first, int last) {
+        validate();
+        first = Math.max(first, 0);
+        last = Math.min(last, this.itemCount - 1);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        // walk up the levels, taking whole buckets from each end of the
+        // range (as for a segment tree)
+        int a = this.base + first;
+        int b = this.base + last + 1;
+        int k = 0;
+        while (a < b) {
+            if ((a & 1) != 0) {
+                if (k == 0) {
+                    double v = this.source.getValue(a - this.base);
+                    if (!Double.isNaN(v)) {
+                        min = Math.min(min, v);
+                        max = Math.max(max, v);
+                    }
+                }
+                else {
+                    int i = a - this.firstStored[k];
+                    if (this.counts[k][i] > 0) {
+                        min = Math.min(min, this.minimums[k][i]);
+                        max = Math.max(max, this.maximums[k][i]);
+                    }
+                }
+                a++;
+            }
+            if ((b & 1) != 0) {
+                b--;
+                if (k == 0) {
+                    double v = this.source.getValue(b - this.base);
+                    if (!Double.isNaN(v)) {
+                        min = Math.min(min, v);
+                        max = Math.max(max, v);
+                    }
+                }
+                else {
+                    int i = b - this.firstStored[k];
+                    if (this.counts[k][i] > 0) {
+                        min = Math.min(min, this.minimums[k][i]);
+                        max = Math.max(max, this.maximums[k][i]);
+                    }
+                }
+            }
+            a >>= 1;
+            b >>= 1;
+            k++;
+        }
+        if (min > max) {
+            return null;
+        }
+        return new Range(min, max);
+    }
+
+    /**
+     * Rebuilds the index if it has been invalidated.
+     */
+    private void validate() {
+        if (this.dirty) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the source.
+     */
+    private void rebuild() {
+        this.dirty = false;
+        this.base = 0;
+        this.itemCount = this.source.getItemCount();
+        this.levelCount = 1;
+        while ((1 << this.levelCount) < this.itemCount) {
+            this.levelCount++;
+        }
+        this.minimums = new double[this.levelCount + 1][];
+        this.maximums = new double[this.levelCount + 1][];
+        this.counts = new int[this.levelCount + 1][];
+        this.firstStored = new int[this.levelCount + 1];
+        for (int k = 1; k <= this.levelCount; k++) {
+            int buckets = Math.max((this.itemCount + (1 << k) - 1) >> k,
+                    INITIAL_CAPACITY);
+            this.minimums[k] = new double[buckets];
+            this.maximums[k] = new double[buckets];
+            this.counts[k] = new int[buckets];
+        }
+        int buckets = (this.itemCount + 1) >> 1;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            recalculateBucket(1, bucket);
+        }
+        for (int k = 2; k <= this.levelCount; k++) {
+            buckets = (buckets + 1) >> 1;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                recalculateBucket(k, bucket);
+            }
+        }
+    }
+
+    /**
+     * Adds a level above the current top level.
+     */
+    private void addLevel() {
+        int k = this.levelCount + 1;
+        double[][] mins = new double[k + 1][];
+        double[][] maxs = new double[k + 1][];
+        int[][] cnts = new int[k + 1][];
+        int[] firsts = new int[k + 1];
+        System.arraycopy(this.minimums, 0, mins, 0, k);
+        System.arraycopy(this.maximums, 0, maxs, 0, k);
+        System.arraycopy(this.counts, 0, cnts, 0, k);
+        System.arraycopy(this.firstStored, 0, firsts, 0, k);
+        mins[k] = new double[INITIAL_CAPACITY];
+        maxs[k] = new double[INITIAL_CAPACITY];
+        cnts[k] = new int[INITIAL_CAPACITY];
+        firsts[k] = this.base >> k;
+        this.minimums = mins;
+        this.maximums = maxs;
+        this.counts = cnts;
+        this.firstStored = firsts;
+        this.levelCount = k;
+        recalculateBucket(k, firsts[k]);
+    }
+
+    /**
+     * Recalculates one bucket from the level below.
+     *
+     * @param k  the level.
+     * @param bucket  the bucket number.
+     */
+    private void recalculateBucket(int k, int bucket) {
+        int i = ensureBucket(k, bucket);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        int end = this.base + this.itemCount;
+        for (int child = bucket * 2; child <= bucket * 2 + 1; child++) {
+            if (k == 1) {
+                if (child >= this.base && child < end) {
+                    double v = this.source.getValue(child - this.base);
+                    if (!Double.isNaN(v)) {
+                        min = Math.min(min, v);
+                        max = Math.max(max, v);
+                        count++;
+                    }
+                }
+            }
+            else {
+                int c = child - this.firstStored[k - 1];
+                if (child >= (this.base >> (k - 1))
+                        && c < storedBuckets(k - 1)
+                        && this.counts[k - 1][c] > 0) {
+                    min = Math.min(min, this.minimums[k - 1][c]);
+                    max = Math.max(max, this.maximums[k - 1][c]);
+                    count += this.counts[k - 1][c];
+                }
+            }
+        }
+        this.minimums[k][i] = min;
+        this.maximums[k][i] = max;
+        this.counts[k][i] = count;
+    }
+
+    /**
+     * Returns the number of buckets currently stored for a level.
+     *
+     * @param k  the level.
+     *
+     * @return The number of buckets.
+     */
+    private int storedBuckets(int k) {
+        if (this.itemCount == 0) {
+            return 0;
+        }
+        int last = (this.base + this.itemCount - 1) >> k;
+        return Math.max(last - this.firstStored[k] + 1, 0);
+    }
+
+    /**
+     * Returns the array index for a bucket, growing the arrays for the level
+     * if necessary.
+     *
+     * @param k  the level.
+     * @param bucket  the bucket number.
+     *
+     * @return The array index.
+     */
+    private int ensureBucket(int k, int bucket) {
+        int i = bucket - this.firstStored[k];
+        if (i >= this.counts[k].length) {
+            int capacity = Math.max(i + 1, this.counts[k].length * 2);
+            double[] mins = new double[capacity];
+            double[] maxs = new double[capacity];
+            int[] cnts = new int[capacity];
+            System.arraycopy(this.minimums[k], 0, mins, 0,
+                    this.minimums[k].length);
+            System.arraycopy(this.maximums[k], 0, maxs, 0,
+                    this.maximums[k].length);
+            System.arraycopy(this.counts[k], 0, cnts, 0,
+                    this.counts[k].length);
+            this.minimums[k] = mins;
+            this.maximums[k] = maxs;
+            this.counts[k] = cnts;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the array index for a bucket, after validating the index.
+     *
+     * @param level  the level.
+     * @param bucket  the bucket number.
+     *
+     * @return The array index.
+     */
+    private int storedIndex(int level, int bucket) {
+        validate();
+        if (level < 1 || level > this.levelCount) {
+            throw new IllegalArgumentException("Invalid 'level' argument.");
+        }
+        int i = bucket - this.firstStored[level];
+        if (bucket < (this.base >> level) || i >= storedBuckets(level)) {
+            throw new IndexOutOfBoundsException("Bucket " + bucket
+                    + " is not in level " + level + ".");
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,340 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * BinaryDatasetReader.java
+ * ------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.binary;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+import org.afree.data.category.CategoryDataset;
+import org.afree.data.general.Dataset;
+import org.afree.data.xy.OHLCDataset;
+import org.afree.data.xy.XYDataset;
+
+/**
+ * A utility class for reading datasets written by
+ * {@link BinaryDatasetWriter}.  The file is mapped into memory and the
+ * datasets read their values directly from the mapping, so opening a file
+ * costs little more than reading its header, however many values it holds.
+ * The datasets are read-only, and the series and category keys are strings.
+ */
+public class BinaryDatasetReader {
+
+    /**
+     * Reads a dataset of any supported kind from a file.
+     *
+     * @param file  the file.
+     *
+     * @return A {@link MappedXYDataset}, {@link MappedOHLCDataset} or
+     *         {@link MappedCategoryDataset}.
+     *
+     * @throws IOException if there is a problem reading the file.
+     */
+    public static Dataset readDataset(File file) throws IOException {
+        return readDataset(map(file));
+    }
+
+    /**
+     * Reads a dataset of any supported kind from a buffer, which is used by
+     * the dataset without copying (the buffer's position and limit are
+     * ignored, so the data must start at index zero).
+     *
+     * @param buffer  the buffer.
+     *
+     * @return A {@link MappedXYDataset}, {@link MappedOHLCDataset} or
+     *         {@link MappedCategoryDataset}.
+     *
+     * @throws IOException if the buffer does not hold a valid dataset.
+     */
+    public static Dataset readDataset(ByteBuffer buffer) throws IOException {
+        ByteBuffer b = buffer.duplicate();
+        b.clear();
+        DataInputStream in = new DataInputStream(new BufferInput(b));
+        if (in.readInt() != BinaryFormat.MAGIC) {
+            throw new IOException("Not an AFreeChart binary dataset.");
+        }
+        int version = in.readShort();
+        if (version != BinaryFormat.VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+        int kind = in.readByte();
+        int flags = in.readByte();
+        if (kind == BinaryFormat.KIND_CATEGORY) {
+            return readCategory(b, in);
+        }
+        else if (kind == BinaryFormat.KIND_XY
+                || kind == BinaryFormat.KIND_OHLC) {
+            int columns = (kind == BinaryFormat.KIND_XY ? 2
+                    : BinaryFormat.OHLC_COLUMNS);
+            int seriesCount = in.readInt();
+            double[] bounds = readBounds(in);
+            String[] keys = new String[seriesCount];
+            int[] counts = new int[seriesCount];
+            for (int s = 0; s < seriesCount; s++) {
+                keys[s] = in.readUTF();
+                counts[s] = in.readInt();
+            }
+            int offset = valuesStart(b);
+            DoubleBuffer[][] data = new DoubleBuffer[columns][seriesCount];
+            for (int s = 0; s < seriesCount; s++) {
+                for (int c = 0; c < columns; c++) {
+                    data[c][s] = column(b, offset, counts[s]);
+                    offset += counts[s] * 8;
+                }
+            }
+            boolean time = (flags & BinaryFormat.FLAG_TIME) != 0;
+            boolean ascending = (flags & BinaryFormat.FLAG_ASCENDING) != 0;
+            if (kind == BinaryFormat.KIND_XY) {
+                return new MappedXYDataset(keys, counts, data[0], data[1],
+                        time, ascending, bounds);
+            }
+            return new MappedOHLCDataset(keys, counts, data, ascending,
+                    bounds);
+        }
+        else {
+            throw new IOException("Unknown dataset kind: " + kind);
+        }
+    }
+
+    /**
+     * Reads an {@link XYDataset} from a file.
+     *
+     * @param file  the file.
+     *
+     * @return A dataset.
+     *
+     * @throws IOException if there is a problem reading the file, or if it
+     *         does not hold an XY dataset.
+     */
+    public static MappedXYDataset readXYDataset(File file)
+            throws IOException {
+        Dataset d = readDataset(file);
+        if (!(d instanceof MappedXYDataset)) {
+            throw new IOException("The file does not hold an XYDataset.");
+        }
+        return (MappedXYDataset) d;
+    }
+
+    /**
+     * Reads an {@link OHLCDataset} from a file.
+     *
+     * @param file  the file.
+     *
+     * @return A dataset.
+     *
+     * @throws IOException if there is a problem reading the file, or if it
+     *         does not hold an OHLC dataset.
+     */
+    public static MappedOHLCDataset readOHLCDataset(File file)
+            throws IOException {
+        Dataset d = readDataset(file);
+        if (!(d instanceof MappedOHLCDataset)) {
+            throw new IOException("The file does not hold an OHLCDataset.");
+        }
+        return (MappedOHLCDataset) d;
+    }
+
+    /**
+     * Reads a {@link CategoryDataset} from a file.
+     *
+     * @param file  the file.
+     *
+     * @return A dataset.
+     *
+     * @throws IOException if there is a problem reading the file, or if it
+     *         does not hold a category dataset.
+     */
+    public static MappedCategoryDataset readCategoryDataset(File file)
+            throws IOException {
+        Dataset d = readDataset(file);
+        if (!(d instanceof MappedCategoryDataset)) {
+            throw new IOException(
+                    "The file does not hold a CategoryDataset.");
+        }
+        return (MappedCategoryDataset) d;
+    }
+
+    /**
+     * Maps a file into memory (read-only).
+     *
+     * @param file  the file.
+     *
+     * @return The mapping.
+     *
+     * @throws IOException if there is a problem mapping the file.
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+        finally {
+            // the mapping remains valid after the file is closed
+            raf.close();
+        }
+    }
+
+    /**
+     * Reads the rest of a category dataset.
+     *
+     * @param b  the buffer, positioned after the header fields read so far.
+     * @param in  the stream over the buffer.
+     *
+     * @return The dataset.
+     *
+     * @throws IOException if the buffer does not hold a valid dataset.
+     */
+    private static Dataset readCategory(ByteBuffer b, DataInputStream in)
+            throws IOException {
+        int rowCount = in.readInt();
+        int columnCount = in.readInt();
+        double[] bounds = readBounds(in);
+        String[] rowKeys = new String[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            rowKeys[r] = in.readUTF();
+        }
+        String[] columnKeys = new String[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            columnKeys[c] = in.readUTF();
+        }
+        DoubleBuffer values = column(b, valuesStart(b),
+                rowCount * columnCount);
+        return new MappedCategoryDataset(rowKeys, columnKeys, values,
+                bounds);
+    }
+
+    /**
+     * Reads the bounds {minX, maxX, minY, maxY}.
+     *
+     * @param in  the stream.
+     *
+     * @return The bounds.
+     *
+     * @throws IOException if there is a problem reading the stream.
+     */
+    private static double[] readBounds(DataInputStream in)
+            throws IOException {
+        double[] bounds = new double[4];
+        for (int i = 0; i < 4; i++) {
+            bounds[i] = in.readDouble();
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the offset of the values, which follow the header padded to a
+     * multiple of eight bytes.
+     *
+     * @param b  the buffer, positioned at the end of the header.
+     *
+     * @return The offset.
+     */
+    private static int valuesStart(ByteBuffer b) {
+        return (b.position() + 7) & ~7;
+    }
+
+    /**
+     * Returns a view of a column of values.
+     *
+     * @param b  the buffer.
+     * @param offset  the offset of the column.
+     * @param count  the number of values.
+     *
+     * @return The column.
+     *
+     * @throws IOException if the buffer is too short.
+     */
+    private static DoubleBuffer column(ByteBuffer b, int offset, int count)
+            throws IOException {
+        if (count < 0 || offset + (long) count * 8 > b.capacity()) {
+            throw new IOException("The dataset is truncated.");
+        }
+        ByteBuffer d = b.duplicate();
+        d.limit(offset + count * 8);
+        d.position(offset);
+        return d.slice().asDoubleBuffer();
+    }
+
+    /**
+     * An input stream over a byte buffer, used to read the header.
+     */
+    private static final class BufferInput extends InputStream {
+
+        /** The buffer. */
+        private ByteBuffer buffer;
+
+        /**
+         * Creates a stream that reads from the buffer's position onwards.
+         *
+         * @param buffer  the buffer.
+         */
+        BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int read() {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            return this.buffer.get() & 0xFF;
+        }
+
+        public int read(byte[] bytes, int off, int len) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, this.buffer.remaining());
+            this.buffer.get(bytes, off, n);
+            return n;
+        }
+
+    }
+
+}
@@ -0,0 +1,402 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * BinaryDatasetWriter.java
+ * ------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.afree.data.category.CategoryDataset;
+import org.afree.data.time.TimeSeriesCollection;
+import org.afree.data.xy.OHLCDataset;
+import org.afree.data.xy.XYDataset;
+
+/**
+ * A utility class for writing datasets in a compact binary format that
+ * {@link BinaryDatasetReader} can map into memory.  Series and category keys
+ * are written as strings (using <code>toString()</code>), and the values as
+ * columns of doubles.
+ */
+public class BinaryDatasetWriter {
+
+    /**
+     * Writes an {@link XYDataset} to a file.  The x-values are marked as times
+     * if the dataset is a {@link TimeSeriesCollection}.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param file  the file.
+     *
+     * @throws IOException if there is a problem writing the file.
+     */
+    public static void writeXYDataset(XYDataset dataset, File file)
+            throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            writeXYDataset(dataset, out);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes an {@link XYDataset} to a stream.  The x-values are marked as
+     * times if the dataset is a {@link TimeSeriesCollection}.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param out  the output stream (not closed by this method).
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    public static void writeXYDataset(XYDataset dataset, OutputStream out)
+            throws IOException {
+        writeXYDataset(dataset, dataset instanceof TimeSeriesCollection, out);
+    }
+
+    /**
+     * Writes an {@link XYDataset} to a stream.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param timeDomain  a flag that marks the x-values as times in
+     *                    milliseconds.
+     * @param out  the output stream (not closed by this method).
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    public static void writeXYDataset(XYDataset dataset, boolean timeDomain,
+            OutputStream out) throws IOException {
+        if (dataset == null) {
+            throw new IllegalArgumentException("Null 'dataset' argument.");
+        }
+        int seriesCount = dataset.getSeriesCount();
+        double[] bounds = emptyBounds();
+        boolean ascending = true;
+        for (int s = 0; s < seriesCount; s++) {
+            int itemCount = dataset.getItemCount(s);
+            double last = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < itemCount; i++) {
+                double x = dataset.getXValue(s, i);
+                include(bounds, 0, x);
+                include(bounds, 2, dataset.getYValue(s, i));
+                if (!(x >= last)) {
+                    ascending = false;
+                }
+                last = x;
+            }
+        }
+        int flags = (timeDomain ? BinaryFormat.FLAG_TIME : 0)
+                | (ascending ? BinaryFormat.FLAG_ASCENDING : 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = beginHeader(bytes,
+                BinaryFormat.KIND_XY, flags);
+        data.writeInt(seriesCount);
+        writeBounds(data, bounds);
+        for (int s = 0; s < seriesCount; s++) {
+            data.writeUTF(dataset.getSeriesKey(s).toString());
+            data.writeInt(dataset.getItemCount(s));
+        }
+        data = endHeader(data, bytes, out);
+        for (int s = 0; s < seriesCount; s++) {
+            int itemCount = dataset.getItemCount(s);
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getXValue(s, i));
+            }
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getYValue(s, i));
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes an {@link OHLCDataset} to a file.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param file  the file.
+     *
+     * @throws IOException if there is a problem writing the file.
+     */
+    public static void writeOHLCDataset(OHLCDataset dataset, File file)
+            throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            writeOHLCDataset(dataset, out);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes an {@link OHLCDataset} to a stream.  The x-values are marked as
+     * times, and the range bounds cover the high and low values.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param out  the output stream (not closed by this method).
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    public static void writeOHLCDataset(OHLCDataset dataset, OutputStream out)
+            throws IOException {
+        if (dataset == null) {
+            throw new IllegalArgumentException("Null 'dataset' argument.");
+        }
+        int seriesCount = dataset.getSeriesCount();
+        double[] bounds = emptyBounds();
+        boolean ascending = true;
+        for (int s = 0; s < seriesCount; s++) {
+            int itemCount = dataset.getItemCount(s);
+            double last = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < itemCount; i++) {
+                double x = dataset.getXValue(s, i);
+                include(bounds, 0, x);
+                include(bounds, 2, dataset.getLowValue(s, i));
+                include(bounds, 2, dataset.getHighValue(s, i));
+                if (!(x >= last)) {
+                    ascending = false;
+                }
+                last = x;
+            }
+        }
+        int flags = BinaryFormat.FLAG_TIME
+                | (ascending ? BinaryFormat.FLAG_ASCENDING : 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = beginHeader(bytes,
+                BinaryFormat.KIND_OHLC, flags);
+        data.writeInt(seriesCount);
+        writeBounds(data, bounds);
+        for (int s = 0; s < seriesCount; s++) {
+            data.writeUTF(dataset.getSeriesKey(s).toString());
+            data.writeInt(dataset.getItemCount(s));
+        }
+        data = endHeader(data, bytes, out);
+        for (int s = 0; s < seriesCount; s++) {
+            int itemCount = dataset.getItemCount(s);
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getXValue(s, i));
+            }
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getHighValue(s, i));
+            }
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getLowValue(s, i));
+            }
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getOpenValue(s, i));
+            }
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getCloseValue(s, i));
+            }
+            for (int i = 0; i < itemCount; i++) {
+                data.writeDouble(dataset.getVolumeValue(s, i));
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes a {@link CategoryDataset} to a file.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param file  the file.
+     *
+     * @throws IOException if there is a problem writing the file.
+     */
+    public static void writeCategoryDataset(CategoryDataset dataset,
+            File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            writeCategoryDataset(dataset, out);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes a {@link CategoryDataset} to a stream.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param out  the output stream (not closed by this method).
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    public static void writeCategoryDataset(CategoryDataset dataset,
+            OutputStream out) throws IOException {
+        if (dataset == null) {
+            throw new IllegalArgumentException("Null 'dataset' argument.");
+        }
+        int rowCount = dataset.getRowCount();
+        int columnCount = dataset.getColumnCount();
+        double[] bounds = emptyBounds();
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                include(bounds, 2, value(dataset.getValue(r, c)));
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = beginHeader(bytes,
+                BinaryFormat.KIND_CATEGORY, 0);
+        data.writeInt(rowCount);
+        data.writeInt(columnCount);
+        writeBounds(data, bounds);
+        for (int r = 0; r < rowCount; r++) {
+            data.writeUTF(dataset.getRowKey(r).toString());
+        }
+        for (int c = 0; c < columnCount; c++) {
+            data.writeUTF(dataset.getColumnKey(c).toString());
+        }
+        data = endHeader(data, bytes, out);
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                data.writeDouble(value(dataset.getValue(r, c)));
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Starts the header of a file, which is collected in memory so that it
+     * can be padded.
+     *
+     * @param bytes  the buffer for the header.
+     * @param kind  the kind of dataset.
+     * @param flags  the flags.
+     *
+     * @return The stream for the header.
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    private static DataOutputStream beginHeader(ByteArrayOutputStream bytes,
+            byte kind, int flags) throws IOException {
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(BinaryFormat.MAGIC);
+        header.writeShort(BinaryFormat.VERSION);
+        header.writeByte(kind);
+        header.writeByte(flags);
+        return header;
+    }
+
+    /**
+     * Pads the header to a multiple of eight bytes, writes it to the output
+     * stream and returns a buffered stream for the values.
+     *
+     * @param header  the stream for the header.
+     * @param bytes  the buffer for the header.
+     * @param out  the output stream.
+     *
+     * @return The stream for the values.
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    private static DataOutputStream endHeader(DataOutputStream header,
+            ByteArrayOutputStream bytes, OutputStream out)
+            throws IOException {
+        while (header.size() % 8 != 0) {
+            header.writeByte(0);
+        }
+        header.flush();
+        DataOutputStream data = new DataOutputStream(
+                new BufferedOutputStream(out, 65536));
+        bytes.writeTo(data);
+        return data;
+    }
+
+    /**
+     * Returns new bounds {minX, maxX, minY, maxY} that contain nothing.
+     *
+     * @return The bounds.
+     */
+    private static double[] emptyBounds() {
+        return new double[] {Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY};
+    }
+
+    /**
+     * Extends the bounds to include a value (unless it is NaN).
+     *
+     * @param bounds  the bounds.
+     * @param index  the index of the lower bound (0 for x, 2 for y).
+     * @param value  the value.
+     */
+    private static void include(double[] bounds, int index, double value) {
+        if (!Double.isNaN(value)) {
+            bounds[index] = Math.min(bounds[index], value);
+            bounds[index + 1] = Math.max(bounds[index + 1], value);
+        }
+    }
+
+    /**
+     * Writes the bounds, with empty bounds written as NaN.
+     *
+     * @param data  the header stream.
+     * @param bounds  the bounds.
+     *
+     * @throws IOException if there is a problem writing the stream.
+     */
+    private static void writeBounds(DataOutputStream data, double[] bounds)
+            throws IOException {
+        for (int i = 0; i < 4; i += 2) {
+            boolean empty = bounds[i] > bounds[i + 1];
+            data.writeDouble(empty ? Double.NaN : bounds[i]);
+            data.writeDouble(empty ? Double.NaN : bounds[i + 1]);
+        }
+    }
+
+    /**
+     * Returns a value as a double, with <code>null</code> as NaN.
+     *
+     * @param n  the value (<code>null</code> permitted).
+     *
+     * @return The value.
+     */
+    private static double value(Number n) {
+        return n == null ? Double.NaN : n.doubleValue();
+    }
+
+}
@@ -0,0 +1,98 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * BinaryFormat.java
+ * -----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.binary;
+
+/**
+ * The constants of the binary dataset format written by
+ * {@link BinaryDatasetWriter} and read by {@link BinaryDatasetReader}.
+ * <P>
+ * A file starts with a header (all values big-endian, strings in the format
+ * of <code>DataOutput.writeUTF()</code>):
+ * <ul>
+ * <li>the magic number and the format version (int, short);</li>
+ * <li>the kind of dataset and the flags (byte, byte);</li>
+ * <li>the number of series (for a category dataset, the number of rows and
+ *     columns);</li>
+ * <li>the domain and range bounds (four doubles, NaN if unknown);</li>
+ * <li>for each series, its key and item count (for a category dataset, the
+ *     row keys and then the column keys).</li>
+ * </ul>
+ * The header is padded to a multiple of eight bytes and followed by the
+ * values, one column of doubles after another: for each series, the
+ * x-values and then the y-values (for an OHLC dataset, the x, high, low,
+ * open, close and volume values), or, for a category dataset, the values
+ * row by row.  Missing values are stored as NaN.
+ */
+final class BinaryFormat {
+
+    /** The magic number ("AFCD"). */
+    static final int MAGIC = 0x41464344;
+
+    /** The format version. */
+    static final short VERSION = 1;
+
+    /** The kind for an {@link org.afree.data.xy.XYDataset}. */
+    static final byte KIND_XY = 1;
+
+    /** The kind for an {@link org.afree.data.xy.OHLCDataset}. */
+    static final byte KIND_OHLC = 2;
+
+    /** The kind for a {@link org.afree.data.category.CategoryDataset}. */
+    static final byte KIND_CATEGORY = 3;
+
+    /** The flag for x-values that are times in milliseconds. */
+    static final byte FLAG_TIME = 1;
+
+    /** The flag for x-values in ascending order in every series. */
+    static final byte FLAG_ASCENDING = 2;
+
+    /** The number of columns for each series in an OHLC dataset. */
+    static final int OHLC_COLUMNS = 6;
+
+    /**
+     * Not used.
+     */
+    private BinaryFormat() {
+    }
+
+}
@@ -0,0 +1,292 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------------------
+ * MappedCategoryDataset.java
+ * --------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.binary;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.UnknownKeyException;
+import org.afree.data.category.CategoryDataset;
+import org.afree.data.general.AbstractDataset;
+
+/**
+ * A read-only {@link CategoryDataset} whose values are read directly from a
+ * buffer (normally a memory-mapped file) written by
+ * {@link BinaryDatasetWriter}.  Instances are created by
+ * {@link BinaryDatasetReader}.  The keys are strings, and the range bounds
+ * are stored in the file.
+ */
+public class MappedCategoryDataset extends AbstractDataset
+        implements CategoryDataset, RangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3562617309476297385L;
+
+    /** The row keys. */
+    private List rowKeys;
+
+    /** The column keys. */
+    private List columnKeys;
+
+    /** A map from row keys to row indices (as Integer objects). */
+    private Map rowIndices;
+
+    /** A map from column keys to column indices (as Integer objects). */
+    private Map columnIndices;
+
+    /** The values, row by row. */
+    private transient DoubleBuffer values;
+
+    /** The bounds {minX, maxX, minY, maxY} (only the y bounds are used). */
+    private double[] bounds;
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param rowKeys  the row keys.
+     * @param columnKeys  the column keys.
+     * @param values  the values, row by row.
+     * @param bounds  the bounds {minX, maxX, minY, maxY}.
+     */
+    MappedCategoryDataset(String[] rowKeys, String[] columnKeys,
+            DoubleBuffer values, double[] bounds) {
+        this.rowKeys = Collections.unmodifiableList(Arrays.asList(rowKeys));
+        this.columnKeys = Collections.unmodifiableList(
+                Arrays.asList(columnKeys));
+        this.rowIndices = new HashMap();
+        for (int r = 0; r < rowKeys.length; r++) {
+            this.rowIndices.put(rowKeys[r], new Integer(r));
+        }
+        this.columnIndices = new HashMap();
+        for (int c = 0; c < columnKeys.length; c++) {
+            this.columnIndices.put(columnKeys[c], new Integer(c));
+        }
+        this.values = values;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Returns the number of rows in the table.
+     *
+     * @return The row count.
+     */
+    public int getRowCount() {
+        return this.rowKeys.size();
+    }
+
+    /**
+     * Returns the number of columns in the table.
+     *
+     * @return The column count.
+     */
+    public int getColumnCount() {
+        return this.columnKeys.size();
+    }
+
+    /**
+     * Returns a value from the table.
+     *
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     *
+     * @return The value (possibly <code>null</code>).
+     */
+    public Number getValue(int row, int column) {
+        if (column < 0 || column >= this.columnKeys.size()) {
+            throw new IndexOutOfBoundsException("Invalid column: " + column);
+        }
+        double v = this.values.get(row * this.columnKeys.size() + column);
+        return Double.isNaN(v) ? null : new Double(v);
+    }
+
+    /**
+     * Returns the key for the specified row.
+     *
+     * @param row  the row index (zero-based).
+     *
+     * @return The row key.
+     */
+    public Comparable getRowKey(int row) {
+        return (Comparable) this.rowKeys.get(row);
+    }
+
+    /**
+     * Returns the row index for a given key.
+     *
+     * @param key  the row key (<code>null</code> not permitted).
+     *
+     * @return The row index, or <code>-1</code> if the key is not
+     *         recognised.
+     */
+    public int getRowIndex(Comparable key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null 'key' argument.");
+        }
+        Integer index = (Integer) this.rowIndices.get(key);
+        return index == null ? -1 : index.intValue();
+    }
+
+    /**
+     * Returns the row keys.
+     *
+     * @return The keys (in an unmodifiable list).
+     */
+    public List getRowKeys() {
+        return this.rowKeys;
+    }
+
+    /**
+     * Returns a column key.
+     *
+     * @param column  the column index (zero-based).
+     *
+     * @return The column key.
+     */
+    public Comparable getColumnKey(int column) {
+        return (Comparable) this.columnKeys.get(column);
+    }
+
+    /**
+     * Returns the column index for a given key.
+     *
+     * @param key  the column key (<code>null</code> not permitted).
+     *
+     * @return The column index, or <code>-1</code> if the key is not
+     *         recognised.
+     */
+    public int getColumnIndex(Comparable key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null 'key' argument.");
+        }
+        Integer index = (Integer) this.columnIndices.get(key);
+        return index == null ? -1 : index.intValue();
+    }
+
+    /**
+     * Returns the column keys.
+     *
+     * @return The keys (in an unmodifiable list).
+     */
+    public List getColumnKeys() {
+        return this.columnKeys;
+    }
+
+    /**
+     * Returns the value for a pair of keys.
+     *
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     *
+     * @return The value (possibly <code>null</code>).
+     *
+     * @throws UnknownKeyException if either key is not defined in the
+     *         dataset.
+     */
+    public Number getValue(Comparable rowKey, Comparable columnKey) {
+        int row = getRowIndex(rowKey);
+        if (row < 0) {
+            throw new UnknownKeyException("Unrecognised rowKey: " + rowKey);
+        }
+        int column = getColumnIndex(columnKey);
+        if (column < 0) {
+            throw new UnknownKeyException("Unrecognised columnKey: "
+                    + columnKey);
+        }
+        return getValue(row, column);
+    }
+
+    /**
+     * Returns the minimum value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        return this.bounds[2];
+    }
+
+    /**
+     * Returns the maximum value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        return this.bounds[3];
+    }
+
+    /**
+     * Returns the range of the values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        return MappedXYDataset.toRange(this.bounds[2], this.bounds[3]);
+    }
+
+    /**
+     * Prevents serialization, since the values are held in a buffer (normally
+     * mapped from a file) that cannot be written with the dataset.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  always (a {@link NotSerializableException}).
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+}
@@ -0,0 +1,436 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * MappedOHLCDataset.java
+ * ----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.binary;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.DoubleBuffer;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.DomainOrder;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.xy.AbstractXYDataset;
+import org.afree.data.xy.OHLCDataset;
+
+/**
+ * A read-only {@link OHLCDataset} whose values are read directly from a
+ * buffer (normally a memory-mapped file) written by
+ * {@link BinaryDatasetWriter}.  Instances are created by
+ * {@link BinaryDatasetReader}.  The y-value of each item is its close value,
+ * and the range bounds cover the high and low values.
+ */
+public class MappedOHLCDataset extends AbstractXYDataset
+        implements OHLCDataset, DomainInfo, RangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -6083621359209716282L;
+
+    /** The index of the x column. */
+    private static final int X = 0;
+
+    /** The index of the high column. */
+    private static final int HIGH = 1;
+
+    /** The index of the low column. */
+    private static final int LOW = 2;
+
+    /** The index of the open column. */
+    private static final int OPEN = 3;
+
+    /** The index of the close column. */
+    private static final int CLOSE = 4;
+
+    /** The index of the volume column. */
+    private static final int VOLUME = 5;
+
+    /** The series keys. */
+    private String[] keys;
+
+    /** The item counts. */
+    private int[] counts;
+
+    /** The values, by column and then by series. */
+    private transient DoubleBuffer[][] data;
+
+    /** A flag indicating that the x-values are in ascending order. */
+    private boolean ascending;
+
+    /** The bounds {minX, maxX, minY, maxY}. */
+    private double[] bounds;
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param keys  the series keys.
+     * @param counts  the item counts.
+     * @param data  the values, by column (x, high, low, open, close, volume)
+     *              and then by series.
+     * @param ascending  the ascending x-values flag.
+     * @param bounds  the bounds {minX, maxX, minY, maxY}.
+     */
+    MappedOHLCDataset(String[] keys, int[] counts, DoubleBuffer[][] data,
+            boolean ascending, double[] bounds) {
+        this.keys = keys;
+        this.counts = counts;
+        this.data = data;
+        this.ascending = ascending;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key for the series.
+     */
+    public Comparable getSeriesKey(int series) {
+        return this.keys[series];
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    public int getItemCount(int series) {
+        return this.counts[series];
+    }
+
+    /**
+     * Returns the order of the domain values.
+     *
+     * @return The order.
+     */
+    public DomainOrder getDomainOrder() {
+        return this.ascending ? DomainOrder.ASCENDING : DomainOrder.NONE;
+    }
+
+    /**
+     * Returns a value.
+     *
+     * @param column  the column.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The value.
+     */
+    private double value(int column, int series, int item) {
+        return this.data[column][series].get(item);
+    }
+
+    /**
+     * Returns a value as a <code>Number</code>.
+     *
+     * @param column  the column.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The value (<code>null</code> for a missing value).
+     */
+    private Number number(int column, int series, int item) {
+        double v = value(column, series, item);
+        return Double.isNaN(v) ? null : new Double(v);
+    }
+
+    /**
+     * Returns the x-value (a time in milliseconds) for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int series, int item) {
+        return value(X, series, item);
+    }
+
+    /**
+     * Returns the x-value (a time in milliseconds) for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public Number getX(int series, int item) {
+        return number(X, series, item);
+    }
+
+    /**
+     * Returns the y-value (the close value) for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public double getYValue(int series, int item) {
+        return value(CLOSE, series, item);
+    }
+
+    /**
+     * Returns the y-value (the close value) for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public Number getY(int series, int item) {
+        return number(CLOSE, series, item);
+    }
+
+    /**
+     * Returns the high-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The high-value.
+     */
+    public Number getHigh(int series, int item) {
+        return number(HIGH, series, item);
+    }
+
+    /**
+     * Returns the high-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The high-value.
+     */
+    public double getHighValue(int series, int item) {
+        return value(HIGH, series, item);
+    }
+
+    /**
+     * Returns the low-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The low-value.
+     */
+    public Number getLow(int series, int item) {
+        return number(LOW, series, item);
+    }
+
+    /**
+     * Returns the low-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The low-value.
+     */
+    public double getLowValue(int series, int item) {
+        return value(LOW, series, item);
+    }
+
+    /**
+     * Returns the open-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The open-value.
+     */
+    public Number getOpen(int series, int item) {
+        return number(OPEN, series, item);
+    }
+
+    /**
+     * Returns the open-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The open-value.
+     */
+    public double getOpenValue(int series, int item) {
+        return value(OPEN, series, item);
+    }
+
+    /**
+     * Returns the close-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The close-value.
+     */
+    public Number getClose(int series, int item) {
+        return number(CLOSE, series, item);
+    }
+
+    /**
+     * Returns the close-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The close-value.
+     */
+    public double getCloseValue(int series, int item) {
+        return value(CLOSE, series, item);
+    }
+
+    /**
+     * Returns the volume for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The volume.
+     */
+    public Number getVolume(int series, int item) {
+        return number(VOLUME, series, item);
+    }
+
+    /**
+     * Returns the volume for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The volume.
+     */
+    public double getVolumeValue(int series, int item) {
+        return value(VOLUME, series, item);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        return this.bounds[0];
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        return this.bounds[1];
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        return MappedXYDataset.toRange(this.bounds[0], this.bounds[1]);
+    }
+
+    /**
+     * Returns the lowest low-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        return this.bounds[2];
+    }
+
+    /**
+     * Returns the highest high-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        return this.bounds[3];
+    }
+
+    /**
+     * Returns the range from the lowest low-value to the highest high-value
+     * in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        return MappedXYDataset.toRange(this.bounds[2], this.bounds[3]);
+    }
+
+    /**
+     * Prevents serialization, since the values are held in a buffer (normally
+     * mapped from a file) that cannot be written with the dataset.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  always (a {@link NotSerializableException}).
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+}
@@ -0,0 +1,308 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------------
+ * MappedXYDataset.java
+ * --------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.binary;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.DoubleBuffer;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.DomainOrder;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.xy.AbstractXYDataset;
+import org.afree.data.xy.XYDataset;
+
+/**
+ * A read-only {@link XYDataset} whose values are read directly from a buffer
+ * (normally a memory-mapped file) written by {@link BinaryDatasetWriter}.
+ * Instances are created by {@link BinaryDatasetReader}.  The bounds are
+ * stored in the file, so they are available without reading the values.
+ */
+public class MappedXYDataset extends AbstractXYDataset
+        implements XYDataset, DomainInfo, RangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2874569826071823734L;
+
+    /** The series keys. */
+    private String[] keys;
+
+    /** The item counts. */
+    private int[] counts;
+
+    /** The x-values, by series. */
+    private transient DoubleBuffer[] x;
+
+    /** The y-values, by series. */
+    private transient DoubleBuffer[] y;
+
+    /** A flag indicating that the x-values are times in milliseconds. */
+    private boolean timeSeries;
+
+    /** A flag indicating that the x-values are in ascending order. */
+    private boolean ascending;
+
+    /** The bounds {minX, maxX, minY, maxY}. */
+    private double[] bounds;
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param keys  the series keys.
+     * @param counts  the item counts.
+     * @param x  the x-values, by series.
+     * @param y  the y-values, by series.
+     * @param timeSeries  the time series flag.
+     * @param ascending  the ascending x-values flag.
+     * @param bounds  the bounds {minX, maxX, minY, maxY}.
+     */
+    MappedXYDataset(String[] keys, int[] counts, DoubleBuffer[] x,
+            DoubleBuffer[] y, boolean timeSeries, boolean ascending,
+            double[] bounds) {
+        this.keys = keys;
+        this.counts = counts;
+        this.x = x;
+        this.y = y;
+        this.timeSeries = timeSeries;
+        this.ascending = ascending;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Returns <code>true</code> if the x-values are times in milliseconds
+     * (for instance, if the dataset was written from a
+     * <code>TimeSeriesCollection</code>).
+     *
+     * @return A boolean.
+     */
+    public boolean isTimeSeries() {
+        return this.timeSeries;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range <code>0</code> to
+     *     <code>getSeriesCount() - 1</code>).
+     *
+     * @return The key for the series.
+     */
+    public Comparable getSeriesKey(int series) {
+        return this.keys[series];
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    public int getItemCount(int series) {
+        return this.counts[series];
+    }
+
+    /**
+     * Returns the order of the domain values.
+     *
+     * @return The order.
+     */
+    public DomainOrder getDomainOrder() {
+        return this.ascending ? DomainOrder.ASCENDING : DomainOrder.NONE;
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int series, int item) {
+        return this.x[series].get(item);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value (<code>null</code> for a missing value).
+     */
+    public Number getX(int series, int item) {
+        double v = getXValue(series, item);
+        return Double.isNaN(v) ? null : new Double(v);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public double getYValue(int series, int item) {
+        return this.y[series].get(item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (<code>null</code> for a missing value).
+     */
+    public Number getY(int series, int item) {
+        double v = getYValue(series, item);
+        return Double.isNaN(v) ? null : new Double(v);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        return this.bounds[0];
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        return this.bounds[1];
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        return MappedXYDataset.toRange(this.bounds[0], this.bounds[1]);
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        return this.bounds[2];
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        return this.bounds[3];
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        return MappedXYDataset.toRange(this.bounds[2], this.bounds[3]);
+    }
+
+    /**
+     * Returns a range for stored bounds.
+     *
+     * @param lower  the lower bound (NaN if there are no values).
+     * @param upper  the upper bound.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    static Range toRange(double lower, double upper) {
+        if (Double.isNaN(lower)) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Prevents serialization, since the values are held in a buffer (normally
+     * mapped from a file) that cannot be written with the dataset.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  always (a {@link NotSerializableException}).
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+}
@@ -0,0 +1,850 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------------
+ * DenseCategoryDataset.java
+ * -------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.category;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.UnknownKeyException;
+import org.afree.data.general.AbstractDataset;
+import org.afree.data.general.DatasetChangeEvent;
+
+/**
+ * A {@link CategoryDataset} that stores its values in a single
+ * <code>double[]</code> array, with hash maps from the row and column keys
+ * to their indices.  Reading or writing a value by index or by key costs
+ * O(1), and a missing value is stored as <code>Double.NaN</code> (and is
+ * reported as <code>null</code> by {@link #getValue(int, int)}).  This suits
+ * large, mostly full tables (for instance, a grid of several hundred rows
+ * and columns) better than {@link DefaultCategoryDataset}, which holds a
+ * <code>Number</code> object for each cell.
+ * <P>
+ * The range bounds are cached, so that finding them does not have to visit
+ * every cell after each change.
+ */
+public class DenseCategoryDataset extends AbstractDataset implements
+        CategoryDataset, RangeInfo, CategoryRangeInfo, Cloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 6307725414591829547L;
+
+    /** The row keys. */
+    private List rowKeys;
+
+    /** The column keys. */
+    private List columnKeys;
+
+    /** A map from row keys to row indices (as Integer objects). */
+    private Map rowIndices;
+
+    /** A map from column keys to column indices (as Integer objects). */
+    private Map columnIndices;
+
+    /**
+     * The values, by row (each row is {@link #stride} values long, and the
+     * values beyond the last column are unused).
+     */
+    private double[] values;
+
+    /** The number of values reserved for each row. */
+    private int stride;
+
+    /** The lowest value, or Double.NaN if unknown (or no values). */
+    private transient double minimum;
+
+    /** The highest value, or Double.NaN if unknown (or no values). */
+    private transient double maximum;
+
+    /** A flag indicating that the cached bounds are correct. */
+    private transient boolean boundsValid;
+
+    /**
+     * Creates a new (empty) dataset.
+     */
+    public DenseCategoryDataset() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates a new (empty) dataset with room for the specified number of
+     * rows and columns, so that the storage does not have to grow while the
+     * table is filled.
+     *
+     * @param rowCapacity  the initial row capacity.
+     * @param columnCapacity  the initial column capacity.
+     */
+    public DenseCategoryDataset(int rowCapacity, int columnCapacity) {
+        if (rowCapacity < 0 || columnCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity.");
+        }
+        this.rowKeys = new ArrayList();
+        this.columnKeys = new ArrayList();
+        this.rowIndices = new HashMap();
+        this.columnIndices = new HashMap();
+        this.stride = columnCapacity;
+        this.values = new double[rowCapacity * columnCapacity];
+        this.minimum = Double.NaN;
+        this.maximum = Double.NaN;
+        this.boundsValid = true;
+    }
+
+    /**
+     * Returns the number of rows in the table.
+     *
+     * @return The row count.
+     *
+     * @see #getColumnCount()
+     */
+    public int getRowCount() {
+        return this.rowKeys.size();
+    }
+
+    /**
+     * Returns the number of columns in the table.
+     *
+     * @return The column count.
+     *
+     * @see #getRowCount()
+     */
+    public int getColumnCount() {
+        return this.columnKeys.size();
+    }
+
+    /**
+     * Returns a value from the table.
+     *
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     *
+     * @return The value (possibly <code>null</code>).
+     *
+     * @see #getDoubleValue(int, int)
+     */
+    public Number getValue(int row, int column) {
+        double v = getDoubleValue(row, column);
+        return Double.isNaN(v) ? null : new Double(v);
+    }
+
+    /**
+     * Returns a value from the table as a <code>double</code>.
+     *
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     *
+     * @return The value (Double.NaN for a missing value).
+     */
+    public double getDoubleValue(int row, int column) {
+        checkIndices(row, column);
+        return this.values[row * this.stride + column];
+    }
+
+    /**
+     * Returns the key for the specified row.
+     *
+     * @param row  the row index (zero-based).
+     *
+     * @return The row key.
+     *
+     * @see #getRowIndex(Comparable)
+     */
+    public Comparable getRowKey(int row) {
+        return (Comparable) this.rowKeys.get(row);
+    }
+
+    /**
+     * Returns the row index for a given key.
+     *
+     * @param key  the row key (<code>null</code> not permitted).
+     *
+     * @return The row index, or <code>-1</code> if the key is not
+     *         recognised.
+     *
+     * @see #getRowKey(int)
+     */
+    public int getRowIndex(Comparable key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null 'key' argument.");
+        }
+        Integer index = (Integer) this.rowIndices.get(key);
+        return index == null ? -1 : index.intValue();
+    }
+
+    /**
+     * Returns the row keys.
+     *
+     * @return The keys (in an unmodifiable list).
+     */
+    public List getRowKeys() {
+        return Collections.unmodifiableList(this.rowKeys);
+    }
+
+    /**
+     * Returns a column key.
+     *
+     * @param column  the column index (zero-based).
+     *
+     * @return The column key.
+     *
+     * @see #getColumnIndex(Comparable)
+     */
+    public Comparable getColumnKey(int column) {
+        return (Comparable) this.columnKeys.get(column);
+    }
+
+    /**
+     * Returns the column index for a given key.
+     *
+     * @param key  the column key (<code>null</code> not permitted).
+     *
+     * @return The column index, or <code>-1</code> if the key is not
+     *         recognised.
+     *
+     * @see #getColumnKey(int)
+     */
+    public int getColumnIndex(Comparable key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null 'key' argument.");
+        }
+        Integer index = (Integer) this.columnIndices.get(key);
+        return index == null ? -1 : index.intValue();
+    }
+
+    /**
+     * Returns the column keys.
+     *
+     * @return The keys (in an unmodifiable list).
+     */
+    public List getColumnKeys() {
+        return Collections.unmodifiableList(this.columnKeys);
+    }
+
+    /**
+     * Returns the value for a pair of keys.
+     *
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     *
+     * @return The value (possibly <code>null</code>).
+     *
+     * @throws UnknownKeyException if either key is not defined in the
+     *         dataset.
+     */
+    public Number getValue(Comparable rowKey, Comparable columnKey) {
+        int row = getRowIndex(rowKey);
+        if (row < 0) {
+            throw new UnknownKeyException("Unrecognised rowKey: " + rowKey);
+        }
+        int column = getColumnIndex(columnKey);
+        if (column < 0) {
+            throw new UnknownKeyException("Unrecognised columnKey: "
+                    + columnKey);
+        }
+        return getValue(row, column);
+    }
+
+    /**
+     * Adds or updates a value in the table and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  Performs the
+     * same function as {@link #setValue(Number, Comparable, Comparable)}.
+     *
+     * @param value  the value (<code>null</code> permitted).
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     */
+    public void addValue(Number value, Comparable rowKey,
+            Comparable columnKey) {
+        setValue(value, rowKey, columnKey);
+    }
+
+    /**
+     * Adds or updates a value in the table and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param value  the value.
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     */
+    public void addValue(double value, Comparable rowKey,
+            Comparable columnKey) {
+        setValue(value, rowKey, columnKey);
+    }
+
+    /**
+     * Adds or updates a value in the table and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param value  the value (<code>null</code> permitted).
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     */
+    public void setValue(Number value, Comparable rowKey,
+            Comparable columnKey) {
+        setValue(value == null ? Double.NaN : value.doubleValue(), rowKey,
+                columnKey);
+    }
+
+    /**
+     * Adds or updates a value in the table and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  New row and
+     * column keys are added at the end of the existing keys.
+     *
+     * @param value  the value (Double.NaN for a missing value).
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     */
+    public void setValue(double value, Comparable rowKey,
+            Comparable columnKey) {
+        int row = getRowIndex(rowKey);
+        if (row < 0) {
+            row = addRow(rowKey);
+        }
+        int column = getColumnIndex(columnKey);
+        if (column < 0) {
+            column = addColumn(columnKey);
+        }
+        store(row, column, value);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Updates a value in the table and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.
+     *
+     * @param value  the value (Double.NaN for a missing value).
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     */
+    public void setValue(double value, int row, int column) {
+        checkIndices(row, column);
+        store(row, column, value);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds the specified value to an existing value in the dataset (if the
+     * existing value is <code>null</code>, it is treated as if it were 0.0).
+     *
+     * @param value  the value.
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     *
+     * @throws UnknownKeyException if either key is not defined in the
+     *         dataset.
+     */
+    public void incrementValue(double value, Comparable rowKey,
+            Comparable columnKey) {
+        double existing = 0.0;
+        Number n = getValue(rowKey, columnKey);
+        if (n != null) {
+            existing = n.doubleValue();
+        }
+        setValue(existing + value, rowKey, columnKey);
+    }
+
+    /**
+     * Removes a value from the dataset and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.  As for {@link DefaultCategoryDataset}, a
+     * row or column that is left with no values is removed as well.
+     *
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     *
+     * @throws UnknownKeyException if either key is not defined in the
+     *         dataset.
+     */
+    public void removeValue(Comparable rowKey, Comparable columnKey) {
+        int row = getRowIndex(rowKey);
+        if (row < 0) {
+            throw new UnknownKeyException("Unknown key: " + rowKey);
+        }
+        int column = getColumnIndex(columnKey);
+        if (column < 0) {
+            throw new UnknownKeyException("Unknown key: " + columnKey);
+        }
+        store(row, column, Double.NaN);
+        boolean emptyRow = true;
+        for (int c = 0; c < this.columnKeys.size() && emptyRow; c++) {
+            emptyRow = Double.isNaN(this.values[row * this.stride + c]);
+        }
+        if (emptyRow) {
+            deleteRow(row);
+        }
+        boolean emptyColumn = true;
+        for (int r = 0; r < this.rowKeys.size() && emptyColumn; r++) {
+            emptyColumn = Double.isNaN(this.values[r * this.stride + column]);
+        }
+        if (emptyColumn) {
+            deleteColumn(column);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a row from the dataset and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.
+     *
+     * @param rowIndex  the row index.
+     *
+     * @see #removeColumn(int)
+     */
+    public void removeRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= this.rowKeys.size()) {
+            throw new IndexOutOfBoundsException("Invalid row: " + rowIndex);
+        }
+        deleteRow(rowIndex);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a row from the dataset and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.
+     *
+     * @param rowKey  the row key (<code>null</code> not permitted).
+     *
+     * @throws UnknownKeyException if <code>rowKey</code> is not defined in
+     *         the dataset.
+     */
+    public void removeRow(Comparable rowKey) {
+        int row = getRowIndex(rowKey);
+        if (row < 0) {
+            throw new UnknownKeyException("Unknown key: " + rowKey);
+        }
+        removeRow(row);
+    }
+
+    /**
+     * Removes a column from the dataset and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     *
+     * @param columnIndex  the column index.
+     *
+     * @see #removeRow(int)
+     */
+    public void removeColumn(int columnIndex) {
+        if (columnIndex < 0 || columnIndex >= this.columnKeys.size()) {
+            throw new IndexOutOfBoundsException("Invalid column: "
+                    + columnIndex);
+        }
+        deleteColumn(columnIndex);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a column from the dataset and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     *
+     * @param columnKey  the column key (<code>null</code> not permitted).
+     *
+     * @throws UnknownKeyException if <code>columnKey</code> is not defined in
+     *         the dataset.
+     */
+    public void removeColumn(Comparable columnKey) {
+        int column = getColumnIndex(columnKey);
+        if (column < 0) {
+            throw new UnknownKeyException("Unknown key: " + columnKey);
+        }
+        removeColumn(column);
+    }
+
+    /**
+     * Clears all data from the dataset and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     */
+    public void clear() {
+        this.rowKeys.clear();
+        this.columnKeys.clear();
+        this.rowIndices.clear();
+        this.columnIndices.clear();
+        this.minimum = Double.NaN;
+        this.maximum = Double.NaN;
+        this.boundsValid = true;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the minimum value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        updateBounds();
+        return this.minimum;
+    }
+
+    /**
+     * Returns the maximum value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        updateBounds();
+        return this.maximum;
+    }
+
+    /**
+     * Returns the range of the values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if the dataset contains no
+     *         values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        updateBounds();
+        if (Double.isNaN(this.minimum)) {
+            return null;
+        }
+        return new Range(this.minimum, this.maximum);
+    }
+
+    /**
+     * Returns the range of the values in the specified rows.
+     *
+     * @param visibleSeriesKeys  the keys of the visible rows
+     *                           (<code>null</code> not permitted).
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if the rows contain no values).
+     */
+    public Range getRangeBounds(List visibleSeriesKeys,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (visibleSeriesKeys.size() == this.rowKeys.size()) {
+            return getRangeBounds(includeInterval);
+        }
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        int columnCount = this.columnKeys.size();
+        for (int i = 0; i < visibleSeriesKeys.size(); i++) {
+            int row = getRowIndex((Comparable) visibleSeriesKeys.get(i));
+            if (row < 0) {
+                continue;
+            }
+            int offset = row * this.stride;
+            for (int c = 0; c < columnCount; c++) {
+                double v = this.values[offset + c];
+                if (!Double.isNaN(v)) {
+                    lower = Math.min(lower, v);
+                    upper = Math.max(upper, v);
+                }
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CategoryDataset)) {
+            return false;
+        }
+        CategoryDataset that = (CategoryDataset) obj;
+        if (!getRowKeys().equals(that.getRowKeys())) {
+            return false;
+        }
+        if (!getColumnKeys().equals(that.getColumnKeys())) {
+            return false;
+        }
+        int rowCount = getRowCount();
+        int colCount = getColumnCount();
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < colCount; c++) {
+                Number v1 = getValue(r, c);
+                Number v2 = that.getValue(r, c);
+                if (v1 == null) {
+                    if (v2 != null) {
+                        return false;
+                    }
+                }
+                else if (!v1.equals(v2)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for the dataset.
+     *
+     * @return A hash code.
+     */
+    public int hashCode() {
+        int result = getRowCount();
+        result = 29 * result + getColumnCount();
+        return result;
+    }
+
+    /**
+     * Returns a clone of the dataset.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning the
+     *         dataset.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        DenseCategoryDataset clone = (DenseCategoryDataset) super.clone();
+        clone.rowKeys = new ArrayList(this.rowKeys);
+        clone.columnKeys = new ArrayList(this.columnKeys);
+        clone.rowIndices = new HashMap(this.rowIndices);
+        clone.columnIndices = new HashMap(this.columnIndices);
+        clone.values = (double[]) this.values.clone();
+        return clone;
+    }
+
+    /**
+     * Checks that a row and column index are valid.
+     *
+     * @param row  the row index.
+     * @param column  the column index.
+     */
+    private void checkIndices(int row, int column) {
+        if (row < 0 || row >= this.rowKeys.size()) {
+            throw new IndexOutOfBoundsException("Invalid row: " + row);
+        }
+        if (column < 0 || column >= this.columnKeys.size()) {
+            throw new IndexOutOfBoundsException("Invalid column: " + column);
+        }
+    }
+
+    /**
+     * Stores a value and updates the cached bounds.  No event is sent.
+     *
+     * @param row  the row index.
+     * @param column  the column index.
+     * @param value  the value.
+     */
+    private void store(int row, int column, double value) {
+        int i = row * this.stride + column;
+        double old = this.values[i];
+        this.values[i] = value;
+        if (!this.boundsValid) {
+            return;
+        }
+        if (!Double.isNaN(old)
+                && (old <= this.minimum || old >= this.maximum)) {
+            // the old value might have been the only one on the bounds...
+            this.boundsValid = false;
+        }
+        else if (!Double.isNaN(value)) {
+            if (Double.isNaN(this.minimum)) {
+                this.minimum = value;
+                this.maximum = value;
+            }
+            else {
+                this.minimum = Math.min(this.minimum, value);
+                this.maximum = Math.max(this.maximum, value);
+            }
+        }
+    }
+
+    /**
+     * Recalculates the cached bounds if necessary.
+     */
+    private void updateBounds() {
+        if (this.boundsValid) {
+            return;
+        }
+        double lower = Double.NaN;
+        double upper = Double.NaN;
+        int rowCount = this.rowKeys.size();
+        int columnCount = this.columnKeys.size();
+        for (int r = 0; r < rowCount; r++) {
+            int offset = r * this.stride;
+            for (int c = 0; c < columnCount; c++) {
+                double v = this.values[offset + c];
+                if (!Double.isNaN(v)) {
+                    if (Double.isNaN(lower)) {
+                        lower = v;
+                        upper = v;
+                    }
+                    else {
+                        lower = Math.min(lower, v);
+                        upper = Math.max(upper, v);
+                    }
+                }
+            }
+        }
+        this.minimum = lower;
+        this.maximum = upper;
+        this.boundsValid = true;
+    }
+
+    /**
+     * Adds a row of missing values.
+     *
+     * @param key  the row key (<code>null</code> not permitted).
+     *
+     * @return The new row index.
+     */
+    private int addRow(Comparable key) {
+        int row = this.rowKeys.size();
+        int needed = (row + 1) * this.stride;
+        if (needed > this.values.length) {
+            double[] v = new double[Math.max(needed, this.values.length * 2)];
+            System.arraycopy(this.values, 0, v, 0, row * this.stride);
+            this.values = v;
+        }
+        fill(row * this.stride, this.stride);
+        this.rowKeys.add(key);
+        this.rowIndices.put(key, new Integer(row));
+        return row;
+    }
+
+    /**
+     * Adds a column of missing values, widening the rows if necessary.
+     *
+     * @param key  the column key (<code>null</code> not permitted).
+     *
+     * @return The new column index.
+     */
+    private int addColumn(Comparable key) {
+        int column = this.columnKeys.size();
+        int rowCount = this.rowKeys.size();
+        if (column == this.stride) {
+            int newStride = Math.max(4, this.stride * 2);
+            int rowCapacity = this.stride == 0 ? rowCount
+                    : this.values.length / this.stride;
+            double[] v = new double[Math.max(rowCapacity, 1) * newStride];
+            for (int r = 0; r < rowCount; r++) {
+                System.arraycopy(this.values, r * this.stride, v,
+                        r * newStride, column);
+            }
+            this.values = v;
+            this.stride = newStride;
+        }
+        for (int r = 0; r < rowCount; r++) {
+            this.values[r * this.stride + column] = Double.NaN;
+        }
+        this.columnKeys.add(key);
+        this.columnIndices.put(key, new Integer(column));
+        return column;
+    }
+
+    /**
+     * Removes a row.  No event is sent.
+     *
+     * @param row  the row index.
+     */
+    private void deleteRow(int row) {
+        int rowCount = this.rowKeys.size();
+        System.arraycopy(this.values, (row + 1) * this.stride, this.values,
+                row * this.stride, (rowCount - row - 1) * this.stride);
+        Object key = this.rowKeys.remove(row);
+        this.rowIndices.remove(key);
+        reindex(this.rowKeys, this.rowIndices, row);
+        this.boundsValid = false;
+    }
+
+    /**
+     * Removes a column.  No event is sent.
+     *
+     * @param column  the column index.
+     */
+    private void deleteColumn(int column) {
+        int rowCount = this.rowKeys.size();
+        int columnCount = this.columnKeys.size();
+        for (int r = 0; r < rowCount; r++) {
+            int offset = r * this.stride;
+            System.arraycopy(this.values, offset + column + 1, this.values,
+                    offset + column, columnCount - column - 1);
+            this.values[offset + columnCount - 1] = Double.NaN;
+        }
+        Object key = this.columnKeys.remove(column);
+        this.columnIndices.remove(key);
+        reindex(this.columnKeys, this.columnIndices, column);
+        this.boundsValid = false;
+    }
+
+    /**
+     * Updates the index map for the keys from a given position onwards.
+     *
+     * @param keys  the keys.
+     * @param indices  the index map.
+     * @param start  the first position to update.
+     */
+    private static void reindex(List keys, Map indices, int start) {
+        for (int i = start; i < keys.size(); i++) {
+            indices.put(keys.get(i), new Integer(i));
+        }
+    }
+
+    /**
+     * Fills part of the value array with Double.NaN.
+     *
+     * @param start  the first array index.
+     * @param count  the number of values.
+     */
+    private void fill(int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            this.values[i] = Double.NaN;
+        }
+    }
+
+}
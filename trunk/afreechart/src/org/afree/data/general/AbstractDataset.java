@@ -94,7 +94,13 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
 
     /** Storage for registered change listeners. */
     private transient List<DatasetChangeListener> listenerList;
-    
+
+    /** The number of updates in progress (see {@link #beginUpdate()}). */
+    private transient int updateDepth;
+
+    /** The change event held back until the current update ends. */
+    private transient DatasetChangeEvent pendingEvent;
+
     /**
      * Constructs a dataset. By default, the dataset is assigned to its own
      * group.
@@ -190,6 +196,53 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
         return listenerList.contains(listener);
     }
     
+    /**
+     * Starts an update.  Until the matching call to {@link #endUpdate()},
+     * change events are held back, so that a batch of changes (for instance,
+     * to several series) reaches the registered listeners as a single event.
+     * Updates can be nested, and each call to this method should be paired
+     * with a call to {@link #endUpdate()} in a <code>finally</code> block.
+     *
+     * @see #endUpdate()
+     */
+    public void beginUpdate() {
+        this.updateDepth++;
+    }
+
+    /**
+     * Ends an update started with {@link #beginUpdate()}.  When the
+     * outermost update ends, the registered listeners receive one event: the
+     * held back event if there was only one, otherwise a
+     * {@link DatasetChangeType#GENERAL} event.
+     *
+     * @throws IllegalStateException if no update is in progress.
+     *
+     * @see #beginUpdate()
+     */
+    public void endUpdate() {
+        if (this.updateDepth == 0) {
+            throw new IllegalStateException("No update in progress.");
+        }
+        this.updateDepth--;
+        if (this.updateDepth == 0 && this.pendingEvent != null) {
+            DatasetChangeEvent event = this.pendingEvent;
+            this.pendingEvent = null;
+            notifyListeners(event);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if an update is in progress, and
+     * <code>false</code> otherwise.
+     *
+     * @return A boolean.
+     *
+     * @see #beginUpdate()
+     */
+    public boolean isUpdating() {
+        return this.updateDepth > 0;
+    }
+
     /**
      * Notifies all registered listeners that the dataset has changed.
      *
@@ -200,6 +253,15 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      * @see #removeChangeListener(DatasetChangeListener)
      */
     protected void notifyListeners(DatasetChangeEvent event) {
+        if (this.updateDepth > 0) {
+            if (this.pendingEvent == null) {
+                this.pendingEvent = event;
+            }
+            else {
+                this.pendingEvent = new DatasetChangeEvent(this, this);
+            }
+            return;
+        }
         if(listenerList.size() == 0) {
             return;
         }
@@ -230,6 +292,8 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
     public Object clone() throws CloneNotSupportedException {
         AbstractDataset clone = (AbstractDataset) super.clone();
         clone.listenerList = new CopyOnWriteArrayList<DatasetChangeListener>();
+        clone.updateDepth = 0;
+        clone.pendingEvent = null;
         return clone;
     }
     
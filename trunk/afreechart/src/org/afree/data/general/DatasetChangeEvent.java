@@ -75,6 +75,21 @@ public class DatasetChangeEvent extends java.util.EventObject {
      */
     private Dataset dataset;
 
+    /** The kind of change. */
+    private DatasetChangeType type;
+
+    /** The index of the series affected by the change, or -1. */
+    private int series;
+
+    /** The index of the first item affected by the change. */
+    private int firstItem;
+
+    /** The index of the last item affected by the change. */
+    private int lastItem;
+
+    /** The number of items removed from the start of the series. */
+    private int itemsRemovedFromHead;
+
     /**
      * Constructs a new event.  The source is either the dataset or the
      * {@link org.afree.chart.plot.Plot} class.  The dataset can be
@@ -86,8 +101,57 @@ public class DatasetChangeEvent extends java.util.EventObject {
      *                 permitted).
      */
     public DatasetChangeEvent(Object source, Dataset dataset) {
+        this(source, dataset, DatasetChangeType.GENERAL, -1);
+    }
+
+    /**
+     * Constructs a new event for a change that affects a whole series, such
+     * as {@link DatasetChangeType#SERIES_ADDED} or
+     * {@link DatasetChangeType#SERIES_REMOVED}.
+     *
+     * @param source  the source of the event.
+     * @param dataset  the dataset that generated the event (<code>null</code>
+     *                 permitted).
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param series  the series index (for a removed series, the index it
+     *                had before it was removed).
+     */
+    public DatasetChangeEvent(Object source, Dataset dataset,
+            DatasetChangeType type, int series) {
         super(source);
+        if (type == null) {
+            throw new IllegalArgumentException("Null 'type' argument.");
+        }
         this.dataset = dataset;
+        this.type = type;
+        this.series = series;
+        this.firstItem = -1;
+        this.lastItem = -1;
+    }
+
+    /**
+     * Constructs a new event that passes on the details of a change to one
+     * of the dataset's series.
+     *
+     * @param source  the source of the event.
+     * @param dataset  the dataset that generated the event (<code>null</code>
+     *                 permitted).
+     * @param series  the series index.
+     * @param event  the series change event (<code>null</code> not
+     *               permitted).
+     */
+    public DatasetChangeEvent(Object source, Dataset dataset, int series,
+            SeriesChangeEvent event) {
+        super(source);
+        if (event == null) {
+            throw new IllegalArgumentException("Null 'event' argument.");
+        }
+        this.dataset = dataset;
+        this.type = event.getType();
+        this.series = series;
+        this.firstItem = event.getFirstItem();
+        this.lastItem = event.getLastItem();
+        this.itemsRemovedFromHead = event.getItemsRemovedFromHead();
     }
 
     /**
@@ -101,4 +165,58 @@ public class DatasetChangeEvent extends java.util.EventObject {
         return this.dataset;
     }
 
+    /**
+     * Returns the kind of change.  Listeners that don't recognise the type
+     * should treat the event as a {@link DatasetChangeType#GENERAL} change.
+     *
+     * @return The type (never <code>null</code>).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the series affected by the change, or
+     * <code>-1</code> for a {@link DatasetChangeType#GENERAL} change.
+     *
+     * @return The series index.
+     */
+    public int getSeriesIndex() {
+        return this.series;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change, or
+     * <code>-1</code> if the change does not relate to a range of items.
+     *
+     * @return The item index.
+     *
+     * @see SeriesChangeEvent#getFirstItem()
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change, or
+     * <code>-1</code> if the change does not relate to a range of items.
+     *
+     * @return The item index.
+     *
+     * @see SeriesChangeEvent#getLastItem()
+     */
+    public int getLastItem() {
+        return this.lastItem;
+    }
+
+    /**
+     * Returns the number of items that were removed from the start of the
+     * series as part of an {@link DatasetChangeType#ITEMS_ADDED} change.
+     *
+     * @return The item count.
+     */
+    public int getItemsRemovedFromHead() {
+        return this.itemsRemovedFromHead;
+    }
+
 }
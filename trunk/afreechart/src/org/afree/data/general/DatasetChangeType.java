@@ -0,0 +1,162 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * DatasetChangeType.java
+ * ----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Defines tokens used to indicate the kind of change described by a
+ * {@link SeriesChangeEvent} or a {@link DatasetChangeEvent}.
+ */
+public final class DatasetChangeType implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3391265463468546717L;
+
+    /** Any change, with no further details. */
+    public static final DatasetChangeType GENERAL = new DatasetChangeType(
+            "DatasetChangeType.GENERAL");
+
+    /** A series was added to a dataset. */
+    public static final DatasetChangeType SERIES_ADDED = new DatasetChangeType(
+            "DatasetChangeType.SERIES_ADDED");
+
+    /** A series was removed from a dataset. */
+    public static final DatasetChangeType SERIES_REMOVED
+            = new DatasetChangeType("DatasetChangeType.SERIES_REMOVED");
+
+    /** A range of items was added to a series. */
+    public static final DatasetChangeType ITEMS_ADDED = new DatasetChangeType(
+            "DatasetChangeType.ITEMS_ADDED");
+
+    /** A range of items was removed from a series. */
+    public static final DatasetChangeType ITEMS_REMOVED
+            = new DatasetChangeType("DatasetChangeType.ITEMS_REMOVED");
+
+    /** The y-values of a range of items in a series were changed. */
+    public static final DatasetChangeType ITEMS_CHANGED
+            = new DatasetChangeType("DatasetChangeType.ITEMS_CHANGED");
+
+    /** The name. */
+    private String name;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     */
+    private DatasetChangeType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Returns <code>true</code> if this object is equal to the specified
+     * object, and <code>false</code> otherwise.
+     *
+     * @param obj  the object (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DatasetChangeType)) {
+            return false;
+        }
+        DatasetChangeType that = (DatasetChangeType) obj;
+        if (!this.name.equals(that.toString())) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode
+     */
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    /**
+     * Ensures that serialization returns the unique instances.
+     *
+     * @return The object.
+     *
+     * @throws ObjectStreamException if there is a problem.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (this.equals(DatasetChangeType.GENERAL)) {
+            return DatasetChangeType.GENERAL;
+        }
+        else if (this.equals(DatasetChangeType.SERIES_ADDED)) {
+            return DatasetChangeType.SERIES_ADDED;
+        }
+        else if (this.equals(DatasetChangeType.SERIES_REMOVED)) {
+            return DatasetChangeType.SERIES_REMOVED;
+        }
+        else if (this.equals(DatasetChangeType.ITEMS_ADDED)) {
+            return DatasetChangeType.ITEMS_ADDED;
+        }
+        else if (this.equals(DatasetChangeType.ITEMS_REMOVED)) {
+            return DatasetChangeType.ITEMS_REMOVED;
+        }
+        else if (this.equals(DatasetChangeType.ITEMS_CHANGED)) {
+            return DatasetChangeType.ITEMS_CHANGED;
+        }
+        return null;
+    }
+
+}
@@ -105,6 +105,12 @@ public abstract class Series implements Cloneable, Serializable {
     /** A flag that controls whether or not changes are notified. */
     private boolean notify;
 
+    /** The number of updates in progress (see {@link #beginUpdate()}). */
+    private transient int updateDepth;
+
+    /** The change event held back until the current update ends. */
+    private transient SeriesChangeEvent pendingEvent;
+
     /**
      * Creates a new series with the specified key.
      *
@@ -214,6 +220,54 @@ public abstract class Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Starts an update.  Until the matching call to {@link #endUpdate()},
+     * change events are held back and combined, so that a batch of changes
+     * (for instance, many items appended from a data feed) reaches the
+     * registered listeners as a single event.  Updates can be nested, and
+     * each call to this method should be paired with a call to
+     * {@link #endUpdate()} in a <code>finally</code> block.
+     *
+     * @see #endUpdate()
+     */
+    public void beginUpdate() {
+        this.updateDepth++;
+    }
+
+    /**
+     * Ends an update started with {@link #beginUpdate()}.  When the
+     * outermost update ends, the registered listeners receive one event
+     * describing all the changes made during the update (or no event, if
+     * there were no changes).
+     *
+     * @throws IllegalStateException if no update is in progress.
+     *
+     * @see #beginUpdate()
+     */
+    public void endUpdate() {
+        if (this.updateDepth == 0) {
+            throw new IllegalStateException("No update in progress.");
+        }
+        this.updateDepth--;
+        if (this.updateDepth == 0 && this.pendingEvent != null) {
+            SeriesChangeEvent event = this.pendingEvent;
+            this.pendingEvent = null;
+            notifyListeners(event);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if an update is in progress, and
+     * <code>false</code> otherwise.
+     *
+     * @return A boolean.
+     *
+     * @see #beginUpdate()
+     */
+    public boolean isUpdating() {
+        return this.updateDepth > 0;
+    }
+
     /**
      * Returns <code>true</code> if the series contains no data items, and
      * <code>false</code> otherwise.
@@ -253,7 +307,8 @@ public abstract class Series implements Cloneable, Serializable {
     public Object clone() throws CloneNotSupportedException {
 
         Series clone = (Series) super.clone();
-       
+        clone.updateDepth = 0;
+        clone.pendingEvent = null;
         clone.propertyChangeSupport = new PropertyChangeSupport(clone);
         return clone;
 
@@ -270,6 +325,44 @@ public abstract class Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Signals to registered listeners that a range of items in the series
+     * has changed, so that listeners can update in proportion to the size
+     * of the change.
+     *
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     *
+     * @see SeriesChangeEvent#SeriesChangeEvent(Object, DatasetChangeType,
+     *     int, int)
+     */
+    protected void fireSeriesChanged(DatasetChangeType type, int firstItem,
+            int lastItem) {
+        fireSeriesChanged(type, firstItem, lastItem, 0);
+    }
+
+    /**
+     * Signals to registered listeners that a range of items in the series
+     * has changed, so that listeners can update in proportion to the size
+     * of the change.
+     *
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     * @param itemsRemovedFromHead  the number of items removed from the start
+     *                              of the series as part of an
+     *                              {@link DatasetChangeType#ITEMS_ADDED}
+     *                              change.
+     */
+    protected void fireSeriesChanged(DatasetChangeType type, int firstItem,
+            int lastItem, int itemsRemovedFromHead) {
+        if (this.notify) {
+            notifyListeners(new SeriesChangeEvent(this, type, firstItem,
+                    lastItem, itemsRemovedFromHead));
+        }
+    }
+
     /**
      * Sends a change event to all registered listeners.
      *
@@ -277,6 +370,11 @@ public abstract class Series implements Cloneable, Serializable {
      *               notification.
      */
     protected void notifyListeners(SeriesChangeEvent event) {
+        if (this.updateDepth > 0) {
+            this.pendingEvent = SeriesChangeEvent.combine(this,
+                    this.pendingEvent, event);
+            return;
+        }
         if(listeners.size() == 0) {
             return;
         }
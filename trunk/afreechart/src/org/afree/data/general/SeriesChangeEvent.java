@@ -66,13 +66,146 @@ public class SeriesChangeEvent extends EventObject implements Serializable {
     /** For serialization. */
     private static final long serialVersionUID = 1593866085210089052L;
 
+    /** The kind of change. */
+    private DatasetChangeType type;
+
+    /** The index of the first item affected by the change. */
+    private int firstItem;
+
+    /** The index of the last item affected by the change. */
+    private int lastItem;
+
+    /** The number of items removed from the start of the series. */
+    private int itemsRemovedFromHead;
+
     /**
-     * Constructs a new event.
+     * Constructs a new event that gives no details of the change (the type
+     * is {@link DatasetChangeType#GENERAL}).
      *
      * @param source  the source of the change event.
      */
     public SeriesChangeEvent(Object source) {
+        this(source, DatasetChangeType.GENERAL, -1, -1, 0);
+    }
+
+    /**
+     * Constructs a new event for a change to a range of items.
+     *
+     * @param source  the source of the change event.
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     */
+    public SeriesChangeEvent(Object source, DatasetChangeType type,
+            int firstItem, int lastItem) {
+        this(source, type, firstItem, lastItem, 0);
+    }
+
+    /**
+     * Constructs a new event for a change to a range of items.  For an
+     * {@link DatasetChangeType#ITEMS_ADDED} event,
+     * <code>itemsRemovedFromHead</code> is the number of items that were
+     * removed from the start of the series to keep within the maximum item
+     * count, as part of the same change.
+     *
+     * @param source  the source of the change event.
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     * @param itemsRemovedFromHead  the number of items removed from the start
+     *                              of the series.
+     */
+    public SeriesChangeEvent(Object source, DatasetChangeType type,
+            int firstItem, int lastItem, int itemsRemovedFromHead) {
         super(source);
+        if (type == null) {
+            throw new IllegalArgumentException("Null 'type' argument.");
+        }
+        this.type = type;
+        this.firstItem = firstItem;
+        this.lastItem = lastItem;
+        this.itemsRemovedFromHead = itemsRemovedFromHead;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return The type (never <code>null</code>).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.  For
+     * added and changed items this is an index in the series after the
+     * change, for removed items it is an index before the change.  For a
+     * {@link DatasetChangeType#GENERAL} event this is <code>-1</code>.
+     *
+     * @return The item index.
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change (see
+     * {@link #getFirstItem()}).
+     *
+     * @return The item index.
+     */
+    public int getLastItem() {
+        return this.lastItem;
+    }
+
+    /**
+     * Returns the number of items that were removed from the start of the
+     * series as part of an {@link DatasetChangeType#ITEMS_ADDED} change.
+     *
+     * @return The item count.
+     */
+    public int getItemsRemovedFromHead() {
+        return this.itemsRemovedFromHead;
+    }
+
+    /**
+     * Combines two consecutive change events for a series into one.
+     * Consecutive appends and changes to existing items keep their details,
+     * anything else becomes a {@link DatasetChangeType#GENERAL} change.
+     *
+     * @param source  the source for the combined event.
+     * @param pending  the earlier event (<code>null</code> permitted).
+     * @param event  the later event.
+     *
+     * @return The combined event.
+     */
+    public static SeriesChangeEvent combine(Object source,
+            SeriesChangeEvent pending, SeriesChangeEvent event) {
+        if (pending == null) {
+            return event;
+        }
+        DatasetChangeType type = pending.getType();
+        if (type != event.getType()) {
+            return new SeriesChangeEvent(source);
+        }
+        if (type == DatasetChangeType.ITEMS_CHANGED) {
+            return new SeriesChangeEvent(source, type,
+                    Math.min(pending.getFirstItem(), event.getFirstItem()),
+                    Math.max(pending.getLastItem(), event.getLastItem()));
+        }
+        if (type == DatasetChangeType.ITEMS_ADDED) {
+            // the items added earlier move down by the number of items
+            // removed from the head...
+            int removed = event.getItemsRemovedFromHead();
+            int first = pending.getFirstItem() - removed;
+            if (first >= 0 && event.getFirstItem()
+                    == pending.getLastItem() + 1 - removed) {
+                return new SeriesChangeEvent(source, type, first,
+                        event.getLastItem(),
+                        pending.getItemsRemovedFromHead() + removed);
+            }
+        }
+        return new SeriesChangeEvent(source);
     }
 
 }
@@ -0,0 +1,90 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------------
+ * SnapshotDataset.java
+ * --------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+/**
+ * A dataset that can supply an immutable copy of its current contents,
+ * cheaply enough to be taken once per frame.  Plots that support this
+ * interface pin a snapshot while they draw the dataset (see
+ * {@link #pinSnapshot()}), so that a dataset being updated on another thread
+ * is always drawn in one consistent state, and pass on the dataset's change
+ * events (see {@link #firePendingChange()}) on the thread that draws them.
+ */
+public interface SnapshotDataset extends Dataset {
+
+    /**
+     * Returns an immutable snapshot of the dataset's current contents.  The
+     * snapshot implements the same data interfaces as the dataset (for
+     * example, {@link org.afree.data.xy.XYDataset}).
+     *
+     * @return The snapshot (never <code>null</code>).
+     */
+    public Dataset createSnapshot();
+
+    /**
+     * Takes a snapshot of the dataset's current contents and makes the
+     * dataset read from it on the calling thread, until a matching call to
+     * {@link #releaseSnapshot()}.  Other threads are not affected.  While
+     * the snapshot is pinned, the dataset itself can be passed to renderers,
+     * label generators and entities, and every read made on the calling
+     * thread sees the same version of the data.  Calls may be nested, in
+     * which case the outermost call takes the snapshot.
+     */
+    public void pinSnapshot();
+
+    /**
+     * Releases a snapshot pinned by {@link #pinSnapshot()} on the calling
+     * thread.
+     */
+    public void releaseSnapshot();
+
+    /**
+     * Sends a single {@link DatasetChangeEvent} to all registered listeners
+     * if the dataset has changed since the last event was sent.  A dataset
+     * that is updated on another thread holds its change events back rather
+     * than sending them on that thread; plots call this method on the thread
+     * that draws them, once a frame has been drawn.
+     */
+    public void firePendingChange();
+
+}
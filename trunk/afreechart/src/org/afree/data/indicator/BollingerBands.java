@@ -0,0 +1,188 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------
+ * BollingerBands.java
+ * -------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+import org.afree.data.xy.YIntervalSeries;
+
+/**
+ * Bollinger bands: a moving average over a fixed number of source items,
+ * with bands a multiple of the (population) standard deviation of the items
+ * above and below it.  The output is a {@link YIntervalSeries}, so adding it
+ * to a {@link org.afree.data.xy.YIntervalSeriesCollection} gives a dataset
+ * that {@link org.afree.chart.renderer.xy.DeviationRenderer} draws as a line
+ * inside a shaded band.  There is no value for the first
+ * <code>pointCount - 1</code> items, and missing values are left out.
+ * <P>
+ * Updating the bands for a new item takes constant time.
+ */
+public class BollingerBands extends Indicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -7093547062542187734L;
+
+    /** The default number of standard deviations for the bands. */
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+
+    /** The number of items in the average. */
+    private int pointCount;
+
+    /** The number of standard deviations for the bands. */
+    private double multiplier;
+
+    /** The items in the averaging window. */
+    private RollingStatistics window;
+
+    /** The output series. */
+    private YIntervalSeries output;
+
+    /**
+     * Creates new bands for the specified source, two standard deviations
+     * from the average.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param pointCount  the number of items in the average (at least 2).
+     */
+    public BollingerBands(Series source, Comparable key, int pointCount) {
+        this(source, key, pointCount, DEFAULT_MULTIPLIER);
+    }
+
+    /**
+     * Creates new bands for the specified source.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param pointCount  the number of items in the average (at least 2).
+     * @param multiplier  the number of standard deviations between the
+     *                    average and each band.
+     */
+    public BollingerBands(Series source, Comparable key, int pointCount,
+            double multiplier) {
+        super(source);
+        if (pointCount < 2) {
+            throw new IllegalArgumentException("pointCount must be greater "
+                    + "than or equal to 2.");
+        }
+        this.pointCount = pointCount;
+        this.multiplier = multiplier;
+        this.window = new RollingStatistics(pointCount + 1);
+        this.output = new YIntervalSeries(key, false, true);
+        recalculate();
+    }
+
+    /**
+     * Returns the number of items in the average.
+     *
+     * @return The item count.
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Returns the number of standard deviations between the average and each
+     * band.
+     *
+     * @return The multiplier.
+     */
+    public double getMultiplier() {
+        return this.multiplier;
+    }
+
+    /**
+     * Returns the series that holds the average (the y-values) and the bands
+     * (the y-intervals).
+     *
+     * @return The output series (never <code>null</code>).
+     */
+    public Series getOutput() {
+        return this.output;
+    }
+
+    /**
+     * Clears the output series and the averaging window.
+     */
+    protected void reset() {
+        this.output.clear();
+        this.window.clear();
+    }
+
+    /**
+     * Passes the next source item to the indicator.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected void append(int item) {
+        double x = getSourceX(item);
+        this.window.add(x, getSourceY(item));
+        if (this.window.size() > this.pointCount) {
+            this.window.removeFirst();
+        }
+        if (this.window.size() == this.pointCount) {
+            double mean = this.window.getMean();
+            double band = this.multiplier
+                    * this.window.getStandardDeviation();
+            this.output.add(x, mean, mean - band, mean + band);
+        }
+    }
+
+    /**
+     * Passes a new value for the source item most recently passed in.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected void replaceLast(int item) {
+        this.window.replaceLast(getSourceY(item));
+        if (this.window.size() == this.pointCount) {
+            double mean = this.window.getMean();
+            double band = this.multiplier
+                    * this.window.getStandardDeviation();
+            this.output.updateByIndex(this.output.getItemCount() - 1, mean,
+                    mean - band, mean + band);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------------
+ * ExponentialMovingAverage.java
+ * -----------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+
+/**
+ * An exponential moving average.  The average is seeded with the mean of the
+ * first <code>period</code> values, and each later value <code>y</code>
+ * updates it to <code>ema + alpha * (y - ema)</code>, where
+ * <code>alpha = 2 / (period + 1)</code>.  There is no value for the items
+ * before the seed is complete, and a missing value leaves the average
+ * unchanged (and has a missing value in the output).
+ * <P>
+ * Updating the average for a new item takes constant time.
+ */
+public class ExponentialMovingAverage extends XYIndicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -1704316939561271823L;
+
+    /** The number of periods. */
+    private int period;
+
+    /** The smoothing factor. */
+    private double alpha;
+
+    /** The current average. */
+    private double average;
+
+    /** The number of (non-missing) values seen so far. */
+    private int count;
+
+    /** The average before the last value was applied. */
+    private double previousAverage;
+
+    /** The value count before the last value was applied. */
+    private int previousCount;
+
+    /**
+     * Creates a new moving average for the specified source.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param period  the number of periods (must be positive).
+     */
+    public ExponentialMovingAverage(Series source, Comparable key,
+            int period) {
+        super(source, key);
+        if (period < 1) {
+            throw new IllegalArgumentException("period must be greater "
+                    + "than or equal to 1.");
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+        recalculate();
+    }
+
+    /**
+     * Returns the number of periods.
+     *
+     * @return The number of periods.
+     */
+    public int getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Clears any state held by the indicator.
+     */
+    protected void clearState() {
+        this.average = 0.0;
+        this.count = 0;
+    }
+
+    /**
+     * Applies the next value to the average and returns the new average.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (possibly Double.NaN).
+     * @param replace  <code>true</code> if the item replaces the last item
+     *                 passed in.
+     *
+     * @return The average (Double.NaN for a missing value).
+     */
+    protected double calculate(double x, double y, boolean replace) {
+        if (replace) {
+            this.average = this.previousAverage;
+            this.count = this.previousCount;
+        }
+        else {
+            this.previousAverage = this.average;
+            this.previousCount = this.count;
+        }
+        if (Double.isNaN(y)) {
+            return Double.NaN;
+        }
+        this.count++;
+        if (this.count <= this.period) {
+            // seed with the mean of the first values
+            this.average += (y - this.average) / this.count;
+        }
+        else {
+            this.average += this.alpha * (y - this.average);
+        }
+        return this.average;
+    }
+
+    /**
+     * Returns <code>true</code> once the seed average is complete.
+     *
+     * @return A boolean.
+     */
+    protected boolean isDefined() {
+        return this.count >= this.period;
+    }
+
+}
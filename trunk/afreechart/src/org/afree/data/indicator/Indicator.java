@@ -0,0 +1,249 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------
+ * Indicator.java
+ * --------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import java.io.Serializable;
+
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.Series;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.general.SeriesChangeListener;
+import org.afree.data.time.TimeSeries;
+import org.afree.data.time.ohlc.PrimitiveOHLCSeries;
+import org.afree.data.xy.XYSeries;
+
+/**
+ * The base class for the technical indicators.  An indicator listens to a
+ * source series and keeps a derived output series up to date as the source
+ * changes, instead of recalculating the whole output (as the methods in
+ * {@link org.afree.data.time.MovingAverage} do).
+ * <P>
+ * The source can be an {@link XYSeries}, a {@link TimeSeries} (the x-value
+ * of each item is the first millisecond of its time period, which matches
+ * the default x-position of a
+ * {@link org.afree.data.time.TimeSeriesCollection}) or a
+ * {@link PrimitiveOHLCSeries} (the y-value of each item is the close value).
+ * Items added to the end of the source are passed to the indicator one at a
+ * time, and a change to the last item of the source (for instance a bar that
+ * is still forming) replaces the last value passed in.  Items removed from
+ * the start of the source, to keep within a maximum item count, do not
+ * change the output.  Any other change to the source (an item inserted or
+ * removed elsewhere, or a general change) makes the indicator recalculate
+ * its output from the whole source.
+ * <P>
+ * The indicator stays registered with the source until {@link #dispose()} is
+ * called.
+ */
+public abstract class Indicator implements SeriesChangeListener,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2468520195402173655L;
+
+    /** The source series. */
+    private Series source;
+
+    /**
+     * The number of source items (counted from the current start of the
+     * source) that have been passed to the indicator.
+     */
+    private int processed;
+
+    /**
+     * Creates a new indicator for the specified source.  Subclasses should
+     * call {@link #recalculate()} at the end of their constructor, once the
+     * output has been created.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     */
+    protected Indicator(Series source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Null 'source' argument.");
+        }
+        if (!(source instanceof XYSeries || source instanceof TimeSeries
+                || source instanceof PrimitiveOHLCSeries)) {
+            throw new IllegalArgumentException("Unsupported 'source' series: "
+                    + source.getClass().getName());
+        }
+        this.source = source;
+        source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source series.
+     *
+     * @return The source series (never <code>null</code>).
+     */
+    public Series getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the series that holds the output of the indicator.
+     *
+     * @return The output series (never <code>null</code>).
+     */
+    public abstract Series getOutput();
+
+    /**
+     * Stops the indicator from listening to the source series.  The output
+     * series keeps the values calculated so far.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Clears the output and recalculates it from all the items in the source
+     * series.  The output series sends a single change event.
+     */
+    public void recalculate() {
+        Series output = getOutput();
+        output.beginUpdate();
+        try {
+            reset();
+            int count = this.source.getItemCount();
+            for (int i = 0; i < count; i++) {
+                append(i);
+            }
+            this.processed = count;
+        }
+        finally {
+            output.endUpdate();
+        }
+    }
+
+    /**
+     * Receives notification of a change to the source series and updates the
+     * output.
+     *
+     * @param event  information about the change.
+     */
+    public void seriesChanged(SeriesChangeEvent event) {
+        int count = this.source.getItemCount();
+        DatasetChangeType type = event.getType();
+        int first = event.getFirstItem();
+        int last = event.getLastItem();
+        if (DatasetChangeType.ITEMS_ADDED.equals(type)) {
+            int start = this.processed - event.getItemsRemovedFromHead();
+            if (first == start && last == count - 1) {
+                for (int i = first; i <= last; i++) {
+                    append(i);
+                }
+                this.processed = count;
+                return;
+            }
+        }
+        else if (DatasetChangeType.ITEMS_CHANGED.equals(type)) {
+            if (first == last && last == count - 1
+                    && this.processed == count) {
+                replaceLast(last);
+                return;
+            }
+        }
+        else if (DatasetChangeType.ITEMS_REMOVED.equals(type)) {
+            if (first == 0 && this.processed - (last + 1) == count) {
+                this.processed = count;
+                return;
+            }
+        }
+        recalculate();
+    }
+
+    /**
+     * Clears the output series and any state held by the indicator.
+     */
+    protected abstract void reset();
+
+    /**
+     * Passes the next source item to the indicator.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected abstract void append(int item);
+
+    /**
+     * Passes a new value for the source item most recently passed to
+     * {@link #append(int)}, which is the last item in the source series.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected abstract void replaceLast(int item);
+
+    /**
+     * Returns the x-value for an item in the source series.
+     *
+     * @param index  the item index.
+     *
+     * @return The x-value.
+     */
+    protected double getSourceX(int index) {
+        if (this.source instanceof XYSeries) {
+            return ((XYSeries) this.source).getXValue(index);
+        }
+        else if (this.source instanceof TimeSeries) {
+            return ((TimeSeries) this.source).getTimePeriod(
+                    index).getFirstMillisecond();
+        }
+        return ((PrimitiveOHLCSeries) this.source).getTime(index);
+    }
+
+    /**
+     * Returns the y-value for an item in the source series.
+     *
+     * @param index  the item index.
+     *
+     * @return The y-value (Double.NaN for a missing value).
+     */
+    protected double getSourceY(int index) {
+        if (this.source instanceof XYSeries) {
+            return ((XYSeries) this.source).getYValue(index);
+        }
+        else if (this.source instanceof TimeSeries) {
+            Number y = ((TimeSeries) this.source).getValue(index);
+            return y == null ? Double.NaN : y.doubleValue();
+        }
+        return ((PrimitiveOHLCSeries) this.source).getCloseValue(index);
+    }
+
+}
@@ -0,0 +1,304 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------
+ * OHLCAggregator.java
+ * -------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+import org.afree.data.time.ohlc.PrimitiveOHLCSeries;
+
+/**
+ * Aggregates the items in a source series into (open, high, low, close,
+ * volume) bars of a fixed length, for instance ticks into one minute bars or
+ * one minute bars into hourly bars.  Each bar starts at a whole multiple of
+ * the bar length (in milliseconds for a
+ * {@link org.afree.data.time.TimeSeries} source).  For an
+ * {@link org.afree.data.xy.XYSeries} or a
+ * {@link org.afree.data.time.TimeSeries} source, each y-value is treated as
+ * a price and the volume of a bar is the number of items in it.  For a
+ * {@link PrimitiveOHLCSeries} source, the bars are combined and their
+ * volumes are added together.
+ * <P>
+ * The output is a {@link PrimitiveOHLCSeries}, which can be added to a
+ * {@link org.afree.data.time.ohlc.PrimitiveOHLCSeriesCollection}.  Adding a
+ * source item updates (or starts) the last bar in constant time.  The source
+ * should be in ascending order of x-value; items that fall before the last
+ * bar, and items with a missing value, are ignored.
+ */
+public class OHLCAggregator extends Indicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4371298476211856405L;
+
+    /** The length of each bar. */
+    private long barLength;
+
+    /** The output series. */
+    private PrimitiveOHLCSeries output;
+
+    /**
+     * Creates a new aggregator for the specified source.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param barLength  the length of each bar (must be positive).
+     */
+    public OHLCAggregator(Series source, Comparable key, long barLength) {
+        super(source);
+        if (barLength <= 0L) {
+            throw new IllegalArgumentException("Requires 'barLength' > 0.");
+        }
+        this.barLength = barLength;
+        this.output = new PrimitiveOHLCSeries(key);
+        recalculate();
+    }
+
+    /**
+     * Returns the length of each bar.
+     *
+     * @return The bar length.
+     */
+    public long getBarLength() {
+        return this.barLength;
+    }
+
+    /**
+     * Returns the series that holds the bars.
+     *
+     * @return The output series (never <code>null</code>).
+     */
+    public Series getOutput() {
+        return this.output;
+    }
+
+    /**
+     * Clears the output series.
+     */
+    protected void reset() {
+        this.output.clear();
+    }
+
+    /**
+     * Adds the next source item to the last bar, or starts a new bar.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected void append(int item) {
+        long time = getBarStart(getSourceX(item));
+        int count = this.output.getItemCount();
+        long last = count > 0 ? this.output.getLastTime() : Long.MIN_VALUE;
+        if (time < last || Double.isNaN(getClose(item))) {
+            return;
+        }
+        if (time > last) {
+            this.output.add(time, getOpen(item), getHigh(item), getLow(item),
+                    getClose(item), getVolume(item));
+        }
+        else {
+            int bar = count - 1;
+            this.output.updateByIndex(bar, this.output.getOpenValue(bar),
+                    max(this.output.getHighValue(bar), getHigh(item)),
+                    min(this.output.getLowValue(bar), getLow(item)),
+                    getClose(item),
+                    this.output.getVolumeValue(bar) + getVolume(item));
+        }
+    }
+
+    /**
+     * Rebuilds the last bar from the source items that fall within it, since
+     * the values that the last source item contributed to the bar cannot be
+     * taken back out.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected void replaceLast(int item) {
+        int count = this.output.getItemCount();
+        long time = getBarStart(getSourceX(item));
+        if (count == 0 || time > this.output.getLastTime()) {
+            // the item's previous value was missing, so it has no bar yet
+            append(item);
+            return;
+        }
+        if (time < this.output.getLastTime()) {
+            return;
+        }
+        int first = item;
+        while (first > 0 && getBarStart(getSourceX(first - 1)) == time) {
+            first--;
+        }
+        double open = Double.NaN;
+        double high = Double.NaN;
+        double low = Double.NaN;
+        double close = Double.NaN;
+        double volume = 0.0;
+        for (int i = first; i <= item; i++) {
+            if (Double.isNaN(getClose(i))) {
+                continue;
+            }
+            if (Double.isNaN(open)) {
+                open = getOpen(i);
+            }
+            high = max(high, getHigh(i));
+            low = min(low, getLow(i));
+            close = getClose(i);
+            volume += getVolume(i);
+        }
+        if (Double.isNaN(close)) {
+            this.output.delete(count - 1, count - 1);
+        }
+        else {
+            this.output.updateByIndex(count - 1, open, high, low, close,
+                    volume);
+        }
+    }
+
+    /**
+     * Returns the start of the bar that contains the specified x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The start of the bar.
+     */
+    private long getBarStart(double x) {
+        long t = (long) Math.floor(x);
+        long r = t % this.barLength;
+        return r < 0 ? t - r - this.barLength : t - r;
+    }
+
+    /**
+     * Returns the open value for a source item.
+     *
+     * @param item  the item index.
+     *
+     * @return The open value.
+     */
+    private double getOpen(int item) {
+        if (getSource() instanceof PrimitiveOHLCSeries) {
+            return ((PrimitiveOHLCSeries) getSource()).getOpenValue(item);
+        }
+        return getSourceY(item);
+    }
+
+    /**
+     * Returns the high value for a source item.
+     *
+     * @param item  the item index.
+     *
+     * @return The high value.
+     */
+    private double getHigh(int item) {
+        if (getSource() instanceof PrimitiveOHLCSeries) {
+            return ((PrimitiveOHLCSeries) getSource()).getHighValue(item);
+        }
+        return getSourceY(item);
+    }
+
+    /**
+     * Returns the low value for a source item.
+     *
+     * @param item  the item index.
+     *
+     * @return The low value.
+     */
+    private double getLow(int item) {
+        if (getSource() instanceof PrimitiveOHLCSeries) {
+            return ((PrimitiveOHLCSeries) getSource()).getLowValue(item);
+        }
+        return getSourceY(item);
+    }
+
+    /**
+     * Returns the close value for a source item.
+     *
+     * @param item  the item index.
+     *
+     * @return The close value.
+     */
+    private double getClose(int item) {
+        return getSourceY(item);
+    }
+
+    /**
+     * Returns the volume for a source item.
+     *
+     * @param item  the item index.
+     *
+     * @return The volume.
+     */
+    private double getVolume(int item) {
+        if (getSource() instanceof PrimitiveOHLCSeries) {
+            return ((PrimitiveOHLCSeries) getSource()).getVolumeValue(item);
+        }
+        return 1.0;
+    }
+
+    /**
+     * Returns the maximum of two values, ignoring any Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The maximum of the two values.
+     */
+    private static double max(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        return Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
+    /**
+     * Returns the minimum of two values, ignoring any Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The minimum of the two values.
+     */
+    private static double min(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        return Double.isNaN(b) ? a : Math.min(a, b);
+    }
+
+}
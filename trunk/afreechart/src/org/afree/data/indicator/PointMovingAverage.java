@@ -0,0 +1,135 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------
+ * PointMovingAverage.java
+ * -----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+
+/**
+ * A moving average over a fixed number of source items, irrespective of
+ * their x-values, as calculated by {@link
+ * org.afree.data.time.MovingAverage#createPointMovingAverage(
+ * org.afree.data.time.TimeSeries, String, int)}.  There is no value for the
+ * first <code>pointCount - 1</code> items.  Missing values are left out of
+ * the average.
+ * <P>
+ * Updating the average for a new item takes constant time.
+ */
+public class PointMovingAverage extends XYIndicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 8017553404632931780L;
+
+    /** The number of items in the average. */
+    private int pointCount;
+
+    /** The items in the averaging window. */
+    private RollingStatistics window;
+
+    /**
+     * Creates a new moving average for the specified source.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param pointCount  the number of items in the average (at least 2).
+     */
+    public PointMovingAverage(Series source, Comparable key, int pointCount) {
+        super(source, key);
+        if (pointCount < 2) {
+            throw new IllegalArgumentException("pointCount must be greater "
+                    + "than or equal to 2.");
+        }
+        this.pointCount = pointCount;
+        this.window = new RollingStatistics(pointCount + 1);
+        recalculate();
+    }
+
+    /**
+     * Returns the number of items in the average.
+     *
+     * @return The item count.
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Clears any state held by the indicator.
+     */
+    protected void clearState() {
+        this.window.clear();
+    }
+
+    /**
+     * Updates the averaging window and returns the average.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (possibly Double.NaN).
+     * @param replace  <code>true</code> if the item replaces the last item
+     *                 passed in.
+     *
+     * @return The average (Double.NaN if there are no values in the window).
+     */
+    protected double calculate(double x, double y, boolean replace) {
+        if (replace) {
+            this.window.replaceLast(y);
+        }
+        else {
+            this.window.add(x, y);
+            if (this.window.size() > this.pointCount) {
+                this.window.removeFirst();
+            }
+        }
+        return this.window.getMean();
+    }
+
+    /**
+     * Returns <code>true</code> once the averaging window is full.
+     *
+     * @return A boolean.
+     */
+    protected boolean isDefined() {
+        return this.window.size() == this.pointCount;
+    }
+
+}
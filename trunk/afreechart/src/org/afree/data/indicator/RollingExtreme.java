@@ -0,0 +1,199 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------
+ * RollingExtreme.java
+ * -------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+
+/**
+ * The lowest or highest value over a fixed number of source items (as used
+ * for Donchian channels, for instance).  There is no value for the first
+ * <code>pointCount - 1</code> items, and missing values are ignored.
+ * <P>
+ * The indicator keeps the candidates for the extreme value in a queue that
+ * is ordered by both position and value, so each source item enters and
+ * leaves the queue at most once and updating the extreme for a new item
+ * takes constant (amortised) time.  Replacing the last item rebuilds the
+ * queue from the window.
+ */
+public class RollingExtreme extends XYIndicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 5559019472001612813L;
+
+    /** The number of items in the window. */
+    private int pointCount;
+
+    /** A flag that selects the highest (rather than lowest) value. */
+    private boolean maximum;
+
+    /** The values in the window (the x-values are sequence numbers). */
+    private WindowBuffer window;
+
+    /**
+     * The candidates for the extreme value, as (sequence number, value)
+     * pairs in order of sequence number, with values in order from the most
+     * to the least extreme.
+     */
+    private WindowBuffer queue;
+
+    /** The sequence number of the last source item. */
+    private double sequence;
+
+    /**
+     * Creates a new indicator for the specified source.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param pointCount  the number of items in the window (must be
+     *                    positive).
+     * @param maximum  <code>true</code> for the highest value and
+     *                 <code>false</code> for the lowest value.
+     */
+    public RollingExtreme(Series source, Comparable key, int pointCount,
+            boolean maximum) {
+        super(source, key);
+        if (pointCount < 1) {
+            throw new IllegalArgumentException("pointCount must be greater "
+                    + "than or equal to 1.");
+        }
+        this.pointCount = pointCount;
+        this.maximum = maximum;
+        this.window = new WindowBuffer(pointCount + 1);
+        this.queue = new WindowBuffer(16);
+        recalculate();
+    }
+
+    /**
+     * Returns the number of items in the window.
+     *
+     * @return The item count.
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Returns <code>true</code> if the indicator returns the highest value,
+     * and <code>false</code> if it returns the lowest value.
+     *
+     * @return A boolean.
+     */
+    public boolean isMaximum() {
+        return this.maximum;
+    }
+
+    /**
+     * Clears any state held by the indicator.
+     */
+    protected void clearState() {
+        this.window.clear();
+        this.queue.clear();
+        this.sequence = 0.0;
+    }
+
+    /**
+     * Updates the window and returns the extreme value.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (possibly Double.NaN).
+     * @param replace  <code>true</code> if the item replaces the last item
+     *                 passed in.
+     *
+     * @return The extreme value (Double.NaN if there are no values in the
+     *     window).
+     */
+    protected double calculate(double x, double y, boolean replace) {
+        if (replace) {
+            this.window.setY(this.window.size() - 1, y);
+            this.queue.clear();
+            for (int i = 0; i < this.window.size(); i++) {
+                offer(this.window.getX(i), this.window.getY(i));
+            }
+        }
+        else {
+            this.sequence++;
+            this.window.add(this.sequence, y);
+            if (this.window.size() > this.pointCount) {
+                this.window.removeFirst();
+            }
+            offer(this.sequence, y);
+            double limit = this.sequence - this.pointCount;
+            while (this.queue.size() > 0 && this.queue.getX(0) <= limit) {
+                this.queue.removeFirst();
+            }
+        }
+        return this.queue.size() > 0 ? this.queue.getY(0) : Double.NaN;
+    }
+
+    /**
+     * Returns <code>true</code> once the window is full.
+     *
+     * @return A boolean.
+     */
+    protected boolean isDefined() {
+        return this.window.size() == this.pointCount;
+    }
+
+    /**
+     * Adds a value to the end of the queue, first removing any values that
+     * it makes redundant.
+     *
+     * @param sequence  the sequence number.
+     * @param y  the value (Double.NaN values are ignored).
+     */
+    private void offer(double sequence, double y) {
+        if (Double.isNaN(y)) {
+            return;
+        }
+        while (this.queue.size() > 0) {
+            double last = this.queue.getY(this.queue.size() - 1);
+            if (this.maximum ? last > y : last < y) {
+                break;
+            }
+            this.queue.removeLast();
+        }
+        this.queue.add(sequence, y);
+    }
+
+}
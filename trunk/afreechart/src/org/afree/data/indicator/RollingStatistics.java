@@ -0,0 +1,236 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * RollingStatistics.java
+ * ----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import java.io.Serializable;
+
+/**
+ * The running sum and sum of squares of the y-values in a window of (x, y)
+ * items, so that the mean and standard deviation of the window are available
+ * in constant time as items enter and leave it.  Double.NaN values are held
+ * in the window but left out of the statistics.
+ * <P>
+ * The sums are taken relative to a reference value close to the mean (which
+ * keeps the variance accurate for values far from zero) and are recalculated
+ * from the window once as many items have left it as it holds, so rounding
+ * errors do not build up over a long series.
+ */
+class RollingStatistics implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3215808342880561370L;
+
+    /** The items in the window. */
+    private WindowBuffer window;
+
+    /** The reference value that the sums are relative to. */
+    private double shift;
+
+    /** The sum of (y - shift) for the values in the window. */
+    private double sum;
+
+    /** The sum of (y - shift)^2 for the values in the window. */
+    private double sumOfSquares;
+
+    /** The number of values in the window that are not Double.NaN. */
+    private int count;
+
+    /** The number of values removed since the sums were recalculated. */
+    private int removed;
+
+    /**
+     * Creates a new empty window.
+     *
+     * @param initialCapacity  the initial capacity.
+     */
+    RollingStatistics(int initialCapacity) {
+        this.window = new WindowBuffer(initialCapacity);
+        this.shift = Double.NaN;
+    }
+
+    /**
+     * Returns the number of items in the window (including items with a
+     * Double.NaN y-value).
+     *
+     * @return The item count.
+     */
+    int size() {
+        return this.window.size();
+    }
+
+    /**
+     * Returns the x-value for an item in the window.
+     *
+     * @param index  the item index (zero for the oldest item).
+     *
+     * @return The x-value.
+     */
+    double getX(int index) {
+        return this.window.getX(index);
+    }
+
+    /**
+     * Adds an item to the end of the window.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (possibly Double.NaN).
+     */
+    void add(double x, double y) {
+        this.window.add(x, y);
+        include(y);
+    }
+
+    /**
+     * Removes the oldest item from the window.
+     */
+    void removeFirst() {
+        double y = this.window.getY(0);
+        this.window.removeFirst();
+        exclude(y);
+        this.removed++;
+        if (this.removed > this.window.size()) {
+            recalculate();
+        }
+    }
+
+    /**
+     * Changes the y-value of the newest item in the window.
+     *
+     * @param y  the new y-value (possibly Double.NaN).
+     */
+    void replaceLast(double y) {
+        int last = this.window.size() - 1;
+        exclude(this.window.getY(last));
+        this.window.setY(last, y);
+        include(y);
+    }
+
+    /**
+     * Removes all items from the window.
+     */
+    void clear() {
+        this.window.clear();
+        this.shift = Double.NaN;
+        this.sum = 0.0;
+        this.sumOfSquares = 0.0;
+        this.count = 0;
+        this.removed = 0;
+    }
+
+    /**
+     * Returns the mean of the values in the window.
+     *
+     * @return The mean (Double.NaN if there are no values).
+     */
+    double getMean() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        return this.shift + this.sum / this.count;
+    }
+
+    /**
+     * Returns the (population) standard deviation of the values in the
+     * window.
+     *
+     * @return The standard deviation (Double.NaN if there are no values).
+     */
+    double getStandardDeviation() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        double variance = (this.sumOfSquares - this.sum * this.sum
+                / this.count) / this.count;
+        return Math.sqrt(Math.max(variance, 0.0));
+    }
+
+    /**
+     * Adds a value to the sums.
+     *
+     * @param y  the value (Double.NaN values are ignored).
+     */
+    private void include(double y) {
+        if (Double.isNaN(y)) {
+            return;
+        }
+        if (Double.isNaN(this.shift)) {
+            this.shift = y;
+        }
+        double d = y - this.shift;
+        this.sum += d;
+        this.sumOfSquares += d * d;
+        this.count++;
+    }
+
+    /**
+     * Removes a value from the sums.
+     *
+     * @param y  the value (Double.NaN values are ignored).
+     */
+    private void exclude(double y) {
+        if (Double.isNaN(y)) {
+            return;
+        }
+        double d = y - this.shift;
+        this.sum -= d;
+        this.sumOfSquares -= d * d;
+        this.count--;
+    }
+
+    /**
+     * Recalculates the sums from the values in the window, relative to the
+     * current mean.
+     */
+    private void recalculate() {
+        this.shift = getMean();
+        this.sum = 0.0;
+        this.sumOfSquares = 0.0;
+        this.count = 0;
+        this.removed = 0;
+        int n = this.window.size();
+        for (int i = 0; i < n; i++) {
+            include(this.window.getY(i));
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * SimpleMovingAverage.java
+ * ------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+
+/**
+ * A simple moving average over a fixed length of the x-axis.  The value for
+ * each source item is the mean of the non-missing y-values of the items with
+ * an x-value in the range <code>(x - period, x]</code>, as calculated by
+ * {@link org.afree.data.time.MovingAverage#createMovingAverage(
+ * org.afree.data.xy.XYDataset, int, String, double, double)}.  For a
+ * {@link org.afree.data.time.TimeSeries} source, the period is in
+ * milliseconds.
+ * <P>
+ * Each source item enters and leaves the window once, so updating the
+ * average for a new item takes constant (amortised) time.
+ */
+public class SimpleMovingAverage extends XYIndicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -5294419950268102846L;
+
+    /** The length of the averaging period. */
+    private double period;
+
+    /** The length of the initial skip period. */
+    private double skip;
+
+    /** The items in the averaging period. */
+    private RollingStatistics window;
+
+    /** The x-value of the first source item (Double.NaN if none). */
+    private double firstX;
+
+    /** The x-value of the last source item. */
+    private double lastX;
+
+    /**
+     * Creates a new moving average for the specified source.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     * @param period  the averaging period (must be positive).
+     * @param skip  the length of the initial skip period (no averages are
+     *              calculated for items with an x-value less than the first
+     *              x-value plus the skip period).
+     */
+    public SimpleMovingAverage(Series source, Comparable key, double period,
+            double skip) {
+        super(source, key);
+        if (period < Double.MIN_VALUE) {
+            throw new IllegalArgumentException("period must be positive.");
+        }
+        if (skip < 0.0) {
+            throw new IllegalArgumentException("skip must be >= 0.0.");
+        }
+        this.period = period;
+        this.skip = skip;
+        this.window = new RollingStatistics(16);
+        this.firstX = Double.NaN;
+        recalculate();
+    }
+
+    /**
+     * Returns the averaging period.
+     *
+     * @return The averaging period.
+     */
+    public double getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Returns the length of the initial skip period.
+     *
+     * @return The skip period.
+     */
+    public double getSkip() {
+        return this.skip;
+    }
+
+    /**
+     * Clears any state held by the indicator.
+     */
+    protected void clearState() {
+        this.window.clear();
+        this.firstX = Double.NaN;
+    }
+
+    /**
+     * Updates the averaging window and returns the average.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (possibly Double.NaN).
+     * @param replace  <code>true</code> if the item replaces the last item
+     *                 passed in.
+     *
+     * @return The average (Double.NaN if there are no values in the window).
+     */
+    protected double calculate(double x, double y, boolean replace) {
+        if (replace) {
+            this.window.replaceLast(y);
+        }
+        else {
+            if (Double.isNaN(this.firstX)) {
+                this.firstX = x;
+            }
+            this.lastX = x;
+            this.window.add(x, y);
+            double limit = x - this.period;
+            while (this.window.getX(0) <= limit) {
+                this.window.removeFirst();
+            }
+        }
+        return this.window.getMean();
+    }
+
+    /**
+     * Returns <code>true</code> if the last source item is past the initial
+     * skip period.
+     *
+     * @return A boolean.
+     */
+    protected boolean isDefined() {
+        return this.lastX >= this.firstX + this.skip;
+    }
+
+}
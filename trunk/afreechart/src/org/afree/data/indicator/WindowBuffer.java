@@ -0,0 +1,189 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * WindowBuffer.java
+ * -----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import java.io.Serializable;
+
+/**
+ * A growable circular buffer of (x, y) pairs, used by the indicators to hold
+ * the items in their calculation window.  Items are added at the end and
+ * removed from either end in constant time.
+ */
+class WindowBuffer implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -6127309851226389442L;
+
+    /** The x-values. */
+    private double[] xValues;
+
+    /** The y-values. */
+    private double[] yValues;
+
+    /** The array index of the first item. */
+    private int head;
+
+    /** The number of items in the buffer. */
+    private int size;
+
+    /**
+     * Creates a new empty buffer.
+     *
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    WindowBuffer(int initialCapacity) {
+        this.xValues = new double[Math.max(initialCapacity, 1)];
+        this.yValues = new double[this.xValues.length];
+    }
+
+    /**
+     * Returns the number of items in the buffer.
+     *
+     * @return The item count.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param index  the item index (zero for the oldest item).
+     *
+     * @return The x-value.
+     */
+    double getX(int index) {
+        return this.xValues[slot(index)];
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param index  the item index (zero for the oldest item).
+     *
+     * @return The y-value.
+     */
+    double getY(int index) {
+        return this.yValues[slot(index)];
+    }
+
+    /**
+     * Sets the y-value for an item.
+     *
+     * @param index  the item index (zero for the oldest item).
+     * @param y  the new y-value.
+     */
+    void setY(int index, double y) {
+        this.yValues[slot(index)] = y;
+    }
+
+    /**
+     * Adds an item to the end of the buffer.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    void add(double x, double y) {
+        if (this.size == this.xValues.length) {
+            grow();
+        }
+        int i = slot(this.size);
+        this.xValues[i] = x;
+        this.yValues[i] = y;
+        this.size++;
+    }
+
+    /**
+     * Removes the oldest item from the buffer.
+     */
+    void removeFirst() {
+        this.head = (this.head + 1) % this.xValues.length;
+        this.size--;
+    }
+
+    /**
+     * Removes the newest item from the buffer.
+     */
+    void removeLast() {
+        this.size--;
+    }
+
+    /**
+     * Removes all items from the buffer.
+     */
+    void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the array index for an item.
+     *
+     * @param index  the item index.
+     *
+     * @return The array index.
+     */
+    private int slot(int index) {
+        int i = this.head + index;
+        return i < this.xValues.length ? i : i - this.xValues.length;
+    }
+
+    /**
+     * Doubles the capacity of the buffer, moving the items to the start of
+     * the new arrays.
+     */
+    private void grow() {
+        int n = this.xValues.length;
+        double[] x = new double[n * 2];
+        double[] y = new double[n * 2];
+        int first = n - this.head;
+        System.arraycopy(this.xValues, this.head, x, 0, first);
+        System.arraycopy(this.xValues, 0, x, first, this.head);
+        System.arraycopy(this.yValues, this.head, y, 0, first);
+        System.arraycopy(this.yValues, 0, y, first, this.head);
+        this.xValues = x;
+        this.yValues = y;
+        this.head = 0;
+    }
+
+}
@@ -0,0 +1,169 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------
+ * XYIndicator.java
+ * ----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.indicator;
+
+import org.afree.data.general.Series;
+import org.afree.data.xy.PrimitiveXYSeries;
+import org.afree.data.xy.XYSeries;
+
+/**
+ * The base class for indicators that calculate a single value for each
+ * source item, such as the moving averages.  The output is a
+ * {@link PrimitiveXYSeries} with one item for each source item that the
+ * indicator has a value for, at the x-value of the source item.  Add the
+ * output to an {@link org.afree.data.xy.XYSeriesCollection} to plot it.
+ */
+public abstract class XYIndicator extends Indicator {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3885205129441727630L;
+
+    /** The output series. */
+    private PrimitiveXYSeries output;
+
+    /**
+     * A flag that indicates whether the source item most recently passed in
+     * has an item in the output.
+     */
+    private boolean lastDefined;
+
+    /**
+     * Creates a new indicator.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param key  the key for the output series (<code>null</code> not
+     *             permitted).
+     */
+    protected XYIndicator(Series source, Comparable key) {
+        super(source);
+        this.output = new PrimitiveXYSeries(key);
+    }
+
+    /**
+     * Returns the series that holds the output of the indicator.
+     *
+     * @return The output series (never <code>null</code>).
+     */
+    public XYSeries getOutput() {
+        return this.output;
+    }
+
+    /**
+     * Clears the output series and any state held by the indicator.
+     */
+    protected void reset() {
+        this.output.clear();
+        this.lastDefined = false;
+        clearState();
+    }
+
+    /**
+     * Passes the next source item to the indicator and adds the result to
+     * the output series, if the indicator has a value for the item.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected void append(int item) {
+        double x = getSourceX(item);
+        double value = calculate(x, getSourceY(item), false);
+        this.lastDefined = isDefined();
+        if (this.lastDefined) {
+            this.output.add(x, value);
+        }
+    }
+
+    /**
+     * Passes a new value for the source item most recently passed in, and
+     * updates the last item in the output series.  The new value can also
+     * change whether the indicator has a value for the item, in which case
+     * the output item is added or removed.
+     *
+     * @param item  the index of the item in the source series.
+     */
+    protected void replaceLast(int item) {
+        double x = getSourceX(item);
+        double value = calculate(x, getSourceY(item), true);
+        boolean defined = isDefined();
+        if (defined && this.lastDefined) {
+            this.output.updateByIndex(this.output.getItemCount() - 1,
+                    new Double(value));
+        }
+        else if (defined) {
+            this.output.add(x, value);
+        }
+        else if (this.lastDefined) {
+            int last = this.output.getItemCount() - 1;
+            this.output.delete(last, last);
+        }
+        this.lastDefined = defined;
+    }
+
+    /**
+     * Clears any state held by the indicator.
+     */
+    protected abstract void clearState();
+
+    /**
+     * Updates the state of the indicator for the next source item (or for a
+     * new value of the last source item) and returns the indicator value.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (possibly Double.NaN).
+     * @param replace  <code>true</code> if the item replaces the last item
+     *                 passed in, and <code>false</code> if it follows it.
+     *
+     * @return The indicator value (possibly Double.NaN).
+     */
+    protected abstract double calculate(double x, double y, boolean replace);
+
+    /**
+     * Returns <code>true</code> if the indicator has a value for the source
+     * item most recently passed to {@link #calculate(double, double,
+     * boolean)}, and <code>false</code> otherwise (for instance, while the
+     * first calculation window is filling).
+     *
+     * @return A boolean.
+     */
+    protected abstract boolean isDefined();
+
+}
@@ -79,7 +79,9 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.concurrent.Executor;
 
+import org.afree.data.general.DatasetChangeEvent;
 import org.afree.data.general.DefaultPieDataset;
 import org.afree.data.general.PieDataset;
 
@@ -88,16 +90,33 @@ import org.afree.data.general.PieDataset;
  * <P>
  * A query should be supplied that returns data in two columns, the first
  * containing VARCHAR data, and the second containing numerical data.  The
- * data is cached in-memory and can be refreshed at any time.
+ * data is cached in-memory and can be refreshed at any time, either on the
+ * calling thread or, with {@link #loadInBackground(String)}, on a background
+ * thread.
  */
 public class JDBCPieDataset extends DefaultPieDataset {
 
     /** For serialization. */
     static final long serialVersionUID = -8753216855496746108L;
 
+    /** The default fetch size. */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /** The default chunk size for background queries. */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
     /** The database connection. */
     private transient Connection connection;
 
+    /** The number of rows fetched from the driver at a time. */
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /** The number of rows added to the dataset at a time. */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /** The loader for background queries (created when first needed). */
+    private transient QueryLoader loader;
+
     /**
      * Creates a new JDBCPieDataset and establishes a new database connection.
      *
@@ -178,12 +197,176 @@ public class JDBCPieDataset extends DefaultPieDataset {
      * @throws SQLException if there is a problem executing the query.
      */
     public void executeQuery(Connection con, String query) throws SQLException {
+        QueryLoader loader = getLoader();
+        int generation = loader.nextGeneration();
+        // a background query may still be using the connection...
+        loader.cancelLoads();
+        beginUpdate();
+        try {
+            stream(con, query, generation, false);
+        }
+        finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Runs a query on a background thread and adds its results to the
+     * dataset (updating the values for existing keys), in chunks of
+     * {@link #getChunkSize()} rows with one change event for each chunk.  Any
+     * earlier background query is abandoned.  If the query fails, the error
+     * is available from {@link #getLoadError()}.
+     * <P>
+     * Unless a notify executor is set (see
+     * {@link #setNotifyExecutor(Executor)}), the dataset is updated on the
+     * loader thread.
+     *
+     * @param query  the query to be executed.
+     */
+    public void loadInBackground(final String query) {
+        final QueryLoader loader = getLoader();
+        final int generation = loader.nextGeneration();
+        loader.submit(new Runnable() {
+            public void run() {
+                if (!loader.isCurrent(generation)) {
+                    return;
+                }
+                try {
+                    stream(JDBCPieDataset.this.connection, query, generation,
+                            true);
+                }
+                catch (SQLException e) {
+                    loader.setError(generation, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the number of rows that are fetched from the driver at a time.
+     *
+     * @return The fetch size.
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the number of rows that are fetched from the driver at a time.
+     * This is a hint to the driver, and takes effect for the next query.
+     *
+     * @param size  the fetch size (zero leaves the choice to the driver).
+     */
+    public void setFetchSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative 'size' argument.");
+        }
+        this.fetchSize = size;
+    }
+
+    /**
+     * Returns the number of rows that a background query adds to the
+     * dataset at a time.
+     *
+     * @return The chunk size.
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Sets the number of rows that a background query adds to the dataset at
+     * a time.
+     *
+     * @param size  the chunk size (must be positive).
+     */
+    public void setChunkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Requires 'size' > 0.");
+        }
+        this.chunkSize = size;
+    }
+
+    /**
+     * Returns the executor used to apply the results of a background query.
+     *
+     * @return The executor (possibly <code>null</code>).
+     */
+    public Executor getNotifyExecutor() {
+        return getLoader().getNotifyExecutor();
+    }
+
+    /**
+     * Sets the executor used to apply the results of a background query to
+     * the dataset (normally one that runs tasks on the thread that draws the
+     * chart).
+     *
+     * @param executor  the executor (<code>null</code> permitted, in which
+     *                  case the results are applied on the loader thread).
+     */
+    public void setNotifyExecutor(Executor executor) {
+        getLoader().setNotifyExecutor(executor);
+    }
+
+    /**
+     * Returns <code>true</code> if a background query is queued or running.
+     *
+     * @return A boolean.
+     */
+    public boolean isLoading() {
+        return getLoader().isLoading();
+    }
+
+    /**
+     * Returns the error that ended the latest background query.
+     *
+     * @return The error (<code>null</code> if the query succeeded or has not
+     *         finished).
+     */
+    public SQLException getLoadError() {
+        return getLoader().getError();
+    }
+
+    /**
+     * Returns the loader for background queries, creating it if necessary.
+     *
+     * @return The loader.
+     */
+    private synchronized QueryLoader getLoader() {
+        if (this.loader == null) {
+            this.loader = new QueryLoader("AFreeChart JDBC loader");
+        }
+        return this.loader;
+    }
+
+    /**
+     * Runs a query and adds its results to the dataset, a chunk at a time.
+     *
+     * @param con  the connection the query is to be executed against.
+     * @param query  the query to be executed.
+     * @param generation  the load generation.
+     * @param background  a flag indicating that the chunks should be applied
+     *                    with the notify executor.
+     *
+     * @throws SQLException if there is a problem executing the query.
+     */
+    private void stream(Connection con, String query, int generation,
+            boolean background) throws SQLException {
 
         Statement statement = null;
         ResultSet resultSet = null;
 
         try {
             statement = con.createStatement();
+            if (background) {
+                getLoader().setStatement(statement);
+            }
+            try {
+                statement.setFetchSize(this.fetchSize);
+            }
+            catch (SQLException e) {
+                // the fetch size is only a hint, and some drivers reject it
+            }
             resultSet = statement.executeQuery(query);
             ResultSetMetaData metaData = resultSet.getMetaData();
 
@@ -207,7 +390,10 @@ public class JDBCPieDataset extends DefaultPieDataset {
                 columnType = Types.REAL;
             }
             
-            double value = Double.NaN;
+            int size = this.chunkSize;
+            Comparable[] keys = new Comparable[size];
+            double[] values = new double[size];
+            int count = 0;
             while (resultSet.next()) {
                 Comparable key = resultSet.getString(1);
                 switch (columnType) {
@@ -218,16 +404,16 @@ public class JDBCPieDataset extends DefaultPieDataset {
                     case Types.FLOAT:
                     case Types.DECIMAL:
                     case Types.BIGINT:
-                        value = resultSet.getDouble(2);
-                        setValue(key, value);
+                        keys[count] = key;
+                        values[count++] = resultSet.getDouble(2);
                         break;
 
                     case Types.DATE:
                     case Types.TIME:
                     case Types.TIMESTAMP:
                         Timestamp date = resultSet.getTimestamp(2);
-                        value = date.getTime();
-                        setValue(key, value);
+                        keys[count] = key;
+                        values[count++] = date.getTime();
                         break;
 
                     default:
@@ -236,12 +422,25 @@ public class JDBCPieDataset extends DefaultPieDataset {
                         );
                         break;
                 }
+                if (count == size) {
+                    if (!getLoader().isCurrent(generation)) {
+                        return;
+                    }
+                    apply(keys, values, count, generation, background);
+                    keys = new Comparable[size];
+                    values = new double[size];
+                    count = 0;
+                }
+            }
+            if (count > 0 || !background) {
+                apply(keys, values, count, generation, background);
             }
-
-            fireDatasetChanged();
 
         }
         finally {
+            if (background) {
+                getLoader().setStatement(null);
+            }
             if (resultSet != null) {
                 try {
                     resultSet.close();
@@ -261,11 +460,64 @@ public class JDBCPieDataset extends DefaultPieDataset {
         }
     }
 
+    /**
+     * Adds a chunk of query results to the dataset and sends a single
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param keys  the keys.
+     * @param values  the values.
+     * @param count  the number of results.
+     * @param generation  the load generation.
+     * @param background  a flag indicating that the chunk should be applied
+     *                    with the notify executor.
+     */
+    private void apply(final Comparable[] keys, final double[] values,
+            final int count, int generation, boolean background) {
+        Runnable task = new Runnable() {
+            public void run() {
+                beginUpdate();
+                try {
+                    for (int i = 0; i < count; i++) {
+                        setValue(keys[i], values[i]);
+                    }
+                    fireDatasetChanged();
+                }
+                finally {
+                    endUpdate();
+                }
+            }
+        };
+        if (background) {
+            getLoader().publish(generation, task);
+        }
+        else {
+            task.run();
+        }
+    }
+
+    /**
+     * Returns a clone of the dataset.  The clone shares the database
+     * connection and the notify executor, but has its own loader for
+     * background queries.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        JDBCPieDataset clone = (JDBCPieDataset) super.clone();
+        clone.loader = null;
+        if (this.loader != null) {
+            clone.setNotifyExecutor(this.loader.getNotifyExecutor());
+        }
+        return clone;
+    }
 
     /**
      * Close the database connection
      */
     public void close() {
+        getLoader().shutdown();
         try {
             this.connection.close();
         }
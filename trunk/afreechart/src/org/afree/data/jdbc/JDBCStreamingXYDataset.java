@@ -0,0 +1,1037 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ---------------------------
+ * JDBCStreamingXYDataset.java
+ * ---------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.jdbc;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.Executor;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.xy.AbstractXYDataset;
+import org.afree.data.xy.TableXYDataset;
+import org.afree.data.xy.XYDataset;
+
+import android.util.Log;
+
+/**
+ * An {@link XYDataset} over a JDBC result set that is read in a streaming
+ * fashion into primitive <code>double</code> columns, for queries that
+ * return too many rows to hold as <code>Number</code> objects (as
+ * {@link JDBCXYDataset} does).  As for {@link JDBCXYDataset}, the first
+ * column of the query is the x-value (a date or time column makes the dataset
+ * a time series, with the x-values in milliseconds) and each remaining
+ * numeric column is a series.  SQL <code>NULL</code> values are stored as
+ * <code>Double.NaN</code>.
+ * <P>
+ * Rows are fetched from the driver {@link #getFetchSize()} at a time, and
+ * every {@link #getChunkSize()} rows the rows read so far are published to
+ * the chart, so a long query can be shown while it is still loading.  A
+ * query can be run on the calling thread ({@link #executeQuery(String)}) or
+ * on a background thread ({@link #loadInBackground(String)}); in the
+ * latter case, supply a notify executor (see
+ * {@link #setNotifyExecutor(Executor)}) that runs on the thread that draws
+ * the chart.
+ * <P>
+ * With a window query (see {@link #setWindowQuery(String)}), the dataset
+ * loads only a window of the domain, and {@link #setDomainWindow(double,
+ * double)} re-queries the database when the visible domain moves outside the
+ * loaded window.  Call it from an axis change listener on the domain axis to
+ * push the visible range down to the database.
+ * <P>
+ * The database connection is read-only and no write back facility exists.
+ * Background loads use the connection on the loader thread, so the
+ * connection should not be used by other threads at the same time.
+ */
+public class JDBCStreamingXYDataset extends AbstractXYDataset
+        implements XYDataset, TableXYDataset, RangeInfo, DomainInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4409861637125337429L;
+
+    /** The default fetch size. */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /** The default chunk size. */
+    public static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    /** The database connection. */
+    private transient Connection connection;
+
+    /** The number of rows fetched from the driver at a time. */
+    private int fetchSize;
+
+    /** The number of rows read between each publication of the data. */
+    private int chunkSize;
+
+    /** The published data. */
+    private volatile Columns columns;
+
+    /**
+     * The query for a window of the domain, with parameters for the lower and
+     * upper bounds (<code>null</code> permitted).
+     */
+    private String windowQuery;
+
+    /**
+     * A flag indicating that the bounds for the window query are timestamps
+     * (<code>null</code> if the type is taken from the query's parameter
+     * meta data).
+     */
+    private Boolean windowTimeBounds;
+
+    /** The lower bound of the window that is loaded. */
+    private volatile double windowLower;
+
+    /** The upper bound of the window that is loaded. */
+    private volatile double windowUpper;
+
+    /** The lower bound of the window that is being loaded. */
+    private volatile double requestedLower;
+
+    /** The upper bound of the window that is being loaded. */
+    private volatile double requestedUpper;
+
+    /** The loader for background queries. */
+    private transient QueryLoader loader;
+
+    /**
+     * Creates a new dataset (initially empty) using the specified database
+     * connection.
+     *
+     * @param con  the database connection (<code>null</code> not
+     *             permitted).
+     */
+    public JDBCStreamingXYDataset(Connection con) {
+        if (con == null) {
+            throw new NullPointerException("A connection must be supplied.");
+        }
+        this.connection = con;
+        this.fetchSize = DEFAULT_FETCH_SIZE;
+        this.chunkSize = DEFAULT_CHUNK_SIZE;
+        this.columns = Columns.EMPTY;
+        this.windowLower = Double.NaN;
+        this.windowUpper = Double.NaN;
+        this.requestedLower = Double.NaN;
+        this.requestedUpper = Double.NaN;
+        this.loader = new QueryLoader("AFreeChart JDBC loader");
+    }
+
+    /**
+     * Returns the number of rows that are fetched from the driver at a time.
+     *
+     * @return The fetch size.
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the number of rows that are fetched from the driver at a time.
+     * This is a hint to the driver, and takes effect for the next query.
+     *
+     * @param size  the fetch size (zero leaves the choice to the driver).
+     */
+    public void setFetchSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative 'size' argument.");
+        }
+        this.fetchSize = size;
+    }
+
+    /**
+     * Returns the number of rows that are read between each publication of
+     * the data to the chart.
+     *
+     * @return The chunk size.
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Sets the number of rows that are read between each publication of the
+     * data to the chart.  This takes effect for the next query.
+     *
+     * @param size  the chunk size (must be positive).
+     */
+    public void setChunkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Requires 'size' > 0.");
+        }
+        this.chunkSize = size;
+    }
+
+    /**
+     * Returns the executor used to publish the data read by a query.
+     *
+     * @return The executor (possibly <code>null</code>).
+     */
+    public Executor getNotifyExecutor() {
+        return this.loader.getNotifyExecutor();
+    }
+
+    /**
+     * Sets the executor used to publish the data read by a query.  The
+     * dataset's contents change, and its listeners are notified, on the
+     * thread that runs the executor's tasks.
+     *
+     * @param executor  the executor (<code>null</code> permitted, in which
+     *                  case the data is published on the thread that runs
+     *                  the query).
+     */
+    public void setNotifyExecutor(Executor executor) {
+        this.loader.setNotifyExecutor(executor);
+    }
+
+    /**
+     * Returns <code>true</code> if the dataset represents time series data,
+     * and <code>false</code> otherwise.
+     *
+     * @return A boolean.
+     */
+    public boolean isTimeSeries() {
+        return this.columns.timeSeries;
+    }
+
+    /**
+     * Returns <code>true</code> if a background query is queued or running.
+     *
+     * @return A boolean.
+     */
+    public boolean isLoading() {
+        return this.loader.isLoading();
+    }
+
+    /**
+     * Returns the error that ended the latest background query.
+     *
+     * @return The error (<code>null</code> if the query succeeded or has not
+     *         finished).
+     */
+    public SQLException getLoadError() {
+        return this.loader.getError();
+    }
+
+    /**
+     * Runs a query on the calling thread and replaces the contents of the
+     * dataset with its results, which are published on the calling thread
+     * (not with the notify executor) before this method returns.  Any
+     * background query is abandoned, and its statement is cancelled before
+     * this query uses the connection.
+     *
+     * @param query  the query to be executed.
+     *
+     * @throws SQLException if there is a problem executing the query.
+     */
+    public void executeQuery(String query) throws SQLException {
+        int generation = this.loader.nextGeneration();
+        forgetWindow();
+        this.loader.cancelLoads();
+        Statement statement = this.connection.createStatement();
+        try {
+            setFetchSize(statement);
+            stream(statement.executeQuery(query), generation, false, null,
+                    Double.NaN, Double.NaN);
+        }
+        finally {
+            close(statement);
+        }
+    }
+
+    /**
+     * Runs a query on a background thread and replaces the contents of the
+     * dataset with its results, which are published in chunks as they are
+     * read.  Any earlier background query is abandoned.  If the query fails,
+     * the error is available from {@link #getLoadError()}.
+     *
+     * @param query  the query to be executed.
+     */
+    public void loadInBackground(final String query) {
+        final int generation = this.loader.nextGeneration();
+        forgetWindow();
+        this.loader.submit(new Runnable() {
+            public void run() {
+                if (!JDBCStreamingXYDataset.this.loader.isCurrent(
+                        generation)) {
+                    return;
+                }
+                Statement statement = null;
+                try {
+                    statement = JDBCStreamingXYDataset.this.connection
+                            .createStatement();
+                    JDBCStreamingXYDataset.this.loader.setStatement(statement);
+                    setFetchSize(statement);
+                    stream(statement.executeQuery(query), generation, true,
+                            null, Double.NaN, Double.NaN);
+                }
+                catch (SQLException e) {
+                    JDBCStreamingXYDataset.this.loader.setError(generation, e);
+                }
+                finally {
+                    JDBCStreamingXYDataset.this.loader.setStatement(null);
+                    close(statement);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the query used to load a window of the domain.
+     *
+     * @return The query (possibly <code>null</code>).
+     *
+     * @see #setWindowQuery(String)
+     */
+    public String getWindowQuery() {
+        return this.windowQuery;
+    }
+
+    /**
+     * Sets the query used to load a window of the domain.  The query must
+     * have two parameters, for the lower and upper bounds of the window (for
+     * example, <code>"SELECT t, v FROM history WHERE t &gt;= ? AND t &lt;= ?
+     * ORDER BY t"</code>).  The parameters are set as timestamps if the
+     * driver's parameter meta data reports a date or time type for them or,
+     * if the driver does not supply parameter meta data, if the data already
+     * loaded is a time series.  Use {@link #setWindowQuery(String, boolean)}
+     * to state the type explicitly.
+     *
+     * @param query  the query (<code>null</code> permitted, in which case
+     *               {@link #setDomainWindow(double, double)} does nothing).
+     */
+    public void setWindowQuery(String query) {
+        applyWindowQuery(query, null);
+    }
+
+    /**
+     * Sets the query used to load a window of the domain, with parameters
+     * for the lower and upper bounds of the window that are of the specified
+     * type.
+     *
+     * @param query  the query (<code>null</code> permitted, in which case
+     *               {@link #setDomainWindow(double, double)} does nothing).
+     * @param timeBounds  <code>true</code> if the parameters are set as
+     *                    timestamps, and <code>false</code> if they are set
+     *                    as <code>double</code> values.
+     *
+     * @see #setWindowQuery(String)
+     */
+    public void setWindowQuery(String query, boolean timeBounds) {
+        applyWindowQuery(query, Boolean.valueOf(timeBounds));
+    }
+
+    /**
+     * Sets the query used to load a window of the domain.
+     *
+     * @param query  the query (<code>null</code> permitted).
+     * @param timeBounds  the type of the parameters (<code>null</code> to
+     *                    take it from the parameter meta data).
+     */
+    private void applyWindowQuery(String query, Boolean timeBounds) {
+        this.windowQuery = query;
+        this.windowTimeBounds = timeBounds;
+        this.windowLower = Double.NaN;
+        this.windowUpper = Double.NaN;
+        this.requestedLower = Double.NaN;
+        this.requestedUpper = Double.NaN;
+    }
+
+    /**
+     * Makes sure that the dataset covers the specified domain window, using
+     * the window query.  If the window is not already loaded (or being
+     * loaded), a wider window (extended by half its length on each side, so
+     * that small moves of the axis do not need another query) is loaded in
+     * the background.  The window only counts as loaded once all of its rows
+     * have been published, so a window whose query fails or is abandoned is
+     * requested again by the next call.
+     *
+     * @param lower  the lower bound of the visible domain.
+     * @param upper  the upper bound of the visible domain.
+     */
+    public void setDomainWindow(double lower, double upper) {
+        if (this.windowQuery == null || !(lower <= upper)) {
+            return;
+        }
+        if (lower >= this.windowLower && upper <= this.windowUpper) {
+            return;
+        }
+        if (lower >= this.requestedLower && upper <= this.requestedUpper) {
+            return;
+        }
+        double margin = (upper - lower) / 2.0;
+        final double from = lower - margin;
+        final double to = upper + margin;
+        final String query = this.windowQuery;
+        final Boolean timeBounds = this.windowTimeBounds;
+        final boolean timeSeries = this.columns.timeSeries;
+        this.requestedLower = from;
+        this.requestedUpper = to;
+        final int generation = this.loader.nextGeneration();
+        this.loader.submit(new Runnable() {
+            public void run() {
+                if (!JDBCStreamingXYDataset.this.loader.isCurrent(
+                        generation)) {
+                    return;
+                }
+                PreparedStatement statement = null;
+                try {
+                    statement = JDBCStreamingXYDataset.this.connection
+                            .prepareStatement(query);
+                    JDBCStreamingXYDataset.this.loader.setStatement(statement);
+                    setFetchSize(statement);
+                    boolean temporal = (timeBounds != null
+                            ? timeBounds.booleanValue()
+                            : isTemporalParameter(statement, timeSeries));
+                    if (temporal) {
+                        statement.setTimestamp(1, new Timestamp((long) from));
+                        statement.setTimestamp(2, new Timestamp((long) to));
+                    }
+                    else {
+                        statement.setDouble(1, from);
+                        statement.setDouble(2, to);
+                    }
+                    stream(statement.executeQuery(), generation, true, query,
+                            from, to);
+                }
+                catch (SQLException e) {
+                    JDBCStreamingXYDataset.this.loader.setError(generation, e);
+                    if (JDBCStreamingXYDataset.this.loader.isCurrent(
+                            generation)) {
+                        forgetWindow();
+                    }
+                }
+                finally {
+                    JDBCStreamingXYDataset.this.loader.setStatement(null);
+                    close(statement);
+                }
+            }
+        });
+    }
+
+    /**
+     * Forgets the window that is loaded and the window that is being loaded,
+     * so that the next call to {@link #setDomainWindow(double, double)}
+     * queries the database.
+     */
+    private void forgetWindow() {
+        this.requestedLower = Double.NaN;
+        this.requestedUpper = Double.NaN;
+        this.windowLower = Double.NaN;
+        this.windowUpper = Double.NaN;
+    }
+
+    /**
+     * Reads a result set into new columns, publishing them every
+     * {@link #getChunkSize()} rows and at the end.  The result set is closed
+     * when this method returns.
+     *
+     * @param resultSet  the result set.
+     * @param generation  the load generation.
+     * @param background  a flag indicating that the columns should be
+     *                    published with the notify executor.
+     * @param windowQuery  the window query that produced the result set
+     *                     (<code>null</code> for other queries).
+     * @param lower  the lower bound of the window.
+     * @param upper  the upper bound of the window.
+     *
+     * @throws SQLException if there is a problem reading the results.
+     */
+    private void stream(ResultSet resultSet, int generation,
+            boolean background, String windowQuery, double lower,
+            double upper)
+            throws SQLException {
+        try {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int numberOfColumns;
+            if (metaData != null) {
+                numberOfColumns = metaData.getColumnCount();
+            }
+            else {
+                numberOfColumns = 2;
+            }
+            int[] columnTypes = new int[numberOfColumns];
+            int numberOfValidColumns = 0;
+            for (int column = 0; column < numberOfColumns; column++) {
+                int type = (metaData != null
+                        ? metaData.getColumnType(column + 1) : Types.REAL);
+                if (isValidType(type)) {
+                    ++numberOfValidColumns;
+                    columnTypes[column] = type;
+                }
+                else {
+                    Log.i("warn", "Unable to load column " + column + " ("
+                            + type + ","
+                            + metaData.getColumnClassName(column + 1) + ")");
+                    columnTypes[column] = Types.NULL;
+                }
+            }
+            if (numberOfValidColumns <= 1 || columnTypes[0] == Types.NULL) {
+                throw new SQLException(
+                        "Not enough valid columns where generated by query.");
+            }
+
+            // the series names and the source column for each series...
+            int seriesCount = numberOfValidColumns - 1;
+            String[] names = new String[seriesCount];
+            int[] sources = new int[seriesCount];
+            int s = 0;
+            for (int column = 1; column < numberOfColumns; column++) {
+                if (columnTypes[column] != Types.NULL) {
+                    names[s] = (metaData != null
+                            ? metaData.getColumnLabel(column + 1) : "Y");
+                    sources[s] = column;
+                    s++;
+                }
+            }
+            boolean timeSeries = isTemporal(columnTypes[0]);
+
+            double[] x = new double[Math.min(this.chunkSize, 1024)];
+            double[][] y = new double[seriesCount][x.length];
+            double[] bounds = new double[] {Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY};
+            int count = 0;
+            while (resultSet.next()) {
+                if (count == x.length) {
+                    int capacity = x.length * 2;
+                    double[] newX = new double[capacity];
+                    System.arraycopy(x, 0, newX, 0, count);
+                    x = newX;
+                    double[][] newY = new double[seriesCount][];
+                    for (int i = 0; i < seriesCount; i++) {
+                        newY[i] = new double[capacity];
+                        System.arraycopy(y[i], 0, newY[i], 0, count);
+                    }
+                    y = newY;
+                }
+                double xx = read(resultSet, 1, columnTypes[0], metaData);
+                x[count] = xx;
+                if (!Double.isNaN(xx)) {
+                    bounds[0] = Math.min(bounds[0], xx);
+                    bounds[1] = Math.max(bounds[1], xx);
+                }
+                for (int i = 0; i < seriesCount; i++) {
+                    int column = sources[i];
+                    double yy = read(resultSet, column + 1,
+                            columnTypes[column], metaData);
+                    y[i][count] = yy;
+                    if (!Double.isNaN(yy)) {
+                        bounds[2] = Math.min(bounds[2], yy);
+                        bounds[3] = Math.max(bounds[3], yy);
+                    }
+                }
+                count++;
+                if (count % this.chunkSize == 0) {
+                    if (!this.loader.isCurrent(generation)) {
+                        return;
+                    }
+                    publish(new Columns(names, timeSeries, x, y, count,
+                            bounds), generation, background, null,
+                            Double.NaN, Double.NaN);
+                }
+            }
+            // the last publication is made even if it repeats the previous
+            // one, since it marks the window as loaded...
+            publish(new Columns(names, timeSeries, x, y, count, bounds),
+                    generation, background, windowQuery, lower, upper);
+        }
+        finally {
+            try {
+                resultSet.close();
+            }
+            catch (Exception e) {
+                // ignore, as for JDBCXYDataset
+            }
+        }
+    }
+
+    /**
+     * Publishes new columns and notifies the listeners.
+     *
+     * @param c  the columns.
+     * @param generation  the load generation.
+     * @param background  a flag indicating that the columns should be
+     *                    published with the notify executor.
+     * @param windowQuery  the window query, if the columns hold all the rows
+     *                     for a window (<code>null</code> otherwise).
+     * @param lower  the lower bound of the window.
+     * @param upper  the upper bound of the window.
+     */
+    private void publish(final Columns c, int generation,
+            boolean background, final String windowQuery, final double lower,
+            final double upper) {
+        Runnable task = new Runnable() {
+            public void run() {
+                JDBCStreamingXYDataset d = JDBCStreamingXYDataset.this;
+                d.columns = c;
+                if (windowQuery != null && windowQuery == d.windowQuery) {
+                    d.windowLower = lower;
+                    d.windowUpper = upper;
+                }
+                else {
+                    d.windowLower = Double.NaN;
+                    d.windowUpper = Double.NaN;
+                }
+                fireDatasetChanged();
+            }
+        };
+        if (background) {
+            this.loader.publish(generation, task);
+        }
+        else {
+            task.run();
+        }
+    }
+
+    /**
+     * Reads a value from the current row of a result set.
+     *
+     * @param resultSet  the result set.
+     * @param column  the column (one-based).
+     * @param type  the column type.
+     * @param metaData  the result set meta data (possibly <code>null</code>).
+     *
+     * @return The value (Double.NaN for SQL <code>NULL</code>).
+     *
+     * @throws SQLException if there is a problem reading the value.
+     */
+    private static double read(ResultSet resultSet, int column, int type,
+            ResultSetMetaData metaData) throws SQLException {
+        if (metaData == null) {
+            float f = resultSet.getFloat(column);
+            return resultSet.wasNull() ? Double.NaN : f;
+        }
+        if (isTemporal(type)) {
+            Timestamp t = resultSet.getTimestamp(column);
+            return t == null ? Double.NaN : t.getTime();
+        }
+        double d = resultSet.getDouble(column);
+        return resultSet.wasNull() ? Double.NaN : d;
+    }
+
+    /**
+     * Returns <code>true</code> if a column type can be loaded.
+     *
+     * @param type  the type (see {@link Types}).
+     *
+     * @return A boolean.
+     */
+    private static boolean isValidType(int type) {
+        switch (type) {
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.INTEGER:
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.DECIMAL:
+            case Types.BIT:
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.BIGINT:
+            case Types.SMALLINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if a column type is a date or time.
+     *
+     * @param type  the type (see {@link Types}).
+     *
+     * @return A boolean.
+     */
+    private static boolean isTemporal(int type) {
+        return type == Types.DATE || type == Types.TIME
+                || type == Types.TIMESTAMP;
+    }
+
+    /**
+     * Returns <code>true</code> if the first parameter of a statement is a
+     * date or time, according to the parameter meta data.
+     *
+     * @param statement  the statement.
+     * @param defaultValue  the result if the driver does not supply
+     *                      parameter meta data.
+     *
+     * @return A boolean.
+     */
+    private static boolean isTemporalParameter(PreparedStatement statement,
+            boolean defaultValue) {
+        try {
+            ParameterMetaData metaData = statement.getParameterMetaData();
+            if (metaData != null && metaData.getParameterCount() > 0) {
+                return isTemporal(metaData.getParameterType(1));
+            }
+        }
+        catch (SQLException e) {
+            // many drivers don't describe parameters
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Sets the fetch size for a statement.
+     *
+     * @param statement  the statement.
+     */
+    private void setFetchSize(Statement statement) {
+        try {
+            statement.setFetchSize(this.fetchSize);
+        }
+        catch (SQLException e) {
+            // the fetch size is only a hint, and some drivers reject it
+        }
+    }
+
+    /**
+     * Closes a statement, ignoring any error.
+     *
+     * @param statement  the statement (<code>null</code> permitted).
+     */
+    private static void close(Statement statement) {
+        if (statement != null) {
+            try {
+                statement.close();
+            }
+            catch (Exception e) {
+                // ignore, as for JDBCXYDataset
+            }
+        }
+    }
+
+    /**
+     * Returns the x-value for the specified series and item.
+     *
+     * @param seriesIndex  the series (zero-based index).
+     * @param itemIndex  the item (zero-based index).
+     *
+     * @return The x-value (<code>null</code> for a missing value).
+     */
+    public Number getX(int seriesIndex, int itemIndex) {
+        double x = getXValue(seriesIndex, itemIndex);
+        return Double.isNaN(x) ? null : new Double(x);
+    }
+
+    /**
+     * Returns the x-value for the specified series and item.
+     *
+     * @param seriesIndex  the series (zero-based index).
+     * @param itemIndex  the item (zero-based index).
+     *
+     * @return The x-value (Double.NaN for a missing value).
+     */
+    public double getXValue(int seriesIndex, int itemIndex) {
+        Columns c = this.columns;
+        c.check(itemIndex);
+        return c.x[itemIndex];
+    }
+
+    /**
+     * Returns the y-value for the specified series and item.
+     *
+     * @param seriesIndex  the series (zero-based index).
+     * @param itemIndex  the item (zero-based index).
+     *
+     * @return The y-value (<code>null</code> for a missing value).
+     */
+    public Number getY(int seriesIndex, int itemIndex) {
+        double y = getYValue(seriesIndex, itemIndex);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns the y-value for the specified series and item.
+     *
+     * @param seriesIndex  the series (zero-based index).
+     * @param itemIndex  the item (zero-based index).
+     *
+     * @return The y-value (Double.NaN for a missing value).
+     */
+    public double getYValue(int seriesIndex, int itemIndex) {
+        Columns c = this.columns;
+        c.check(itemIndex);
+        return c.y[seriesIndex][itemIndex];
+    }
+
+    /**
+     * Returns the number of items in the specified series.
+     *
+     * @param seriesIndex  the series (zero-based index).
+     *
+     * @return The itemCount value
+     */
+    public int getItemCount(int seriesIndex) {
+        return this.columns.count;
+    }
+
+    /**
+     * Returns the number of items in all series.  This method is defined by
+     * the {@link TableXYDataset} interface.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.columns.count;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The seriesCount value
+     */
+    public int getSeriesCount() {
+        return this.columns.names.length;
+    }
+
+    /**
+     * Returns the key for the specified series.
+     *
+     * @param seriesIndex  the series (zero-based index).
+     *
+     * @return The seriesName value
+     */
+    public Comparable getSeriesKey(int seriesIndex) {
+        String[] names = this.columns.names;
+        if (seriesIndex < names.length && names[seriesIndex] != null) {
+            return names[seriesIndex];
+        }
+        else {
+            return "";
+        }
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account (ignored).
+     *
+     * @return The minimum value (Double.NaN if the dataset is empty).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        return this.columns.minX;
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account (ignored).
+     *
+     * @return The maximum value (Double.NaN if the dataset is empty).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        return this.columns.maxX;
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account (ignored).
+     *
+     * @return The range (<code>null</code> if the dataset is empty).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        Columns c = this.columns;
+        if (Double.isNaN(c.minX)) {
+            return null;
+        }
+        return new Range(c.minX, c.maxX);
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         y-interval is taken into account (ignored).
+     *
+     * @return The minimum value (Double.NaN if the dataset is empty).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        return this.columns.minY;
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         y-interval is taken into account (ignored).
+     *
+     * @return The maximum value (Double.NaN if the dataset is empty).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        return this.columns.maxY;
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         y-interval is taken into account (ignored).
+     *
+     * @return The range (<code>null</code> if the dataset is empty).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        Columns c = this.columns;
+        if (Double.isNaN(c.minY)) {
+            return null;
+        }
+        return new Range(c.minY, c.maxY);
+    }
+
+    /**
+     * Abandons any background query, stops the loader thread and closes the
+     * database connection.
+     */
+    public void close() {
+        this.loader.shutdown();
+        try {
+            this.connection.close();
+        }
+        catch (Exception e) {
+            System.err.println("JDBCStreamingXYDataset: swallowing exception.");
+        }
+    }
+
+    /**
+     * Prevents serialization, since the dataset reads its values through a
+     * database connection (and a loader thread) that cannot be written with
+     * it.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  always (a {@link NotSerializableException}).
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    /**
+     * The published data: the columns and the number of rows in them that
+     * are in use.  The arrays can be shared with later instances, which only
+     * write beyond this instance's row count, so an instance never changes
+     * once published.
+     */
+    private static final class Columns {
+
+        /** An empty instance. */
+        static final Columns EMPTY = new Columns(new String[0], false,
+                new double[0], new double[0][], 0, new double[] {
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY});
+
+        /** The series names. */
+        final String[] names;
+
+        /** A flag indicating that the x-values are times. */
+        final boolean timeSeries;
+
+        /** The x-values. */
+        final double[] x;
+
+        /** The y-values, by series. */
+        final double[][] y;
+
+        /** The number of rows. */
+        final int count;
+
+        /** The bounds. */
+        final double minX, maxX, minY, maxY;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param names  the series names.
+         * @param timeSeries  the time series flag.
+         * @param x  the x-values.
+         * @param y  the y-values.
+         * @param count  the number of rows.
+         * @param bounds  the bounds so far {minX, maxX, minY, maxY} (copied,
+         *                with infinite bounds converted to Double.NaN).
+         */
+        Columns(String[] names, boolean timeSeries, double[] x, double[][] y,
+                int count, double[] bounds) {
+            this.names = names;
+            this.timeSeries = timeSeries;
+            this.x = x;
+            this.y = y;
+            this.count = count;
+            boolean noX = bounds[0] > bounds[1];
+            boolean noY = bounds[2] > bounds[3];
+            this.minX = noX ? Double.NaN : bounds[0];
+            this.maxX = noX ? Double.NaN : bounds[1];
+            this.minY = noY ? Double.NaN : bounds[2];
+            this.maxY = noY ? Double.NaN : bounds[3];
+        }
+
+        /**
+         * Checks an item index.
+         *
+         * @param item  the item index.
+         */
+        void check(int item) {
+            if (item < 0 || item >= this.count) {
+                throw new IndexOutOfBoundsException("Index: " + item
+                        + ", Size: " + this.count);
+            }
+        }
+
+    }
+
+}
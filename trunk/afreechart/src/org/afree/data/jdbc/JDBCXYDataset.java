@@ -111,6 +111,8 @@ import android.util.Log;
  * executeQuery can be called a number of times.
  *
  * The database connection is read-only and no write back facility exists.
+ * For queries that return a large number of rows, see
+ * {@link JDBCStreamingXYDataset}.
  */
 public class JDBCXYDataset extends AbstractXYDataset
     implements XYDataset, TableXYDataset, RangeInfo {
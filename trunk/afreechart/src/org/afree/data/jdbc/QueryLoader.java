@@ -0,0 +1,329 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------
+ * QueryLoader.java
+ * ----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs the queries of a JDBC dataset on a background thread and passes the
+ * results back to the dataset, used by {@link JDBCStreamingXYDataset} and
+ * {@link JDBCPieDataset}.
+ * <P>
+ * Each load is given a generation number, and starting a new load makes any
+ * earlier load stale: a stale load stops at its next chunk and its results
+ * are not published.  Results are published with the notify executor, if
+ * there is one, so that a dataset can be updated on the thread that draws the
+ * chart (for instance, with an executor that posts to the UI thread's
+ * handler, or with <code>ChartRenderService.invokeUpdate()</code>).
+ */
+class QueryLoader {
+
+    /** The name for the loader thread. */
+    private String name;
+
+    /** The executor for the loads (created when first needed). */
+    private ExecutorService executor;
+
+    /** The executor used to publish results (<code>null</code> permitted). */
+    private Executor notifyExecutor;
+
+    /** The generation of the latest load. */
+    private int generation;
+
+    /**
+     * The number of loads that have been submitted but have not finished on
+     * the loader thread.
+     */
+    private int pending;
+
+    /**
+     * The number of loads that have been submitted but whose results have
+     * not all been published.
+     */
+    private int unpublished;
+
+    /** The error that ended the latest load, or <code>null</code>. */
+    private SQLException error;
+
+    /** The loader thread (<code>null</code> until it is started). */
+    private Thread thread;
+
+    /** The statement of the load that is running, or <code>null</code>. */
+    private Statement statement;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param name  the name for the loader thread.
+     */
+    QueryLoader(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the executor used to publish results.
+     *
+     * @return The executor (possibly <code>null</code>).
+     */
+    synchronized Executor getNotifyExecutor() {
+        return this.notifyExecutor;
+    }
+
+    /**
+     * Sets the executor used to publish results.
+     *
+     * @param executor  the executor (<code>null</code> permitted, in which
+     *                  case results are published on the thread that loads
+     *                  them).
+     */
+    synchronized void setNotifyExecutor(Executor executor) {
+        this.notifyExecutor = executor;
+    }
+
+    /**
+     * Starts a new generation, making any earlier load stale.
+     *
+     * @return The new generation number.
+     */
+    synchronized int nextGeneration() {
+        this.error = null;
+        return ++this.generation;
+    }
+
+    /**
+     * Returns <code>true</code> if the specified generation is the latest.
+     *
+     * @param generation  the generation number.
+     *
+     * @return A boolean.
+     */
+    synchronized boolean isCurrent(int generation) {
+        return generation == this.generation;
+    }
+
+    /**
+     * Returns <code>true</code> if a background load is queued or running,
+     * or if its results are still waiting to be published with the notify
+     * executor.
+     *
+     * @return A boolean.
+     */
+    synchronized boolean isLoading() {
+        return this.unpublished > 0;
+    }
+
+    /**
+     * Returns the error that ended the latest load.
+     *
+     * @return The error (<code>null</code> if the latest load succeeded or
+     *         has not finished).
+     */
+    synchronized SQLException getError() {
+        return this.error;
+    }
+
+    /**
+     * Records the error that ended a load, if the load is still current.
+     *
+     * @param generation  the generation of the load.
+     * @param e  the error.
+     */
+    synchronized void setError(int generation, SQLException e) {
+        if (generation == this.generation) {
+            this.error = e;
+        }
+    }
+
+    /**
+     * Runs a load on the background thread.
+     *
+     * @param task  the load.
+     */
+    void submit(final Runnable task) {
+        ExecutorService service;
+        synchronized (this) {
+            if (this.executor == null) {
+                this.executor = Executors.newSingleThreadExecutor(
+                        new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, QueryLoader.this.name);
+                        thread.setDaemon(true);
+                        synchronized (QueryLoader.this) {
+                            QueryLoader.this.thread = thread;
+                        }
+                        return thread;
+                    }
+                });
+            }
+            service = this.executor;
+            this.pending++;
+            this.unpublished++;
+        }
+        service.execute(new Runnable() {
+            public void run() {
+                try {
+                    task.run();
+                }
+                finally {
+                    synchronized (QueryLoader.this) {
+                        QueryLoader.this.pending--;
+                        QueryLoader.this.notifyAll();
+                    }
+                    finished();
+                }
+            }
+        });
+    }
+
+    /**
+     * Marks a load as finished once the results that it has published have
+     * been applied, by running a task with the notify executor after them
+     * (this relies on the executor running tasks in the order they are
+     * submitted, as a handler or <code>ChartRenderService</code> does).
+     */
+    private void finished() {
+        Runnable task = new Runnable() {
+            public void run() {
+                synchronized (QueryLoader.this) {
+                    QueryLoader.this.unpublished--;
+                }
+            }
+        };
+        Executor executor = getNotifyExecutor();
+        if (executor != null) {
+            executor.execute(task);
+        }
+        else {
+            task.run();
+        }
+    }
+
+    /**
+     * Records the statement of the load that is running on the loader
+     * thread, so that it can be cancelled by {@link #cancelLoads()}.
+     *
+     * @param statement  the statement (<code>null</code> when the load has
+     *                   finished with it).
+     */
+    synchronized void setStatement(Statement statement) {
+        this.statement = statement;
+    }
+
+    /**
+     * Cancels the statement of the load that is running (if any) and waits
+     * until the loader thread has finished with the connection, so that the
+     * connection can be used on the calling thread.  Call
+     * {@link #nextGeneration()} first, so that no stale load starts another
+     * statement.
+     */
+    void cancelLoads() {
+        Statement running;
+        synchronized (this) {
+            if (Thread.currentThread() == this.thread) {
+                return;
+            }
+            running = this.statement;
+        }
+        if (running != null) {
+            try {
+                running.cancel();
+            }
+            catch (SQLException e) {
+                // the load stops at its next chunk anyway
+            }
+        }
+        synchronized (this) {
+            while (this.pending > 0) {
+                try {
+                    wait();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes a result with the notify executor (or immediately, if there
+     * is no notify executor).  The result is dropped if its load has become
+     * stale by the time it runs.
+     *
+     * @param generation  the generation of the load.
+     * @param result  the task that publishes the result.
+     */
+    void publish(final int generation, final Runnable result) {
+        Runnable task = new Runnable() {
+            public void run() {
+                if (isCurrent(generation)) {
+                    result.run();
+                }
+            }
+        };
+        Executor executor = getNotifyExecutor();
+        if (executor != null) {
+            executor.execute(task);
+        }
+        else {
+            task.run();
+        }
+    }
+
+    /**
+     * Makes any current load stale and stops the background thread.
+     */
+    synchronized void shutdown() {
+        this.generation++;
+        if (this.executor != null) {
+            this.executor.shutdown();
+            this.executor = null;
+        }
+    }
+
+}
@@ -67,7 +67,11 @@ import org.afree.data.xy.XYSeries;
 import org.afree.data.xy.XYSeriesCollection;
 
 /**
- * A utility class for calculating moving averages of time series data.
+ * A utility class for calculating moving averages of time series data.  The
+ * methods in this class calculate the whole average each time they are
+ * called; to keep an average up to date as items are added to a series, use
+ * the indicators in the <code>org.afree.data.indicator</code> package
+ * instead.
  */
 public class MovingAverage {
 
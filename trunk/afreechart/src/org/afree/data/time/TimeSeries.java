@@ -104,9 +104,13 @@ import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
 
+import org.afree.data.Range;
+import org.afree.data.ValuePyramid;
+import org.afree.data.general.DatasetChangeType;
 import org.afree.data.general.Series;
 import org.afree.data.general.SeriesChangeEvent;
 import org.afree.data.general.SeriesException;
+import org.afree.util.CircularList;
 
 /**
  * Represents a sequence of zero or more data items in the form (period, value)
@@ -147,6 +151,18 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      */
     private long maximumItemAge;
 
+    /**
+     * The level-of-detail index for the values in the series (created on
+     * demand, not serialized).
+     */
+    protected transient ValuePyramid pyramid;
+
+    /** The minimum y-value in the series (Double.NaN if there is none). */
+    private double minY;
+
+    /** The maximum y-value in the series (Double.NaN if there is none). */
+    private double maxY;
+
     /**
      * Creates a new (empty) time series.  By default, a daily time series is
      * created.  Use one of the other constructors if you require a different
@@ -176,9 +192,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         this.domain = domain;
         this.range = range;
         this.timePeriodClass = null;
-        this.data = new java.util.ArrayList();
+        this.data = new CircularList();
         this.maximumItemCount = Integer.MAX_VALUE;
         this.maximumItemAge = Long.MAX_VALUE;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
     }
 
     /**
@@ -251,6 +269,167 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         return Collections.unmodifiableList(this.data);
     }
 
+    /**
+     * Returns the level-of-detail index for the values in the series,
+     * creating it if necessary.  Items with a <code>null</code> value are
+     * indexed as <code>Double.NaN</code> and are ignored in the bounds.  Once
+     * created, the index is maintained incrementally as items are appended
+     * to the series, aged out of the start of the series or updated.
+     *
+     * @return The index (never <code>null</code>).
+     */
+    public ValuePyramid getValuePyramid() {
+        if (this.pyramid == null) {
+            this.pyramid = new ValuePyramid(new ValuePyramid.Source() {
+                public int getItemCount() {
+                    return TimeSeries.this.getItemCount();
+                }
+                public double getValue(int index) {
+                    Number n = TimeSeries.this.getValue(index);
+                    return n != null ? n.doubleValue() : Double.NaN;
+                }
+            });
+        }
+        return this.pyramid;
+    }
+
+    /**
+     * Returns the smallest y-value in the series, ignoring any
+     * <code>null</code> and Double.NaN values.  This method returns
+     * Double.NaN if there is no smallest y-value (for example, when the
+     * series is empty).  The value is maintained as items are added, updated
+     * and removed, so this method does not iterate over the data items.
+     *
+     * @return The smallest y-value.
+     *
+     * @see #getMaxY()
+     */
+    public double getMinY() {
+        return this.minY;
+    }
+
+    /**
+     * Returns the largest y-value in the series, ignoring any
+     * <code>null</code> and Double.NaN values.  This method returns
+     * Double.NaN if there is no largest y-value (for example, when the series
+     * is empty).
+     *
+     * @return The largest y-value.
+     *
+     * @see #getMinY()
+     */
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Updates the cached y-bounds for an item that has just been added to the
+     * series.
+     *
+     * @param value  the value of the item (<code>null</code> permitted).
+     */
+    private void updateBoundsForAddedItem(Number value) {
+        if (value != null) {
+            double y = value.doubleValue();
+            this.minY = minIgnoreNaN(this.minY, y);
+            this.maxY = maxIgnoreNaN(this.maxY, y);
+        }
+    }
+
+    /**
+     * Updates the cached y-bounds for an item that has just been removed from
+     * the series.  The level-of-detail index (if any) must already reflect
+     * the removal.
+     *
+     * @param value  the value of the item (<code>null</code> permitted).
+     */
+    private void updateBoundsForRemovedItem(Number value) {
+        if (value != null) {
+            double y = value.doubleValue();
+            if (y <= this.minY || y >= this.maxY) {
+                findBounds();
+            }
+        }
+    }
+
+    /**
+     * Updates the cached y-bounds for an item whose value has just been
+     * changed.
+     *
+     * @param oldValue  the old value (<code>null</code> permitted).
+     * @param newValue  the new value (<code>null</code> permitted).
+     */
+    private void updateBoundsForChangedItem(Number oldValue,
+            Number newValue) {
+        if (oldValue != null && (oldValue.doubleValue() <= this.minY
+                || oldValue.doubleValue() >= this.maxY)) {
+            findBounds();
+        }
+        else {
+            updateBoundsForAddedItem(newValue);
+        }
+    }
+
+    /**
+     * Finds the y-bounds for the series, using the level-of-detail index if
+     * the series has one (it is maintained incrementally once created) and
+     * examining the data items otherwise.
+     */
+    private void findBounds() {
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+        int count = this.data.size();
+        if (count == 0) {
+            return;
+        }
+        if (this.pyramid != null) {
+            Range r = this.pyramid.getRange(0, count - 1);
+            if (r != null) {
+                this.minY = r.getLowerBound();
+                this.maxY = r.getUpperBound();
+            }
+        }
+        else {
+            for (int i = 0; i < count; i++) {
+                Number n = getValue(i);
+                if (n != null) {
+                    this.minY = minIgnoreNaN(this.minY, n.doubleValue());
+                    this.maxY = maxIgnoreNaN(this.maxY, n.doubleValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the minimum of two values, ignoring any Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The minimum value.
+     */
+    private static double minIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        return Double.isNaN(b) ? a : Math.min(a, b);
+    }
+
+    /**
+     * Returns the maximum of two values, ignoring any Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The maximum value.
+     */
+    private static double maxIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        return Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
     /**
      * Returns the maximum number of items that will be retained in the series.
      * The default value is <code>Integer.MAX_VALUE</code>.
@@ -268,7 +447,9 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * If you add a new item to the series such that the number of items will
      * exceed the maximum item count, then the FIRST element in the series is
      * automatically removed, ensuring that the maximum item count is not
-     * exceeded.
+     * exceeded.  The items are held in a {@link CircularList}, so removing
+     * the first item (here or in {@link #removeAgedItems(boolean)}) takes
+     * constant time.
      *
      * @param maximum  the maximum (requires >= 0).
      *
@@ -505,21 +686,32 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // make the change (if it's not a duplicate time period)...
         boolean added = false;
         int count = getItemCount();
+        int addedIndex = count;
         if (count == 0) {
             this.data.add(item);
             added = true;
+            if (this.pyramid != null) {
+                this.pyramid.itemAppended();
+            }
         }
         else {
             RegularTimePeriod last = getTimePeriod(getItemCount() - 1);
             if (item.getPeriod().compareTo(last) > 0) {
                 this.data.add(item);
                 added = true;
+                if (this.pyramid != null) {
+                    this.pyramid.itemAppended();
+                }
             }
             else {
                 int index = Collections.binarySearch(this.data, item);
                 if (index < 0) {
-                    this.data.add(-index - 1, item);
+                    addedIndex = -index - 1;
+                    this.data.add(addedIndex, item);
                     added = true;
+                    if (this.pyramid != null) {
+                        this.pyramid.invalidate();
+                    }
                 }
                 else {
                     StringBuffer b = new StringBuffer();
@@ -534,21 +726,42 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             }
         }
         if (added) {
+            updateBoundsForAddedItem(item.getValue());
             // check if this addition will exceed the maximum item count...
             if (getItemCount() > this.maximumItemCount) {
-                this.data.remove(0);
+                removeFirstItem();
             }
 
             removeAgedItems(false);  // remove old items if necessary, but
                                      // don't notify anyone, because that
                                      // happens next anyway...
             if (notify) {
-                fireSeriesChanged();
+                int removed = count + 1 - getItemCount();
+                fireItemAdded(addedIndex - removed, removed);
             }
         }
 
     }
 
+    /**
+     * Sends a {@link SeriesChangeEvent} for an item added to the series.
+     *
+     * @param index  the index of the new item (negative if the new item was
+     *               itself removed to keep within the maximum item count or
+     *               age).
+     * @param removedFromHead  the number of items removed from the start of
+     *                         the series.
+     */
+    private void fireItemAdded(int index, int removedFromHead) {
+        if (index >= 0) {
+            fireSeriesChanged(DatasetChangeType.ITEMS_ADDED, index, index,
+                    removedFromHead);
+        }
+        else {
+            fireSeriesChanged();
+        }
+    }
+
     /**
      * Adds a new data item to the series and sends a {@link SeriesChangeEvent}
      * to all registered listeners.
@@ -614,8 +827,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         int index = Collections.binarySearch(this.data, temp);
         if (index >= 0) {
             TimeSeriesDataItem pair = (TimeSeriesDataItem) this.data.get(index);
+            Number oldValue = pair.getValue();
             pair.setValue(value);
-            fireSeriesChanged();
+            if (this.pyramid != null) {
+                this.pyramid.itemChanged(index);
+            }
+            updateBoundsForChangedItem(oldValue, value);
+            fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
         }
         else {
             throw new SeriesException("There is no existing value for the "
@@ -632,8 +850,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      */
     public void update(int index, Number value) {
         TimeSeriesDataItem item = getDataItem(index);
+        Number oldValue = item.getValue();
         item.setValue(value);
-        fireSeriesChanged();
+        if (this.pyramid != null) {
+            this.pyramid.itemChanged(index);
+        }
+        updateBoundsForChangedItem(oldValue, value);
+        fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
     }
 
     /**
@@ -702,18 +925,39 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
                     = (TimeSeriesDataItem) this.data.get(index);
             overwritten = (TimeSeriesDataItem) existing.clone();
             existing.setValue(value);
+            if (this.pyramid != null) {
+                this.pyramid.itemChanged(index);
+            }
+            updateBoundsForChangedItem(overwritten.getValue(), value);
+            int count = getItemCount();
             removeAgedItems(false);  // remove old items if necessary, but
                                      // don't notify anyone, because that
                                      // happens next anyway...
-            fireSeriesChanged();
+            if (getItemCount() == count) {
+                fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index,
+                        index);
+            }
+            else {
+                fireSeriesChanged();
+            }
         }
         else {
+            int count = getItemCount();
             this.data.add(-index - 1, new TimeSeriesDataItem(period, value));
             this.timePeriodClass = period.getClass();
+            if (this.pyramid != null) {
+                if (-index - 1 == this.data.size() - 1) {
+                    this.pyramid.itemAppended();
+                }
+                else {
+                    this.pyramid.invalidate();
+                }
+            }
+            updateBoundsForAddedItem(value);
 
             // check if this addition will exceed the maximum item count...
             if (getItemCount() > this.maximumItemCount) {
-                this.data.remove(0);
+                removeFirstItem();
                 if (this.data.isEmpty()) {
                     this.timePeriodClass = null;
                 }
@@ -722,7 +966,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             removeAgedItems(false);  // remove old items if necessary, but
                                      // don't notify anyone, because that
                                      // happens next anyway...
-            fireSeriesChanged();
+            int removed = count + 1 - getItemCount();
+            fireItemAdded(-index - 1 - removed, removed);
         }
         return overwritten;
 
@@ -741,14 +986,15 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // count...
         if (getItemCount() > 1) {
             long latest = getTimePeriod(getItemCount() - 1).getSerialIndex();
-            boolean removed = false;
+            int removed = 0;
             while ((latest - getTimePeriod(0).getSerialIndex())
                     > this.maximumItemAge) {
-                this.data.remove(0);
-                removed = true;
+                removeFirstItem();
+                removed++;
             }
-            if (removed && notify) {
-                fireSeriesChanged();
+            if (removed > 0 && notify) {
+                fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0,
+                        removed - 1);
             }
         }
     }
@@ -790,14 +1036,14 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 
         // check if there are any values earlier than specified by the history
         // count...
-        boolean removed = false;
+        int removed = 0;
         while (getItemCount() > 0 && (index
                 - getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
-            this.data.remove(0);
-            removed = true;
+            removeFirstItem();
+            removed++;
         }
-        if (removed && notify) {
-            fireSeriesChanged();
+        if (removed > 0 && notify) {
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, removed - 1);
         }
     }
 
@@ -806,13 +1052,31 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
+        int count = this.data.size();
+        if (count > 0) {
             this.data.clear();
             this.timePeriodClass = null;
-            fireSeriesChanged();
+            if (this.pyramid != null) {
+                this.pyramid.invalidate();
+            }
+            this.minY = Double.NaN;
+            this.maxY = Double.NaN;
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, count - 1);
         }
     }
 
+    /**
+     * Removes the first item in the series and updates the level-of-detail
+     * index and the cached bounds.  No event is sent.
+     */
+    private void removeFirstItem() {
+        TimeSeriesDataItem removed = (TimeSeriesDataItem) this.data.remove(0);
+        if (this.pyramid != null) {
+            this.pyramid.itemsRemovedFromStart(1);
+        }
+        updateBoundsForRemovedItem(removed.getValue());
+    }
+
     /**
      * Deletes the data item for the given time period and sends a
      * {@link SeriesChangeEvent} to all registered listeners.  If there is no
@@ -824,11 +1088,21 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
     public void delete(RegularTimePeriod period) {
         int index = getIndex(period);
         if (index >= 0) {
-            this.data.remove(index);
+            TimeSeriesDataItem removed
+                    = (TimeSeriesDataItem) this.data.remove(index);
             if (this.data.isEmpty()) {
                 this.timePeriodClass = null;
             }
-            fireSeriesChanged();
+            if (this.pyramid != null) {
+                if (index == 0) {
+                    this.pyramid.itemsRemovedFromStart(1);
+                }
+                else {
+                    this.pyramid.invalidate();
+                }
+            }
+            updateBoundsForRemovedItem(removed.getValue());
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, index, index);
         }
     }
 
@@ -842,13 +1116,20 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         if (end < start) {
             throw new IllegalArgumentException("Requires start <= end.");
         }
-        for (int i = 0; i <= (end - start); i++) {
-            this.data.remove(start);
-        }
+        this.data.subList(start, end + 1).clear();
         if (this.data.isEmpty()) {
             this.timePeriodClass = null;
         }
-        fireSeriesChanged();
+        if (this.pyramid != null) {
+            if (start == 0) {
+                this.pyramid.itemsRemovedFromStart(end + 1);
+            }
+            else {
+                this.pyramid.invalidate();
+            }
+        }
+        findBounds();
+        fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, start, end);
     }
 
     /**
@@ -895,7 +1176,10 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
         TimeSeries copy = (TimeSeries) super.clone();
 
-        copy.data = new java.util.ArrayList();
+        copy.data = new CircularList();
+        copy.pyramid = null;
+        copy.minY = Double.NaN;
+        copy.maxY = Double.NaN;
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 TimeSeriesDataItem item
@@ -957,7 +1241,10 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
         if (emptyRange) {
             TimeSeries copy = (TimeSeries) super.clone();
-            copy.data = new java.util.ArrayList();
+            copy.data = new CircularList();
+            copy.pyramid = null;
+            copy.minY = Double.NaN;
+            copy.maxY = Double.NaN;
             return copy;
         }
         else {
@@ -1083,9 +1370,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         this.domain = domain;
         this.range = range;
         this.timePeriodClass = timePeriodClass;
-        this.data = new java.util.ArrayList();
+        this.data = new CircularList();
         this.maximumItemCount = Integer.MAX_VALUE;
         this.maximumItemAge = Long.MAX_VALUE;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
     }
 
 }
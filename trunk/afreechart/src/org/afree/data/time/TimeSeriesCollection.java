@@ -109,8 +109,13 @@ import org.afree.data.DomainInfo;
 import org.afree.data.DomainOrder;
 import org.afree.data.xy.IntervalXYDataset;
 import org.afree.data.Range;
+import org.afree.data.RangeInfo;
 import org.afree.data.xy.XYDataset;
+import org.afree.data.xy.XYDomainInfo;
+import org.afree.data.xy.XYRangeInfo;
 import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
 import org.afree.data.xy.AbstractIntervalXYDataset;
 
 /**
@@ -120,7 +125,8 @@ import org.afree.data.xy.AbstractIntervalXYDataset;
  * use with the {@link org.afree.chart.plot.XYPlot} class.
  */
 public class TimeSeriesCollection extends AbstractIntervalXYDataset
-        implements XYDataset, IntervalXYDataset, DomainInfo, Serializable {
+        implements XYDataset, IntervalXYDataset, DomainInfo, RangeInfo,
+                   XYDomainInfo, XYRangeInfo, Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 834149929022371137L;
@@ -331,7 +337,8 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         }
         this.data.add(series);
         series.addChangeListener(this);
-        fireDatasetChanged();
+        notifyListeners(new DatasetChangeEvent(this, this,
+                DatasetChangeType.SERIES_ADDED, this.data.size() - 1));
     }
 
     /**
@@ -344,9 +351,18 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         if (series == null) {
             throw new IllegalArgumentException("Null 'series' argument.");
         }
-        this.data.remove(series);
+        int index = this.data.indexOf(series);
+        if (index >= 0) {
+            this.data.remove(index);
+        }
         series.removeChangeListener(this);
-        fireDatasetChanged();
+        if (index >= 0) {
+            notifyListeners(new DatasetChangeEvent(this, this,
+                    DatasetChangeType.SERIES_REMOVED, index));
+        }
+        else {
+            fireDatasetChanged();
+        }
     }
 
     /**
@@ -380,6 +396,24 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 
     }
 
+    /**
+     * Receives notification of a change to one of the series in the
+     * collection and passes it on to all registered listeners, keeping the
+     * details of the items that were added, changed or removed.
+     *
+     * @param event  information about the change.
+     */
+    public void seriesChanged(SeriesChangeEvent event) {
+        int series = this.data.indexOf(event.getSource());
+        if (series >= 0) {
+            notifyListeners(new DatasetChangeEvent(this, this, series,
+                    event));
+        }
+        else {
+            fireDatasetChanged();
+        }
+    }
+
     /**
      * Returns the number of items in the specified series.  This method is
      * provided for convenience.
@@ -586,25 +620,214 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         Iterator iterator = this.data.iterator();
         while (iterator.hasNext()) {
             TimeSeries series = (TimeSeries) iterator.next();
-            int count = series.getItemCount();
-            if (count > 0) {
-                RegularTimePeriod start = series.getTimePeriod(0);
-                RegularTimePeriod end = series.getTimePeriod(count - 1);
-                Range temp;
-                if (!includeInterval) {
-                    temp = new Range(getX(start), getX(end));
-                }
-                else {
-                    temp = new Range(
-                            start.getFirstMillisecond(this.workingCalendar),
-                            end.getLastMillisecond(this.workingCalendar));
-                }
-                result = Range.combine(result, temp);
+            result = Range.combine(result,
+                    findDomainBounds(series, includeInterval));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the range of the x-values for the specified series.  Since the
+     * items in a time series are sorted, only the first and last items in
+     * each series are examined.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series.
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The range (or <code>null</code> if there are no values).
+     */
+    public Range getDomainBounds(List visibleSeriesKeys,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        Range result = null;
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            TimeSeries series = getSeries((Comparable) iterator.next());
+            if (series != null) {
+                result = Range.combine(result,
+                        findDomainBounds(series, includeInterval));
             }
         }
         return result;
     }
 
+    /**
+     * Returns the range of the x-values for one series.
+     *
+     * @param series  the series.
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The range (<code>null</code> if the series is empty).
+     */
+    private Range findDomainBounds(TimeSeries series,
+            boolean includeInterval) {
+        int count = series.getItemCount();
+        if (count == 0) {
+            return null;
+        }
+        RegularTimePeriod start = series.getTimePeriod(0);
+        RegularTimePeriod end = series.getTimePeriod(count - 1);
+        if (!includeInterval) {
+            return new Range(getX(start), getX(end));
+        }
+        else {
+            return new Range(start.getFirstMillisecond(this.workingCalendar),
+                    end.getLastMillisecond(this.workingCalendar));
+        }
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r != null ? r.getLowerBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r != null ? r.getUpperBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset.  The bounds are read
+     * from the values cached by each series (see
+     * {@link TimeSeries#getMinY()}), so this method does not iterate over the
+     * data items.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (or <code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        Iterator iterator = this.data.iterator();
+        while (iterator.hasNext()) {
+            TimeSeries series = (TimeSeries) iterator.next();
+            double minY = series.getMinY();
+            if (!Double.isNaN(minY)) {
+                lower = Math.min(lower, minY);
+            }
+            double maxY = series.getMaxY();
+            if (!Double.isNaN(maxY)) {
+                upper = Math.max(upper, maxY);
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the range of the values for the items in the specified series
+     * that have x-values within <code>xRange</code>.  The items are located
+     * with a binary search (the items in a time series are always sorted)
+     * and the bounds are read from the series' level-of-detail index (see
+     * {@link TimeSeries#getValuePyramid()}), so the cost is logarithmic in
+     * the number of items.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series.
+     * @param xRange  the x-range (<code>null</code> not permitted).
+     * @param includeInterval  ignored.
+     *
+     * @return The range (or <code>null</code> if there are no values in the
+     *     x-range).
+     */
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (xRange == null) {
+            throw new IllegalArgumentException("Null 'xRange' argument.");
+        }
+        Range result = null;
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            Comparable key = (Comparable) iterator.next();
+            TimeSeries series = getSeries(key);
+            if (series == null || series.getItemCount() == 0) {
+                continue;
+            }
+            int first = findFirstItem(series, xRange.getLowerBound());
+            int last = findLastItem(series, xRange.getUpperBound());
+            if (first <= last) {
+                result = Range.combine(result,
+                        series.getValuePyramid().getRange(first, last));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first item in a series with an x-value greater
+     * than or equal to <code>x</code>.
+     *
+     * @param series  the series.
+     * @param x  the x-value.
+     *
+     * @return The item index (equal to the item count if there is no such
+     *     item).
+     */
+    private int findFirstItem(TimeSeries series, double x) {
+        int low = 0;
+        int high = series.getItemCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getX(series.getTimePeriod(mid)) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the last item in a series with an x-value less
+     * than or equal to <code>x</code>.
+     *
+     * @param series  the series.
+     * @param x  the x-value.
+     *
+     * @return The item index (-1 if there is no such item).
+     */
+    private int findLastItem(TimeSeries series, double x) {
+        int low = 0;
+        int high = series.getItemCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getX(series.getTimePeriod(mid)) <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
     /**
      * Tests this time series collection for equality with another object.
      *
@@ -0,0 +1,817 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * PrimitiveOHLCSeries.java
+ * ------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time.ohlc;
+
+import org.afree.data.Range;
+import org.afree.data.ValuePyramid;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.Series;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.general.SeriesException;
+
+/**
+ * A series of (time, open, high, low, close, volume) bars, held in one
+ * primitive array per field rather than as {@link OHLCItem} objects, for
+ * charts that stream market data.  The time of each bar is a millisecond
+ * value that is used directly as the x-value, so (unlike {@link OHLCSeries})
+ * there is no {@link org.afree.data.time.RegularTimePeriod} to resolve.
+ * <P>
+ * Bars must be added in time order.  Adding a bar takes constant (amortised)
+ * time and, when a maximum item count is set, the oldest bar is dropped by
+ * advancing an offset into the arrays, so the series can be used as a sliding
+ * window over a live feed.  {@link #addOrUpdate(long, double, double, double,
+ * double, double)} replaces the last bar when the time is the same, which is
+ * the usual way to update a bar that is still forming.
+ *
+ * @see PrimitiveOHLCSeriesCollection
+ */
+public class PrimitiveOHLCSeries extends Series {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2730585286521348193L;
+
+    /** The initial capacity of the value arrays. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The times (in milliseconds). */
+    private long[] times;
+
+    /** The open values. */
+    private double[] openValues;
+
+    /** The high values. */
+    private double[] highValues;
+
+    /** The low values. */
+    private double[] lowValues;
+
+    /** The close values. */
+    private double[] closeValues;
+
+    /** The volume values (Double.NaN if there is no volume). */
+    private double[] volumeValues;
+
+    /**
+     * The array index of the first item.  Items removed from the start of
+     * the series just advance this offset.
+     */
+    private int offset;
+
+    /** The number of items in the series. */
+    private int itemCount;
+
+    /** The maximum number of items for the series. */
+    private int maximumItemCount = Integer.MAX_VALUE;
+
+    /**
+     * The level-of-detail index for the low values (<code>null</code> until
+     * the bounds are first requested).
+     */
+    private transient ValuePyramid lowPyramid;
+
+    /**
+     * The level-of-detail index for the high values (<code>null</code> until
+     * the bounds are first requested).
+     */
+    private transient ValuePyramid highPyramid;
+
+    /**
+     * Creates a new empty series.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     */
+    public PrimitiveOHLCSeries(Comparable key) {
+        this(key, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty series, with storage pre-allocated for the
+     * specified number of items.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    public PrimitiveOHLCSeries(Comparable key, int initialCapacity) {
+        super(key);
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'initialCapacity' > 0.");
+        }
+        allocate(initialCapacity);
+        this.offset = 0;
+        this.itemCount = 0;
+    }
+
+    /**
+     * Returns the number of items in the series.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the maximum number of items that will be retained in the series.
+     * The default value is <code>Integer.MAX_VALUE</code>.
+     *
+     * @return The maximum item count.
+     *
+     * @see #setMaximumItemCount(int)
+     */
+    public int getMaximumItemCount() {
+        return this.maximumItemCount;
+    }
+
+    /**
+     * Sets the maximum number of items that will be retained in the series.
+     * If you add a new item to the series such that the number of items will
+     * exceed the maximum item count, then the first item in the series is
+     * automatically removed.  If the series already holds more items than
+     * the new maximum, the oldest items are removed and a
+     * {@link SeriesChangeEvent} is sent to all registered listeners.
+     *
+     * @param maximum  the maximum number of items for the series.
+     */
+    public void setMaximumItemCount(int maximum) {
+        if (maximum < 0) {
+            throw new IllegalArgumentException("Requires 'maximum' >= 0.");
+        }
+        this.maximumItemCount = maximum;
+        int remove = this.itemCount - maximum;
+        if (remove > 0) {
+            removeFromStart(remove);
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, remove - 1);
+        }
+    }
+
+    /**
+     * Returns the time (in milliseconds) for an item.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The time.
+     */
+    public long getTime(int index) {
+        checkIndex(index);
+        return this.times[this.offset + index];
+    }
+
+    /**
+     * Returns the open value for an item.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The open value.
+     */
+    public double getOpenValue(int index) {
+        checkIndex(index);
+        return this.openValues[this.offset + index];
+    }
+
+    /**
+     * Returns the high value for an item.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The high value.
+     */
+    public double getHighValue(int index) {
+        checkIndex(index);
+        return this.highValues[this.offset + index];
+    }
+
+    /**
+     * Returns the low value for an item.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The low value.
+     */
+    public double getLowValue(int index) {
+        checkIndex(index);
+        return this.lowValues[this.offset + index];
+    }
+
+    /**
+     * Returns the close value for an item.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The close value.
+     */
+    public double getCloseValue(int index) {
+        checkIndex(index);
+        return this.closeValues[this.offset + index];
+    }
+
+    /**
+     * Returns the volume for an item.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The volume (possibly Double.NaN).
+     */
+    public double getVolumeValue(int index) {
+        checkIndex(index);
+        return this.volumeValues[this.offset + index];
+    }
+
+    /**
+     * Returns the time of the first item in the series.
+     *
+     * @return The time.
+     *
+     * @throws IndexOutOfBoundsException if the series is empty.
+     */
+    public long getFirstTime() {
+        return getTime(0);
+    }
+
+    /**
+     * Returns the time of the last item in the series.
+     *
+     * @return The time.
+     *
+     * @throws IndexOutOfBoundsException if the series is empty.
+     */
+    public long getLastTime() {
+        return getTime(this.itemCount - 1);
+    }
+
+    /**
+     * Returns the lowest low value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The lowest low value (Double.NaN if the series is empty).
+     */
+    public double getMinLow() {
+        if (this.itemCount == 0) {
+            return Double.NaN;
+        }
+        Range r = getLowPyramid().getRange(0, this.itemCount - 1);
+        return (r != null ? r.getLowerBound() : Double.NaN);
+    }
+
+    /**
+     * Returns the highest high value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The highest high value (Double.NaN if the series is empty).
+     */
+    public double getMaxHigh() {
+        if (this.itemCount == 0) {
+            return Double.NaN;
+        }
+        Range r = getHighPyramid().getRange(0, this.itemCount - 1);
+        return (r != null ? r.getUpperBound() : Double.NaN);
+    }
+
+    /**
+     * Returns the range of the low and high values in the series.
+     *
+     * @return The range (<code>null</code> if there are no values).
+     */
+    public Range getValueRange() {
+        double min = getMinLow();
+        double max = getMaxHigh();
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            return null;
+        }
+        return new Range(min, max);
+    }
+
+    /**
+     * Returns the index of the item with the specified time.
+     *
+     * @param time  the time (in milliseconds).
+     *
+     * @return The index of the item, or a negative value (as for
+     *     <code>Arrays.binarySearch()</code>) if there is no item with that
+     *     time.
+     */
+    public int indexOf(long time) {
+        int low = 0;
+        int high = this.itemCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long t = this.times[this.offset + mid];
+            if (t < time) {
+                low = mid + 1;
+            }
+            else if (t > time) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Adds a bar without volume to the end of the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param time  the time (in milliseconds).
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     *
+     * @throws SeriesException if <code>time</code> is not later than the time
+     *     of the last item in the series.
+     */
+    public void add(long time, double open, double high, double low,
+            double close) {
+        add(time, open, high, low, close, Double.NaN, true);
+    }
+
+    /**
+     * Adds a bar to the end of the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param time  the time (in milliseconds).
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume (Double.NaN if there is no volume).
+     *
+     * @throws SeriesException if <code>time</code> is not later than the time
+     *     of the last item in the series.
+     */
+    public void add(long time, double open, double high, double low,
+            double close, double volume) {
+        add(time, open, high, low, close, volume, true);
+    }
+
+    /**
+     * Adds a bar to the end of the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.  This method
+     * does not create any objects unless the value arrays need to grow.
+     *
+     * @param time  the time (in milliseconds).
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume (Double.NaN if there is no volume).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if <code>time</code> is not later than the time
+     *     of the last item in the series.
+     */
+    public void add(long time, double open, double high, double low,
+            double close, double volume, boolean notify) {
+        if (this.itemCount > 0
+                && time <= this.times[this.offset + this.itemCount - 1]) {
+            throw new SeriesException(
+                    "Time must be later than the last item in the series.");
+        }
+        int removed = append(time, open, high, low, close, volume);
+        if (notify) {
+            if (this.itemCount > 0) {
+                int index = this.itemCount - 1;
+                fireSeriesChanged(DatasetChangeType.ITEMS_ADDED, index, index,
+                        removed);
+            }
+            else {
+                fireSeriesChanged();
+            }
+        }
+    }
+
+    /**
+     * Replaces the last bar in the series if it has the specified time,
+     * otherwise adds a new bar to the end of the series.  Either way, a
+     * {@link SeriesChangeEvent} is sent to all registered listeners.
+     *
+     * @param time  the time (in milliseconds).
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume (Double.NaN if there is no volume).
+     *
+     * @throws SeriesException if <code>time</code> is earlier than the time
+     *     of the last item in the series.
+     */
+    public void addOrUpdate(long time, double open, double high, double low,
+            double close, double volume) {
+        if (this.itemCount > 0
+                && time == this.times[this.offset + this.itemCount - 1]) {
+            int index = this.itemCount - 1;
+            update(index, open, high, low, close, volume);
+            fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
+        }
+        else {
+            add(time, open, high, low, close, volume, true);
+        }
+    }
+
+    /**
+     * Updates the values of an existing bar and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the item index (zero-based).
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume (Double.NaN if there is no volume).
+     */
+    public void updateByIndex(int index, double open, double high,
+            double low, double close, double volume) {
+        checkIndex(index);
+        update(index, open, high, low, close, volume);
+        fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
+    }
+
+    /**
+     * Deletes a range of items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param start  the start index (zero-based).
+     * @param end  the end index (zero-based).
+     */
+    public void delete(int start, int end) {
+        if (start < 0 || end >= this.itemCount || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start
+                    + " to " + end);
+        }
+        if (start == 0) {
+            removeFromStart(end + 1);
+        }
+        else {
+            int tail = this.itemCount - end - 1;
+            if (tail > 0) {
+                int from = this.offset + end + 1;
+                int to = this.offset + start;
+                System.arraycopy(this.times, from, this.times, to, tail);
+                System.arraycopy(this.openValues, from, this.openValues, to,
+                        tail);
+                System.arraycopy(this.highValues, from, this.highValues, to,
+                        tail);
+                System.arraycopy(this.lowValues, from, this.lowValues, to,
+                        tail);
+                System.arraycopy(this.closeValues, from, this.closeValues,
+                        to, tail);
+                System.arraycopy(this.volumeValues, from, this.volumeValues,
+                        to, tail);
+            }
+            this.itemCount -= end - start + 1;
+            invalidatePyramids();
+        }
+        fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, start, end);
+    }
+
+    /**
+     * Removes all data items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     */
+    public void clear() {
+        int count = this.itemCount;
+        if (count > 0) {
+            this.offset = 0;
+            this.itemCount = 0;
+            invalidatePyramids();
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, count - 1);
+        }
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against for equality
+     *             (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PrimitiveOHLCSeries)) {
+            return false;
+        }
+        PrimitiveOHLCSeries that = (PrimitiveOHLCSeries) obj;
+        if (!getKey().equals(that.getKey())) {
+            return false;
+        }
+        if (this.maximumItemCount != that.maximumItemCount) {
+            return false;
+        }
+        if (this.itemCount != that.itemCount) {
+            return false;
+        }
+        for (int i = 0; i < this.itemCount; i++) {
+            int a = this.offset + i;
+            int b = that.offset + i;
+            if (this.times[a] != that.times[b]
+                    || !equal(this.openValues[a], that.openValues[b])
+                    || !equal(this.highValues[a], that.highValues[b])
+                    || !equal(this.lowValues[a], that.lowValues[b])
+                    || !equal(this.closeValues[a], that.closeValues[b])
+                    || !equal(this.volumeValues[a], that.volumeValues[b])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code.
+     *
+     * @return A hash code.
+     */
+    public int hashCode() {
+        int result = getKey().hashCode();
+        result = 29 * result + this.itemCount;
+        if (this.itemCount > 0) {
+            long t = this.times[this.offset + this.itemCount - 1];
+            result = 29 * result + (int) (t ^ (t >>> 32));
+        }
+        result = 29 * result + this.maximumItemCount;
+        return result;
+    }
+
+    /**
+     * Returns a clone of the series.
+     *
+     * @return A clone of the series.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        PrimitiveOHLCSeries clone = (PrimitiveOHLCSeries) super.clone();
+        clone.times = (long[]) this.times.clone();
+        clone.openValues = (double[]) this.openValues.clone();
+        clone.highValues = (double[]) this.highValues.clone();
+        clone.lowValues = (double[]) this.lowValues.clone();
+        clone.closeValues = (double[]) this.closeValues.clone();
+        clone.volumeValues = (double[]) this.volumeValues.clone();
+        clone.lowPyramid = null;
+        clone.highPyramid = null;
+        return clone;
+    }
+
+    /**
+     * Appends a bar, updates the level-of-detail indices and enforces the
+     * maximum item count.  No event is sent.
+     *
+     * @param time  the time.
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume.
+     *
+     * @return The number of items removed from the start of the series.
+     */
+    private int append(long time, double open, double high, double low,
+            double close, double volume) {
+        ensureCapacity(this.itemCount + 1);
+        int i = this.offset + this.itemCount;
+        this.times[i] = time;
+        this.openValues[i] = open;
+        this.highValues[i] = high;
+        this.lowValues[i] = low;
+        this.closeValues[i] = close;
+        this.volumeValues[i] = volume;
+        this.itemCount++;
+        if (this.lowPyramid != null) {
+            this.lowPyramid.itemAppended();
+        }
+        if (this.highPyramid != null) {
+            this.highPyramid.itemAppended();
+        }
+        int removed = this.itemCount - this.maximumItemCount;
+        if (removed > 0) {
+            removeFromStart(removed);
+            return removed;
+        }
+        return 0;
+    }
+
+    /**
+     * Sets the values for an existing bar and updates the level-of-detail
+     * indices.
+     *
+     * @param index  the item index.
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume.
+     */
+    private void update(int index, double open, double high, double low,
+            double close, double volume) {
+        int i = this.offset + index;
+        this.openValues[i] = open;
+        this.highValues[i] = high;
+        this.lowValues[i] = low;
+        this.closeValues[i] = close;
+        this.volumeValues[i] = volume;
+        if (this.lowPyramid != null) {
+            this.lowPyramid.itemChanged(index);
+        }
+        if (this.highPyramid != null) {
+            this.highPyramid.itemChanged(index);
+        }
+    }
+
+    /**
+     * Removes items from the start of the series by advancing the offset.
+     * No event is sent.
+     *
+     * @param count  the number of items to remove.
+     */
+    private void removeFromStart(int count) {
+        this.offset += count;
+        this.itemCount -= count;
+        if (this.itemCount == 0) {
+            this.offset = 0;
+        }
+        if (this.lowPyramid != null) {
+            this.lowPyramid.itemsRemovedFromStart(count);
+        }
+        if (this.highPyramid != null) {
+            this.highPyramid.itemsRemovedFromStart(count);
+        }
+    }
+
+    /**
+     * Returns the level-of-detail index for the low values, creating it if
+     * necessary.  Once created, the index is maintained incrementally as bars
+     * are appended, removed from the start of the series or updated, so
+     * evicting the bar with the lowest low does not require a rescan.
+     *
+     * @return The index (never <code>null</code>).
+     */
+    private ValuePyramid getLowPyramid() {
+        if (this.lowPyramid == null) {
+            this.lowPyramid = new ValuePyramid(new ValuePyramid.Source() {
+                public int getItemCount() {
+                    return PrimitiveOHLCSeries.this.itemCount;
+                }
+                public double getValue(int index) {
+                    return PrimitiveOHLCSeries.this.lowValues[
+                            PrimitiveOHLCSeries.this.offset + index];
+                }
+            });
+        }
+        return this.lowPyramid;
+    }
+
+    /**
+     * Returns the level-of-detail index for the high values, creating it if
+     * necessary.
+     *
+     * @return The index (never <code>null</code>).
+     *
+     * @see #getLowPyramid()
+     */
+    private ValuePyramid getHighPyramid() {
+        if (this.highPyramid == null) {
+            this.highPyramid = new ValuePyramid(new ValuePyramid.Source() {
+                public int getItemCount() {
+                    return PrimitiveOHLCSeries.this.itemCount;
+                }
+                public double getValue(int index) {
+                    return PrimitiveOHLCSeries.this.highValues[
+                            PrimitiveOHLCSeries.this.offset + index];
+                }
+            });
+        }
+        return this.highPyramid;
+    }
+
+    /**
+     * Marks the level-of-detail indices (if they exist) for a rebuild, after
+     * a change that they cannot track incrementally.
+     */
+    private void invalidatePyramids() {
+        if (this.lowPyramid != null) {
+            this.lowPyramid.invalidate();
+        }
+        if (this.highPyramid != null) {
+            this.highPyramid.invalidate();
+        }
+    }
+
+    /**
+     * Makes room, if necessary, for the specified number of items after the
+     * current offset.  If at least half of the arrays is free space at the
+     * start (left behind by items removed from the start of the series), the
+     * items are moved back to the start of the arrays, otherwise the arrays
+     * are grown.
+     *
+     * @param capacity  the required capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        int length = this.times.length;
+        if (this.offset + capacity <= length) {
+            return;
+        }
+        long[] t = this.times;
+        double[] o = this.openValues;
+        double[] h = this.highValues;
+        double[] l = this.lowValues;
+        double[] c = this.closeValues;
+        double[] v = this.volumeValues;
+        if (capacity > length / 2) {
+            allocate(Math.max(capacity, length * 2));
+        }
+        int n = this.itemCount;
+        System.arraycopy(t, this.offset, this.times, 0, n);
+        System.arraycopy(o, this.offset, this.openValues, 0, n);
+        System.arraycopy(h, this.offset, this.highValues, 0, n);
+        System.arraycopy(l, this.offset, this.lowValues, 0, n);
+        System.arraycopy(c, this.offset, this.closeValues, 0, n);
+        System.arraycopy(v, this.offset, this.volumeValues, 0, n);
+        this.offset = 0;
+    }
+
+    /**
+     * Allocates new (empty) value arrays.
+     *
+     * @param capacity  the capacity.
+     */
+    private void allocate(int capacity) {
+        this.times = new long[capacity];
+        this.openValues = new double[capacity];
+        this.highValues = new double[capacity];
+        this.lowValues = new double[capacity];
+        this.closeValues = new double[capacity];
+        this.volumeValues = new double[capacity];
+    }
+
+    /**
+     * Checks that an item index is valid.
+     *
+     * @param index  the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.itemCount) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.itemCount);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if two values are equal, treating Double.NaN
+     * as equal to itself.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return A boolean.
+     */
+    private static boolean equal(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+}
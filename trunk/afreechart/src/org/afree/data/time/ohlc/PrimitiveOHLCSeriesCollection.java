@@ -0,0 +1,531 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------------------
+ * PrimitiveOHLCSeriesCollection.java
+ * ----------------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time.ohlc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.DomainOrder;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.xy.AbstractXYDataset;
+import org.afree.data.xy.OHLCDataset;
+
+/**
+ * A collection of {@link PrimitiveOHLCSeries} objects.  The primitive value
+ * methods read straight from the arrays in each series, so renderers such as
+ * {@link org.afree.chart.renderer.xy.CandlestickRenderer} can draw streaming
+ * bars without creating any objects.  The x-value of each item is the time
+ * stored in the series, the y-value is the close value, and since the items
+ * in each series are in time order the collection reports a
+ * {@link DomainOrder#ASCENDING} domain order.
+ *
+ * @see OHLCSeriesCollection
+ */
+public class PrimitiveOHLCSeriesCollection extends AbstractXYDataset
+        implements OHLCDataset, DomainInfo, RangeInfo, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 6313920174838418531L;
+
+    /** Storage for the data series. */
+    private List data;
+
+    /**
+     * Creates a new empty collection.
+     */
+    public PrimitiveOHLCSeriesCollection() {
+        this.data = new ArrayList();
+    }
+
+    /**
+     * Adds a series to the collection and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     *
+     * @param series  the series (<code>null</code> not permitted).
+     */
+    public void addSeries(PrimitiveOHLCSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Null 'series' argument.");
+        }
+        this.data.add(series);
+        series.addChangeListener(this);
+        notifyListeners(new DatasetChangeEvent(this, this,
+                DatasetChangeType.SERIES_ADDED, this.data.size() - 1));
+    }
+
+    /**
+     * Removes a series from the collection and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index (zero-based).
+     */
+    public void removeSeries(int series) {
+        PrimitiveOHLCSeries s = getSeries(series);
+        s.removeChangeListener(this);
+        this.data.remove(series);
+        notifyListeners(new DatasetChangeEvent(this, this,
+                DatasetChangeType.SERIES_REMOVED, series));
+    }
+
+    /**
+     * Removes all the series from the collection and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void removeAllSeries() {
+        for (int i = 0; i < this.data.size(); i++) {
+            PrimitiveOHLCSeries s = (PrimitiveOHLCSeries) this.data.get(i);
+            s.removeChangeListener(this);
+        }
+        this.data.clear();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Receives notification of a change to one of the series in the
+     * collection and passes it on to all registered listeners, keeping the
+     * details of the items that were added, changed or removed.
+     *
+     * @param event  information about the change.
+     */
+    public void seriesChanged(SeriesChangeEvent event) {
+        int series = this.data.indexOf(event.getSource());
+        if (series >= 0) {
+            notifyListeners(new DatasetChangeEvent(this, this, series,
+                    event));
+        }
+        else {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns the number of series in the collection.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.data.size();
+    }
+
+    /**
+     * Returns a series from the collection.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The series.
+     *
+     * @throws IllegalArgumentException if <code>series</code> is not in the
+     *     range <code>0</code> to <code>getSeriesCount() - 1</code>.
+     */
+    public PrimitiveOHLCSeries getSeries(int series) {
+        if ((series < 0) || (series >= getSeriesCount())) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return (PrimitiveOHLCSeries) this.data.get(series);
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range <code>0</code> to
+     *     <code>getSeriesCount() - 1</code>).
+     *
+     * @return The key for a series.
+     */
+    public Comparable getSeriesKey(int series) {
+        return getSeries(series).getKey();
+    }
+
+    /**
+     * Returns the number of items in the specified series.
+     *
+     * @param series  the series (zero-based index).
+     *
+     * @return The item count.
+     */
+    public int getItemCount(int series) {
+        return getSeries(series).getItemCount();
+    }
+
+    /**
+     * Returns the order of the domain values, which is always ascending since
+     * each series holds its items in time order.
+     *
+     * @return {@link DomainOrder#ASCENDING}.
+     */
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the x-value (the time in milliseconds) for an item within a
+     * series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int series, int item) {
+        return ((PrimitiveOHLCSeries) this.data.get(series)).getTime(item);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value (the close value) for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The y-value.
+     */
+    public double getYValue(int series, int item) {
+        return getCloseValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The y-value.
+     */
+    public Number getY(int series, int item) {
+        return new Double(getYValue(series, item));
+    }
+
+    /**
+     * Returns the open-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The open-value.
+     */
+    public double getOpenValue(int series, int item) {
+        return ((PrimitiveOHLCSeries) this.data.get(series)).getOpenValue(
+                item);
+    }
+
+    /**
+     * Returns the open-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The open-value.
+     */
+    public Number getOpen(int series, int item) {
+        return new Double(getOpenValue(series, item));
+    }
+
+    /**
+     * Returns the high-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The high-value.
+     */
+    public double getHighValue(int series, int item) {
+        return ((PrimitiveOHLCSeries) this.data.get(series)).getHighValue(
+                item);
+    }
+
+    /**
+     * Returns the high-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The high-value.
+     */
+    public Number getHigh(int series, int item) {
+        return new Double(getHighValue(series, item));
+    }
+
+    /**
+     * Returns the low-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The low-value.
+     */
+    public double getLowValue(int series, int item) {
+        return ((PrimitiveOHLCSeries) this.data.get(series)).getLowValue(
+                item);
+    }
+
+    /**
+     * Returns the low-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The low-value.
+     */
+    public Number getLow(int series, int item) {
+        return new Double(getLowValue(series, item));
+    }
+
+    /**
+     * Returns the close-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The close-value.
+     */
+    public double getCloseValue(int series, int item) {
+        return ((PrimitiveOHLCSeries) this.data.get(series)).getCloseValue(
+                item);
+    }
+
+    /**
+     * Returns the close-value for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The close-value.
+     */
+    public Number getClose(int series, int item) {
+        return new Double(getCloseValue(series, item));
+    }
+
+    /**
+     * Returns the volume for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The volume (possibly Double.NaN).
+     */
+    public double getVolumeValue(int series, int item) {
+        return ((PrimitiveOHLCSeries) this.data.get(series)).getVolumeValue(
+                item);
+    }
+
+    /**
+     * Returns the volume for an item within a series.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The volume (<code>null</code> if there is no volume).
+     */
+    public Number getVolume(int series, int item) {
+        double v = getVolumeValue(series, item);
+        return Double.isNaN(v) ? null : new Double(v);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there is no data).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there is no data).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.  Since each series is
+     * in time order, this only looks at the first and last item of each
+     * series.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there is no data).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        int seriesCount = getSeriesCount();
+        for (int s = 0; s < seriesCount; s++) {
+            PrimitiveOHLCSeries series = getSeries(s);
+            if (series.getItemCount() > 0) {
+                lower = Math.min(lower, series.getFirstTime());
+                upper = Math.max(upper, series.getLastTime());
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the minimum low value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there is no data).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum high value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there is no data).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the values in the dataset, from the lowest low
+     * value to the highest high value.  The bounds are cached by each
+     * series.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if there is no data).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        int seriesCount = getSeriesCount();
+        for (int s = 0; s < seriesCount; s++) {
+            PrimitiveOHLCSeries series = getSeries(s);
+            double minLow = series.getMinLow();
+            if (!Double.isNaN(minLow)) {
+                lower = Math.min(lower, minLow);
+            }
+            double maxHigh = series.getMaxHigh();
+            if (!Double.isNaN(maxHigh)) {
+                upper = Math.max(upper, maxHigh);
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     *
+     * @param obj  the object (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PrimitiveOHLCSeriesCollection)) {
+            return false;
+        }
+        PrimitiveOHLCSeriesCollection that
+                = (PrimitiveOHLCSeriesCollection) obj;
+        return this.data.equals(that.data);
+    }
+
+    /**
+     * Returns a hash code.
+     *
+     * @return A hash code.
+     */
+    public int hashCode() {
+        return this.data.hashCode();
+    }
+
+    /**
+     * Returns a clone of this instance.  The series are cloned too.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        PrimitiveOHLCSeriesCollection clone
+                = (PrimitiveOHLCSeriesCollection) super.clone();
+        clone.data = new ArrayList(this.data.size());
+        for (int i = 0; i < this.data.size(); i++) {
+            PrimitiveOHLCSeries s = (PrimitiveOHLCSeries) this.data.get(i);
+            clone.data.add(s.clone());
+        }
+        return clone;
+    }
+
+}
@@ -0,0 +1,437 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------
+ * ConcurrentXYSeries.java
+ * -----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import java.io.Serializable;
+
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.Series;
+import org.afree.data.general.SeriesChangeEvent;
+
+/**
+ * A series of (x, y) items that can be appended to by one thread while any
+ * number of other threads read it, without locking.  Every change publishes
+ * a new immutable {@link XYSeriesSnapshot}; a reader that needs a consistent
+ * view (for instance, a renderer drawing one frame) calls
+ * {@link #getSnapshot()} once and reads from the snapshot, and is not
+ * affected by items added or removed while it does so.
+ * <P>
+ * The items are stored in fixed size chunks of primitive values.  Appending
+ * an item writes into free space in the last chunk, so it costs O(1) and
+ * shares all existing chunks with earlier snapshots.  Items dropped from the
+ * start of the series (see {@link #setMaximumItemCount(int)}) release whole
+ * chunks as they become empty.  Changing an existing item copies the one
+ * chunk that holds it.
+ * <P>
+ * Only one thread should change the series at a time.  Change events are
+ * sent on the thread that makes the change, so listeners must be
+ * thread-safe; {@link ConcurrentXYSeriesCollection} only records the change
+ * and passes it on to its own listeners later, on the thread that draws the
+ * chart.  Unlike {@link XYSeries}, the items are kept in the order they are
+ * added; the series reports its x-values as ascending for as long as each
+ * item added has an x-value no lower than the one before.
+ *
+ * @see ConcurrentXYSeriesCollection
+ */
+public class ConcurrentXYSeries extends Series implements Cloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -1450276313706012586L;
+
+    /** The maximum number of items for the series. */
+    private int maximumItemCount = Integer.MAX_VALUE;
+
+    /** The current snapshot. */
+    private volatile XYSeriesSnapshot snapshot;
+
+    /**
+     * A flag indicating that the last chunk is shared with another series
+     * (after cloning), so it must be copied before it is written to.
+     */
+    private boolean lastChunkShared;
+
+    /**
+     * Creates a new empty series.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     */
+    public ConcurrentXYSeries(Comparable key) {
+        super(key);
+        this.snapshot = XYSeriesSnapshot.EMPTY;
+    }
+
+    /**
+     * Returns a snapshot of the items currently in the series.  The
+     * snapshot does not change when the series is updated.
+     *
+     * @return The snapshot (never <code>null</code>).
+     */
+    public XYSeriesSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Returns the number of items in the series.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.snapshot.getItemCount();
+    }
+
+    /**
+     * Returns the x-value for an item.  Readers that make several calls
+     * should use a snapshot instead (see {@link #getSnapshot()}).
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int index) {
+        return this.snapshot.getXValue(index);
+    }
+
+    /**
+     * Returns the y-value for an item.  Readers that make several calls
+     * should use a snapshot instead (see {@link #getSnapshot()}).
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The y-value (possibly Double.NaN).
+     */
+    public double getYValue(int index) {
+        return this.snapshot.getYValue(index);
+    }
+
+    /**
+     * Returns the maximum number of items that will be retained in the
+     * series.  The default value is <code>Integer.MAX_VALUE</code>.
+     *
+     * @return The maximum item count.
+     *
+     * @see #setMaximumItemCount(int)
+     */
+    public int getMaximumItemCount() {
+        return this.maximumItemCount;
+    }
+
+    /**
+     * Sets the maximum number of items that will be retained in the series,
+     * removing items from the start of the series (and sending a
+     * {@link SeriesChangeEvent} to all registered listeners) if necessary.
+     *
+     * @param maximum  the maximum number of items for the series.
+     */
+    public void setMaximumItemCount(int maximum) {
+        if (maximum < 0) {
+            throw new IllegalArgumentException("Negative 'maximum' argument.");
+        }
+        this.maximumItemCount = maximum;
+        XYSeriesSnapshot s = this.snapshot;
+        int remove = s.getItemCount() - maximum;
+        if (remove > 0) {
+            publish(s.xChunks, s.yChunks, s.baseChunk, s.head + remove,
+                    s.tail, s.ascending, null);
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, remove - 1);
+        }
+    }
+
+    /**
+     * Adds an item to the end of the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (Double.NaN for a missing value).
+     */
+    public void add(double x, double y) {
+        add(x, y, true);
+    }
+
+    /**
+     * Adds an item to the end of the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.  If the series
+     * then has more than the maximum number of items, the first item is
+     * removed.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value (Double.NaN for a missing value).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(double x, double y, boolean notify) {
+        XYSeriesSnapshot s = this.snapshot;
+        double[][] xs = s.xChunks;
+        double[][] ys = s.yChunks;
+        long tail = s.tail;
+        int chunk = (int) ((tail >> XYSeriesSnapshot.CHUNK_BITS)
+                - s.baseChunk);
+        int slot = (int) (tail & XYSeriesSnapshot.CHUNK_MASK);
+        if (chunk == xs.length) {
+            xs = appendChunk(xs, new double[XYSeriesSnapshot.CHUNK_SIZE]);
+            ys = appendChunk(ys, new double[XYSeriesSnapshot.CHUNK_SIZE]);
+        }
+        else if (this.lastChunkShared) {
+            xs = copyChunk(xs, chunk);
+            ys = copyChunk(ys, chunk);
+        }
+        this.lastChunkShared = false;
+        // the slot is beyond the end of every published snapshot, so
+        // readers can't see this write until the new snapshot is
+        // published...
+        xs[chunk][slot] = x;
+        ys[chunk][slot] = y;
+
+        int count = s.getItemCount();
+        boolean ascending = s.ascending
+                && (count == 0 || x >= s.getXValue(count - 1));
+        long head = s.head;
+        int removed = 0;
+        double[] bounds = s.getKnownBounds();
+        if (bounds != null) {
+            bounds = (double[]) bounds.clone();
+            include(bounds, x, y);
+        }
+        if (tail + 1 - head > this.maximumItemCount) {
+            if (bounds != null) {
+                if (ascending && count > 0) {
+                    // the x-values are in order, so the lowest is now the
+                    // one for the item after the first...
+                    bounds[0] = count > 1 ? s.getXValue(1) : x;
+                    if (touchesBounds(bounds, Double.NaN, s.getYValue(0))) {
+                        bounds = null;
+                    }
+                }
+                else if (count == 0 || touchesBounds(bounds, s.getXValue(0),
+                        s.getYValue(0))) {
+                    bounds = null;
+                }
+            }
+            head++;
+            removed = 1;
+        }
+        publish(xs, ys, s.baseChunk, head, tail + 1, ascending, bounds);
+        if (notify) {
+            int index = (int) (tail - head);
+            if (index >= 0) {
+                fireSeriesChanged(DatasetChangeType.ITEMS_ADDED, index, index,
+                        removed);
+            }
+            else {
+                fireSeriesChanged();
+            }
+        }
+    }
+
+    /**
+     * Changes the y-value of an item and sends a {@link SeriesChangeEvent}
+     * to all registered listeners.
+     *
+     * @param index  the item index (zero-based).
+     * @param y  the new y-value (Double.NaN for a missing value).
+     */
+    public void updateByIndex(int index, double y) {
+        XYSeriesSnapshot s = this.snapshot;
+        double old = s.getYValue(index);  // checks the index
+        long p = s.head + index;
+        int chunk = (int) ((p >> XYSeriesSnapshot.CHUNK_BITS) - s.baseChunk);
+        double[][] xs = s.xChunks;
+        double[][] ys = copyChunk(s.yChunks, chunk);
+        ys[chunk][(int) (p & XYSeriesSnapshot.CHUNK_MASK)] = y;
+        if (chunk == ys.length - 1 && this.lastChunkShared) {
+            // copy the last x-value chunk too, so that neither last chunk
+            // is shared any more...
+            xs = copyChunk(xs, chunk);
+            this.lastChunkShared = false;
+        }
+        publish(xs, ys, s.baseChunk, s.head, s.tail, s.ascending,
+                updatedBounds(s, old, y));
+        fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
+    }
+
+    /**
+     * Removes all items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     */
+    public void clear() {
+        int count = this.snapshot.getItemCount();
+        if (count > 0) {
+            this.snapshot = new XYSeriesSnapshot(new double[0][],
+                    new double[0][], 0L, 0L, 0L, this.snapshot.version + 1,
+                    true, new double[] {Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN});
+            this.lastChunkShared = false;
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, count - 1);
+        }
+    }
+
+    /**
+     * Returns a clone of the series.  The clone shares its data with this
+     * series until either of them changes it.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        ConcurrentXYSeries clone = (ConcurrentXYSeries) super.clone();
+        // both series would otherwise append into the same free slots...
+        this.lastChunkShared = true;
+        clone.lastChunkShared = true;
+        return clone;
+    }
+
+    /**
+     * Publishes a new snapshot, dropping any chunks that no longer hold
+     * items.
+     *
+     * @param xs  the x-value chunks.
+     * @param ys  the y-value chunks.
+     * @param baseChunk  the number of the first chunk.
+     * @param head  the position of the first item.
+     * @param tail  the position after the last item.
+     * @param ascending  are the x-values in ascending order?
+     * @param bounds  the bounds, or <code>null</code> if they are not known.
+     */
+    private void publish(double[][] xs, double[][] ys, long baseChunk,
+            long head, long tail, boolean ascending, double[] bounds) {
+        int drop = (int) ((head >> XYSeriesSnapshot.CHUNK_BITS) - baseChunk);
+        if (drop > 0) {
+            double[][] x = new double[xs.length - drop][];
+            double[][] y = new double[ys.length - drop][];
+            System.arraycopy(xs, drop, x, 0, x.length);
+            System.arraycopy(ys, drop, y, 0, y.length);
+            xs = x;
+            ys = y;
+            baseChunk += drop;
+        }
+        this.snapshot = new XYSeriesSnapshot(xs, ys, baseChunk, head, tail,
+                this.snapshot.version + 1, ascending, bounds);
+    }
+
+    /**
+     * Returns a copy of a chunk table with a new chunk added at the end.
+     *
+     * @param chunks  the chunk table.
+     * @param chunk  the new chunk.
+     *
+     * @return The new chunk table.
+     */
+    private static double[][] appendChunk(double[][] chunks, double[] chunk) {
+        double[][] result = new double[chunks.length + 1][];
+        System.arraycopy(chunks, 0, result, 0, chunks.length);
+        result[chunks.length] = chunk;
+        return result;
+    }
+
+    /**
+     * Returns a copy of a chunk table in which one chunk has been replaced
+     * by a copy of itself.
+     *
+     * @param chunks  the chunk table.
+     * @param chunk  the index of the chunk to copy.
+     *
+     * @return The new chunk table.
+     */
+    private static double[][] copyChunk(double[][] chunks, int chunk) {
+        double[][] result = (double[][]) chunks.clone();
+        result[chunk] = (double[]) chunks[chunk].clone();
+        return result;
+    }
+
+    /**
+     * Extends the bounds to include an item.
+     *
+     * @param bounds  the bounds (minX, maxX, minY, maxY), updated in place.
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private static void include(double[] bounds, double x, double y) {
+        if (!Double.isNaN(x)) {
+            bounds[0] = Double.isNaN(bounds[0]) ? x : Math.min(bounds[0], x);
+            bounds[1] = Double.isNaN(bounds[1]) ? x : Math.max(bounds[1], x);
+        }
+        if (!Double.isNaN(y)) {
+            bounds[2] = Double.isNaN(bounds[2]) ? y : Math.min(bounds[2], y);
+            bounds[3] = Double.isNaN(bounds[3]) ? y : Math.max(bounds[3], y);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if an item lies on the bounds, so that
+     * removing it might change them.
+     *
+     * @param bounds  the bounds (minX, maxX, minY, maxY).
+     * @param x  the x-value (Double.NaN to check the y-value only).
+     * @param y  the y-value.
+     *
+     * @return A boolean.
+     */
+    private static boolean touchesBounds(double[] bounds, double x,
+            double y) {
+        return x <= bounds[0] || x >= bounds[1] || y <= bounds[2]
+                || y >= bounds[3];
+    }
+
+    /**
+     * Returns the bounds after a y-value has been changed.
+     *
+     * @param s  the snapshot before the change.
+     * @param oldY  the old y-value.
+     * @param newY  the new y-value.
+     *
+     * @return The bounds, or <code>null</code> if they are not known.
+     */
+    private static double[] updatedBounds(XYSeriesSnapshot s, double oldY,
+            double newY) {
+        double[] bounds = s.getKnownBounds();
+        if (bounds == null || oldY <= bounds[2] || oldY >= bounds[3]) {
+            return null;
+        }
+        bounds = (double[]) bounds.clone();
+        include(bounds, Double.NaN, newY);
+        return bounds;
+    }
+
+}
@@ -0,0 +1,612 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ---------------------------------
+ * ConcurrentXYSeriesCollection.java
+ * ---------------------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.DomainOrder;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.general.Dataset;
+import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.general.SnapshotDataset;
+
+/**
+ * A collection of {@link ConcurrentXYSeries} objects that can be updated on
+ * one thread while it is read on others.  Each method reads the latest
+ * version of the series it needs; a reader that needs a consistent view
+ * across several calls either takes a snapshot with
+ * {@link #createSnapshot()}, or pins one with {@link #pinSnapshot()} so that
+ * the collection itself reads from it on that thread, which is what
+ * {@link org.afree.chart.plot.XYPlot} does for each frame it draws.  Taking
+ * a snapshot costs one small object per series and does not copy any items.
+ * <P>
+ * Changes to the series are not passed on to the collection's listeners on
+ * the thread that makes them, since the listeners (plots, axes and the chart)
+ * are not thread-safe.  Instead the collection records the changes and sends
+ * one {@link DatasetChangeEvent} for any number of them, either with the
+ * notify executor (see {@link #setNotifyExecutor(Executor)}), or when a plot
+ * that draws the collection calls {@link #firePendingChange()}.  Changes to
+ * one series are combined as
+ * {@link org.afree.data.general.Series#beginUpdate()} does, and the
+ * listeners read the version of the data that the event describes.
+ * A notify executor that runs tasks on the thread that draws the chart (for
+ * instance, one that posts to the UI thread's handler, or that calls
+ * <code>ChartRenderService.invokeUpdate()</code>) also makes the chart
+ * redraw itself when the data changes.
+ */
+public class ConcurrentXYSeriesCollection extends AbstractXYDataset
+        implements SnapshotDataset, DomainInfo, RangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -6105512733283014117L;
+
+    /** The series in the collection. */
+    private List<ConcurrentXYSeries> data;
+
+    /**
+     * The executor used to send change events (<code>null</code> permitted).
+     */
+    private transient volatile Executor notifyExecutor;
+
+    /**
+     * The change waiting to be sent (<code>null</code> if there is none).
+     * The source is the series that changed, or this collection if more
+     * than one series changed.
+     */
+    private transient SeriesChangeEvent pendingEvent;
+
+    /** The version of the series that the pending change describes. */
+    private transient XYSeriesSnapshot pendingVersion;
+
+    /** The snapshots pinned by the threads reading the collection. */
+    private transient ThreadLocal<PinnedSnapshot> pins;
+
+    /** The number of threads that have pinned a snapshot. */
+    private final AtomicInteger pinCount = new AtomicInteger();
+
+    /**
+     * Creates a new empty collection.
+     */
+    public ConcurrentXYSeriesCollection() {
+        this.data = new CopyOnWriteArrayList<ConcurrentXYSeries>();
+        this.pins = new ThreadLocal<PinnedSnapshot>();
+    }
+
+    /**
+     * Returns the executor used to send change events for changes to the
+     * series in the collection.
+     *
+     * @return The executor (possibly <code>null</code>).
+     *
+     * @see #setNotifyExecutor(Executor)
+     */
+    public Executor getNotifyExecutor() {
+        return this.notifyExecutor;
+    }
+
+    /**
+     * Sets the executor used to send change events for changes to the series
+     * in the collection.  The executor should run tasks on the thread that
+     * draws the chart.
+     *
+     * @param executor  the executor (<code>null</code> permitted, in which
+     *                  case changes are only picked up when a plot draws the
+     *                  collection).
+     *
+     * @see #getNotifyExecutor()
+     */
+    public void setNotifyExecutor(Executor executor) {
+        this.notifyExecutor = executor;
+    }
+
+    /**
+     * Adds a series to the collection and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     *
+     * @param series  the series (<code>null</code> not permitted).
+     */
+    public void addSeries(ConcurrentXYSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Null 'series' argument.");
+        }
+        this.data.add(series);
+        series.addChangeListener(this);
+        notifyListeners(new DatasetChangeEvent(this, this,
+                DatasetChangeType.SERIES_ADDED, this.data.size() - 1));
+    }
+
+    /**
+     * Removes a series from the collection and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series (<code>null</code> not permitted).
+     */
+    public void removeSeries(ConcurrentXYSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Null 'series' argument.");
+        }
+        int index = this.data.indexOf(series);
+        if (index >= 0) {
+            series.removeChangeListener(this);
+            this.data.remove(index);
+            notifyListeners(new DatasetChangeEvent(this, this,
+                    DatasetChangeType.SERIES_REMOVED, index));
+        }
+    }
+
+    /**
+     * Returns a series from the collection.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The series.
+     */
+    public ConcurrentXYSeries getSeries(int series) {
+        if ((series < 0) || (series >= getSeriesCount())) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return this.data.get(series);
+    }
+
+    /**
+     * Returns the number of series in the collection.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned.getSeriesCount();
+        }
+        return this.data.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key for the series.
+     */
+    public Comparable getSeriesKey(int series) {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned.getSeriesKey(series);
+        }
+        return getSeries(series).getKey();
+    }
+
+    /**
+     * Returns the order of the domain (x-) values in the dataset.
+     *
+     * @return The order (never <code>null</code>).
+     */
+    public DomainOrder getDomainOrder() {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned.getDomainOrder();
+        }
+        for (int i = 0; i < this.data.size(); i++) {
+            if (!this.data.get(i).getSnapshot().ascending) {
+                return DomainOrder.NONE;
+            }
+        }
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    public int getItemCount(int series) {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned.getItemCount(series);
+        }
+        return getSeries(series).getItemCount();
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int series, int item) {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned.getXValue(series, item);
+        }
+        return getSeries(series).getXValue(item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly Double.NaN).
+     */
+    public double getYValue(int series, int item) {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned.getYValue(series, item);
+        }
+        return getSeries(series).getYValue(item);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly <code>null</code>).
+     */
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns an immutable snapshot of the current contents of the
+     * collection.
+     *
+     * @return An {@link XYSnapshotDataset} (never <code>null</code>).
+     */
+    public Dataset createSnapshot() {
+        Object[] series = this.data.toArray();
+        Comparable[] keys = new Comparable[series.length];
+        XYSeriesSnapshot[] snapshots = new XYSeriesSnapshot[series.length];
+        for (int i = 0; i < series.length; i++) {
+            ConcurrentXYSeries s = (ConcurrentXYSeries) series[i];
+            keys[i] = s.getKey();
+            snapshots[i] = s.getSnapshot();
+        }
+        return new XYSnapshotDataset(keys, snapshots);
+    }
+
+    /**
+     * Takes a snapshot of the current contents of the collection and makes
+     * the collection read from it on the calling thread, until a matching
+     * call to {@link #releaseSnapshot()}.
+     */
+    public void pinSnapshot() {
+        pin(null);
+    }
+
+    /**
+     * Releases a snapshot pinned on the calling thread.
+     */
+    public void releaseSnapshot() {
+        PinnedSnapshot pin = this.pins.get();
+        if (pin == null) {
+            throw new IllegalStateException("No snapshot is pinned.");
+        }
+        pin.depth--;
+        if (pin.depth == 0) {
+            this.pins.remove();
+            this.pinCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Pins a snapshot on the calling thread, as for {@link #pinSnapshot()}.
+     *
+     * @param snapshot  the snapshot to pin (<code>null</code> for a snapshot
+     *                  of the current contents).  This is ignored if a
+     *                  snapshot is already pinned.
+     */
+    private void pin(XYSnapshotDataset snapshot) {
+        PinnedSnapshot pin = this.pins.get();
+        if (pin == null) {
+            if (snapshot == null) {
+                snapshot = (XYSnapshotDataset) createSnapshot();
+            }
+            pin = new PinnedSnapshot(snapshot);
+            this.pins.set(pin);
+            this.pinCount.incrementAndGet();
+        }
+        pin.depth++;
+    }
+
+    /**
+     * Returns the snapshot pinned on the calling thread.
+     *
+     * @return The snapshot (<code>null</code> if there is none).
+     */
+    private XYSnapshotDataset pinnedSnapshot() {
+        if (this.pinCount.get() == 0) {
+            // no thread has pinned a snapshot...
+            return null;
+        }
+        PinnedSnapshot pin = this.pins.get();
+        return pin != null ? pin.snapshot : null;
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        return snapshot().getDomainLowerBound(includeInterval);
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        return snapshot().getDomainUpperBound(includeInterval);
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        return snapshot().getDomainBounds(includeInterval);
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        return snapshot().getRangeLowerBound(includeInterval);
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        return snapshot().getRangeUpperBound(includeInterval);
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        return snapshot().getRangeBounds(includeInterval);
+    }
+
+    /**
+     * Sends a {@link DatasetChangeEvent} to all registered listeners if any
+     * of the series has changed since the last event was sent.  Call this
+     * method on the thread that draws the chart.
+     */
+    public void firePendingChange() {
+        SeriesChangeEvent event;
+        XYSeriesSnapshot version;
+        synchronized (this) {
+            event = this.pendingEvent;
+            version = this.pendingVersion;
+            this.pendingEvent = null;
+            this.pendingVersion = null;
+        }
+        if (event == null) {
+            return;
+        }
+        int series = this.data.indexOf(event.getSource());
+        if (series < 0 || event.getType() == DatasetChangeType.GENERAL) {
+            fireDatasetChanged();
+            return;
+        }
+        // the series may have changed again since, so the listeners read
+        // the version that the event describes...
+        XYSnapshotDataset snapshot = (XYSnapshotDataset) createSnapshot();
+        if (series < snapshot.getSeriesCount()) {
+            XYSeriesSnapshot[] snapshots
+                    = new XYSeriesSnapshot[snapshot.getSeriesCount()];
+            Comparable[] keys = new Comparable[snapshots.length];
+            for (int i = 0; i < snapshots.length; i++) {
+                keys[i] = snapshot.getSeriesKey(i);
+                snapshots[i] = snapshot.getSnapshot(i);
+            }
+            snapshots[series] = version;
+            snapshot = new XYSnapshotDataset(keys, snapshots);
+        }
+        pin(snapshot);
+        try {
+            notifyListeners(new DatasetChangeEvent(this, this, series,
+                    event));
+        }
+        finally {
+            releaseSnapshot();
+        }
+    }
+
+    /**
+     * Receives notification of a change to one of the series in the
+     * collection.  This is normally called on the thread that updates the
+     * series, so the change is only recorded here; the event for it is sent
+     * with the notify executor (if there is one), or by
+     * {@link #firePendingChange()}.
+     *
+     * @param event  information about the change.
+     */
+    public void seriesChanged(SeriesChangeEvent event) {
+        if (!recordChange(event)) {
+            // an event has already been requested for an earlier change...
+            return;
+        }
+        Executor executor = this.notifyExecutor;
+        if (executor != null) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    firePendingChange();
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns a snapshot of the collection, so that bounds are calculated
+     * from one consistent version of each series.
+     *
+     * @return The snapshot.
+     */
+    private XYSnapshotDataset snapshot() {
+        XYSnapshotDataset pinned = pinnedSnapshot();
+        if (pinned != null) {
+            return pinned;
+        }
+        return (XYSnapshotDataset) createSnapshot();
+    }
+
+    /**
+     * Records a change to one of the series, combining it with any change
+     * that has not been sent yet.
+     *
+     * @param event  the change.
+     *
+     * @return <code>true</code> if no change was waiting to be sent.
+     */
+    private synchronized boolean recordChange(SeriesChangeEvent event) {
+        Object source = event.getSource();
+        SeriesChangeEvent pending = this.pendingEvent;
+        if (pending == null) {
+            this.pendingEvent = event;
+        }
+        else if (pending.getSource() == source) {
+            this.pendingEvent = SeriesChangeEvent.combine(source, pending,
+                    event);
+        }
+        else {
+            this.pendingEvent = new SeriesChangeEvent(this);
+        }
+        // the change is made on this thread, just before the event...
+        if (source instanceof ConcurrentXYSeries) {
+            this.pendingVersion = ((ConcurrentXYSeries) source).getSnapshot();
+        }
+        return pending == null;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.pins = new ThreadLocal<PinnedSnapshot>();
+    }
+
+    /**
+     * A snapshot pinned by a thread, with the number of calls to
+     * {@link ConcurrentXYSeriesCollection#pinSnapshot()} that have not been
+     * released yet.
+     */
+    private static class PinnedSnapshot {
+
+        /** The snapshot. */
+        final XYSnapshotDataset snapshot;
+
+        /** The nesting depth. */
+        int depth;
+
+        /**
+         * Creates a new pinned snapshot.
+         *
+         * @param snapshot  the snapshot.
+         */
+        PinnedSnapshot(XYSnapshotDataset snapshot) {
+            this.snapshot = snapshot;
+        }
+
+    }
+
+}
@@ -67,14 +67,18 @@
 package org.afree.data.xy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.afree.data.DomainInfo;
 import org.afree.data.xy.IntervalXYDataset;
 import org.afree.data.Range;
 import org.afree.data.RangeInfo;
+import org.afree.data.ValuePyramid;
 import org.afree.data.xy.XYDataset;
 import org.afree.data.general.DatasetChangeEvent;
 import org.afree.data.general.DatasetChangeListener;
+import org.afree.data.general.DatasetChangeType;
 import org.afree.data.general.DatasetUtilities;
 
 
@@ -128,6 +132,20 @@ public class IntervalXYDelegate implements DatasetChangeListener,
      */
     private double autoIntervalWidth;
 
+    /**
+     * A flag indicating that the dataset has changed since the automatic
+     * interval width was last calculated.
+     */
+    private boolean autoIntervalWidthStale;
+
+    /**
+     * An index of the gaps between neighbouring x-values in each series,
+     * which is kept up to date as items are added and removed while the
+     * width is calculated automatically (<code>null</code> if it must be
+     * rebuilt).
+     */
+    private transient List<GapIndex> gaps;
+
     /**
      * Creates a new delegate that.
      *
@@ -178,8 +196,11 @@ public class IntervalXYDelegate implements DatasetChangeListener,
      */
     public void setAutoWidth(boolean b) {
         this.autoWidth = b;
+        // the gaps are not tracked while the width is fixed...
+        this.gaps = null;
         if (b) {
             this.autoIntervalWidth = recalculateInterval();
+            this.autoIntervalWidthStale = false;
         }
     }
 
@@ -242,6 +263,7 @@ public class IntervalXYDelegate implements DatasetChangeListener,
         }
         this.fixedIntervalWidth = w;
         this.autoWidth = false;
+        this.gaps = null;
     }
 
     /**
@@ -252,6 +274,10 @@ public class IntervalXYDelegate implements DatasetChangeListener,
      * @return The interval width to use.
      */
     public double getIntervalWidth() {
+        if (isAutoWidth() && this.autoIntervalWidthStale) {
+            this.autoIntervalWidth = recalculateInterval();
+            this.autoIntervalWidthStale = false;
+        }
         if (isAutoWidth() && !Double.isInfinite(this.autoIntervalWidth)) {
             // everything is fine: autoWidth is on, and an autoIntervalWidth
             // was set.
@@ -390,56 +416,175 @@ public class IntervalXYDelegate implements DatasetChangeListener,
     }
 
     /**
-     * Handles events from the dataset by recalculating the interval if
-     * necessary.
+     * Handles events from the dataset by updating the index of the gaps
+     * between the x-values.  Items appended to a series, or removed from
+     * its start, update the index in <code>O(log n)</code> time; any other
+     * change to the x-values rebuilds the index of the series (or, for a
+     * general change, of every series) when the width is next needed.
      *
      * @param e  the event.
      */
     public void datasetChanged(DatasetChangeEvent e) {
-        // TODO: by coding the event with some information about what changed
-        // in the dataset, we could make the recalculation of the interval
-        // more efficient in some cases (for instance, if the change is
-        // just an update to a y-value, then the x-interval doesn't need
-        // updating)...
-        if (this.autoWidth) {
-            this.autoIntervalWidth = recalculateInterval();
+        if (!this.autoWidth) {
+            return;
+        }
+        DatasetChangeType type = e.getType();
+        if (type == DatasetChangeType.ITEMS_CHANGED) {
+            // only the y-values have changed...
+            return;
+        }
+        this.autoIntervalWidthStale = true;
+        if (this.gaps == null) {
+            return;
+        }
+        int series = e.getSeriesIndex();
+        int seriesCount = this.dataset.getSeriesCount();
+        if (type == DatasetChangeType.SERIES_ADDED && series >= 0
+                && series <= this.gaps.size()) {
+            this.gaps.add(series, new GapIndex(series));
+            renumberGaps(series + 1);
+        }
+        else if (type == DatasetChangeType.SERIES_REMOVED && series >= 0
+                && series < this.gaps.size()) {
+            this.gaps.remove(series);
+            renumberGaps(series);
+        }
+        else if (type == DatasetChangeType.ITEMS_ADDED && series >= 0
+                && series < this.gaps.size()) {
+            int itemCount = this.dataset.getItemCount(series);
+            int added = e.getLastItem() - e.getFirstItem() + 1;
+            int removed = e.getItemsRemovedFromHead();
+            // the number of items that were in the series before the change
+            // and are still there...
+            int kept = itemCount - added;
+            ValuePyramid pyramid = this.gaps.get(series).pyramid;
+            if (e.getLastItem() == itemCount - 1 && kept >= 0) {
+                pyramid.itemsRemovedFromStart(gapCount(kept + removed)
+                        - gapCount(kept));
+                for (int i = gapCount(kept); i < gapCount(itemCount); i++) {
+                    pyramid.itemAppended();
+                }
+            }
+            else {
+                pyramid.invalidate();
+            }
+        }
+        else if (type == DatasetChangeType.ITEMS_REMOVED && series >= 0
+                && series < this.gaps.size()) {
+            ValuePyramid pyramid = this.gaps.get(series).pyramid;
+            if (e.getFirstItem() == 0) {
+                int itemCount = this.dataset.getItemCount(series);
+                int removed = e.getLastItem() + 1;
+                pyramid.itemsRemovedFromStart(gapCount(itemCount + removed)
+                        - gapCount(itemCount));
+            }
+            else {
+                pyramid.invalidate();
+            }
+        }
+        else {
+            this.gaps = null;
+        }
+        if (this.gaps != null && this.gaps.size() != seriesCount) {
+            this.gaps = null;
         }
     }
 
     /**
-     * Recalculate the minimum width "from scratch".
+     * Recalculate the minimum width from the index of the gaps between the
+     * x-values, building the index first if necessary.
      *
      * @return The minimum width.
      */
     private double recalculateInterval() {
+        if (this.gaps == null) {
+            int seriesCount = this.dataset.getSeriesCount();
+            this.gaps = new ArrayList<GapIndex>(seriesCount);
+            for (int series = 0; series < seriesCount; series++) {
+                this.gaps.add(new GapIndex(series));
+            }
+        }
         double result = Double.POSITIVE_INFINITY;
-        int seriesCount = this.dataset.getSeriesCount();
-        for (int series = 0; series < seriesCount; series++) {
-            result = Math.min(result, calculateIntervalForSeries(series));
+        for (int series = 0; series < this.gaps.size(); series++) {
+            ValuePyramid pyramid = this.gaps.get(series).pyramid;
+            Range range = pyramid.getRange(0, pyramid.getItemCount() - 1);
+            if (range != null) {
+                result = Math.min(result, range.getLowerBound());
+            }
         }
         return result;
     }
 
     /**
-     * Calculates the interval width for a given series.
+     * Updates the series indices of the gap indices, starting from the
+     * specified position in the list.
      *
-     * @param series  the series index.
+     * @param start  the position.
+     */
+    private void renumberGaps(int start) {
+        for (int series = start; series < this.gaps.size(); series++) {
+            this.gaps.get(series).series = series;
+        }
+    }
+
+    /**
+     * Returns the number of gaps between a number of items.
+     *
+     * @param itemCount  the item count.
      *
-     * @return The interval width.
+     * @return The gap count.
      */
-    private double calculateIntervalForSeries(int series) {
-        double result = Double.POSITIVE_INFINITY;
-        int itemCount = this.dataset.getItemCount(series);
-        if (itemCount > 1) {
-            double prev = this.dataset.getXValue(series, 0);
-            for (int item = 1; item < itemCount; item++) {
-                double x = this.dataset.getXValue(series, item);
-                result = Math.min(result, x - prev);
-                prev = x;
-            }
+    private static int gapCount(int itemCount) {
+        return Math.max(itemCount - 1, 0);
+    }
+
+    /**
+     * The gaps between neighbouring x-values in one series, with an index
+     * that gives the smallest gap in <code>O(log n)</code> time.  Gap
+     * <code>i</code> is the one between items <code>i</code> and
+     * <code>i + 1</code>.
+     */
+    private class GapIndex implements ValuePyramid.Source {
+
+        /** The series index. */
+        int series;
+
+        /** The index of the gaps. */
+        final ValuePyramid pyramid;
+
+        /**
+         * Creates a new index for a series.
+         *
+         * @param series  the series index.
+         */
+        GapIndex(int series) {
+            this.series = series;
+            this.pyramid = new ValuePyramid(this);
         }
-        return result;
+
+        /**
+         * Returns the number of gaps.
+         *
+         * @return The gap count.
+         */
+        public int getItemCount() {
+            return gapCount(IntervalXYDelegate.this.dataset.getItemCount(
+                    this.series));
+        }
+
+        /**
+         * Returns a gap.
+         *
+         * @param index  the gap index.
+         *
+         * @return The gap.
+         */
+        public double getValue(int index) {
+            XYDataset d = IntervalXYDelegate.this.dataset;
+            return d.getXValue(this.series, index + 1)
+                    - d.getXValue(this.series, index);
+        }
+
     }
 
-   
 }
@@ -0,0 +1,939 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * PrimitiveXYSeries.java
+ * ----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.afree.data.Range;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.general.SeriesException;
+
+/**
+ * An {@link XYSeries} that stores its data in two growable
+ * <code>double[]</code> arrays rather than a list of {@link XYDataItem}
+ * objects.  This keeps the memory footprint to 16 bytes per item and avoids
+ * creating garbage when large numbers of items are added, which matters for
+ * series with many thousands of points.
+ * <P>
+ * The series behaves in the same way as {@link XYSeries} (sorting, duplicate
+ * x-values, maximum item count and the cached bounds).  A <code>null</code>
+ * y-value is stored as <code>Double.NaN</code> and is reported back as
+ * <code>null</code> by {@link #getY(int)}.  Since the items are not stored as
+ * objects, {@link #getDataItem(int)} and {@link #getItems()} return new
+ * {@link XYDataItem} instances; changing them does not change the series.
+ */
+public class PrimitiveXYSeries extends XYSeries {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4390637581640893412L;
+
+    /** The initial capacity of the value arrays. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The x-values. */
+    private double[] xValues;
+
+    /** The y-values (Double.NaN for missing values). */
+    private double[] yValues;
+
+    /**
+     * The array index of the first item.  Items removed from the start of
+     * the series just advance this offset, so that a series used as a
+     * sliding window (see {@link #setMaximumItemCount(int)}) does not shift
+     * its arrays on every add.
+     */
+    private int offset;
+
+    /** The number of items in the series. */
+    private int itemCount;
+
+    /** The lowest x-value in the series, excluding Double.NaN values. */
+    private double minX;
+
+    /** The highest x-value in the series, excluding Double.NaN values. */
+    private double maxX;
+
+    /** The lowest y-value in the series, excluding Double.NaN values. */
+    private double minY;
+
+    /** The highest y-value in the series, excluding Double.NaN values. */
+    private double maxY;
+
+    /**
+     * Creates a new empty series.  By default, items added to the series will
+     * be sorted into ascending order by x-value, and duplicate x-values will
+     * be allowed.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     */
+    public PrimitiveXYSeries(Comparable key) {
+        this(key, true, true);
+    }
+
+    /**
+     * Constructs a new empty series, with the auto-sort flag set as requested,
+     * and duplicate values allowed.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     */
+    public PrimitiveXYSeries(Comparable key, boolean autoSort) {
+        this(key, autoSort, true);
+    }
+
+    /**
+     * Constructs a new series that contains no data.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     */
+    public PrimitiveXYSeries(Comparable key, boolean autoSort,
+            boolean allowDuplicateXValues) {
+        this(key, autoSort, allowDuplicateXValues, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new series that contains no data, with storage
+     * pre-allocated for the specified number of items.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    public PrimitiveXYSeries(Comparable key, boolean autoSort,
+            boolean allowDuplicateXValues, int initialCapacity) {
+        super(key, autoSort, allowDuplicateXValues);
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'initialCapacity' > 0.");
+        }
+        this.xValues = new double[initialCapacity];
+        this.yValues = new double[initialCapacity];
+        this.offset = 0;
+        this.itemCount = 0;
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+    }
+
+    /**
+     * Returns the smallest x-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The smallest x-value.
+     */
+    public double getMinX() {
+        return this.minX;
+    }
+
+    /**
+     * Returns the largest x-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The largest x-value.
+     */
+    public double getMaxX() {
+        return this.maxX;
+    }
+
+    /**
+     * Returns the smallest y-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The smallest y-value.
+     */
+    public double getMinY() {
+        return this.minY;
+    }
+
+    /**
+     * Returns the largest y-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The largest y-value.
+     */
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Returns the number of items in the series.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns a list of newly created {@link XYDataItem} objects for the
+     * items in the series.  The list is unmodifiable.
+     *
+     * @return The list of data items.
+     */
+    public List getItems() {
+        List result = new ArrayList(this.itemCount);
+        for (int i = 0; i < this.itemCount; i++) {
+            result.add(getDataItem(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Sets the maximum number of items that will be retained in the series,
+     * removing items from the start of the series (and sending a
+     * {@link SeriesChangeEvent} to all registered listeners) if necessary.
+     *
+     * @param maximum  the maximum number of items for the series.
+     */
+    public void setMaximumItemCount(int maximum) {
+        super.setMaximumItemCount(maximum);
+        int remove = this.itemCount - maximum;
+        if (remove > 0) {
+            removeRange(0, remove);
+            updatePyramidForRemovedItems(0, remove);
+            findBounds();
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, remove - 1);
+        }
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param item  the (x, y) item (<code>null</code> not permitted).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(XYDataItem item, boolean notify) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null 'item' argument.");
+        }
+        add(item.getXValue(), item.getYValue(), notify);
+    }
+
+    /**
+     * Adds new data to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     * @param notify  a flag the controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(Number x, Number y, boolean notify) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        add(x.doubleValue(), toDouble(y), notify);
+    }
+
+    /**
+     * Adds a data item to the series and sends a {@link SeriesChangeEvent} to
+     * all registered listeners.
+     *
+     * @param x  the x value.
+     * @param y  the y value (Double.NaN for a missing value).
+     */
+    public void add(double x, double y) {
+        add(x, y, true);
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.  This method
+     * does not create any objects unless the value arrays need to grow.
+     *
+     * @param x  the x value.
+     * @param y  the y value (Double.NaN for a missing value).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if the x-value is a duplicate and the
+     *     <code>allowDuplicateXValues</code> flag is not set for this series.
+     */
+    public void add(double x, double y, boolean notify) {
+        if (!getAllowDuplicateXValues() && indexOf(x) >= 0) {
+            throw new SeriesException("X-value already exists.");
+        }
+        // for a sorted series, insert *after* any duplicates (as XYSeries
+        // does)...
+        int index = getAutoSort() ? upperBound(x) : this.itemCount;
+        int count = this.itemCount;
+        int added = insert(index, x, y);
+        if (notify) {
+            fireItemAdded(added, count + 1 - this.itemCount);
+        }
+    }
+
+    /**
+     * Sends a {@link SeriesChangeEvent} for an item added to the series.
+     *
+     * @param index  the index of the new item (negative if the new item was
+     *               itself removed to keep within the maximum item count).
+     * @param removedFromHead  the number of items removed from the start of
+     *                         the series.
+     */
+    private void fireItemAdded(int index, int removedFromHead) {
+        if (index >= 0) {
+            fireSeriesChanged(DatasetChangeType.ITEMS_ADDED, index, index,
+                    removedFromHead);
+        }
+        else {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Deletes a range of items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param start  the start index (zero-based).
+     * @param end  the end index (zero-based).
+     */
+    public void delete(int start, int end) {
+        if (start < 0 || end >= this.itemCount || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start
+                    + " to " + end);
+        }
+        removeRange(start, end + 1);
+        updatePyramidForRemovedItems(start, end - start + 1);
+        findBounds();
+        fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, start, end);
+    }
+
+    /**
+     * Removes the item at the specified index and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the index.
+     *
+     * @return The item removed.
+     */
+    public XYDataItem remove(int index) {
+        XYDataItem removed = getDataItem(index);
+        removeAt(index);
+        fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, index, index);
+        return removed;
+    }
+
+    /**
+     * Removes all data items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     */
+    public void clear() {
+        int count = this.itemCount;
+        if (count > 0) {
+            this.offset = 0;
+            this.itemCount = 0;
+            if (this.pyramid != null) {
+                this.pyramid.invalidate();
+            }
+            this.minX = Double.NaN;
+            this.maxX = Double.NaN;
+            this.minY = Double.NaN;
+            this.maxY = Double.NaN;
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, count - 1);
+        }
+    }
+
+    /**
+     * Returns a new data item for the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return A new data item.
+     */
+    public XYDataItem getDataItem(int index) {
+        checkIndex(index);
+        return new XYDataItem(new Double(getXValue(index)), getY(index));
+    }
+
+    /**
+     * Returns the x-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value (never <code>null</code>).
+     */
+    public Number getX(int index) {
+        return new Double(getXValue(index));
+    }
+
+    /**
+     * Returns the y-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (possibly <code>null</code>).
+     */
+    public Number getY(int index) {
+        double y = getYValue(index);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns the x-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int index) {
+        checkIndex(index);
+        return this.xValues[this.offset + index];
+    }
+
+    /**
+     * Returns the y-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (possibly Double.NaN).
+     */
+    public double getYValue(int index) {
+        checkIndex(index);
+        return this.yValues[this.offset + index];
+    }
+
+    /**
+     * Updates the value of an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the item (zero based index).
+     * @param y  the new value (<code>null</code> permitted).
+     *
+     * @deprecated Renamed {@link #updateByIndex(int, Number)} to avoid
+     *         confusion with the {@link #update(Number, Number)} method.
+     */
+    public void update(int index, Number y) {
+        checkIndex(index);
+        updateY(index, toDouble(y));
+        fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
+    }
+
+    /**
+     * Adds or updates an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     *
+     * @return The item that was overwritten, if any.
+     */
+    public XYDataItem addOrUpdate(double x, double y) {
+        if (getAllowDuplicateXValues()) {
+            add(x, y, true);
+            return null;
+        }
+        XYDataItem overwritten = null;
+        int index = indexOf(x);
+        if (index >= 0) {
+            overwritten = getDataItem(index);
+            updateY(index, y);
+            fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
+        }
+        else {
+            int count = this.itemCount;
+            int added = insert(getAutoSort() ? -index - 1 : this.itemCount,
+                    x, y);
+            fireItemAdded(added, count + 1 - this.itemCount);
+        }
+        return overwritten;
+    }
+
+    /**
+     * Adds or updates an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     *
+     * @return A copy of the overwritten data item, or <code>null</code> if no
+     *         item was overwritten.
+     */
+    public XYDataItem addOrUpdate(Number x, Number y) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        return addOrUpdate(x.doubleValue(), toDouble(y));
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     *
+     * @return The index.
+     */
+    public int indexOf(Number x) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        return indexOf(x.doubleValue());
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.  For a
+     * sorted series the negative index encodes the insertion point in the
+     * same way as <code>Arrays.binarySearch()</code>.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    public int indexOf(double x) {
+        if (getAutoSort()) {
+            int low = lowerBound(x);
+            if (low < this.itemCount
+                    && this.xValues[this.offset + low] == x) {
+                return low;
+            }
+            return -low - 1;
+        }
+        for (int i = 0; i < this.itemCount; i++) {
+            if (this.xValues[this.offset + i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new array containing the x and y values from this series.
+     *
+     * @return A new array containing the x and y values from this series.
+     */
+    public double[][] toArray() {
+        double[][] result = new double[2][];
+        result[0] = new double[this.itemCount];
+        result[1] = new double[this.itemCount];
+        System.arraycopy(this.xValues, this.offset, result[0], 0,
+                this.itemCount);
+        System.arraycopy(this.yValues, this.offset, result[1], 0,
+                this.itemCount);
+        return result;
+    }
+
+    /**
+     * Creates a new series by copying a subset of the data in this series.
+     *
+     * @param start  the index of the first item to copy.
+     * @param end  the index of the last item to copy.
+     *
+     * @return A series containing a copy of this series from start until end.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public XYSeries createCopy(int start, int end)
+            throws CloneNotSupportedException {
+        PrimitiveXYSeries copy = (PrimitiveXYSeries) clone();
+        int count = this.itemCount > 0 ? Math.max(end - start + 1, 0) : 0;
+        copy.xValues = new double[Math.max(count, 1)];
+        copy.yValues = new double[Math.max(count, 1)];
+        if (count > 0) {
+            System.arraycopy(this.xValues, this.offset + start,
+                    copy.xValues, 0, count);
+            System.arraycopy(this.yValues, this.offset + start,
+                    copy.yValues, 0, count);
+        }
+        copy.offset = 0;
+        copy.itemCount = count;
+        copy.pyramid = null;
+        copy.findBounds();
+        return copy;
+    }
+
+    /**
+     * Returns a clone of the series.
+     *
+     * @return A clone of the series.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        PrimitiveXYSeries clone = (PrimitiveXYSeries) super.clone();
+        clone.xValues = (double[]) this.xValues.clone();
+        clone.yValues = (double[]) this.yValues.clone();
+        return clone;
+    }
+
+    /**
+     * Inserts an item at the specified index, updates the cached bounds and
+     * enforces the maximum item count.  No event is sent.
+     *
+     * @param index  the index.
+     * @param x  the x-value.
+     * @param y  the y-value.
+     *
+     * @return The index of the new item once the maximum item count has been
+     *         enforced (negative if the new item was itself removed).
+     */
+    private int insert(int index, double x, double y) {
+        ensureCapacity(this.itemCount + 1);
+        int i = this.offset + index;
+        if (index < this.itemCount) {
+            System.arraycopy(this.xValues, i, this.xValues, i + 1,
+                    this.itemCount - index);
+            System.arraycopy(this.yValues, i, this.yValues, i + 1,
+                    this.itemCount - index);
+        }
+        this.xValues[i] = x;
+        this.yValues[i] = y;
+        this.itemCount++;
+        updateBoundsForAddedItem(x, y);
+        if (this.pyramid != null) {
+            if (index == this.itemCount - 1) {
+                this.pyramid.itemAppended();
+            }
+            else {
+                this.pyramid.invalidate();
+            }
+        }
+        if (this.itemCount > getMaximumItemCount()) {
+            removeAt(0);
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Removes the item at the specified index and updates the cached bounds.
+     * No event is sent.
+     *
+     * @param index  the index.
+     */
+    private void removeAt(int index) {
+        checkIndex(index);
+        double x = this.xValues[this.offset + index];
+        double y = this.yValues[this.offset + index];
+        removeRange(index, index + 1);
+        updatePyramidForRemovedItems(index, 1);
+        updateBoundsForRemovedItem(x, y);
+    }
+
+    /**
+     * Removes the items from <code>start</code> (inclusive) to
+     * <code>end</code> (exclusive), without updating the cached bounds.
+     * Removing from the start of the series is a constant time operation.
+     *
+     * @param start  the start index.
+     * @param end  the end index.
+     */
+    private void removeRange(int start, int end) {
+        if (start == 0) {
+            this.offset += end;
+        }
+        else {
+            int tail = this.itemCount - end;
+            if (tail > 0) {
+                System.arraycopy(this.xValues, this.offset + end,
+                        this.xValues, this.offset + start, tail);
+                System.arraycopy(this.yValues, this.offset + end,
+                        this.yValues, this.offset + start, tail);
+            }
+        }
+        this.itemCount -= end - start;
+        if (this.itemCount == 0) {
+            this.offset = 0;
+        }
+    }
+
+    /**
+     * Sets the y-value for an item and updates the cached bounds.
+     *
+     * @param index  the index.
+     * @param y  the new y-value.
+     */
+    private void updateY(int index, double y) {
+        double oldY = this.yValues[this.offset + index];
+        this.yValues[this.offset + index] = y;
+        if (this.pyramid != null) {
+            this.pyramid.itemChanged(index);
+        }
+        if (!Double.isNaN(oldY) && (oldY <= this.minY || oldY >= this.maxY)) {
+            findBounds();
+        }
+        else {
+            this.minY = minIgnoreNaN(this.minY, y);
+            this.maxY = maxIgnoreNaN(this.maxY, y);
+        }
+    }
+
+    /**
+     * Returns the index of the first item with an x-value greater than or
+     * equal to <code>x</code> (the series must be sorted).
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    private int lowerBound(double x) {
+        int low = 0;
+        int high = this.itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.xValues[this.offset + mid] < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first item with an x-value greater than
+     * <code>x</code> (the series must be sorted).
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    private int upperBound(double x) {
+        // fast path for the common case of appending in x order
+        if (this.itemCount == 0
+                || this.xValues[this.offset + this.itemCount - 1] <= x) {
+            return this.itemCount;
+        }
+        int low = 0;
+        int high = this.itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.xValues[this.offset + mid] <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Makes room, if necessary, for the specified number of items after the
+     * current offset.  If at least half of the arrays is free space at the
+     * start (left behind by items removed from the start of the series), the
+     * items are moved back to the start of the arrays, otherwise the arrays
+     * are grown.  Either way the cost is amortised over the adds that led
+     * up to it.
+     *
+     * @param capacity  the required capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        int length = this.xValues.length;
+        if (this.offset + capacity <= length) {
+            return;
+        }
+        if (capacity <= length / 2) {
+            System.arraycopy(this.xValues, this.offset, this.xValues, 0,
+                    this.itemCount);
+            System.arraycopy(this.yValues, this.offset, this.yValues, 0,
+                    this.itemCount);
+        }
+        else {
+            int newCapacity = Math.max(capacity, length * 2);
+            double[] x = new double[newCapacity];
+            double[] y = new double[newCapacity];
+            System.arraycopy(this.xValues, this.offset, x, 0, this.itemCount);
+            System.arraycopy(this.yValues, this.offset, y, 0, this.itemCount);
+            this.xValues = x;
+            this.yValues = y;
+        }
+        this.offset = 0;
+    }
+
+    /**
+     * Checks that an item index is valid.
+     *
+     * @param index  the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.itemCount) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.itemCount);
+        }
+    }
+
+    /**
+     * Updates the cached bounds for an added item.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void updateBoundsForAddedItem(double x, double y) {
+        this.minX = minIgnoreNaN(this.minX, x);
+        this.maxX = maxIgnoreNaN(this.maxX, x);
+        this.minY = minIgnoreNaN(this.minY, y);
+        this.maxY = maxIgnoreNaN(this.maxY, y);
+    }
+
+    /**
+     * Updates the cached bounds on the basis that the specified item has just
+     * been removed.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void updateBoundsForRemovedItem(double x, double y) {
+        boolean itemContributesToXBounds = !Double.isNaN(x)
+                && (x <= this.minX || x >= this.maxX);
+        boolean itemContributesToYBounds = !Double.isNaN(y)
+                && (y <= this.minY || y >= this.maxY);
+        if (itemContributesToYBounds) {
+            findBounds();
+        }
+        else if (itemContributesToXBounds) {
+            findXBounds();
+        }
+    }
+
+    /**
+     * Finds the bounds of the x and y values for the series.  The y-bounds
+     * are read from the level-of-detail index if the series has one,
+     * otherwise the y-values are examined.
+     */
+    private void findBounds() {
+        findXBounds();
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+        if (this.itemCount == 0) {
+            return;
+        }
+        if (this.pyramid != null) {
+            Range r = this.pyramid.getRange(0, this.itemCount - 1);
+            if (r != null) {
+                this.minY = r.getLowerBound();
+                this.maxY = r.getUpperBound();
+            }
+        }
+        else {
+            int end = this.offset + this.itemCount;
+            for (int i = this.offset; i < end; i++) {
+                this.minY = minIgnoreNaN(this.minY, this.yValues[i]);
+                this.maxY = maxIgnoreNaN(this.maxY, this.yValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the bounds of the x-values for the series.
+     */
+    private void findXBounds() {
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        if (this.itemCount == 0) {
+            return;
+        }
+        if (getAutoSort()) {
+            this.minX = this.xValues[this.offset];
+            this.maxX = this.xValues[this.offset + this.itemCount - 1];
+        }
+        else {
+            for (int i = 0; i < this.itemCount; i++) {
+                double x = this.xValues[this.offset + i];
+                this.minX = minIgnoreNaN(this.minX, x);
+                this.maxX = maxIgnoreNaN(this.maxX, x);
+            }
+        }
+    }
+
+    /**
+     * Returns the minimum of two values, ignoring any Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The minimum of the two values.
+     */
+    private static double minIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        return Double.isNaN(b) ? a : Math.min(a, b);
+    }
+
+    /**
+     * Returns the maximum of two values, ignoring any Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The maximum of the two values.
+     */
+    private static double maxIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        return Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
+    /**
+     * Converts a (possibly <code>null</code>) y-value to a double.
+     *
+     * @param y  the y-value (<code>null</code> permitted).
+     *
+     * @return The value, or Double.NaN for <code>null</code>.
+     */
+    private static double toDouble(Number y) {
+        return y == null ? Double.NaN : y.doubleValue();
+    }
+
+}
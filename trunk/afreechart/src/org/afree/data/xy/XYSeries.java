@@ -96,9 +96,13 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.afree.data.Range;
+import org.afree.data.ValuePyramid;
+import org.afree.data.general.DatasetChangeType;
 import org.afree.data.general.Series;
 import org.afree.data.general.SeriesChangeEvent;
 import org.afree.data.general.SeriesException;
+import org.afree.util.CircularList;
 
 
 
@@ -145,6 +149,13 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     /** The highest y-value in the series, excluding Double.NaN values. */
     private double maxY;
 
+    /**
+     * The level-of-detail index for the y-values (<code>null</code> until
+     * it is first requested).  Subclasses that maintain their own storage
+     * must keep this up to date.
+     */
+    protected transient ValuePyramid pyramid;
+
     /**
      * Creates a new empty series.  By default, items added to the series will
      * be sorted into ascending order by x-value, and duplicate x-values will
@@ -181,7 +192,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public XYSeries(Comparable key, boolean autoSort,
             boolean allowDuplicateXValues) {
         super(key);
-        this.data = new java.util.ArrayList();
+        this.data = new CircularList();
         this.autoSort = autoSort;
         this.allowDuplicateXValues = allowDuplicateXValues;
         this.minX = Double.NaN;
@@ -294,37 +305,97 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             }
         }
         if (itemContributesToYBounds) {
-            findBoundsByIteration();
+            // a series used as a sliding window removes items like this all
+            // the time, so read the bounds from the level-of-detail index,
+            // which is then maintained as the items come and go...
+            getValuePyramid();
+            findBounds();
         }
         else if (itemContributesToXBounds) {
-            if (getAutoSort()) {
-                this.minX = getX(0).doubleValue();
-                this.maxX = getX(getItemCount() - 1).doubleValue();
+            findXBounds();
+        }
+    }
+
+    /**
+     * Finds the bounds of the x and y values for the series.  If the series
+     * has a level-of-detail index (see {@link #getValuePyramid()}), the
+     * y-bounds are read from it, otherwise the data items are examined.  The
+     * index must be up to date with the data list when this method is
+     * called.
+     */
+    private void findBounds() {
+        findXBounds();
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+        int count = this.data.size();
+        if (count == 0) {
+            return;
+        }
+        if (this.pyramid != null) {
+            Range r = this.pyramid.getRange(0, count - 1);
+            if (r != null) {
+                this.minY = r.getLowerBound();
+                this.maxY = r.getUpperBound();
             }
-            else {
-                findBoundsByIteration();
+        }
+        else {
+            for (int i = 0; i < count; i++) {
+                double y = getYValue(i);
+                this.minY = minIgnoreNaN(this.minY, y);
+                this.maxY = maxIgnoreNaN(this.maxY, y);
             }
         }
     }
 
     /**
-     * Finds the bounds of the x and y values for the series, by iterating
-     * through all the data items.
-     *
-     * @since JFreeChart 1.0.13
+     * Finds the bounds of the x-values for the series.  For a sorted series
+     * these are the x-values of the first and last items, otherwise all the
+     * data items are examined.
      */
-    private void findBoundsByIteration() {
+    private void findXBounds() {
         this.minX = Double.NaN;
         this.maxX = Double.NaN;
-        this.minY = Double.NaN;
-        this.maxY = Double.NaN;
-        Iterator iterator = this.data.iterator();
-        while (iterator.hasNext()) {
-            XYDataItem item = (XYDataItem) iterator.next();
-            updateBoundsForAddedItem(item);
+        int count = this.data.size();
+        if (count == 0) {
+            return;
+        }
+        if (getAutoSort()) {
+            this.minX = getXValue(0);
+            this.maxX = getXValue(count - 1);
+        }
+        else {
+            Iterator iterator = this.data.iterator();
+            while (iterator.hasNext()) {
+                XYDataItem item = (XYDataItem) iterator.next();
+                double x = item.getXValue();
+                this.minX = minIgnoreNaN(this.minX, x);
+                this.maxX = maxIgnoreNaN(this.maxX, x);
+            }
         }
     }
 
+    /**
+     * Returns the level-of-detail index for the y-values in the series,
+     * creating it if necessary.  Once created, the index is maintained
+     * incrementally as items are appended to the series, removed from the
+     * start of the series or updated.
+     *
+     * @return The index (never <code>null</code>).
+     */
+    public ValuePyramid getValuePyramid() {
+        if (this.pyramid == null) {
+            this.pyramid = new ValuePyramid(new ValuePyramid.Source() {
+                public int getItemCount() {
+                    return XYSeries.this.getItemCount();
+                }
+                public double getValue(int index) {
+                    return getYValue(index);
+                }
+            });
+        }
+        return this.pyramid;
+    }
+
     /**
      * Returns the flag that controls whether the items in the series are
      * automatically sorted.  There is no setter for this flag, it must be
@@ -384,7 +455,9 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      * If you add a new item to the series such that the number of items will
      * exceed the maximum item count, then the first element in the series is
      * automatically removed, ensuring that the maximum item count is not
-     * exceeded.
+     * exceeded.  The items are held in a {@link CircularList}, so removing
+     * the first item takes constant time and the series can be used as a
+     * sliding window over a large number of items.
      * <p>
      * Typically this value is set before the series is populated with data,
      * but if it is applied later, it may cause some items to be removed from
@@ -398,8 +471,11 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         int remove = this.data.size() - maximum;
         if (remove > 0) {
             this.data.subList(0, remove).clear();
-            findBoundsByIteration();
-            fireSeriesChanged();
+            if (this.pyramid != null) {
+                this.pyramid.itemsRemovedFromStart(remove);
+            }
+            findBounds();
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, remove - 1);
         }
     }
 
@@ -517,10 +593,12 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         if (item == null) {
             throw new IllegalArgumentException("Null 'item' argument.");
         }
+        int added;
         if (this.autoSort) {
             int index = Collections.binarySearch(this.data, item);
             if (index < 0) {
-                this.data.add(-index - 1, item);
+                added = -index - 1;
+                this.data.add(added, item);
             }
             else {
                 if (this.allowDuplicateXValues) {
@@ -536,6 +614,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                     else {
                         this.data.add(item);
                     }
+                    added = index;
                 }
                 else {
                     throw new SeriesException("X-value already exists.");
@@ -552,13 +631,39 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                 }
             }
             this.data.add(item);
+            added = this.data.size() - 1;
         }
         updateBoundsForAddedItem(item);
+        updatePyramidForAddedItem(item);
+        int removedFromHead = 0;
         if (getItemCount() > this.maximumItemCount) {
             XYDataItem removed = (XYDataItem) this.data.remove(0);
+            if (this.pyramid != null) {
+                this.pyramid.itemsRemovedFromStart(1);
+            }
             updateBoundsForRemovedItem(removed);
+            removedFromHead = 1;
+            added--;
         }
         if (notify) {
+            fireItemAdded(added, removedFromHead);
+        }
+    }
+
+    /**
+     * Sends a {@link SeriesChangeEvent} for an item added to the series.
+     *
+     * @param index  the index of the new item (negative if the new item was
+     *               itself removed to keep within the maximum item count).
+     * @param removedFromHead  the number of items removed from the start of
+     *                         the series.
+     */
+    private void fireItemAdded(int index, int removedFromHead) {
+        if (index >= 0) {
+            fireSeriesChanged(DatasetChangeType.ITEMS_ADDED, index, index,
+                    removedFromHead);
+        }
+        else {
             fireSeriesChanged();
         }
     }
@@ -572,8 +677,9 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      */
     public void delete(int start, int end) {
         this.data.subList(start, end + 1).clear();
-        findBoundsByIteration();
-        fireSeriesChanged();
+        updatePyramidForRemovedItems(start, end - start + 1);
+        findBounds();
+        fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, start, end);
     }
 
     /**
@@ -586,8 +692,9 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      */
     public XYDataItem remove(int index) {
         XYDataItem removed = (XYDataItem) this.data.remove(index);
+        updatePyramidForRemovedItems(index, 1);
         updateBoundsForRemovedItem(removed);
-        fireSeriesChanged();
+        fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, index, index);
         return removed;
     }
 
@@ -610,13 +717,17 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
+        int count = this.data.size();
+        if (count > 0) {
             this.data.clear();
+            if (this.pyramid != null) {
+                this.pyramid.invalidate();
+            }
             this.minX = Double.NaN;
             this.maxX = Double.NaN;
             this.minY = Double.NaN;
             this.maxY = Double.NaN;
-            fireSeriesChanged();
+            fireSeriesChanged(DatasetChangeType.ITEMS_REMOVED, 0, count - 1);
         }
     }
 
@@ -653,6 +764,32 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return getDataItem(index).getY();
     }
 
+    /**
+     * Returns the x-value at the specified index as a double primitive.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     *
+     * @see #getX(int)
+     */
+    public double getXValue(int index) {
+        return getDataItem(index).getXValue();
+    }
+
+    /**
+     * Returns the y-value at the specified index as a double primitive.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (Double.NaN for a <code>null</code> value).
+     *
+     * @see #getY(int)
+     */
+    public double getYValue(int index) {
+        return getDataItem(index).getYValue();
+    }
+
     /**
      * Updates the value of an item in the series and sends a
      * {@link SeriesChangeEvent} to all registered listeners.
@@ -673,16 +810,19 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             iterate = oldY <= this.minY || oldY >= this.maxY;
         }
         item.setY(y);
+        if (this.pyramid != null) {
+            this.pyramid.itemChanged(index);
+        }
 
         if (iterate) {
-            findBoundsByIteration();
+            findBounds();
         }
         else if (y != null) {
             double yy = y.doubleValue();
             this.minY = minIgnoreNaN(this.minY, yy);
             this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
-        fireSeriesChanged();
+        fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
     }
 
     /**
@@ -815,15 +955,19 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                 iterate = oldY <= this.minY || oldY >= this.maxY;
             }
             existing.setY(y);
+            if (this.pyramid != null) {
+                this.pyramid.itemChanged(index);
+            }
 
             if (iterate) {
-                findBoundsByIteration();
+                findBounds();
             }
             else if (y != null) {
                 double yy = y.doubleValue();
                 this.minY = minIgnoreNaN(this.minY, yy);
-                this.maxY = minIgnoreNaN(this.maxY, yy);
+                this.maxY = maxIgnoreNaN(this.maxY, yy);
             }
+            fireSeriesChanged(DatasetChangeType.ITEMS_CHANGED, index, index);
         }
         else {
             // if the series is sorted, the negative index is a result from
@@ -831,21 +975,31 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             // new item...otherwise it will be just -1 and we should just
             // append the value to the list...
             XYDataItem item = new XYDataItem(x, y);
+            int added;
             if (this.autoSort) {
-                this.data.add(-index - 1, item);
+                added = -index - 1;
+                this.data.add(added, item);
             }
             else {
                 this.data.add(item);
+                added = this.data.size() - 1;
             }
             updateBoundsForAddedItem(item);
+            updatePyramidForAddedItem(item);
 
             // check if this addition will exceed the maximum item count...
+            int removedFromHead = 0;
             if (getItemCount() > this.maximumItemCount) {
                 XYDataItem removed = (XYDataItem) this.data.remove(0);
+                if (this.pyramid != null) {
+                    this.pyramid.itemsRemovedFromStart(1);
+                }
                 updateBoundsForRemovedItem(removed);
+                removedFromHead = 1;
+                added--;
             }
+            fireItemAdded(added, removedFromHead);
         }
-        fireSeriesChanged();
         return overwritten;
     }
 
@@ -911,7 +1065,8 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             throws CloneNotSupportedException {
 
         XYSeries copy = (XYSeries) super.clone();
-        copy.data = new java.util.ArrayList();
+        copy.data = new CircularList();
+        copy.pyramid = null;
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 XYDataItem item = (XYDataItem) this.data.get(index);
@@ -930,6 +1085,55 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 
   
 
+    /**
+     * Returns a clone of the series.  The clone does not share the
+     * level-of-detail index with this series.
+     *
+     * @return A clone of the series.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        XYSeries clone = (XYSeries) super.clone();
+        clone.pyramid = null;
+        return clone;
+    }
+
+    /**
+     * Updates the level-of-detail index (if there is one) after an item has
+     * been added to the data list.
+     *
+     * @param item  the item added.
+     */
+    private void updatePyramidForAddedItem(XYDataItem item) {
+        if (this.pyramid != null) {
+            if (this.data.get(this.data.size() - 1) == item) {
+                this.pyramid.itemAppended();
+            }
+            else {
+                this.pyramid.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Updates the level-of-detail index (if there is one) after items have
+     * been removed from the series.
+     *
+     * @param start  the index of the first item removed.
+     * @param count  the number of items removed.
+     */
+    protected void updatePyramidForRemovedItems(int start, int count) {
+        if (this.pyramid != null) {
+            if (start == 0) {
+                this.pyramid.itemsRemovedFromStart(count);
+            }
+            else {
+                this.pyramid.invalidate();
+            }
+        }
+    }
+
     /**
      * Returns a hash code.
      *
@@ -88,6 +88,8 @@ import org.afree.data.Range;
 import org.afree.data.RangeInfo;
 import org.afree.data.UnknownKeyException;
 import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
 
 
 
@@ -96,8 +98,8 @@ import org.afree.data.general.DatasetChangeEvent;
  * dataset.
  */
 public class XYSeriesCollection extends AbstractIntervalXYDataset
-        implements IntervalXYDataset, DomainInfo, RangeInfo, 
-                   Serializable {
+        implements IntervalXYDataset, DomainInfo, RangeInfo, XYDomainInfo,
+                   XYRangeInfo, Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -7590013825931496766L;
@@ -158,7 +160,8 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         }
         this.data.add(series);
         series.addChangeListener(this);
-        fireDatasetChanged();
+        notifyListeners(new DatasetChangeEvent(this, this,
+                DatasetChangeType.SERIES_ADDED, this.data.size() - 1));
     }
 
     /**
@@ -176,7 +179,8 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         XYSeries ts = (XYSeries) this.data.get(series);
         ts.removeChangeListener(this);
         this.data.remove(series);
-        fireDatasetChanged();
+        notifyListeners(new DatasetChangeEvent(this, this,
+                DatasetChangeType.SERIES_REMOVED, series));
     }
 
     /**
@@ -189,10 +193,12 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         if (series == null) {
             throw new IllegalArgumentException("Null 'series' argument.");
         }
-        if (this.data.contains(series)) {
+        int index = this.data.indexOf(series);
+        if (index >= 0) {
             series.removeChangeListener(this);
-            this.data.remove(series);
-            fireDatasetChanged();
+            this.data.remove(index);
+            notifyListeners(new DatasetChangeEvent(this, this,
+                    DatasetChangeType.SERIES_REMOVED, index));
         }
     }
 
@@ -213,6 +219,24 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         fireDatasetChanged();
     }
 
+    /**
+     * Receives notification of a change to one of the series in the
+     * collection and passes it on to all registered listeners, keeping the
+     * details of the items that were added, changed or removed.
+     *
+     * @param event  information about the change.
+     */
+    public void seriesChanged(SeriesChangeEvent event) {
+        int series = this.data.indexOf(event.getSource());
+        if (series >= 0) {
+            notifyListeners(new DatasetChangeEvent(this, this, series,
+                    event));
+        }
+        else {
+            fireDatasetChanged();
+        }
+    }
+
     /**
      * Returns the number of series in the collection.
      *
@@ -332,8 +356,22 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
      */
     public Number getX(int series, int item) {
         XYSeries ts = (XYSeries) this.data.get(series);
-        XYDataItem xyItem = ts.getDataItem(item);
-        return xyItem.getX();
+        return ts.getX(item);
+    }
+
+    /**
+     * Returns the x-value for the specified series and item as a double
+     * primitive.  This avoids creating a <code>Number</code> for series that
+     * store primitive values (see {@link PrimitiveXYSeries}).
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value.
+     */
+    public double getXValue(int series, int item) {
+        XYSeries ts = (XYSeries) this.data.get(series);
+        return ts.getXValue(item);
     }
 
     /**
@@ -370,8 +408,21 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
      */
     public Number getY(int series, int index) {
         XYSeries ts = (XYSeries) this.data.get(series);
-        XYDataItem xyItem = ts.getDataItem(index);
-        return xyItem.getY();
+        return ts.getY(index);
+    }
+
+    /**
+     * Returns the y-value for the specified series and item as a double
+     * primitive.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value (possibly <code>Double.NaN</code>).
+     */
+    public double getYValue(int series, int item) {
+        XYSeries ts = (XYSeries) this.data.get(series);
+        return ts.getYValue(item);
     }
 
     /**
@@ -499,6 +550,55 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         }
     }
 
+    /**
+     * Returns the range of the x-values for the specified series.  The
+     * bounds are read from the values cached by each series, so this method
+     * does not iterate over the data items.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series.
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The range (or <code>null</code> if there are no values).
+     */
+    public Range getDomainBounds(List visibleSeriesKeys,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            Comparable key = (Comparable) iterator.next();
+            int index = indexOf(key);
+            if (index < 0) {
+                continue;
+            }
+            XYSeries series = getSeries(index);
+            double minX = series.getMinX();
+            if (!Double.isNaN(minX)) {
+                lower = Math.min(lower, minX);
+            }
+            double maxX = series.getMaxX();
+            if (!Double.isNaN(maxX)) {
+                upper = Math.max(upper, maxX);
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        if (includeInterval) {
+            double width = this.intervalDelegate.getIntervalWidth();
+            double lowerAdj = width
+                    * this.intervalDelegate.getIntervalPositionFactor();
+            lower = lower - lowerAdj;
+            upper = upper + (width - lowerAdj);
+        }
+        return new Range(lower, upper);
+    }
+
     /**
      * Returns the interval width. This is used to calculate the start and end
      * x-values, if/when the dataset is used as an {@link IntervalXYDataset}.
@@ -565,9 +665,13 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
     }
 
     /**
-     * Returns the range of the values in this dataset's range.
+     * Returns the range of the values in this dataset's range.  The
+     * y-interval for each item in this dataset is just the y-value (see
+     * {@link #getStartY(int, int)} and {@link #getEndY(int, int)}), so the
+     * bounds are the same whether or not the interval is included.
      *
-     * @param includeInterval  ignored.
+     * @param includeInterval  ignored, since the y-interval adds nothing
+     *                         to the y-values.
      *
      * @return The range (or <code>null</code> if the dataset contains no
      *     values).
@@ -595,6 +699,121 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         }
     }
 
+    /**
+     * Returns the range of the y-values for the items in the specified series
+     * that have x-values within <code>xRange</code>.  For series that are
+     * sorted by x-value, the items are located with a binary search and the
+     * bounds are read from the series' level-of-detail index (see
+     * {@link XYSeries#getValuePyramid()}), so the cost is logarithmic in the
+     * number of items.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series.
+     * @param xRange  the x-range (<code>null</code> not permitted).
+     * @param includeInterval  ignored, since the y-interval adds nothing
+     *                         to the y-values (see
+     *                         {@link #getRangeBounds(boolean)}).
+     *
+     * @return The range (or <code>null</code> if there are no values in the
+     *     x-range).
+     */
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (xRange == null) {
+            throw new IllegalArgumentException("Null 'xRange' argument.");
+        }
+        Range result = null;
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            Comparable key = (Comparable) iterator.next();
+            int index = indexOf(key);
+            if (index < 0) {
+                continue;
+            }
+            XYSeries series = getSeries(index);
+            int count = series.getItemCount();
+            if (count == 0) {
+                continue;
+            }
+            if (series.getAutoSort()) {
+                int first = findFirstItem(series, xRange.getLowerBound());
+                int last = findLastItem(series, xRange.getUpperBound());
+                if (first <= last) {
+                    result = Range.combine(result,
+                            series.getValuePyramid().getRange(first, last));
+                }
+            }
+            else {
+                double lower = Double.POSITIVE_INFINITY;
+                double upper = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < count; i++) {
+                    double y = series.getYValue(i);
+                    if (!Double.isNaN(y)
+                            && xRange.contains(series.getXValue(i))) {
+                        lower = Math.min(lower, y);
+                        upper = Math.max(upper, y);
+                    }
+                }
+                if (lower <= upper) {
+                    result = Range.combine(result, new Range(lower, upper));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first item in a sorted series with an x-value
+     * greater than or equal to <code>x</code>.
+     *
+     * @param series  the series (sorted by x-value).
+     * @param x  the x-value.
+     *
+     * @return The item index (equal to the item count if there is no such
+     *     item).
+     */
+    private int findFirstItem(XYSeries series, double x) {
+        int low = 0;
+        int high = series.getItemCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (series.getXValue(mid) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the last item in a sorted series with an x-value less
+     * than or equal to <code>x</code>.
+     *
+     * @param series  the series (sorted by x-value).
+     * @param x  the x-value.
+     *
+     * @return The item index (-1 if there is no such item).
+     */
+    private int findLastItem(XYSeries series, double x) {
+        int low = 0;
+        int high = series.getItemCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (series.getXValue(mid) <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
     /**
      * Returns the minimum y-value in the dataset.
      *
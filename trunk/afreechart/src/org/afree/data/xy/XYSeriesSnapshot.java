@@ -0,0 +1,277 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ---------------------
+ * XYSeriesSnapshot.java
+ * ---------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import java.io.Serializable;
+
+import org.afree.data.DomainOrder;
+
+/**
+ * An immutable view of the items in a {@link ConcurrentXYSeries} at one
+ * point in time.  The items are held in fixed size chunks that are shared
+ * with the series and with later snapshots: the series only ever writes
+ * into chunk slots beyond the end of the published snapshots, and copies a
+ * chunk before changing an existing item, so a snapshot can be read from any
+ * thread without locking while the series is being updated.
+ */
+public final class XYSeriesSnapshot implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2719254802262101153L;
+
+    /** The number of bits used for the index within a chunk. */
+    static final int CHUNK_BITS = 10;
+
+    /** The number of items in each chunk. */
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /** The mask for the index within a chunk. */
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** An empty snapshot. */
+    static final XYSeriesSnapshot EMPTY = new XYSeriesSnapshot(
+            new double[0][], new double[0][], 0L, 0L, 0L, 0L, true,
+            new double[] {Double.NaN, Double.NaN, Double.NaN, Double.NaN});
+
+    /** The chunks holding the x-values. */
+    final double[][] xChunks;
+
+    /** The chunks holding the y-values (Double.NaN for missing values). */
+    final double[][] yChunks;
+
+    /** The number of the first chunk in the chunk tables. */
+    final long baseChunk;
+
+    /** The position of the first item (counted from the first item ever). */
+    final long head;
+
+    /** The position after the last item. */
+    final long tail;
+
+    /** The version number. */
+    final long version;
+
+    /** A flag indicating that the x-values are in ascending order. */
+    final boolean ascending;
+
+    /**
+     * The bounds (minX, maxX, minY, maxY), or <code>null</code> until they
+     * are calculated.
+     */
+    private transient volatile double[] bounds;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param xChunks  the x-value chunks.
+     * @param yChunks  the y-value chunks.
+     * @param baseChunk  the number of the first chunk.
+     * @param head  the position of the first item.
+     * @param tail  the position after the last item.
+     * @param version  the version number.
+     * @param ascending  are the x-values in ascending order?
+     * @param bounds  the bounds (minX, maxX, minY, maxY), or
+     *                <code>null</code> if they are not known yet (in which
+     *                case they are calculated when first needed).
+     */
+    XYSeriesSnapshot(double[][] xChunks, double[][] yChunks, long baseChunk,
+            long head, long tail, long version, boolean ascending,
+            double[] bounds) {
+        this.xChunks = xChunks;
+        this.yChunks = yChunks;
+        this.baseChunk = baseChunk;
+        this.head = head;
+        this.tail = tail;
+        this.version = version;
+        this.ascending = ascending;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Returns the version number of the snapshot.  The number increases
+     * each time the series changes.
+     *
+     * @return The version number.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Returns the number of items in the snapshot.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return (int) (this.tail - this.head);
+    }
+
+    /**
+     * Returns the order of the x-values.
+     *
+     * @return The domain order (never <code>null</code>).
+     */
+    public DomainOrder getDomainOrder() {
+        return this.ascending ? DomainOrder.ASCENDING : DomainOrder.NONE;
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int item) {
+        long p = position(item);
+        return this.xChunks[(int) ((p >> CHUNK_BITS) - this.baseChunk)]
+                [(int) (p & CHUNK_MASK)];
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly Double.NaN).
+     */
+    public double getYValue(int item) {
+        long p = position(item);
+        return this.yChunks[(int) ((p >> CHUNK_BITS) - this.baseChunk)]
+                [(int) (p & CHUNK_MASK)];
+    }
+
+    /**
+     * Returns the lowest x-value in the snapshot.
+     *
+     * @return The lowest x-value (Double.NaN if there are no x-values).
+     */
+    public double getMinX() {
+        return getBounds()[0];
+    }
+
+    /**
+     * Returns the highest x-value in the snapshot.
+     *
+     * @return The highest x-value (Double.NaN if there are no x-values).
+     */
+    public double getMaxX() {
+        return getBounds()[1];
+    }
+
+    /**
+     * Returns the lowest y-value in the snapshot, ignoring Double.NaN values.
+     *
+     * @return The lowest y-value (Double.NaN if there are no y-values).
+     */
+    public double getMinY() {
+        return getBounds()[2];
+    }
+
+    /**
+     * Returns the highest y-value in the snapshot, ignoring Double.NaN values.
+     *
+     * @return The highest y-value (Double.NaN if there are no y-values).
+     */
+    public double getMaxY() {
+        return getBounds()[3];
+    }
+
+    /**
+     * Returns the bounds if they are already known, so that the series can
+     * update them incrementally.
+     *
+     * @return The bounds (minX, maxX, minY, maxY), or <code>null</code>.
+     */
+    double[] getKnownBounds() {
+        return this.bounds;
+    }
+
+    /**
+     * Returns the position of an item, checking the index.
+     *
+     * @param item  the item index.
+     *
+     * @return The position.
+     */
+    private long position(int item) {
+        if (item < 0 || item >= this.tail - this.head) {
+            throw new IndexOutOfBoundsException("Index: " + item + ", Size: "
+                    + (this.tail - this.head));
+        }
+        return this.head + item;
+    }
+
+    /**
+     * Returns the bounds, calculating them if necessary.  Two threads may
+     * both calculate the bounds, but they get the same result.
+     *
+     * @return The bounds (minX, maxX, minY, maxY).
+     */
+    private double[] getBounds() {
+        double[] result = this.bounds;
+        if (result == null) {
+            double x0 = Double.NaN;
+            double x1 = Double.NaN;
+            double y0 = Double.NaN;
+            double y1 = Double.NaN;
+            int count = getItemCount();
+            for (int i = 0; i < count; i++) {
+                double x = getXValue(i);
+                if (!Double.isNaN(x)) {
+                    x0 = Double.isNaN(x0) ? x : Math.min(x0, x);
+                    x1 = Double.isNaN(x1) ? x : Math.max(x1, x);
+                }
+                double y = getYValue(i);
+                if (!Double.isNaN(y)) {
+                    y0 = Double.isNaN(y0) ? y : Math.min(y0, y);
+                    y1 = Double.isNaN(y1) ? y : Math.max(y1, y);
+                }
+            }
+            result = new double[] {x0, x1, y0, y1};
+            this.bounds = result;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,290 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * XYSnapshotDataset.java
+ * ----------------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.DomainOrder;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+
+/**
+ * An immutable {@link XYDataset} made up of {@link XYSeriesSnapshot}
+ * instances, as returned by
+ * {@link ConcurrentXYSeriesCollection#createSnapshot()}.
+ */
+public class XYSnapshotDataset extends AbstractXYDataset
+        implements DomainInfo, RangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3504316389427460512L;
+
+    /** The series keys. */
+    private Comparable[] keys;
+
+    /** The series snapshots. */
+    private XYSeriesSnapshot[] snapshots;
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param keys  the series keys (<code>null</code> not permitted).
+     * @param snapshots  the series snapshots (<code>null</code> not
+     *                   permitted).
+     */
+    public XYSnapshotDataset(Comparable[] keys, XYSeriesSnapshot[] snapshots) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Null 'keys' argument.");
+        }
+        if (snapshots == null) {
+            throw new IllegalArgumentException("Null 'snapshots' argument.");
+        }
+        if (keys.length != snapshots.length) {
+            throw new IllegalArgumentException(
+                    "The 'keys' and 'snapshots' arrays must have equal length.");
+        }
+        this.keys = (Comparable[]) keys.clone();
+        this.snapshots = (XYSeriesSnapshot[]) snapshots.clone();
+    }
+
+    /**
+     * Returns the snapshot for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The snapshot.
+     */
+    public XYSeriesSnapshot getSnapshot(int series) {
+        return this.snapshots[series];
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.snapshots.length;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key for the series.
+     */
+    public Comparable getSeriesKey(int series) {
+        return this.keys[series];
+    }
+
+    /**
+     * Returns the order of the domain (x-) values in the dataset.
+     *
+     * @return The order (never <code>null</code>).
+     */
+    public DomainOrder getDomainOrder() {
+        for (int i = 0; i < this.snapshots.length; i++) {
+            if (!this.snapshots[i].ascending) {
+                return DomainOrder.NONE;
+            }
+        }
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    public int getItemCount(int series) {
+        return this.snapshots[series].getItemCount();
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int series, int item) {
+        return this.snapshots[series].getXValue(item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly Double.NaN).
+     */
+    public double getYValue(int series, int item) {
+        return this.snapshots[series].getYValue(item);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly <code>null</code>).
+     */
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < this.snapshots.length; i++) {
+            double minX = this.snapshots[i].getMinX();
+            if (!Double.isNaN(minX)) {
+                lower = Math.min(lower, minX);
+                upper = Math.max(upper, this.snapshots[i].getMaxX());
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value (Double.NaN if there are no values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value (Double.NaN if there are no values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (<code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < this.snapshots.length; i++) {
+            double minY = this.snapshots[i].getMinY();
+            if (!Double.isNaN(minY)) {
+                lower = Math.min(lower, minY);
+                upper = Math.max(upper, this.snapshots[i].getMaxY());
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+}
@@ -110,6 +110,21 @@ public class YIntervalSeries extends ComparableObjectSeries {
         super.add(new YIntervalDataItem(x, y, yLow, yHigh), true);
     }
 
+    /**
+     * Updates the y-values for an existing data item and sends a
+     * {@link org.afree.data.general.SeriesChangeEvent} to all registered
+     * listeners.
+     *
+     * @param index  the item index.
+     * @param y  the y-value.
+     * @param yLow  the lower bound of the y-interval.
+     * @param yHigh  the upper bound of the y-interval.
+     */
+    public void updateByIndex(int index, double y, double yLow,
+            double yHigh) {
+        updateByIndex(index, new YInterval(y, yLow, yHigh));
+    }
+
     /**
      * Returns the x-value for the specified item.
      *
@@ -148,7 +148,7 @@ public abstract class RefineryUtilities {
             final String text, final TextAnchor anchor) {
 
         final float[] result = new float[2];
-        final FontMetrics fm = paint.getFontMetrics();
+        final FontMetrics fm = TextUtilities.getFontMetrics(paint);
         final RectShape bounds = TextUtilities.getTextBounds(text, paint);
         final float ascent = Math.abs(fm.ascent);
         final float halfAscent = ascent / 2.0f;
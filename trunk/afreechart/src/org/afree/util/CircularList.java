@@ -0,0 +1,310 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * CircularList.java
+ * -----------------
+ *
+ * (C) Copyright 2010, by ICOMSYSTECH Co.,Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A list backed by a circular array.  Indexed access is constant time (as
+ * for <code>ArrayList</code>) and, in addition, adding or removing an item
+ * at either end of the list is constant time.  This makes the list suitable
+ * for the data in series that are used as a sliding window, where each new
+ * item appended at the end causes the oldest item to be dropped from the
+ * start.  Inserting or removing in the middle shifts the shorter side of the
+ * list.
+ */
+public class CircularList extends AbstractList
+        implements RandomAccess, Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3196725083364380712L;
+
+    /** The default initial capacity (must be a power of two). */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Storage for the items (the length is always a power of two). */
+    private Object[] items;
+
+    /** The array index of the first item in the list. */
+    private int head;
+
+    /** The number of items in the list. */
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public CircularList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty list with storage for at least the specified number
+     * of items.
+     *
+     * @param initialCapacity  the initial capacity (negative not permitted).
+     */
+    public CircularList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Negative 'initialCapacity' argument.");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * Returns the number of items in the list.
+     *
+     * @return The item count.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the item at the specified position.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The item.
+     */
+    public Object get(int index) {
+        checkIndex(index);
+        return this.items[slot(index)];
+    }
+
+    /**
+     * Replaces the item at the specified position.
+     *
+     * @param index  the index (zero-based).
+     * @param item  the new item.
+     *
+     * @return The item previously at the specified position.
+     */
+    public Object set(int index, Object item) {
+        checkIndex(index);
+        int slot = slot(index);
+        Object old = this.items[slot];
+        this.items[slot] = item;
+        return old;
+    }
+
+    /**
+     * Inserts an item at the specified position.  Adding at the start or the
+     * end of the list is a constant time operation.
+     *
+     * @param index  the index (zero-based, in the range 0 to size()).
+     * @param item  the item.
+     */
+    public void add(int index, Object item) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+        if (this.size == this.items.length) {
+            grow();
+        }
+        int mask = this.items.length - 1;
+        if (index < this.size / 2) {
+            // shift the leading items one place towards the front
+            this.head = (this.head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                this.items[(this.head + i) & mask]
+                        = this.items[(this.head + i + 1) & mask];
+            }
+        }
+        else {
+            // shift the trailing items one place towards the back
+            for (int i = this.size; i > index; i--) {
+                this.items[(this.head + i) & mask]
+                        = this.items[(this.head + i - 1) & mask];
+            }
+        }
+        this.items[(this.head + index) & mask] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Removes the item at the specified position.  Removing the first or the
+     * last item in the list is a constant time operation.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The item removed.
+     */
+    public Object remove(int index) {
+        checkIndex(index);
+        int mask = this.items.length - 1;
+        Object removed = this.items[(this.head + index) & mask];
+        if (index < this.size / 2) {
+            // shift the leading items one place towards the back
+            for (int i = index; i > 0; i--) {
+                this.items[(this.head + i) & mask]
+                        = this.items[(this.head + i - 1) & mask];
+            }
+            this.items[this.head] = null;
+            this.head = (this.head + 1) & mask;
+        }
+        else {
+            // shift the trailing items one place towards the front
+            for (int i = index; i < this.size - 1; i++) {
+                this.items[(this.head + i) & mask]
+                        = this.items[(this.head + i + 1) & mask];
+            }
+            this.items[(this.head + this.size - 1) & mask] = null;
+        }
+        this.size--;
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes all the items from the list.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.items[slot(i)] = null;
+        }
+        this.head = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Removes the items from <code>fromIndex</code> (inclusive) to
+     * <code>toIndex</code> (exclusive).  This is used by
+     * <code>subList(from, to).clear()</code> and, for a range at the start
+     * of the list, takes time proportional to the number of items removed.
+     *
+     * @param fromIndex  the index of the first item to remove.
+     * @param toIndex  the index after the last item to remove.
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        if (count <= 0) {
+            return;
+        }
+        int mask = this.items.length - 1;
+        if (fromIndex < this.size - toIndex) {
+            // move the leading items towards the back
+            for (int i = fromIndex - 1; i >= 0; i--) {
+                this.items[(this.head + i + count) & mask]
+                        = this.items[(this.head + i) & mask];
+            }
+            for (int i = 0; i < count; i++) {
+                this.items[(this.head + i) & mask] = null;
+            }
+            this.head = (this.head + count) & mask;
+        }
+        else {
+            // move the trailing items towards the front
+            for (int i = toIndex; i < this.size; i++) {
+                this.items[(this.head + i - count) & mask]
+                        = this.items[(this.head + i) & mask];
+            }
+            for (int i = this.size - count; i < this.size; i++) {
+                this.items[(this.head + i) & mask] = null;
+            }
+        }
+        this.size -= count;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a clone of the list.  The items themselves are not cloned.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        CircularList clone = (CircularList) super.clone();
+        clone.items = (Object[]) this.items.clone();
+        return clone;
+    }
+
+    /**
+     * Doubles the capacity of the storage array, moving the items so that the
+     * first item is at array index 0.
+     */
+    private void grow() {
+        Object[] newItems = new Object[this.items.length * 2];
+        int firstPart = Math.min(this.size, this.items.length - this.head);
+        System.arraycopy(this.items, this.head, newItems, 0, firstPart);
+        System.arraycopy(this.items, 0, newItems, firstPart,
+                this.size - firstPart);
+        this.items = newItems;
+        this.head = 0;
+    }
+
+    /**
+     * Returns the array index for the item at the specified list index.
+     *
+     * @param index  the list index.
+     *
+     * @return The array index.
+     */
+    private int slot(int index) {
+        return (this.head + index) & (this.items.length - 1);
+    }
+
+    /**
+     * Checks that an index refers to an item in the list.
+     *
+     * @param index  the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+    }
+
+}